@@ -0,0 +1,130 @@
+package org.hashiohiro.fixedlengthchecker.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Generates the layout and records shared by the benchmarks.
+ * <pre>
+ * The layout follows a 120-byte bank transfer detail record: a fixed data section,
+ * numeric codes and amounts checked by regex, free text names and blank fillers.
+ * Records are ASCII, so their byte and character lengths are equal.
+ * </pre>
+ */
+final class BenchmarkData {
+
+    /**
+     * Length of every generated record.
+     */
+    static final int RECORD_LENGTH = 120;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Returns the field definitions of a transfer detail record.
+     *
+     * @return list of field definitions in record order
+     */
+    static List<FixedFieldDefinition> definitions() {
+        return List.of(
+                new FixedFieldDefinition("Data Section", 1, "2", false, null, true),
+                new FixedFieldDefinition("Bank Code", 4, null, false, "\\d{4}", true),
+                new FixedFieldDefinition("Bank Name", 15, null, false, null, false),
+                new FixedFieldDefinition("Branch Code", 3, null, false, "\\d{3}", true),
+                new FixedFieldDefinition("Branch Name", 15, null, false, null, false),
+                new FixedFieldDefinition("Clearing House", 4, null, true, null, false),
+                new FixedFieldDefinition("Account Type", 1, null, false, "[1249]", true),
+                new FixedFieldDefinition("Account Number", 7, null, false, "\\d{7}", true),
+                new FixedFieldDefinition("Recipient Name", 30, null, false, "[A-Z0-9 ().-]+", true),
+                new FixedFieldDefinition("Amount", 10, null, false, "\\d{10}", true),
+                new FixedFieldDefinition("New Code", 1, null, false, "[012]", true),
+                new FixedFieldDefinition("Customer Code 1", 10, null, false, null, false),
+                new FixedFieldDefinition("Customer Code 2", 10, null, false, null, false),
+                new FixedFieldDefinition("Transfer Category", 1, null, false, "[0789 ]", false),
+                new FixedFieldDefinition("Identification", 1, null, false, "[Y ]", false),
+                new FixedFieldDefinition("Dummy", 7, null, true, null, false)
+        );
+    }
+
+    /**
+     * Builds one record; invalid records carry a non-numeric amount.
+     *
+     * @param i sequence number used to vary the field values
+     * @param valid true to build a record that passes every check
+     * @return record text of RECORD_LENGTH characters
+     */
+    static String record(int i, boolean valid) {
+        StringBuilder sb = new StringBuilder(RECORD_LENGTH);
+        sb.append('2');
+        sb.append(String.format("%04d", i % 10000));
+        pad(sb, "BANK " + (i % 97), 15);
+        sb.append(String.format("%03d", i % 1000));
+        pad(sb, "BRANCH " + (i % 31), 15);
+        pad(sb, "", 4);
+        sb.append('1');
+        sb.append(String.format("%07d", i % 10000000));
+        pad(sb, "RECIPIENT " + i, 30);
+        sb.append(valid ? String.format("%010d", i * 37L % 10000000000L) : "12345ABCDE");
+        sb.append('0');
+        pad(sb, "C" + i, 10);
+        pad(sb, "", 10);
+        sb.append('7');
+        sb.append(' ');
+        pad(sb, "", 7);
+        return sb.toString();
+    }
+
+    /**
+     * Writes the field definitions as a JSON definition file.
+     *
+     * @param file path of the definition file
+     * @return the written path
+     * @throws IOException if writing fails
+     */
+    static Path writeDefinitions(Path file) throws IOException {
+        new ObjectMapper().writeValue(file.toFile(), definitions());
+        return file;
+    }
+
+    /**
+     * Writes a data file of newline-terminated records.
+     *
+     * @param file path of the data file
+     * @param records number of records to write
+     * @param invalidEvery every n-th record is invalid; 0 for none
+     * @return the written path
+     * @throws IOException if writing fails
+     */
+    static Path writeRecords(Path file, int records, int invalidEvery) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            for (int i = 1; i <= records; i++) {
+                writer.write(record(i, invalidEvery == 0 || i % invalidEvery != 0));
+                writer.write('\n');
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Appends a value left-aligned and padded with spaces to the given width.
+     *
+     * @param sb builder receiving the value
+     * @param value value to append, truncated if longer than width
+     * @param width field width
+     */
+    private static void pad(StringBuilder sb, String value, int width) {
+        String v = value.length() > width ? value.substring(0, width) : value;
+        sb.append(v);
+        for (int i = v.length(); i < width; i++) {
+            sb.append(' ');
+        }
+    }
+}
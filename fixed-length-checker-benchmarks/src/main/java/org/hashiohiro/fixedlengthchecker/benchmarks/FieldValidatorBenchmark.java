@@ -0,0 +1,147 @@
+package org.hashiohiro.fixedlengthchecker.benchmarks;
+
+import org.hashiohiro.fixedlengthchecker.core.definition.DefinitionCompiler;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+import org.hashiohiro.fixedlengthchecker.core.validator.BlankValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.FixedValueValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.NumericValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.RegexValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each field validator on a passing value through its string, text and raw byte paths.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldValidatorBenchmark {
+
+    private final FixedValueValidator fixedValueValidator = new FixedValueValidator();
+
+    private final BlankValidator blankValidator = new BlankValidator();
+
+    private final RegexValidator regexValidator = new RegexValidator();
+
+    private final NumericValidator numericValidator = new NumericValidator();
+
+    private FieldLayout fixedField;
+
+    private FieldLayout blankField;
+
+    private FieldLayout regexField;
+
+    private FixedFieldDefinition regexDefinition;
+
+    private FieldLayout longBlankField;
+
+    private FieldLayout numericField;
+
+    private String fixedValue;
+
+    private String blankValue;
+
+    private String regexValue;
+
+    private ByteBuffer record;
+
+    @Setup
+    public void setup() {
+        RecordLayout layout = DefinitionCompiler.compile(List.of(
+                new FixedFieldDefinition("Record Code", 8, "DETAIL01", false, null, true),
+                new FixedFieldDefinition("Filler", 20, null, true, null, false),
+                new FixedFieldDefinition("Amount", 10, null, false, "\\d{10}", true),
+                new FixedFieldDefinition("Long Filler", 400, null, true, null, false),
+                new FixedFieldDefinition("Typed Amount", 10, null, false, null, true, "numeric", null, null, null)), StandardCharsets.UTF_8);
+        fixedField = layout.getFields().get(0);
+        blankField = layout.getFields().get(1);
+        regexField = layout.getFields().get(2);
+        regexDefinition = regexField.getDefinition().toDefinition();
+        longBlankField = layout.getFields().get(3);
+        numericField = layout.getFields().get(4);
+
+        fixedValue = "DETAIL01";
+        blankValue = " ".repeat(20);
+        regexValue = "0001234500";
+        record = ByteBuffer.wrap((fixedValue + blankValue + regexValue + " ".repeat(400) + regexValue).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public ValidationResult fixedValueValidate() {
+        return fixedValueValidator.validate(fixedValue, fixedField);
+    }
+
+    @Benchmark
+    public boolean fixedValueTest() {
+        return fixedValueValidator.test(fixedValue, fixedField);
+    }
+
+    @Benchmark
+    public boolean fixedValueBytes() {
+        return fixedValueValidator.passesWithoutDecoding(record, fixedField.getOffset(), fixedField);
+    }
+
+    @Benchmark
+    public ValidationResult blankValidate() {
+        return blankValidator.validate(blankValue, blankField);
+    }
+
+    @Benchmark
+    public boolean blankTest() {
+        return blankValidator.test(blankValue, blankField);
+    }
+
+    @Benchmark
+    public boolean blankBytes() {
+        return blankValidator.passesWithoutDecoding(record, blankField.getOffset(), blankField);
+    }
+
+    @Benchmark
+    public boolean longBlankBytes() {
+        return blankValidator.passesWithoutDecoding(record, longBlankField.getOffset(), longBlankField);
+    }
+
+    @Benchmark
+    public ValidationResult regexValidate() {
+        return regexValidator.validate(regexValue, regexField);
+    }
+
+    @Benchmark
+    public boolean regexTest() {
+        return regexValidator.test(regexValue, regexField);
+    }
+
+    @Benchmark
+    public boolean numericTest() {
+        return numericValidator.test(regexValue, numericField);
+    }
+
+    @Benchmark
+    public boolean numericBytes() {
+        return numericValidator.passesWithoutDecoding(record, numericField.getOffset(), numericField);
+    }
+
+    @Benchmark
+    public ValidationResult regexValidateDefinition() {
+        return regexValidator.validate(regexField.getName(), regexValue, regexDefinition);
+    }
+}
@@ -0,0 +1,107 @@
+package org.hashiohiro.fixedlengthchecker.benchmarks;
+
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationSummary;
+import org.hashiohiro.fixedlengthchecker.core.service.FixedLengthChecker;
+import org.hashiohiro.fixedlengthchecker.core.service.ValidationOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures end-to-end validation of generated files of transfer detail records.
+ * <pre>
+ * The data file is generated once per trial in a temporary directory and deleted afterwards.
+ * One record in invalidEvery fails its amount check, so error reporting is exercised too.
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ValidateFileBenchmark {
+
+    /**
+     * Number of records in the generated file.
+     */
+    @Param({"1000000"})
+    public int records;
+
+    /**
+     * Every n-th record is invalid.
+     */
+    @Param({"100"})
+    public int invalidEvery;
+
+    /**
+     * Length mode: bytes or chars.
+     */
+    @Param({"bytes", "chars"})
+    public String lengthMode;
+
+    /**
+     * Number of validation threads.
+     */
+    @Param({"1", "4"})
+    public int threads;
+
+    /**
+     * True to read the file through memory-mapped windows.
+     */
+    @Param({"false", "true"})
+    public boolean memoryMapped;
+
+    private Path dir;
+
+    private Path data;
+
+    private FixedLengthChecker checker;
+
+    private ValidationOptions options;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dir = Files.createTempDirectory("flc-bench");
+        Path definitions = BenchmarkData.writeDefinitions(dir.resolve("definitions.json"));
+        data = BenchmarkData.writeRecords(dir.resolve("input.dat"), records, invalidEvery);
+
+        checker = new FixedLengthChecker(StandardCharsets.US_ASCII, "bytes".equals(lengthMode));
+        checker.loadDefinitions(definitions.toString());
+        options = ValidationOptions.builder().threads(threads).memoryMapped(memoryMapped).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(data);
+        Files.deleteIfExists(dir.resolve("definitions.json"));
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public ValidationSummary validateFile(Blackhole bh) throws Exception {
+        return checker.validateFile(data.toString(), options, (lineNumber, results) -> bh.consume(results));
+    }
+
+    @Benchmark
+    public ValidationSummary validateFileErrors(Blackhole bh) throws Exception {
+        return checker.validateFileErrors(data.toString(), options, bh::consume);
+    }
+}
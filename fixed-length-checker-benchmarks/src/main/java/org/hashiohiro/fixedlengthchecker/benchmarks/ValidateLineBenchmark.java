@@ -0,0 +1,86 @@
+package org.hashiohiro.fixedlengthchecker.benchmarks;
+
+import org.hashiohiro.fixedlengthchecker.core.definition.DefinitionCompiler;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationError;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+import org.hashiohiro.fixedlengthchecker.core.validator.FixedLengthValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures validation of a single record in byte and character length modes.
+ * <pre>
+ * Covers the string entry point, the raw byte entry point used by file validation,
+ * and error-only collection, for both a passing and a failing record.
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidateLineBenchmark {
+
+    /**
+     * Length mode: bytes or chars.
+     */
+    @Param({"bytes", "chars"})
+    public String lengthMode;
+
+    /**
+     * True to validate a record whose amount field fails its regex.
+     */
+    @Param({"false", "true"})
+    public boolean invalid;
+
+    private FixedLengthValidator validator;
+
+    private RecordLayout layout;
+
+    private String line;
+
+    private ByteBuffer record;
+
+    private final List<ValidationError> errors = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        validator = new FixedLengthValidator(StandardCharsets.UTF_8, "bytes".equals(lengthMode));
+        layout = DefinitionCompiler.compile(BenchmarkData.definitions(), StandardCharsets.UTF_8);
+        line = BenchmarkData.record(12345, !invalid);
+        record = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public List<ValidationResult> validateLine() {
+        return validator.validateLine(line, layout);
+    }
+
+    @Benchmark
+    public List<ValidationResult> validateRecord() {
+        return validator.validateRecord(record, 0, record.capacity(), layout);
+    }
+
+    @Benchmark
+    public int collectErrors() {
+        errors.clear();
+        return validator.collectErrors(1, record, 0, record.capacity(), layout, errors);
+    }
+}
@@ -0,0 +1,248 @@
+package org.hashiohiro.fixedlengthchecker.core.definition;
+
+import org.hashiohiro.fixedlengthchecker.core.model.ControlDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.DiscriminatorDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordDefinitionSet;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordTypeDefinition;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Caches validated definitions in a compact binary form to skip JSON and YAML parsing.
+ * <pre>
+ * Cache entries are keyed by the SHA-256 hash of the definition file and also record its
+ * modification time; an entry is only used when both match. A hit reads the definitions
+ * with plain data streams, so neither Jackson nor the definition checks are loaded.
+ * Regex and date patterns are not stored; they are compiled again when the definitions are compiled.
+ * Unreadable or outdated entries are treated as misses and rewritten.
+ * </pre>
+ */
+public final class DefinitionCache {
+
+    /**
+     * Marker at the start of every cache entry.
+     */
+    private static final int MAGIC = 0x464C4344;
+
+    /**
+     * Version of the entry format; bump when the definition model changes.
+     */
+    private static final int FORMAT_VERSION = 4;
+
+    /**
+     * File name extension of cache entries.
+     */
+    private static final String EXTENSION = ".flcdef";
+
+    private DefinitionCache() {
+    }
+
+    /**
+     * Loads definitions from the cache, or parses, validates and caches them on a miss.
+     *
+     * @param source definition file (.json, .yml, .yaml)
+     * @param cacheDir directory holding cache entries; created if missing
+     * @return validated record definitions
+     * @throws Exception if the definition file cannot be read, parsed or validated
+     */
+    public static RecordDefinitionSet load(Path source, Path cacheDir) throws Exception {
+        byte[] content = Files.readAllBytes(source);
+        long lastModified = Files.getLastModifiedTime(source).toMillis();
+        Path entry = cacheDir.resolve(hash(content) + EXTENSION);
+
+        RecordDefinitionSet cached = read(entry, lastModified);
+        if (cached != null) {
+            return cached;
+        }
+
+        RecordDefinitionSet definitions = DefinitionLoader.loadRecordDefinitions(source.toString());
+        DefinitionValidator.validate(definitions);
+        write(entry, lastModified, definitions);
+        return definitions;
+    }
+
+    /**
+     * Reads a cache entry.
+     *
+     * @param entry cache entry file
+     * @param lastModified modification time the definition file must have
+     * @return cached definitions, or null if the entry is missing, outdated or unreadable
+     */
+    static RecordDefinitionSet read(Path entry, long lastModified) {
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || in.readLong() != lastModified) {
+                return null;
+            }
+
+            DiscriminatorDefinition discriminator = null;
+            if (in.readBoolean()) {
+                discriminator = new DiscriminatorDefinition(in.readInt(), in.readInt());
+            }
+
+            int typeCount = in.readInt();
+            List<RecordTypeDefinition> types = new ArrayList<>(typeCount);
+            for (int i = 0; i < typeCount; i++) {
+                String name = readString(in);
+                String code = readString(in);
+                int fieldCount = in.readInt();
+                List<FixedFieldDefinition> fields = new ArrayList<>(fieldCount);
+                for (int j = 0; j < fieldCount; j++) {
+                    fields.add(new FixedFieldDefinition(readString(in), in.readInt(), readString(in), in.readBoolean(),
+                            readString(in), in.readBoolean(), readString(in), readString(in), readLong(in), readLong(in), in.readBoolean()));
+                }
+                List<ControlDefinition> controls = null;
+                if (in.readBoolean()) {
+                    int controlCount = in.readInt();
+                    controls = new ArrayList<>(controlCount);
+                    for (int j = 0; j < controlCount; j++) {
+                        controls.add(new ControlDefinition(readString(in), readString(in), readString(in), readString(in)));
+                    }
+                }
+                types.add(new RecordTypeDefinition(name, code, fields, controls));
+            }
+            return new RecordDefinitionSet(discriminator, types);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes a cache entry, replacing any previous one atomically.
+     *
+     * @param entry cache entry file
+     * @param lastModified modification time of the definition file
+     * @param definitions validated definitions to store
+     * @throws IOException if writing fails
+     */
+    static void write(Path entry, long lastModified, RecordDefinitionSet definitions) throws IOException {
+        Files.createDirectories(entry.getParent());
+        Path tmp = Files.createTempFile(entry.getParent(), entry.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(lastModified);
+
+                DiscriminatorDefinition discriminator = definitions.getDiscriminator();
+                out.writeBoolean(discriminator != null);
+                if (discriminator != null) {
+                    out.writeInt(discriminator.getOffset());
+                    out.writeInt(discriminator.getLength());
+                }
+
+                out.writeInt(definitions.getRecordTypes().size());
+                for (RecordTypeDefinition type : definitions.getRecordTypes()) {
+                    writeString(out, type.getName());
+                    writeString(out, type.getCode());
+                    out.writeInt(type.getFields().size());
+                    for (FixedFieldDefinition def : type.getFields()) {
+                        writeString(out, def.getName());
+                        out.writeInt(def.getLength());
+                        writeString(out, def.getFixedValue());
+                        out.writeBoolean(def.isBlank());
+                        writeString(out, def.getRegex());
+                        out.writeBoolean(def.isRequired());
+                        writeString(out, def.getType());
+                        writeString(out, def.getFormat());
+                        writeLong(out, def.getMin());
+                        writeLong(out, def.getMax());
+                        out.writeBoolean(def.isUnique());
+                    }
+                    out.writeBoolean(type.getControls() != null);
+                    if (type.getControls() != null) {
+                        out.writeInt(type.getControls().size());
+                        for (ControlDefinition control : type.getControls()) {
+                            writeString(out, control.getField());
+                            writeString(out, control.getAggregate());
+                            writeString(out, control.getRecordType());
+                            writeString(out, control.getSource());
+                        }
+                    }
+                }
+            }
+            Files.move(tmp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Writes a string that may be null.
+     *
+     * @param out destination stream
+     * @param value string to write, or null
+     * @throws IOException if writing fails
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param in source stream
+     * @return string read, or null
+     * @throws IOException if reading fails
+     */
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Writes a number that may be null.
+     *
+     * @param out destination stream
+     * @param value number to write, or null
+     * @throws IOException if writing fails
+     */
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    /**
+     * Reads a number written by {@link #writeLong(DataOutputStream, Long)}.
+     *
+     * @param in source stream
+     * @return number read, or null
+     * @throws IOException if reading fails
+     */
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    /**
+     * Computes the hex SHA-256 hash of the definition file content.
+     *
+     * @param content definition file bytes
+     * @return lowercase hex hash
+     */
+    private static String hash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package org.hashiohiro.fixedlengthchecker.core.definition;
+
+import org.hashiohiro.fixedlengthchecker.core.model.AggregateType;
+import org.hashiohiro.fixedlengthchecker.core.model.ControlDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.ControlTotal;
+import org.hashiohiro.fixedlengthchecker.core.model.DiscriminatorDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldType;
+import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.FrozenFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordDefinitionSet;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayoutSet;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordTypeDefinition;
+import org.hashiohiro.fixedlengthchecker.core.validator.BlankValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.DatePattern;
+import org.hashiohiro.fixedlengthchecker.core.validator.DateValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.EncodedValue;
+import org.hashiohiro.fixedlengthchecker.core.validator.FieldValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.FixedValueValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.NumericValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.PackedDecimalValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.PatternCache;
+import org.hashiohiro.fixedlengthchecker.core.validator.RangeValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.RegexValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.RequiredValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.SignedNumericValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.ZonedDecimalValidator;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles field definitions into an immutable record layout used by the validators.
+ * <pre>
+ * Offsets are accumulated once, regex and date patterns are precompiled, and each field keeps only
+ * the validators that apply to it. Fixed values and the pad byte are pre-encoded in the record
+ * charset for byte-level checks. Definitions should be checked with DefinitionValidator first.
+ * Definition sets with several record types compile into a RecordLayoutSet that dispatches
+ * each record to its layout by the discriminator code; their trailer controls are linked to the
+ * compiled fields they compare and aggregate.
+ * </pre>
+ */
+public class DefinitionCompiler {
+
+    /**
+     * Name reported for the discriminator when a record type code is unknown.
+     */
+    public static final String DISCRIMINATOR_NAME = "Record Type";
+
+    /**
+     * Validators applied to fields by default, in evaluation order.
+     */
+    public static final List<FieldValidator> DEFAULT_VALIDATORS = List.of(
+            new RequiredValidator(),
+            new FixedValueValidator(),
+            new BlankValidator(),
+            new NumericValidator(),
+            new SignedNumericValidator(),
+            new ZonedDecimalValidator(),
+            new PackedDecimalValidator(),
+            new DateValidator(),
+            new RangeValidator(),
+            new RegexValidator()
+    );
+
+    /**
+     * Compiles definitions into a record layout using the default validators.
+     *
+     * @param definitions list of field definitions in record order
+     * @param charset charset the records are encoded in
+     * @return compiled record layout
+     */
+    public static RecordLayout compile(List<FixedFieldDefinition> definitions, Charset charset) {
+        return compile(definitions, charset, DEFAULT_VALIDATORS);
+    }
+
+    /**
+     * Compiles definitions into a record layout using the given validators.
+     * <pre>
+     * Each validator is attached to a field only if it applies to the field's definition.
+     * </pre>
+     * @param definitions list of field definitions in record order
+     * @param charset charset the records are encoded in
+     * @param validators candidate validators, in evaluation order
+     * @return compiled record layout
+     */
+    public static RecordLayout compile(List<FixedFieldDefinition> definitions, Charset charset, List<FieldValidator> validators) {
+        return compile(null, definitions, charset, validators);
+    }
+
+    /**
+     * Compiles every record type of a definition set using the default validators.
+     *
+     * @param definitionSet record types and discriminator
+     * @param charset charset the records are encoded in
+     * @return compiled layouts with the discriminator lookup table
+     */
+    public static RecordLayoutSet compile(RecordDefinitionSet definitionSet, Charset charset) {
+        return compile(definitionSet, charset, DEFAULT_VALIDATORS);
+    }
+
+    /**
+     * Compiles every record type of a definition set using the given validators.
+     * <pre>
+     * A set without a discriminator compiles into a single layout that every record resolves to.
+     * </pre>
+     * @param definitionSet record types and discriminator
+     * @param charset charset the records are encoded in
+     * @param validators candidate validators, in evaluation order
+     * @return compiled layouts with the discriminator lookup table
+     */
+    public static RecordLayoutSet compile(RecordDefinitionSet definitionSet, Charset charset, List<FieldValidator> validators) {
+        DiscriminatorDefinition discriminator = definitionSet.getDiscriminator();
+        if (discriminator == null) {
+            RecordTypeDefinition type = definitionSet.getRecordTypes().get(0);
+            return RecordLayoutSet.single(compile(type.getName(), type.getFields(), charset, validators));
+        }
+
+        List<RecordLayout> layouts = new ArrayList<>();
+        List<String> codes = new ArrayList<>();
+        for (RecordTypeDefinition type : definitionSet.getRecordTypes()) {
+            layouts.add(compile(type.getName(), type.getFields(), charset, validators));
+            codes.add(type.getCode());
+        }
+
+        FrozenFieldDefinition def = new FixedFieldDefinition(DISCRIMINATOR_NAME, discriminator.getLength(), null, false, null, true).freeze();
+        FieldLayout field = new FieldLayout(-1, DISCRIMINATOR_NAME, discriminator.getOffset(), discriminator.getLength(), def, null,
+                charset, null, padByte(charset), digitZeroByte(charset), null, null, List.of());
+        return new RecordLayoutSet(layouts, field, codes, charset, compileControls(definitionSet.getRecordTypes(), layouts));
+    }
+
+    /**
+     * Links the controls of every trailer record type to the compiled layouts and fields.
+     *
+     * @param types record types in definition order
+     * @param layouts compiled layouts in the same order
+     * @return compiled controls in definition order
+     */
+    private static List<ControlTotal> compileControls(List<RecordTypeDefinition> types, List<RecordLayout> layouts) {
+        List<ControlTotal> controls = new ArrayList<>();
+        for (int i = 0; i < types.size(); i++) {
+            if (types.get(i).getControls() == null) {
+                continue;
+            }
+            RecordLayout trailer = layouts.get(i);
+            for (ControlDefinition control : types.get(i).getControls()) {
+                RecordLayout source = null;
+                for (RecordLayout layout : layouts) {
+                    if (layout.getRecordType().equals(control.getRecordType())) {
+                        source = layout;
+                        break;
+                    }
+                }
+                FieldLayout sourceField = source != null && control.getSource() != null ? field(source, control.getSource()) : null;
+                controls.add(new ControlTotal(trailer, field(trailer, control.getField()), AggregateType.parse(control.getAggregate()), source, sourceField));
+            }
+        }
+        return controls;
+    }
+
+    /**
+     * Finds a compiled field by name.
+     *
+     * @param layout compiled record layout
+     * @param name field name
+     * @return the first field with the name, or null if none has it
+     */
+    private static FieldLayout field(RecordLayout layout, String name) {
+        for (FieldLayout field : layout.getFields()) {
+            if (field.getName().equals(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Compiles the fields of one record type.
+     *
+     * @param recordType name of the record type, or null for a single record type
+     * @param definitions list of field definitions in record order
+     * @param charset charset the records are encoded in
+     * @param validators candidate validators, in evaluation order
+     * @return compiled record layout
+     */
+    private static RecordLayout compile(String recordType, List<FixedFieldDefinition> definitions, Charset charset, List<FieldValidator> validators) {
+        List<FieldLayout> fields = new ArrayList<>(definitions.size());
+        int padByte = padByte(charset);
+        int digitZeroByte = digitZeroByte(charset);
+        int offset = 0;
+
+        for (FixedFieldDefinition def : definitions) {
+            List<FieldValidator> checks = new ArrayList<>();
+            for (FieldValidator v : validators) {
+                if (v.appliesTo(def)) {
+                    checks.add(v);
+                }
+            }
+
+            Pattern pattern = def.getRegex() != null ? PatternCache.compile(def.getRegex()) : null;
+            EncodedValue fixedValue = def.getFixedValue() != null ? new EncodedValue(def.getFixedValue().getBytes(charset)) : null;
+            FieldType type = FieldType.parse(def.getType());
+            DatePattern datePattern = type == FieldType.DATE ? DatePattern.compile(def.getFormat()) : null;
+            fields.add(new FieldLayout(fields.size(), def.getName(), offset, def.getLength(), def.freeze(), pattern,
+                    charset, fixedValue, padByte, digitZeroByte, type, datePattern, List.copyOf(checks)));
+            offset += def.getLength();
+        }
+
+        return new RecordLayout(recordType, List.copyOf(fields), offset, charset);
+    }
+
+    /**
+     * Encodes the digits in the given charset.
+     *
+     * @param charset charset the records are encoded in
+     * @return the byte of the digit zero as an unsigned value, or -1 if the digits are not consecutive single bytes
+     */
+    private static int digitZeroByte(Charset charset) {
+        byte[] digits = "0123456789".getBytes(charset);
+        if (digits.length != 10) {
+            return -1;
+        }
+        for (int i = 1; i < digits.length; i++) {
+            if ((digits[i] & 0xFF) != (digits[0] & 0xFF) + i) {
+                return -1;
+            }
+        }
+        return digits[0] & 0xFF;
+    }
+
+    /**
+     * Encodes a single space in the given charset.
+     *
+     * @param charset charset the records are encoded in
+     * @return the space byte as an unsigned value, or -1 if a space is not a single byte
+     */
+    private static int padByte(Charset charset) {
+        byte[] space = " ".getBytes(charset);
+        return space.length == 1 ? space[0] & 0xFF : -1;
+    }
+}
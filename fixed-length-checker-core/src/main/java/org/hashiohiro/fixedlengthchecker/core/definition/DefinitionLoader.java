@@ -1,10 +1,11 @@
-
 package org.hashiohiro.fixedlengthchecker.core.definition;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordDefinitionSet;
 
 import java.io.File;
 import java.util.List;
@@ -13,6 +14,8 @@ import java.util.List;
  * Loads field definitions from a JSON file into a list of FixedFieldDefinition objects.
  * <pre>
  * This class uses Jackson to parse the JSON definition file and convert it into a list.
+ * A file may instead hold an object with a discriminator and several record types,
+ * which is loaded with {@link #loadRecordDefinitions(String)}.
  * </pre>
  */
 public class DefinitionLoader {
@@ -25,14 +28,42 @@ public class DefinitionLoader {
      * @throws Exception When parsing fails
      */
     public static List<FixedFieldDefinition> loadDefinitions(String path) throws Exception {
+        return mapperFor(path).readValue(new File(path), new TypeReference<>() {
+        });
+    }
+
+    /**
+     * Load record types from JSON or YAML file based on file extension.
+     * <pre>
+     * A file holding a plain list of fields is returned as a single record type without a discriminator;
+     * a file holding an object is read as a discriminator and a list of record types.
+     * </pre>
+     * @param path Path to definition file (.json, .yml, .yaml)
+     * @return RecordDefinitionSet with one or more record types
+     * @throws Exception When parsing fails
+     */
+    public static RecordDefinitionSet loadRecordDefinitions(String path) throws Exception {
+        ObjectMapper mapper = mapperFor(path);
+        JsonNode root = mapper.readTree(new File(path));
+        if (root.isArray()) {
+            return RecordDefinitionSet.single(mapper.convertValue(root, new TypeReference<List<FixedFieldDefinition>>() {
+            }));
+        }
+        return mapper.treeToValue(root, RecordDefinitionSet.class);
+    }
+
+    /**
+     * Selects a JSON or YAML mapper based on file extension.
+     *
+     * @param path Path to definition file
+     * @return ObjectMapper for the file format
+     * @throws IllegalArgumentException if the extension is not supported
+     */
+    private static ObjectMapper mapperFor(String path) {
         if (path.endsWith(".json")) {
-            ObjectMapper jsonMapper = new ObjectMapper();
-            return jsonMapper.readValue(new File(path), new TypeReference<>() {
-            });
+            return new ObjectMapper();
         } else if (path.endsWith(".yml") || path.endsWith(".yaml")) {
-            ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
-            return yamlMapper.readValue(new File(path), new TypeReference<>() {
-            });
+            return new ObjectMapper(new YAMLFactory());
         } else {
             throw new IllegalArgumentException("Unsupported definition file format. Use .json, .yml, or .yaml");
         }
@@ -0,0 +1,391 @@
+package org.hashiohiro.fixedlengthchecker.core.definition;
+
+import org.hashiohiro.fixedlengthchecker.core.model.RecordDefinitionSet;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayoutSet;
+import org.hashiohiro.fixedlengthchecker.core.model.VersionedLayouts;
+import org.hashiohiro.fixedlengthchecker.core.validator.FieldValidator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of named, versioned record layouts compiled from the definition files of a directory.
+ * <pre>
+ * Each .json, .yml or .yaml file is registered under its file name without the extension. Files
+ * whose names differ only by extension, such as a.json and a.yaml, are ambiguous: they fail to load
+ * until only one of them remains, and the name keeps its previous version meanwhile.
+ * The registry is copy-on-write: readers get an immutable snapshot without locking, and a reload
+ * compiles the new layouts completely before swapping them in, so a running validation never
+ * sees a half-loaded definition and keeps the version it started with. Reloads of one name are
+ * serialized, so concurrent events for a file publish at most one new version.
+ *
+ * With {@link #watch()}, a background thread follows the directory and reloads only the files that
+ * were created, modified or deleted. A file that fails to load keeps its previous version and the
+ * failure is kept in {@link #getFailures()} until the file loads again.
+ * </pre>
+ */
+public class DefinitionRegistry implements Closeable {
+
+    /**
+     * Extensions of definition files.
+     */
+    private static final List<String> EXTENSIONS = List.of(".json", ".yml", ".yaml");
+
+    /**
+     * Directory holding the definition files.
+     */
+    private final Path directory;
+
+    /**
+     * Charset the layouts are compiled for.
+     */
+    private final Charset charset;
+
+    /**
+     * Field validators the layouts are compiled with.
+     */
+    private final List<FieldValidator> validators;
+
+    /**
+     * Current layouts by name; replaced as a whole on every change.
+     */
+    private volatile Map<String, VersionedLayouts> entries = Map.of();
+
+    /**
+     * Last load failure of each file that currently fails to load, by name.
+     */
+    private final Map<String, Exception> failures = new ConcurrentHashMap<>();
+
+    /**
+     * Locks serializing the reloads of each name.
+     */
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Watch service following the directory, or null when not watching.
+     */
+    private WatchService watchService;
+
+    /**
+     * Thread applying the changes reported by the watch service.
+     */
+    private Thread watcher;
+
+    /**
+     * Creates an empty registry over a directory, compiling with the default validators.
+     *
+     * @param directory directory holding the definition files
+     * @param charset charset the layouts are compiled for
+     */
+    public DefinitionRegistry(Path directory, Charset charset) {
+        this(directory, charset, DefinitionCompiler.DEFAULT_VALIDATORS);
+    }
+
+    /**
+     * Creates an empty registry over a directory.
+     *
+     * @param directory directory holding the definition files
+     * @param charset charset the layouts are compiled for
+     * @param validators field validators the layouts are compiled with
+     */
+    public DefinitionRegistry(Path directory, Charset charset, List<FieldValidator> validators) {
+        this.directory = directory;
+        this.charset = charset;
+        this.validators = validators;
+    }
+
+    /**
+     * Returns the current layouts registered under a name.
+     *
+     * @param name definition file name without its extension
+     * @return current version of the layouts, or null if none is registered under the name
+     */
+    public VersionedLayouts get(String name) {
+        return entries.get(name);
+    }
+
+    /**
+     * Returns the names of all registered layouts.
+     *
+     * @return unmodifiable snapshot of the names
+     */
+    public Set<String> names() {
+        return entries.keySet();
+    }
+
+    /**
+     * Returns the files that currently fail to load.
+     *
+     * @return snapshot of the last failure by name
+     */
+    public Map<String, Exception> getFailures() {
+        return Map.copyOf(failures);
+    }
+
+    /**
+     * Brings the registry in line with the directory.
+     * <pre>
+     * New and changed files are loaded, unchanged files are skipped, and layouts whose file
+     * was deleted are removed. Files that fail to load are recorded in the failures.
+     * </pre>
+     * @throws IOException if the directory cannot be listed
+     */
+    public void refresh() throws IOException {
+        Set<String> present = new HashSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (Files.isRegularFile(file) && isDefinitionFile(file)) {
+                    present.add(nameOf(file));
+                    tryReload(file);
+                }
+            }
+        }
+        for (String name : entries.keySet()) {
+            if (!present.contains(name)) {
+                remove(name);
+            }
+        }
+    }
+
+    /**
+     * Loads a definition file and registers its layouts, unless it is unchanged since the last load.
+     *
+     * @param file definition file in the directory
+     * @return registered layouts of the file
+     * @throws IllegalStateException if another definition file has the same name; the previous version is kept
+     * @throws Exception if the file cannot be read, parsed or validated; the previous version is kept
+     */
+    public VersionedLayouts reload(Path file) throws Exception {
+        String name = nameOf(file);
+        synchronized (lockOf(name)) {
+            Path namesake = namesake(file);
+            if (namesake != null) {
+                throw new IllegalStateException("Definition files " + file.getFileName() + " and "
+                        + namesake.getFileName() + " have the same name: " + name);
+            }
+            long fileSize = Files.size(file);
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            VersionedLayouts current = entries.get(name);
+            if (current != null && current.getSource().equals(file)
+                    && current.getFileSize() == fileSize && current.getLastModified() == lastModified) {
+                return current;
+            }
+
+            RecordDefinitionSet definitions = DefinitionLoader.loadRecordDefinitions(file.toString());
+            DefinitionValidator.validate(definitions);
+            RecordLayoutSet layouts = DefinitionCompiler.compile(definitions, charset, validators);
+            return publish(name, file, fileSize, lastModified, layouts);
+        }
+    }
+
+    /**
+     * Starts following the directory in a background daemon thread.
+     * <pre>
+     * The directory is refreshed once before watching starts. Calling it again has no effect.
+     * </pre>
+     * @throws IOException if the directory cannot be watched or listed
+     */
+    public synchronized void watch() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        refresh();
+
+        WatchService service = watchService;
+        watcher = new Thread(() -> follow(service), "definition-registry-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Stops following the directory; registered layouts stay available.
+     *
+     * @throws IOException if closing the watch service fails
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+    }
+
+    /**
+     * Applies the changes reported by the watch service until it is closed.
+     *
+     * @param service watch service registered on the directory
+     */
+    private void follow(WatchService service) {
+        while (true) {
+            WatchKey key;
+            try {
+                key = service.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    try {
+                        refresh();
+                    } catch (IOException e) {
+                        failures.put(directory.toString(), e);
+                    }
+                    continue;
+                }
+                Path file = directory.resolve((Path) event.context());
+                if (!isDefinitionFile(file)) {
+                    continue;
+                }
+                if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                    deleted(file);
+                } else {
+                    tryReload(file);
+                }
+            }
+            if (!key.reset()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reloads a file, recording a failure instead of throwing it.
+     *
+     * @param file definition file in the directory
+     */
+    private void tryReload(Path file) {
+        String name = nameOf(file);
+        try {
+            reload(file);
+            failures.remove(name);
+        } catch (Exception e) {
+            failures.put(name, e);
+        }
+    }
+
+    /**
+     * Handles the deletion of a definition file.
+     * <pre>
+     * If a namesake of the file remains, it is no longer ambiguous and is loaded in its place;
+     * otherwise the layouts registered under the name are removed.
+     * </pre>
+     * @param file deleted definition file
+     */
+    private void deleted(Path file) {
+        Path namesake = namesake(file);
+        if (namesake != null) {
+            tryReload(namesake);
+        } else {
+            remove(nameOf(file));
+        }
+    }
+
+    /**
+     * Returns the lock serializing the reloads of a name.
+     *
+     * @param name name of the layouts
+     * @return lock object of the name
+     */
+    private Object lockOf(String name) {
+        return locks.computeIfAbsent(name, key -> new Object());
+    }
+
+    /**
+     * Returns another definition file next to the given one that would be registered under the same name.
+     *
+     * @param file definition file
+     * @return existing file with the same name and another extension, or null if there is none
+     */
+    private static Path namesake(Path file) {
+        String name = nameOf(file);
+        for (String extension : EXTENSIONS) {
+            Path candidate = file.resolveSibling(name + extension);
+            if (!candidate.equals(file) && Files.isRegularFile(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Swaps in new layouts for a name, numbering them after the version they replace.
+     *
+     * @param name name of the layouts
+     * @param source definition file the layouts were compiled from
+     * @param fileSize size of the definition file when it was loaded
+     * @param lastModified modification time of the definition file when it was loaded
+     * @param layouts compiled record layouts
+     * @return registered layouts
+     */
+    private synchronized VersionedLayouts publish(String name, Path source, long fileSize, long lastModified, RecordLayoutSet layouts) {
+        VersionedLayouts current = entries.get(name);
+        VersionedLayouts next = new VersionedLayouts(name, current == null ? 1 : current.getVersion() + 1,
+                source, fileSize, lastModified, layouts);
+        Map<String, VersionedLayouts> updated = new HashMap<>(entries);
+        updated.put(name, next);
+        entries = Collections.unmodifiableMap(updated);
+        return next;
+    }
+
+    /**
+     * Removes the layouts registered under a name.
+     *
+     * @param name name of the layouts
+     */
+    private synchronized void remove(String name) {
+        failures.remove(name);
+        if (!entries.containsKey(name)) {
+            return;
+        }
+        Map<String, VersionedLayouts> updated = new HashMap<>(entries);
+        updated.remove(name);
+        entries = Collections.unmodifiableMap(updated);
+    }
+
+    /**
+     * Returns whether a path names a definition file.
+     *
+     * @param file path to check
+     * @return true for .json, .yml and .yaml files
+     */
+    private static boolean isDefinitionFile(Path file) {
+        String fileName = file.getFileName().toString();
+        for (String extension : EXTENSIONS) {
+            if (fileName.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the name a definition file is registered under.
+     *
+     * @param file definition file
+     * @return file name without its extension
+     */
+    private static String nameOf(Path file) {
+        String fileName = file.getFileName().toString();
+        return fileName.substring(0, fileName.lastIndexOf('.'));
+    }
+}
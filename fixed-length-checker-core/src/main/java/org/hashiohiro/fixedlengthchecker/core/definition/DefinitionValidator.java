@@ -1,14 +1,26 @@
 package org.hashiohiro.fixedlengthchecker.core.definition;
 
+import org.hashiohiro.fixedlengthchecker.core.model.AggregateType;
+import org.hashiohiro.fixedlengthchecker.core.model.ControlDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.DiscriminatorDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldType;
 import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordDefinitionSet;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordTypeDefinition;
+import org.hashiohiro.fixedlengthchecker.core.validator.ControlTotalChecker;
+import org.hashiohiro.fixedlengthchecker.core.validator.DatePattern;
+import org.hashiohiro.fixedlengthchecker.core.validator.PatternCache;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.regex.PatternSyntaxException;
 
 /**
  * Provides validation logic for field definitions to ensure correctness before use.
  * <pre>
- * This class checks each field's properties, such as name, length, regex, and blank settings.
+ * This class checks each field's properties, such as name, length, regex, blank settings, and type.
  * </pre>
  */
 public class DefinitionValidator {
@@ -18,6 +30,7 @@ public class DefinitionValidator {
      * <pre>
      * Throws an IllegalArgumentException if any field definition is invalid,
      * such as missing name, invalid length, or incorrect regex.
+     * Valid regex patterns are compiled into {@link PatternCache} for reuse during validation.
      * </pre>
      * @param definitions list of field definitions to validate
      * @throws IllegalArgumentException if an invalid field definition is found
@@ -38,7 +51,7 @@ public class DefinitionValidator {
 
             if (def.getRegex() != null) {
                 try {
-                    java.util.regex.Pattern.compile(def.getRegex());
+                    PatternCache.compile(def.getRegex());
                 } catch (PatternSyntaxException e) {
                     throw new IllegalArgumentException("[" + def.getName() + "] invalid regex: " + e.getDescription());
                 }
@@ -47,6 +60,217 @@ public class DefinitionValidator {
             if (def.isBlank() && def.getFixedValue() != null) {
                 throw new IllegalArgumentException("[" + def.getName() + "] cannot have fixedValue when isBlank is true.");
             }
+
+            if (def.isUnique() && (def.isBlank() || def.getFixedValue() != null)) {
+                throw new IllegalArgumentException("[" + def.getName() + "] cannot be unique when it is blank or has a fixedValue.");
+            }
+
+            validateType(def);
+        }
+    }
+
+    /**
+     * Validates the type, format and bounds of a field definition.
+     *
+     * @param def field definition to validate
+     * @throws IllegalArgumentException if the type is unknown or does not fit the other attributes
+     */
+    private static void validateType(FixedFieldDefinition def) {
+        FieldType type;
+        try {
+            type = FieldType.parse(def.getType());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("[" + def.getName() + "] unknown type: " + def.getType());
+        }
+
+        if (type == FieldType.DATE) {
+            if (def.getFormat() == null) {
+                throw new IllegalArgumentException("[" + def.getName() + "] date fields require a format.");
+            }
+            DatePattern pattern;
+            try {
+                pattern = DatePattern.compile(def.getFormat());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("[" + def.getName() + "] invalid date format: " + e.getMessage());
+            }
+            if (pattern.length() != def.getLength()) {
+                throw new IllegalArgumentException("[" + def.getName() + "] date format length does not match length.");
+            }
+        } else if (def.getFormat() != null) {
+            throw new IllegalArgumentException("[" + def.getName() + "] format is only allowed for date fields.");
+        }
+
+        if (type != null && def.isBlank()) {
+            throw new IllegalArgumentException("[" + def.getName() + "] cannot have a type when isBlank is true.");
+        }
+
+        if (def.getMin() != null || def.getMax() != null) {
+            if (type == null || !type.isNumber()) {
+                throw new IllegalArgumentException("[" + def.getName() + "] min and max require a numeric, signed, zoned or packed type.");
+            }
+            if (def.getMin() != null && def.getMax() != null && def.getMin() > def.getMax()) {
+                throw new IllegalArgumentException("[" + def.getName() + "] min is greater than max.");
+            }
+        }
+    }
+
+    /**
+     * Validates the discriminator and every record type of a definition set.
+     * <pre>
+     * Throws an IllegalArgumentException if the set is invalid, such as several record types
+     * without a discriminator, a code that does not match the discriminator length, a duplicate
+     * code, or a record type too short to contain the discriminator. Fields of each record type
+     * are checked with {@link #validate(List)}, and trailer controls must refer to existing number
+     * fields and record types.
+     * </pre>
+     * @param definitionSet record types and discriminator to validate
+     * @throws IllegalArgumentException if an invalid definition is found
+     */
+    public static void validate(RecordDefinitionSet definitionSet) {
+        List<RecordTypeDefinition> recordTypes = definitionSet.getRecordTypes();
+        if (recordTypes == null || recordTypes.isEmpty()) {
+            throw new IllegalArgumentException("No record types defined.");
+        }
+
+        DiscriminatorDefinition discriminator = definitionSet.getDiscriminator();
+        if (discriminator == null) {
+            if (recordTypes.size() > 1) {
+                throw new IllegalArgumentException("A discriminator is required when several record types are defined.");
+            }
+        } else {
+            if (discriminator.getOffset() < 0) {
+                throw new IllegalArgumentException("Discriminator offset must not be negative.");
+            }
+            if (discriminator.getLength() <= 0) {
+                throw new IllegalArgumentException("Discriminator length must be a positive integer.");
+            }
+        }
+
+        Set<String> codes = new HashSet<>();
+        for (RecordTypeDefinition type : recordTypes) {
+            String name = type.getName() != null ? type.getName() : "record";
+            if (type.getFields() == null || type.getFields().isEmpty()) {
+                throw new IllegalArgumentException("[" + name + "] no fields defined.");
+            }
+            validate(type.getFields());
+
+            if (discriminator == null) {
+                continue;
+            }
+            if (type.getName() == null || type.getName().isEmpty()) {
+                throw new IllegalArgumentException("Record type name is empty.");
+            }
+            if (type.getCode() == null || type.getCode().length() != discriminator.getLength()) {
+                throw new IllegalArgumentException("[" + name + "] code length does not match discriminator length.");
+            }
+            if (!codes.add(type.getCode())) {
+                throw new IllegalArgumentException("[" + name + "] duplicate record type code: " + type.getCode());
+            }
+            int recordLength = type.getFields().stream().mapToInt(FixedFieldDefinition::getLength).sum();
+            if (recordLength < discriminator.getOffset() + discriminator.getLength()) {
+                throw new IllegalArgumentException("[" + name + "] record is shorter than the discriminator.");
+            }
+        }
+
+        for (RecordTypeDefinition type : recordTypes) {
+            if (type.getControls() == null) {
+                continue;
+            }
+            if (discriminator == null) {
+                throw new IllegalArgumentException("Controls require several record types with a discriminator.");
+            }
+            for (ControlDefinition control : type.getControls()) {
+                validateControl(type, control, recordTypes);
+            }
+        }
+    }
+
+    /**
+     * Validates a control total of a trailer record type.
+     *
+     * @param trailer record type carrying the control
+     * @param control control to validate
+     * @param recordTypes all record types of the definition set
+     * @throws IllegalArgumentException if the control refers to a missing field or record type, does not fit its aggregate,
+     *         or its fields hold more than {@link ControlTotalChecker#MAX_DIGITS} digits
+     */
+    private static void validateControl(RecordTypeDefinition trailer, ControlDefinition control, List<RecordTypeDefinition> recordTypes) {
+        String name = trailer.getName();
+        FixedFieldDefinition field = numberField(trailer, control.getField());
+        if (field == null) {
+            throw new IllegalArgumentException("[" + name + "] control field " + control.getField()
+                    + " must be a numeric, signed, zoned or packed field of the record type.");
+        }
+        requireControlDigits(name, field);
+
+        AggregateType aggregate;
+        try {
+            aggregate = AggregateType.parse(control.getAggregate());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("[" + name + "] unknown aggregate: " + control.getAggregate());
+        }
+        if (aggregate == null) {
+            throw new IllegalArgumentException("[" + name + "] control of " + control.getField() + " has no aggregate.");
+        }
+
+        RecordTypeDefinition source = null;
+        if (control.getRecordType() != null) {
+            for (RecordTypeDefinition type : recordTypes) {
+                if (control.getRecordType().equals(type.getName())) {
+                    source = type;
+                    break;
+                }
+            }
+            if (source == null) {
+                throw new IllegalArgumentException("[" + name + "] control of " + control.getField() + " refers to unknown record type " + control.getRecordType() + ".");
+            }
+            if (source == trailer) {
+                throw new IllegalArgumentException("[" + name + "] control of " + control.getField() + " cannot aggregate its own record type.");
+            }
+        }
+
+        if (aggregate == AggregateType.COUNT) {
+            if (control.getSource() != null) {
+                throw new IllegalArgumentException("[" + name + "] count control of " + control.getField() + " cannot have a source.");
+            }
+        } else {
+            FixedFieldDefinition sourceField = source != null ? numberField(source, control.getSource()) : null;
+            if (sourceField == null) {
+                throw new IllegalArgumentException("[" + name + "] " + aggregate.name().toLowerCase(Locale.ROOT) + " control of " + control.getField()
+                        + " requires a recordType and a numeric, signed, zoned or packed source field of it.");
+            }
+            requireControlDigits(source.getName(), sourceField);
+        }
+    }
+
+    /**
+     * Rejects control and source fields whose values may not fit in a long.
+     *
+     * @param recordType name of the record type holding the field
+     * @param def number field of a control
+     * @throws IllegalArgumentException if the field holds more than {@link ControlTotalChecker#MAX_DIGITS} digits
+     */
+    private static void requireControlDigits(String recordType, FixedFieldDefinition def) {
+        if (ControlTotalChecker.digits(FieldType.parse(def.getType()), def.getLength()) > ControlTotalChecker.MAX_DIGITS) {
+            throw new IllegalArgumentException("[" + recordType + "] control field " + def.getName() + " holds more than "
+                    + ControlTotalChecker.MAX_DIGITS + " digits.");
+        }
+    }
+
+    /**
+     * Returns the field of a number type with the given name.
+     *
+     * @param type record type to search
+     * @param fieldName field name, or null
+     * @return the field if it exists and is numeric, signed, zoned or packed, otherwise null
+     */
+    private static FixedFieldDefinition numberField(RecordTypeDefinition type, String fieldName) {
+        for (FixedFieldDefinition def : type.getFields()) {
+            if (def.getName().equals(fieldName)) {
+                FieldType fieldType = FieldType.parse(def.getType());
+                return fieldType != null && fieldType.isNumber() ? def : null;
+            }
         }
+        return null;
     }
 }
@@ -0,0 +1,116 @@
+package org.hashiohiro.fixedlengthchecker.core.io;
+
+import org.hashiohiro.fixedlengthchecker.core.model.Checkpoint;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Reads and writes checkpoints as small properties files.
+ * <pre>
+ * A checkpoint is written to a temporary file next to the target and then moved over it,
+ * so a run killed while saving never leaves a truncated checkpoint behind.
+ * </pre>
+ */
+public final class CheckpointFile {
+
+    private CheckpointFile() {
+    }
+
+    /**
+     * Writes a checkpoint, replacing any previous one atomically.
+     *
+     * @param path checkpoint file
+     * @param checkpoint progress to save
+     * @throws IOException if writing fails
+     */
+    public static void write(Path path, Checkpoint checkpoint) throws IOException {
+        Properties props = new Properties();
+        props.setProperty("fileSize", Long.toString(checkpoint.getFileSize()));
+        props.setProperty("lastModified", Long.toString(checkpoint.getLastModified()));
+        props.setProperty("position", Long.toString(checkpoint.getPosition()));
+        props.setProperty("lineNumber", Long.toString(checkpoint.getLineNumber()));
+        props.setProperty("invalidRecords", Long.toString(checkpoint.getInvalidRecords()));
+        props.setProperty("errors", Long.toString(checkpoint.getErrors()));
+        if (checkpoint.getControlTotals() != null) {
+            props.setProperty("controlTotals", Arrays.stream(checkpoint.getControlTotals())
+                    .mapToObj(Long::toString).collect(Collectors.joining(",")));
+        }
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            props.store(out, "fixed-length-checker checkpoint");
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a checkpoint.
+     *
+     * @param path checkpoint file
+     * @return saved progress
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if a value is missing or not a number
+     */
+    public static Checkpoint read(Path path) throws IOException {
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            props.load(in);
+        }
+        return new Checkpoint(
+                number(props, "fileSize"),
+                number(props, "lastModified"),
+                number(props, "position"),
+                number(props, "lineNumber"),
+                number(props, "invalidRecords"),
+                number(props, "errors"),
+                numbers(props, "controlTotals"));
+    }
+
+    /**
+     * Parses an optional comma-separated list of numbers.
+     *
+     * @param props loaded properties
+     * @param key property name
+     * @return property values, or null if the property is missing
+     * @throws IllegalArgumentException if a value is not a number
+     */
+    private static long[] numbers(Properties props, String key) {
+        String value = props.getProperty(key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return value.isBlank() ? new long[0] : Arrays.stream(value.split(",")).mapToLong(v -> Long.parseLong(v.trim())).toArray();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Checkpoint has an invalid " + key + ": " + value);
+        }
+    }
+
+    /**
+     * Parses a required numeric property.
+     *
+     * @param props loaded properties
+     * @param key property name
+     * @return property value
+     * @throws IllegalArgumentException if the value is missing or not a number
+     */
+    private static long number(Properties props, String key) {
+        String value = props.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Checkpoint is missing " + key + ".");
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Checkpoint has an invalid " + key + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.hashiohiro.fixedlengthchecker.core.io;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Streaming decompression of gzip and zip inputs, detected by their leading magic bytes.
+ * <pre>
+ * Records are decompressed as they are read, so an archive is validated without first being
+ * extracted to disk. A gzip stream may consist of several concatenated members. A zip archive must
+ * hold a single file entry besides any directories; as the archive is streamed, a second file entry
+ * is only detected once the first has been read, and fails the read with an IOException. Any other
+ * input is passed through unchanged.
+ * </pre>
+ */
+public final class Decompression {
+
+    /**
+     * Size of the buffers in front of the compressed and decompressed data.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private Decompression() {
+    }
+
+    /**
+     * Wraps a stream so that it yields decompressed bytes if it holds gzip or zip data.
+     *
+     * @param in stream to read; closed when the returned stream is closed
+     * @return stream of the decompressed bytes, or of the original bytes if the input is not compressed
+     * @throws IOException if the leading bytes or the archive header cannot be read
+     */
+    public static InputStream decompress(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        buffered.mark(4);
+        byte[] magic = buffered.readNBytes(4);
+        buffered.reset();
+
+        if (isGzip(magic)) {
+            return new GZIPInputStream(buffered, BUFFER_SIZE);
+        }
+        if (isZip(magic)) {
+            ZipInputStream zip = new ZipInputStream(buffered);
+            nextFileEntry(zip);
+            return new SingleEntryStream(zip);
+        }
+        return buffered;
+    }
+
+    /**
+     * Advances a zip stream to its next file entry, skipping directories.
+     *
+     * @param zip zip stream to advance
+     * @return next file entry, or null at the end of the archive
+     * @throws IOException if an entry header cannot be read
+     */
+    private static ZipEntry nextFileEntry(ZipInputStream zip) throws IOException {
+        ZipEntry entry = zip.getNextEntry();
+        while (entry != null && entry.isDirectory()) {
+            entry = zip.getNextEntry();
+        }
+        return entry;
+    }
+
+    /**
+     * Returns whether a file holds gzip or zip data.
+     *
+     * @param path file to inspect
+     * @return true if the file starts with a gzip or zip signature
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isCompressed(Path path) throws IOException {
+        byte[] magic;
+        try (InputStream in = Files.newInputStream(path)) {
+            magic = in.readNBytes(4);
+        }
+        return isGzip(magic) || isZip(magic);
+    }
+
+    /**
+     * Returns whether the leading bytes are a gzip signature.
+     *
+     * @param magic up to four leading bytes of the input
+     * @return true for gzip data
+     */
+    private static boolean isGzip(byte[] magic) {
+        return magic.length >= 2 && (magic[0] & 0xFF) == 0x1F && (magic[1] & 0xFF) == 0x8B;
+    }
+
+    /**
+     * Returns whether the leading bytes are a zip local file header signature.
+     *
+     * @param magic up to four leading bytes of the input
+     * @return true for zip data
+     */
+    private static boolean isZip(byte[] magic) {
+        return magic.length == 4 && magic[0] == 'P' && magic[1] == 'K' && magic[2] == 3 && magic[3] == 4;
+    }
+
+    /**
+     * Stream of the current entry of a zip archive that fails at its end if another file entry follows.
+     */
+    private static final class SingleEntryStream extends FilterInputStream {
+
+        /**
+         * Whether the end of the entry has been reached and the rest of the archive checked.
+         */
+        private boolean ended;
+
+        /**
+         * Creates a stream of the current entry.
+         *
+         * @param zip zip stream positioned on its first file entry
+         */
+        private SingleEntryStream(ZipInputStream zip) {
+            super(zip);
+        }
+
+        /**
+         * Reads one byte of the entry.
+         *
+         * @return next byte, or -1 at the end of the entry
+         * @throws IOException if reading fails, or the archive holds another file entry
+         */
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b < 0) {
+                end();
+            }
+            return b;
+        }
+
+        /**
+         * Reads bytes of the entry.
+         *
+         * @param b buffer receiving the bytes
+         * @param off offset of the first byte in the buffer
+         * @param len maximum number of bytes to read
+         * @return number of bytes read, or -1 at the end of the entry
+         * @throws IOException if reading fails, or the archive holds another file entry
+         */
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n < 0) {
+                end();
+            }
+            return n;
+        }
+
+        /**
+         * Checks once, at the end of the entry, that no other file entry follows.
+         *
+         * @throws IOException if the archive holds another file entry
+         */
+        private void end() throws IOException {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            ZipEntry next = nextFileEntry((ZipInputStream) in);
+            if (next != null) {
+                throw new IOException("Zip archive holds more than one file: " + next.getName());
+            }
+        }
+    }
+}
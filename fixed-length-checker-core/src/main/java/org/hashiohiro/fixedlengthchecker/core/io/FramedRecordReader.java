@@ -0,0 +1,209 @@
+package org.hashiohiro.fixedlengthchecker.core.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Base of readers that frame records by length rather than by terminator.
+ * <pre>
+ * Input is read in bulk into a buffer that grows when a single record does not fit;
+ * subclasses only decide where each record starts and how long it is.
+ * </pre>
+ */
+abstract class FramedRecordReader implements RecordReader {
+
+    /**
+     * Initial size of the read buffer.
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Source of the record bytes.
+     */
+    private final InputStream in;
+
+    /**
+     * Read buffer holding the current record and any bytes read ahead.
+     */
+    protected byte[] buf;
+
+    /**
+     * Reusable view over the read buffer handed out to callers.
+     */
+    private ByteBuffer view;
+
+    /**
+     * Index of the first unconsumed byte in the buffer.
+     */
+    protected int start;
+
+    /**
+     * End of the valid data in the buffer.
+     */
+    protected int limit;
+
+    /**
+     * Byte position of buf[0] within the input.
+     */
+    private long base;
+
+    /**
+     * True once the input is exhausted.
+     */
+    private boolean eof;
+
+    /**
+     * Offset of the current record in the buffer.
+     */
+    private int recordOffset;
+
+    /**
+     * Length of the current record.
+     */
+    private int recordLength;
+
+    /**
+     * Byte position of the current record within the input.
+     */
+    private long recordPosition = -1;
+
+    /**
+     * Creates a framed reader over a stream that may start partway through the input.
+     *
+     * @param in stream to read, positioned at startPosition; closed when this reader is closed
+     * @param startPosition byte position of the first byte of the stream within the input
+     */
+    protected FramedRecordReader(InputStream in, long startPosition) {
+        this.in = in;
+        this.buf = new byte[DEFAULT_BUFFER_SIZE];
+        this.view = ByteBuffer.wrap(buf);
+        this.base = startPosition;
+    }
+
+    /**
+     * Makes sure that at least the given number of unconsumed bytes are buffered.
+     *
+     * @param count number of bytes needed from the current start
+     * @return true if they are buffered, false if the input ends first
+     * @throws IOException if reading fails
+     */
+    protected boolean ensure(int count) throws IOException {
+        while (limit - start < count) {
+            if (eof) {
+                return false;
+            }
+            fill(count);
+        }
+        return true;
+    }
+
+    /**
+     * Publishes the given number of bytes from the current start as the current record and consumes them.
+     *
+     * @param length length of the record
+     * @return always true
+     */
+    protected boolean emit(int length) {
+        recordOffset = start;
+        recordLength = length;
+        recordPosition = base + start;
+        start += length;
+        return true;
+    }
+
+    /**
+     * Returns the byte position of the first unconsumed byte within the input.
+     *
+     * @return byte position of the current start
+     */
+    protected long startPosition() {
+        return base + start;
+    }
+
+    /**
+     * Moves unconsumed bytes to the front of the buffer and reads more input in bulk.
+     *
+     * @param needed number of bytes the buffer must be able to hold from the current start
+     * @throws IOException if reading fails
+     */
+    private void fill(int needed) throws IOException {
+        if (start > 0) {
+            System.arraycopy(buf, start, buf, 0, limit - start);
+            base += start;
+            limit -= start;
+            start = 0;
+        }
+        if (needed > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(needed, buf.length * 2));
+            view = ByteBuffer.wrap(buf);
+        }
+        int n = in.read(buf, limit, buf.length - limit);
+        if (n < 0) {
+            eof = true;
+        } else {
+            limit += n;
+        }
+    }
+
+    /**
+     * Returns the read buffer holding the current record.
+     *
+     * @return heap buffer holding the current record
+     */
+    @Override
+    public ByteBuffer buffer() {
+        return view;
+    }
+
+    /**
+     * Returns the offset of the current record in the buffer.
+     *
+     * @return offset of the current record
+     */
+    @Override
+    public int offset() {
+        return recordOffset;
+    }
+
+    /**
+     * Returns the length of the current record.
+     *
+     * @return length of the current record
+     */
+    @Override
+    public int length() {
+        return recordLength;
+    }
+
+    /**
+     * Returns the byte offset of the current record from the start of the input.
+     *
+     * @return byte position of the current record
+     */
+    @Override
+    public long position() {
+        return recordPosition;
+    }
+
+    /**
+     * Returns the byte offset just past the current record.
+     *
+     * @return byte position of the next record
+     */
+    @Override
+    public long nextPosition() {
+        return base + start;
+    }
+
+    /**
+     * Closes the underlying stream.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,263 @@
+package org.hashiohiro.fixedlengthchecker.core.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Reads newline-terminated records as raw byte slices using bulk buffered reads.
+ * <pre>
+ * Lines end with LF, CR or CR LF encoded in the record charset, following the rules of BufferedReader.readLine.
+ * Only usable with charsets where these terminators are single bytes that never occur inside
+ * another character, such as UTF-8, MS932, EUC-JP, ISO-8859 and EBCDIC code pages.
+ * </pre>
+ */
+public class LineRecordReader implements RecordReader {
+
+    /**
+     * Initial size of the read buffer; it grows when a single line does not fit.
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Source of the record bytes.
+     */
+    private final InputStream in;
+
+    /**
+     * Line feed byte in the record charset.
+     */
+    private final byte lf;
+
+    /**
+     * Carriage return byte in the record charset.
+     */
+    private final byte cr;
+
+    /**
+     * Read buffer holding the current record and any bytes read ahead.
+     */
+    private byte[] buf;
+
+    /**
+     * Reusable view over the read buffer handed out to callers.
+     */
+    private ByteBuffer view;
+
+    /**
+     * Index of the first unconsumed byte in the buffer.
+     */
+    private int start;
+
+    /**
+     * End of the valid data in the buffer.
+     */
+    private int limit;
+
+    /**
+     * Byte position of buf[0] within the input.
+     */
+    private long base;
+
+    /**
+     * True once the input is exhausted.
+     */
+    private boolean eof;
+
+    /**
+     * Offset of the current record in the buffer.
+     */
+    private int recordOffset;
+
+    /**
+     * Length of the current record, excluding the terminator.
+     */
+    private int recordLength;
+
+    /**
+     * Byte position of the current record within the input.
+     */
+    private long recordPosition = -1;
+
+    /**
+     * Creates a line reader over the given stream.
+     *
+     * @param in stream to read; closed when this reader is closed
+     * @param charset charset the records are encoded in
+     * @throws IllegalArgumentException if the charset does not encode line terminators as single bytes
+     */
+    public LineRecordReader(InputStream in, Charset charset) {
+        this(in, charset, 0);
+    }
+
+    /**
+     * Creates a line reader over a stream that starts partway through the input.
+     * <pre>
+     * Reported positions are offset by startPosition, so they stay relative to the start of the whole input.
+     * </pre>
+     * @param in stream to read, positioned at startPosition; closed when this reader is closed
+     * @param charset charset the records are encoded in
+     * @param startPosition byte position of the first byte of the stream within the input
+     * @throws IllegalArgumentException if the charset does not encode line terminators as single bytes
+     */
+    public LineRecordReader(InputStream in, Charset charset, long startPosition) {
+        if (!supports(charset)) {
+            throw new IllegalArgumentException("Line terminators are not single bytes in " + charset.name());
+        }
+        this.in = in;
+        this.lf = "\n".getBytes(charset)[0];
+        this.cr = "\r".getBytes(charset)[0];
+        this.buf = new byte[DEFAULT_BUFFER_SIZE];
+        this.view = ByteBuffer.wrap(buf);
+        this.base = startPosition;
+    }
+
+    /**
+     * Determines whether line terminators can be found byte by byte in the given charset.
+     *
+     * @param charset charset the records are encoded in
+     * @return true if LF and CR each encode to a single byte
+     */
+    public static boolean supports(Charset charset) {
+        return charset.canEncode() && "\n".getBytes(charset).length == 1 && "\r".getBytes(charset).length == 1;
+    }
+
+    /**
+     * Advances to the next line, reading more input only when no terminator is buffered.
+     *
+     * @return true if a line is available, false at the end of the input
+     * @throws IOException if reading fails
+     */
+    @Override
+    public boolean next() throws IOException {
+        int scan = start;
+        while (true) {
+            int i = scan;
+            while (i < limit) {
+                byte b = buf[i];
+                if (b == lf) {
+                    return emit(i, i + 1);
+                }
+                if (b == cr) {
+                    if (i + 1 < limit) {
+                        return emit(i, buf[i + 1] == lf ? i + 2 : i + 1);
+                    }
+                    if (eof) {
+                        return emit(i, i + 1);
+                    }
+                    break;
+                }
+                i++;
+            }
+
+            if (eof) {
+                return start < limit && emit(limit, limit);
+            }
+
+            int consumed = start;
+            fill();
+            scan = i - consumed;
+        }
+    }
+
+    /**
+     * Publishes the bytes from the current start up to the terminator as the current record.
+     *
+     * @param end index of the terminator, exclusive end of the record
+     * @param next index of the first byte after the terminator
+     * @return always true
+     */
+    private boolean emit(int end, int next) {
+        recordOffset = start;
+        recordLength = end - start;
+        recordPosition = base + start;
+        start = next;
+        return true;
+    }
+
+    /**
+     * Moves unconsumed bytes to the front of the buffer and reads more input in bulk.
+     *
+     * @throws IOException if reading fails
+     */
+    private void fill() throws IOException {
+        if (start > 0) {
+            System.arraycopy(buf, start, buf, 0, limit - start);
+            base += start;
+            limit -= start;
+            start = 0;
+        }
+        if (limit == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+            view = ByteBuffer.wrap(buf);
+        }
+        int n = in.read(buf, limit, buf.length - limit);
+        if (n < 0) {
+            eof = true;
+        } else {
+            limit += n;
+        }
+    }
+
+    /**
+     * Returns the read buffer holding the current line.
+     *
+     * @return heap buffer holding the current line
+     */
+    @Override
+    public ByteBuffer buffer() {
+        return view;
+    }
+
+    /**
+     * Returns the offset of the current line in the buffer.
+     *
+     * @return offset of the current line
+     */
+    @Override
+    public int offset() {
+        return recordOffset;
+    }
+
+    /**
+     * Returns the length of the current line, excluding the terminator.
+     *
+     * @return length of the current line
+     */
+    @Override
+    public int length() {
+        return recordLength;
+    }
+
+    /**
+     * Returns the byte offset of the current line from the start of the input.
+     *
+     * @return byte position of the current line
+     */
+    @Override
+    public long position() {
+        return recordPosition;
+    }
+
+    /**
+     * Returns the byte offset just past the terminator of the current line.
+     *
+     * @return byte position of the next line
+     */
+    @Override
+    public long nextPosition() {
+        return base + start;
+    }
+
+    /**
+     * Closes the underlying stream.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,301 @@
+package org.hashiohiro.fixedlengthchecker.core.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads newline-terminated records straight off a memory-mapped file.
+ * <pre>
+ * The file is mapped as a sequence of read-only windows, so files larger than 2 GB are supported
+ * and record bytes are never copied onto the heap. A window is remapped from the start of the
+ * record that crosses its end; it grows when a single record is larger than the window, up to
+ * MAX_WINDOW_SIZE, beyond which the record is rejected.
+ * Terminator rules and charset restrictions are the same as for LineRecordReader.
+ * </pre>
+ */
+public class MappedLineRecordReader implements RecordReader {
+
+    /**
+     * Default size of a mapped window.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Largest window that can be mapped into a single buffer.
+     */
+    public static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * Channel of the mapped file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Size of the file at the time it was opened.
+     */
+    private final long fileSize;
+
+    /**
+     * Line feed byte in the record charset.
+     */
+    private final byte lf;
+
+    /**
+     * Carriage return byte in the record charset.
+     */
+    private final byte cr;
+
+    /**
+     * Size the window may grow to for records that do not fit.
+     */
+    private final int maxWindowSize;
+
+    /**
+     * Preferred size of a mapped window; grows for records that do not fit.
+     */
+    private int windowSize;
+
+    /**
+     * Currently mapped window.
+     */
+    private MappedByteBuffer window;
+
+    /**
+     * File position of the first byte of the current window.
+     */
+    private long windowStart;
+
+    /**
+     * Number of bytes mapped in the current window.
+     */
+    private int windowLimit;
+
+    /**
+     * Index of the first unconsumed byte in the window.
+     */
+    private int start;
+
+    /**
+     * Offset of the current record in the window.
+     */
+    private int recordOffset;
+
+    /**
+     * Length of the current record, excluding the terminator.
+     */
+    private int recordLength;
+
+    /**
+     * File position of the current record.
+     */
+    private long recordPosition = -1;
+
+    /**
+     * Opens a mapped reader with the default window size.
+     *
+     * @param path file to read
+     * @param charset charset the records are encoded in
+     * @throws IOException if the file cannot be opened
+     */
+    public MappedLineRecordReader(Path path, Charset charset) throws IOException {
+        this(path, charset, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Opens a mapped reader with the given window size.
+     *
+     * @param path file to read
+     * @param charset charset the records are encoded in
+     * @param windowSize preferred number of bytes mapped at once
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if the charset does not encode line terminators as single bytes
+     */
+    public MappedLineRecordReader(Path path, Charset charset, int windowSize) throws IOException {
+        this(path, charset, windowSize, 0);
+    }
+
+    /**
+     * Opens a mapped reader that starts reading at the given file position.
+     *
+     * @param path file to read
+     * @param charset charset the records are encoded in
+     * @param windowSize preferred number of bytes mapped at once
+     * @param startPosition file position of the first record to read
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if the charset does not encode line terminators as single bytes,
+     *                                  or startPosition is outside the file
+     */
+    public MappedLineRecordReader(Path path, Charset charset, int windowSize, long startPosition) throws IOException {
+        this(path, charset, windowSize, startPosition, MAX_WINDOW_SIZE);
+    }
+
+    /**
+     * Opens a mapped reader with a limit on the size a window may grow to.
+     *
+     * @param path file to read
+     * @param charset charset the records are encoded in
+     * @param windowSize preferred number of bytes mapped at once
+     * @param startPosition file position of the first record to read
+     * @param maxWindowSize largest number of bytes mapped at once, which bounds the length of a record
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if the charset does not encode line terminators as single bytes,
+     *                                  or startPosition is outside the file
+     */
+    MappedLineRecordReader(Path path, Charset charset, int windowSize, long startPosition, int maxWindowSize) throws IOException {
+        if (!LineRecordReader.supports(charset)) {
+            throw new IllegalArgumentException("Line terminators are not single bytes in " + charset.name());
+        }
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be a positive integer.");
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        if (startPosition < 0 || startPosition > fileSize) {
+            channel.close();
+            throw new IllegalArgumentException("startPosition is outside the file.");
+        }
+        this.lf = "\n".getBytes(charset)[0];
+        this.cr = "\r".getBytes(charset)[0];
+        this.maxWindowSize = maxWindowSize;
+        this.windowSize = Math.min(windowSize, maxWindowSize);
+        map(startPosition);
+    }
+
+    /**
+     * Advances to the next line, remapping the window when the line crosses its end.
+     *
+     * @return true if a line is available, false at the end of the file
+     * @throws IOException if mapping fails, or a line does not fit in the largest window
+     */
+    @Override
+    public boolean next() throws IOException {
+        int scan = start;
+        while (true) {
+            boolean lastWindow = windowStart + windowLimit >= fileSize;
+            int i = scan;
+            while (i < windowLimit) {
+                byte b = window.get(i);
+                if (b == lf) {
+                    return emit(i, i + 1);
+                }
+                if (b == cr) {
+                    if (i + 1 < windowLimit) {
+                        return emit(i, window.get(i + 1) == lf ? i + 2 : i + 1);
+                    }
+                    if (lastWindow) {
+                        return emit(i, i + 1);
+                    }
+                    break;
+                }
+                i++;
+            }
+
+            if (lastWindow) {
+                return start < windowLimit && emit(windowLimit, windowLimit);
+            }
+
+            int consumed = start;
+            if (consumed == 0) {
+                if (windowSize >= maxWindowSize) {
+                    throw new IOException("Record at position " + windowStart + " exceeds maximum window of " + maxWindowSize + " bytes.");
+                }
+                windowSize = (int) Math.min((long) windowSize * 2, maxWindowSize);
+            }
+            map(windowStart + consumed);
+            scan = i - consumed;
+        }
+    }
+
+    /**
+     * Publishes the bytes from the current start up to the terminator as the current record.
+     *
+     * @param end index of the terminator, exclusive end of the record
+     * @param next index of the first byte after the terminator
+     * @return always true
+     */
+    private boolean emit(int end, int next) {
+        recordOffset = start;
+        recordLength = end - start;
+        recordPosition = windowStart + start;
+        start = next;
+        return true;
+    }
+
+    /**
+     * Maps a new window starting at the given file position.
+     *
+     * @param position file position of the first byte to map
+     * @throws IOException if mapping fails
+     */
+    private void map(long position) throws IOException {
+        windowStart = position;
+        windowLimit = (int) Math.min(windowSize, fileSize - position);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowLimit);
+        start = 0;
+    }
+
+    /**
+     * Returns the mapped window holding the current line.
+     *
+     * @return direct buffer holding the current line
+     */
+    @Override
+    public ByteBuffer buffer() {
+        return window;
+    }
+
+    /**
+     * Returns the offset of the current line in the window.
+     *
+     * @return offset of the current line
+     */
+    @Override
+    public int offset() {
+        return recordOffset;
+    }
+
+    /**
+     * Returns the length of the current line, excluding the terminator.
+     *
+     * @return length of the current line
+     */
+    @Override
+    public int length() {
+        return recordLength;
+    }
+
+    /**
+     * Returns the file position of the current line.
+     *
+     * @return byte position of the current line
+     */
+    @Override
+    public long position() {
+        return recordPosition;
+    }
+
+    /**
+     * Returns the file position just past the terminator of the current line.
+     *
+     * @return byte position of the next line
+     */
+    @Override
+    public long nextPosition() {
+        return windowStart + start;
+    }
+
+    /**
+     * Closes the file channel; mapped windows are released by the garbage collector.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
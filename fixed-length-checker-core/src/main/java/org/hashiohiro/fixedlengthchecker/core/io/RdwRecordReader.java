@@ -0,0 +1,130 @@
+package org.hashiohiro.fixedlengthchecker.core.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads variable-length records framed by record descriptor words (RDW), optionally grouped in blocks.
+ * <pre>
+ * Each record is preceded by a 4-byte RDW: a big-endian length that includes the RDW itself,
+ * followed by two bytes that must be zero. In blocked (VB) input, records are grouped in blocks
+ * preceded by a 4-byte block descriptor word (BDW) holding the block length, including the BDW;
+ * a BDW with its high bit set holds a 31-bit extended length.
+ * Descriptor words are not part of the returned record. Spanned records (VBS) are not supported.
+ * </pre>
+ */
+public class RdwRecordReader extends FramedRecordReader {
+
+    /**
+     * Length of a record or block descriptor word.
+     */
+    private static final int DESCRIPTOR_LENGTH = 4;
+
+    /**
+     * True if records are grouped in blocks preceded by block descriptor words.
+     */
+    private final boolean blocked;
+
+    /**
+     * Number of bytes of the current block not consumed yet.
+     */
+    private long blockRemaining;
+
+    /**
+     * Creates an RDW reader over the given stream.
+     *
+     * @param in stream to read; closed when this reader is closed
+     * @param blocked true if records are grouped in blocks preceded by block descriptor words
+     */
+    public RdwRecordReader(InputStream in, boolean blocked) {
+        this(in, blocked, 0);
+    }
+
+    /**
+     * Creates an RDW reader over a stream that starts partway through the input.
+     * <pre>
+     * The stream must be positioned at a record descriptor word, or at a block descriptor word
+     * for blocked input. Reported positions stay relative to the start of the whole input.
+     * </pre>
+     * @param in stream to read, positioned at startPosition; closed when this reader is closed
+     * @param blocked true if records are grouped in blocks preceded by block descriptor words
+     * @param startPosition byte position of the first byte of the stream within the input
+     */
+    public RdwRecordReader(InputStream in, boolean blocked, long startPosition) {
+        super(in, startPosition);
+        this.blocked = blocked;
+    }
+
+    /**
+     * Advances to the next record, skipping block descriptor words.
+     *
+     * @return true if a record is available, false at the end of the input
+     * @throws IOException if reading fails or a descriptor word is invalid
+     */
+    @Override
+    public boolean next() throws IOException {
+        if (blocked && blockRemaining == 0) {
+            if (!ensure(DESCRIPTOR_LENGTH)) {
+                return trailing();
+            }
+            long blockLength = (buf[start] & 0x80) != 0
+                    ? readInt(start) & 0x7FFFFFFFL
+                    : readUnsignedShort(start);
+            if (blockLength <= DESCRIPTOR_LENGTH) {
+                throw new IOException("Invalid block descriptor word at position " + startPosition() + ".");
+            }
+            start += DESCRIPTOR_LENGTH;
+            blockRemaining = blockLength - DESCRIPTOR_LENGTH;
+        }
+
+        if (!ensure(DESCRIPTOR_LENGTH)) {
+            return trailing();
+        }
+        int length = readUnsignedShort(start);
+        if (length < DESCRIPTOR_LENGTH || buf[start + 2] != 0 || buf[start + 3] != 0
+                || (blocked && length > blockRemaining)) {
+            throw new IOException("Invalid record descriptor word at position " + startPosition() + ".");
+        }
+        if (!ensure(length)) {
+            throw new IOException("Truncated record at position " + startPosition() + ".");
+        }
+        start += DESCRIPTOR_LENGTH;
+        if (blocked) {
+            blockRemaining -= length;
+        }
+        return emit(length - DESCRIPTOR_LENGTH);
+    }
+
+    /**
+     * Checks the bytes left at the end of the input.
+     *
+     * @return always false
+     * @throws IOException if a partial descriptor word is left
+     */
+    private boolean trailing() throws IOException {
+        if (start < limit || blockRemaining > 0) {
+            throw new IOException("Truncated descriptor word at position " + startPosition() + ".");
+        }
+        return false;
+    }
+
+    /**
+     * Reads a big-endian unsigned 16-bit value from the buffer.
+     *
+     * @param index index of the first byte
+     * @return value read
+     */
+    private int readUnsignedShort(int index) {
+        return (buf[index] & 0xFF) << 8 | (buf[index + 1] & 0xFF);
+    }
+
+    /**
+     * Reads a big-endian 32-bit value from the buffer.
+     *
+     * @param index index of the first byte
+     * @return value read
+     */
+    private int readInt(int index) {
+        return readUnsignedShort(index) << 16 | readUnsignedShort(index + 2);
+    }
+}
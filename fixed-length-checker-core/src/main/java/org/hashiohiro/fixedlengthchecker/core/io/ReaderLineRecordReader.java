@@ -0,0 +1,120 @@
+package org.hashiohiro.fixedlengthchecker.core.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Fallback line reader for charsets whose line terminators are not single bytes, such as UTF-16.
+ * <pre>
+ * Lines are decoded with BufferedReader and re-encoded, so it is slower than LineRecordReader
+ * and does not report byte positions.
+ * </pre>
+ */
+public class ReaderLineRecordReader implements RecordReader {
+
+    /**
+     * Reader decoding the input into lines.
+     */
+    private final BufferedReader reader;
+
+    /**
+     * Charset used to re-encode each line.
+     */
+    private final Charset charset;
+
+    /**
+     * Bytes of the current line.
+     */
+    private ByteBuffer current = ByteBuffer.allocate(0);
+
+    /**
+     * Creates a line reader over the given stream.
+     *
+     * @param in stream to read; closed when this reader is closed
+     * @param charset charset the records are encoded in
+     */
+    public ReaderLineRecordReader(InputStream in, Charset charset) {
+        this.reader = new BufferedReader(new InputStreamReader(in, charset));
+        this.charset = charset;
+    }
+
+    /**
+     * Reads and re-encodes the next line.
+     *
+     * @return true if a line is available, false at the end of the input
+     * @throws IOException if reading fails
+     */
+    @Override
+    public boolean next() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return false;
+        }
+        current = ByteBuffer.wrap(line.getBytes(charset));
+        return true;
+    }
+
+    /**
+     * Returns the buffer holding the current line.
+     *
+     * @return heap buffer holding only the current line
+     */
+    @Override
+    public ByteBuffer buffer() {
+        return current;
+    }
+
+    /**
+     * Returns the offset of the current line, which always starts the buffer.
+     *
+     * @return always 0
+     */
+    @Override
+    public int offset() {
+        return 0;
+    }
+
+    /**
+     * Returns the length of the current line in bytes.
+     *
+     * @return length of the current line
+     */
+    @Override
+    public int length() {
+        return current.capacity();
+    }
+
+    /**
+     * Byte positions are not tracked by this reader.
+     *
+     * @return always -1
+     */
+    @Override
+    public long position() {
+        return -1;
+    }
+
+    /**
+     * Byte positions are not tracked by this reader.
+     *
+     * @return always -1
+     */
+    @Override
+    public long nextPosition() {
+        return -1;
+    }
+
+    /**
+     * Closes the underlying reader and stream.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,28 @@
+package org.hashiohiro.fixedlengthchecker.core.io;
+
+/**
+ * Ways records are delimited in a fixed-length input.
+ */
+public enum RecordFraming {
+
+    /**
+     * Records end with LF, CR or CR LF.
+     */
+    LINES,
+
+    /**
+     * Records are packed back to back without terminators, each as long as the record layout.
+     */
+    FIXED,
+
+    /**
+     * Each record is preceded by a 4-byte record descriptor word holding its length, as in z/OS variable (V) files.
+     */
+    RDW,
+
+    /**
+     * Blocks preceded by a 4-byte block descriptor word hold records preceded by record descriptor words,
+     * as in z/OS variable blocked (VB) files.
+     */
+    VB
+}
@@ -0,0 +1,62 @@
+package org.hashiohiro.fixedlengthchecker.core.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Sequential reader that exposes each record of a fixed-length input as a slice of raw bytes.
+ * <pre>
+ * Records are not copied into individual arrays or strings; the slice returned by
+ * {@link #buffer()}, {@link #offset()} and {@link #length()} is only valid until the next call to {@link #next()}.
+ * </pre>
+ */
+public interface RecordReader extends Closeable {
+
+    /**
+     * Advances to the next record.
+     *
+     * @return true if a record is available, false at the end of the input
+     * @throws IOException if reading fails
+     */
+    boolean next() throws IOException;
+
+    /**
+     * Returns the buffer holding the current record.
+     * <pre>
+     * Indexes are absolute; the buffer's position and limit are not meaningful.
+     * </pre>
+     * @return buffer holding the current record bytes
+     */
+    ByteBuffer buffer();
+
+    /**
+     * Returns the absolute index of the first byte of the current record in the buffer.
+     *
+     * @return offset of the current record
+     */
+    int offset();
+
+    /**
+     * Returns the number of bytes in the current record, excluding any terminator.
+     *
+     * @return length of the current record
+     */
+    int length();
+
+    /**
+     * Returns the byte offset of the current record from the start of the input.
+     *
+     * @return byte position of the current record, or -1 if unknown
+     */
+    long position();
+
+    /**
+     * Returns the byte offset just past the terminator of the current record.
+     * <pre>
+     * Reading resumes at this position when a run is restarted after the current record.
+     * </pre>
+     * @return byte position of the next record, or -1 if unknown
+     */
+    long nextPosition();
+}
@@ -0,0 +1,117 @@
+package org.hashiohiro.fixedlengthchecker.core.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Factory methods for opening record readers over fixed-length inputs.
+ * <pre>
+ * Chooses the fastest reader implementation that is correct for the given charset.
+ * </pre>
+ */
+public final class RecordReaders {
+
+    private RecordReaders() {
+    }
+
+    /**
+     * Opens a reader that splits the stream into newline-terminated records.
+     * <pre>
+     * Uses byte-level scanning when the charset allows it, and falls back to decoding lines otherwise.
+     * </pre>
+     * @param in stream to read; closed when the reader is closed
+     * @param charset charset the records are encoded in
+     * @return record reader over the stream
+     */
+    public static RecordReader lines(InputStream in, Charset charset) {
+        if (LineRecordReader.supports(charset)) {
+            return new LineRecordReader(in, charset);
+        }
+        return new ReaderLineRecordReader(in, charset);
+    }
+
+    /**
+     * Opens a reader that splits a file into newline-terminated records, starting at the given position.
+     * <pre>
+     * The file is positioned directly at startPosition, so resuming a run skips the bytes before it
+     * without reading them. Reported positions stay relative to the start of the file.
+     * </pre>
+     * @param path file to read
+     * @param charset charset the records are encoded in
+     * @param startPosition byte position of the first record to read
+     * @return record reader over the file
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if startPosition is not 0 and line terminators are not single bytes in the charset
+     */
+    public static RecordReader lines(Path path, Charset charset, long startPosition) throws IOException {
+        if (startPosition == 0) {
+            return lines(Files.newInputStream(path), charset);
+        }
+        if (!LineRecordReader.supports(charset)) {
+            throw new IllegalArgumentException("Resuming is not supported for " + charset.name());
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        channel.position(startPosition);
+        return new LineRecordReader(Channels.newInputStream(channel), charset, startPosition);
+    }
+
+    /**
+     * Opens a reader that frames the stream into records as described by the framing.
+     *
+     * @param in stream to read; closed when the reader is closed
+     * @param charset charset the records are encoded in
+     * @param framing how records are delimited
+     * @param recordLength length of every record in bytes; only used by {@link RecordFraming#FIXED}
+     * @return record reader over the stream
+     */
+    public static RecordReader open(InputStream in, Charset charset, RecordFraming framing, int recordLength) {
+        switch (framing) {
+            case FIXED:
+                return new FixedRecordReader(in, recordLength);
+            case RDW:
+                return new RdwRecordReader(in, false);
+            case VB:
+                return new RdwRecordReader(in, true);
+            default:
+                return lines(in, charset);
+        }
+    }
+
+    /**
+     * Opens a reader that frames a file into records as described by the framing, starting at the given position.
+     * <pre>
+     * startPosition must be the start of a record; variable blocked files can only be read from the start.
+     * </pre>
+     * @param path file to read
+     * @param charset charset the records are encoded in
+     * @param framing how records are delimited
+     * @param recordLength length of every record in bytes; only used by {@link RecordFraming#FIXED}
+     * @param startPosition byte position of the first record to read
+     * @return record reader over the file
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if the input cannot be read from startPosition with this framing
+     */
+    public static RecordReader open(Path path, Charset charset, RecordFraming framing, int recordLength, long startPosition) throws IOException {
+        if (framing == RecordFraming.LINES) {
+            return lines(path, charset, startPosition);
+        }
+        if (startPosition == 0) {
+            return open(Files.newInputStream(path), charset, framing, recordLength);
+        }
+        if (framing == RecordFraming.VB) {
+            throw new IllegalArgumentException("Resuming is not supported for variable blocked files.");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        channel.position(startPosition);
+        InputStream in = Channels.newInputStream(channel);
+        return framing == RecordFraming.FIXED
+                ? new FixedRecordReader(in, recordLength, startPosition)
+                : new RdwRecordReader(in, false, startPosition);
+    }
+}
@@ -0,0 +1,146 @@
+package org.hashiohiro.fixedlengthchecker.core.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics collector published as an MXBean on the platform MBean server.
+ * <pre>
+ * Registered under "org.hashiohiro.fixedlengthchecker:type=ValidationMetrics,name=&lt;name&gt;",
+ * so tools such as JConsole can watch throughput and failure counts of a running process.
+ * Close the instance to unregister it.
+ * </pre>
+ */
+public class JmxValidationMetrics extends MetricsCollector implements ValidationMetricsMXBean, AutoCloseable {
+
+    /**
+     * Name the MXBean is registered under.
+     */
+    private final ObjectName objectName;
+
+    /**
+     * Creates a collector and registers it on the platform MBean server.
+     *
+     * @param name value of the name key, distinguishing several checkers in one process
+     * @throws IllegalStateException if registration fails, for example because the name is taken
+     */
+    public JmxValidationMetrics(String name) {
+        try {
+            this.objectName = new ObjectName("org.hashiohiro.fixedlengthchecker:type=ValidationMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register validation metrics: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the name the MXBean is registered under.
+     *
+     * @return registered object name
+     */
+    public ObjectName getObjectName() {
+        return objectName;
+    }
+
+    /**
+     * Returns the number of records validated.
+     *
+     * @return number of records
+     */
+    @Override
+    public long getRecords() {
+        return snapshot().getRecords();
+    }
+
+    /**
+     * Returns the number of record bytes validated.
+     *
+     * @return number of bytes
+     */
+    @Override
+    public long getBytes() {
+        return snapshot().getBytes();
+    }
+
+    /**
+     * Returns the number of records validated per second of run time.
+     *
+     * @return records per second
+     */
+    @Override
+    public double getRecordsPerSecond() {
+        return snapshot().getRecordsPerSecond();
+    }
+
+    /**
+     * Returns the number of record bytes validated per second of run time.
+     *
+     * @return bytes per second
+     */
+    @Override
+    public double getBytesPerSecond() {
+        return snapshot().getBytesPerSecond();
+    }
+
+    /**
+     * Returns the time spent reading records.
+     *
+     * @return read time in milliseconds
+     */
+    @Override
+    public long getReadMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(snapshot().getReadNanos());
+    }
+
+    /**
+     * Returns the time spent validating records, summed over threads.
+     *
+     * @return validation time in milliseconds
+     */
+    @Override
+    public long getValidationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(snapshot().getValidationNanos());
+    }
+
+    /**
+     * Returns the number of invalid results per field name.
+     *
+     * @return failure counts by field name
+     */
+    @Override
+    public Map<String, Long> getFieldFailures() {
+        return snapshot().getFieldFailures();
+    }
+
+    /**
+     * Returns the time spent in each field validator.
+     *
+     * @return time in milliseconds by validator class name
+     */
+    @Override
+    public Map<String, Long> getCheckMillis() {
+        Map<String, Long> millis = new TreeMap<>();
+        snapshot().getCheckNanos().forEach((name, nanos) -> millis.put(name, TimeUnit.NANOSECONDS.toMillis(nanos)));
+        return millis;
+    }
+
+    /**
+     * Unregisters the MXBean; counters remain readable through {@link #snapshot()}.
+     */
+    @Override
+    public void close() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to unregister validation metrics: " + e.getMessage(), e);
+        }
+    }
+}
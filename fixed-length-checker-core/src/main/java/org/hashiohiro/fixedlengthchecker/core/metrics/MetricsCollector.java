@@ -0,0 +1,149 @@
+package org.hashiohiro.fixedlengthchecker.core.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe in-memory implementation of ValidationMetrics.
+ * <pre>
+ * Counters are LongAdders, so workers reporting concurrently do not contend on a single value.
+ * Counters accumulate over every run until {@link #reset()} is called.
+ * </pre>
+ */
+public class MetricsCollector implements ValidationMetrics {
+
+    /**
+     * Number of records validated.
+     */
+    private final LongAdder records = new LongAdder();
+
+    /**
+     * Number of record bytes validated.
+     */
+    private final LongAdder bytes = new LongAdder();
+
+    /**
+     * Time spent reading records.
+     */
+    private final LongAdder readNanos = new LongAdder();
+
+    /**
+     * Time spent validating records, summed over threads.
+     */
+    private final LongAdder validationNanos = new LongAdder();
+
+    /**
+     * Wall-clock time of completed runs.
+     */
+    private final LongAdder runNanos = new LongAdder();
+
+    /**
+     * Invalid results per field name.
+     */
+    private final Map<String, LongAdder> fieldFailures = new ConcurrentHashMap<>();
+
+    /**
+     * Time spent per field validator.
+     */
+    private final Map<String, LongAdder> checkNanos = new ConcurrentHashMap<>();
+
+    /**
+     * Invocations per field validator.
+     */
+    private final Map<String, LongAdder> checkCalls = new ConcurrentHashMap<>();
+
+    /**
+     * Adds time spent reading records.
+     *
+     * @param nanos time spent reading records
+     */
+    @Override
+    public void recordRead(long nanos) {
+        readNanos.add(nanos);
+    }
+
+    /**
+     * Adds a batch of validated records.
+     *
+     * @param records number of records validated
+     * @param bytes number of record bytes validated
+     * @param nanos time spent validating the records
+     */
+    @Override
+    public void recordValidation(long records, long bytes, long nanos) {
+        this.records.add(records);
+        this.bytes.add(bytes);
+        validationNanos.add(nanos);
+    }
+
+    /**
+     * Adds one invocation of a field check.
+     *
+     * @param validatorName simple class name of the field validator
+     * @param nanos time spent in the check
+     */
+    @Override
+    public void recordCheck(String validatorName, long nanos) {
+        checkNanos.computeIfAbsent(validatorName, k -> new LongAdder()).add(nanos);
+        checkCalls.computeIfAbsent(validatorName, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Counts an invalid field.
+     *
+     * @param fieldName name of the failing field
+     */
+    @Override
+    public void recordFailure(String fieldName) {
+        fieldFailures.computeIfAbsent(fieldName, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Adds the wall-clock time of a completed run.
+     *
+     * @param nanos wall-clock time of the run
+     */
+    @Override
+    public void recordRun(long nanos) {
+        runNanos.add(nanos);
+    }
+
+    /**
+     * Returns a consistent copy of the current counters.
+     *
+     * @return snapshot of the counters
+     */
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(records.sum(), bytes.sum(), runNanos.sum(), readNanos.sum(), validationNanos.sum(),
+                sums(fieldFailures), sums(checkNanos), sums(checkCalls));
+    }
+
+    /**
+     * Clears every counter.
+     */
+    public void reset() {
+        records.reset();
+        bytes.reset();
+        readNanos.reset();
+        validationNanos.reset();
+        runNanos.reset();
+        fieldFailures.clear();
+        checkNanos.clear();
+        checkCalls.clear();
+    }
+
+    /**
+     * Copies keyed counters into a sorted map of sums.
+     *
+     * @param counters keyed counters
+     * @return unmodifiable map of sums sorted by key
+     */
+    private static Map<String, Long> sums(Map<String, LongAdder> counters) {
+        Map<String, Long> sums = new TreeMap<>();
+        counters.forEach((key, adder) -> sums.put(key, adder.sum()));
+        return Collections.unmodifiableMap(sums);
+    }
+}
@@ -0,0 +1,74 @@
+package org.hashiohiro.fixedlengthchecker.core.metrics;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Point-in-time copy of the counters of a MetricsCollector.
+ * <pre>
+ * Rates are computed over the wall-clock time of completed runs. Read and validation times are
+ * summed over threads, so in parallel mode validation time may exceed the elapsed time.
+ * </pre>
+ */
+@Value
+public class MetricsSnapshot {
+
+    /**
+     * Number of records validated.
+     */
+    long records;
+
+    /**
+     * Number of record bytes validated, excluding terminators.
+     */
+    long bytes;
+
+    /**
+     * Wall-clock time of completed runs in nanoseconds.
+     */
+    long elapsedNanos;
+
+    /**
+     * Time spent reading records in nanoseconds.
+     */
+    long readNanos;
+
+    /**
+     * Time spent validating records in nanoseconds, summed over threads.
+     */
+    long validationNanos;
+
+    /**
+     * Number of invalid results per field name.
+     */
+    Map<String, Long> fieldFailures;
+
+    /**
+     * Time spent in each field validator in nanoseconds, keyed by validator class name.
+     */
+    Map<String, Long> checkNanos;
+
+    /**
+     * Number of invocations of each field validator, keyed by validator class name.
+     */
+    Map<String, Long> checkCalls;
+
+    /**
+     * Returns the number of records validated per second of run time.
+     *
+     * @return records per second, or 0 if no run completed
+     */
+    public double getRecordsPerSecond() {
+        return elapsedNanos == 0 ? 0 : records * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns the number of record bytes validated per second of run time.
+     *
+     * @return bytes per second, or 0 if no run completed
+     */
+    public double getBytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytes * 1e9 / elapsedNanos;
+    }
+}
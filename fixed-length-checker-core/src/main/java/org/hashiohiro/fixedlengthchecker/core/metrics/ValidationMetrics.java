@@ -0,0 +1,50 @@
+package org.hashiohiro.fixedlengthchecker.core.metrics;
+
+/**
+ * Receiver of measurements taken while validating files.
+ * <pre>
+ * Implementations must be thread-safe: in parallel mode validation time and check timings
+ * are reported from worker threads. Reading and validation time are reported in batches,
+ * so only per-check timings and failures are reported once per event.
+ * </pre>
+ */
+public interface ValidationMetrics {
+
+    /**
+     * Records time spent waiting for the input.
+     *
+     * @param nanos time spent reading records
+     */
+    void recordRead(long nanos);
+
+    /**
+     * Records a batch of validated records.
+     *
+     * @param records number of records validated
+     * @param bytes number of record bytes validated, excluding terminators
+     * @param nanos time spent validating the records
+     */
+    void recordValidation(long records, long bytes, long nanos);
+
+    /**
+     * Records one invocation of a field check.
+     *
+     * @param validatorName simple class name of the field validator
+     * @param nanos time spent in the check
+     */
+    void recordCheck(String validatorName, long nanos);
+
+    /**
+     * Records an invalid field.
+     *
+     * @param fieldName name of the failing field
+     */
+    void recordFailure(String fieldName);
+
+    /**
+     * Records the end of a validation run.
+     *
+     * @param nanos wall-clock time of the run
+     */
+    void recordRun(long nanos);
+}
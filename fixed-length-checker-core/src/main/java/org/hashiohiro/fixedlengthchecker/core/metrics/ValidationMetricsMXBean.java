@@ -0,0 +1,70 @@
+package org.hashiohiro.fixedlengthchecker.core.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface exposing validation metrics over JMX.
+ */
+public interface ValidationMetricsMXBean {
+
+    /**
+     * Returns the number of records validated.
+     *
+     * @return number of records
+     */
+    long getRecords();
+
+    /**
+     * Returns the number of record bytes validated.
+     *
+     * @return number of bytes
+     */
+    long getBytes();
+
+    /**
+     * Returns the number of records validated per second of run time.
+     *
+     * @return records per second
+     */
+    double getRecordsPerSecond();
+
+    /**
+     * Returns the number of record bytes validated per second of run time.
+     *
+     * @return bytes per second
+     */
+    double getBytesPerSecond();
+
+    /**
+     * Returns the time spent reading records.
+     *
+     * @return read time in milliseconds
+     */
+    long getReadMillis();
+
+    /**
+     * Returns the time spent validating records, summed over threads.
+     *
+     * @return validation time in milliseconds
+     */
+    long getValidationMillis();
+
+    /**
+     * Returns the number of invalid results per field name.
+     *
+     * @return failure counts by field name
+     */
+    Map<String, Long> getFieldFailures();
+
+    /**
+     * Returns the time spent in each field validator.
+     *
+     * @return time in milliseconds by validator class name
+     */
+    Map<String, Long> getCheckMillis();
+
+    /**
+     * Clears every counter.
+     */
+    void reset();
+}
@@ -0,0 +1,47 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+import java.util.Locale;
+
+/**
+ * Aggregates a trailer control can reconcile against the records before it.
+ * <pre>
+ * Every aggregate is built up record by record during the single validation pass and can be
+ * merged from partial results, so chunks validated in parallel add up to the sequential result.
+ * </pre>
+ */
+public enum AggregateType {
+
+    /**
+     * Number of records, such as the detail record count of a trailer.
+     */
+    COUNT,
+
+    /**
+     * Exact sum of a number field, such as the total amount of the details.
+     */
+    SUM,
+
+    /**
+     * Hash total: sum of a number field, such as an account number, truncated to the digits
+     * of the trailer field.
+     */
+    HASH;
+
+    /**
+     * Returns the aggregate with the given name, ignoring case.
+     *
+     * @param name count, sum or hash; may be null
+     * @return matching aggregate, or null if name is null
+     * @throws IllegalArgumentException if no aggregate has the name
+     */
+    public static AggregateType parse(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown aggregate: " + name);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compact table of the failures found in a batch of records validated together.
+ * <pre>
+ * Only failures are stored, as ValidationError objects in record order, plus one int per record
+ * locating its failures; passing records cost nothing beyond that int. The line number of each
+ * error is the 1-based position of its record in the batch.
+ *
+ *   BatchResult result = checker.validateBatch(messages);
+ *   for (int i = 0; i &lt; result.size(); i++) {
+ *       if (!result.isValid(i)) {
+ *           deadLetter(messages.get(i), result.getErrors(i));
+ *       }
+ *   }
+ * </pre>
+ */
+public class BatchResult {
+
+    /**
+     * Failures of every record, in record order.
+     */
+    private final List<ValidationError> errors;
+
+    /**
+     * Index in errors of the first failure of each record, followed by the total number of errors.
+     */
+    private final int[] errorStarts;
+
+    /**
+     * Number of records containing at least one invalid field.
+     */
+    @Getter
+    private final int invalidRecords;
+
+    /**
+     * Creates a result from the failures of each record.
+     *
+     * @param errorCounts number of failures of each record, in record order
+     * @param errors failures of every record, in record order
+     * @throws IllegalArgumentException if the counts do not add up to the number of errors
+     */
+    public BatchResult(int[] errorCounts, List<ValidationError> errors) {
+        int[] starts = new int[errorCounts.length + 1];
+        int invalid = 0;
+        for (int i = 0; i < errorCounts.length; i++) {
+            starts[i + 1] = starts[i] + errorCounts[i];
+            if (errorCounts[i] > 0) {
+                invalid++;
+            }
+        }
+        if (starts[errorCounts.length] != errors.size()) {
+            throw new IllegalArgumentException("Error counts do not match the number of errors.");
+        }
+        this.errors = Collections.unmodifiableList(errors);
+        this.errorStarts = starts;
+        this.invalidRecords = invalid;
+    }
+
+    /**
+     * Returns the number of records in the batch.
+     *
+     * @return number of records
+     */
+    public int size() {
+        return errorStarts.length - 1;
+    }
+
+    /**
+     * Returns whether a record passed all checks.
+     *
+     * @param index zero-based position of the record in the batch
+     * @return true if the record has no invalid field
+     */
+    public boolean isValid(int index) {
+        return errorStarts[index] == errorStarts[index + 1];
+    }
+
+    /**
+     * Returns the number of invalid fields of a record.
+     *
+     * @param index zero-based position of the record in the batch
+     * @return number of failures of the record
+     */
+    public int getErrorCount(int index) {
+        return errorStarts[index + 1] - errorStarts[index];
+    }
+
+    /**
+     * Returns the failures of a record.
+     *
+     * @param index zero-based position of the record in the batch
+     * @return unmodifiable view of the failures of the record, empty if it is valid
+     */
+    public List<ValidationError> getErrors(int index) {
+        return errors.subList(errorStarts[index], errorStarts[index + 1]);
+    }
+
+    /**
+     * Returns the failures of every record.
+     *
+     * @return unmodifiable list of failures in record order
+     */
+    public List<ValidationError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Returns the total number of invalid fields in the batch.
+     *
+     * @return number of failures
+     */
+    public int getErrorCount() {
+        return errors.size();
+    }
+
+    /**
+     * Returns whether every record in the batch passed all checks.
+     *
+     * @return true if no invalid field was found
+     */
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+    /**
+     * Converts the counters of this batch into a summary, such as for a report writer.
+     *
+     * @return summary with the record, invalid record and error counts of the batch
+     */
+    public ValidationSummary toSummary() {
+        ValidationSummary summary = new ValidationSummary();
+        summary.setRecords(size());
+        summary.setInvalidRecords(invalidRecords);
+        summary.setErrors(errors.size());
+        return summary;
+    }
+}
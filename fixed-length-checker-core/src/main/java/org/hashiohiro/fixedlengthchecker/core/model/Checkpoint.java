@@ -0,0 +1,82 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a file validation run, saved periodically so the run can be resumed.
+ * <pre>
+ * The position is the byte offset of the first record not yet validated; the counters
+ * cover every line before it, as do the control totals of trailer reconciliation. The size
+ * and modification time identify the data file, so a checkpoint is not applied to a file
+ * that changed in between.
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Checkpoint {
+
+    /**
+     * Size of the data file in bytes when the checkpoint was written.
+     */
+    private long fileSize;
+
+    /**
+     * Last modification time of the data file in milliseconds since the epoch.
+     */
+    private long lastModified;
+
+    /**
+     * Byte offset of the next record to validate.
+     */
+    private long position;
+
+    /**
+     * Number of lines validated before the position.
+     */
+    private long lineNumber;
+
+    /**
+     * Number of lines containing at least one invalid field before the position.
+     */
+    private long invalidRecords;
+
+    /**
+     * Total number of invalid field results before the position.
+     */
+    private long errors;
+
+    /**
+     * State of the control totals before the position, or null if no record type carries controls.
+     */
+    private long[] controlTotals;
+
+    /**
+     * Creates a checkpoint without control totals.
+     *
+     * @param fileSize size of the data file in bytes
+     * @param lastModified last modification time of the data file in milliseconds
+     * @param position byte offset of the next record to validate
+     * @param lineNumber number of lines validated before the position
+     * @param invalidRecords number of invalid lines before the position
+     * @param errors number of invalid field results before the position
+     */
+    public Checkpoint(long fileSize, long lastModified, long position, long lineNumber, long invalidRecords, long errors) {
+        this(fileSize, lastModified, position, lineNumber, invalidRecords, errors, null);
+    }
+
+    /**
+     * Creates a summary holding the counters of this checkpoint.
+     *
+     * @return summary to continue counting from
+     */
+    public ValidationSummary toSummary() {
+        ValidationSummary summary = new ValidationSummary();
+        summary.setRecords(lineNumber);
+        summary.setInvalidRecords(invalidRecords);
+        summary.setErrors(errors);
+        return summary;
+    }
+}
@@ -0,0 +1,38 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents a control total that a trailer record type carries for the records before it.
+ * <pre>
+ * The aggregate covers the records since the previous trailer of the same type, or since the
+ * start of the file, and is compared with the number in the trailer field.
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ControlDefinition {
+
+    /**
+     * Name of the field of the trailer record type that holds the expected total.
+     */
+    private String field;
+
+    /**
+     * Aggregate to reconcile: count, sum or hash.
+     */
+    private String aggregate;
+
+    /**
+     * Name of the record type aggregated, or null to aggregate every record of another type.
+     */
+    private String recordType;
+
+    /**
+     * Name of the number field summed for sum and hash totals, or null for counts.
+     */
+    private String source;
+}
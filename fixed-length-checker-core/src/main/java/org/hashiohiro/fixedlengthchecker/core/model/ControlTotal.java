@@ -0,0 +1,55 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+import lombok.Value;
+
+/**
+ * Immutable, compiled form of a control total of a trailer record type.
+ * <pre>
+ * Links the trailer field holding the expected total to the layout and field it aggregates.
+ * </pre>
+ */
+@Value
+public class ControlTotal {
+
+    /**
+     * Layout of the trailer records carrying the total.
+     */
+    RecordLayout trailer;
+
+    /**
+     * Trailer field holding the expected total.
+     */
+    FieldLayout field;
+
+    /**
+     * Aggregate to reconcile.
+     */
+    AggregateType aggregate;
+
+    /**
+     * Layout of the records aggregated, or null for every record of another type.
+     */
+    RecordLayout source;
+
+    /**
+     * Number field summed for sum and hash totals, or null for counts.
+     */
+    FieldLayout sourceField;
+
+    /**
+     * Describes what the total covers, for messages.
+     *
+     * @return description such as "count of Detail" or "sum of Amount in Detail"
+     */
+    public String describe() {
+        String records = source != null ? source.getRecordType() : "records";
+        switch (aggregate) {
+            case SUM:
+                return "sum of " + sourceField.getName() + " in " + records;
+            case HASH:
+                return "hash total of " + sourceField.getName() + " in " + records;
+            default:
+                return "count of " + records;
+        }
+    }
+}
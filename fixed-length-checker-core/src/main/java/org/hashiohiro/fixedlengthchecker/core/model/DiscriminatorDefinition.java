@@ -0,0 +1,27 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents the position of the code that identifies the record type of each line.
+ * <pre>
+ * The code is read at the same offset in every record, before the record type is known.
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiscriminatorDefinition {
+
+    /**
+     * Offset of the code from the start of the record, in characters or bytes.
+     */
+    private int offset;
+
+    /**
+     * Length of the code in characters or bytes.
+     */
+    private int length;
+}
@@ -0,0 +1,70 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+/**
+ * Compact classification of a field validation failure.
+ * <pre>
+ * Used by error-only reporting, where messages are only built when requested.
+ * </pre>
+ */
+public enum ErrorCode {
+
+    /**
+     * The record is too short to contain the field.
+     */
+    INSUFFICIENT_LENGTH,
+
+    /**
+     * The field does not match its fixed value.
+     */
+    FIXED_VALUE_MISMATCH,
+
+    /**
+     * The field is expected to be blank but is not.
+     */
+    NOT_BLANK,
+
+    /**
+     * The field is required but holds only whitespace.
+     */
+    REQUIRED_MISSING,
+
+    /**
+     * The field does not match its regex pattern.
+     */
+    REGEX_MISMATCH,
+
+    /**
+     * The field is not a valid number of its numeric, signed, zoned or packed type.
+     */
+    NOT_NUMERIC,
+
+    /**
+     * The field is not an existing date in its date format.
+     */
+    INVALID_DATE,
+
+    /**
+     * The value of a number field is below its min or above its max.
+     */
+    OUT_OF_RANGE,
+
+    /**
+     * The value of a unique field already appeared in an earlier record.
+     */
+    DUPLICATE_KEY,
+
+    /**
+     * The trailer field does not match the count, sum or hash total of the records before it.
+     */
+    CONTROL_TOTAL_MISMATCH,
+
+    /**
+     * The record type code matches none of the defined record types.
+     */
+    UNKNOWN_RECORD_TYPE,
+
+    /**
+     * The field was rejected by a custom validator.
+     */
+    INVALID
+}
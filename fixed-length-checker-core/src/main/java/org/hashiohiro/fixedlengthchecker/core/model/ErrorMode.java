@@ -0,0 +1,17 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+/**
+ * How many failures are reported for a single field.
+ */
+public enum ErrorMode {
+
+    /**
+     * Stop at the first failing check of each field; the fastest mode and the default.
+     */
+    FIRST,
+
+    /**
+     * Run every check of each field and report each one that fails, for full diagnostics.
+     */
+    ALL
+}
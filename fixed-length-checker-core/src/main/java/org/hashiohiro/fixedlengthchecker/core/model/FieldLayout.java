@@ -0,0 +1,108 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+import lombok.Value;
+import org.hashiohiro.fixedlengthchecker.core.validator.DatePattern;
+import org.hashiohiro.fixedlengthchecker.core.validator.EncodedValue;
+import org.hashiohiro.fixedlengthchecker.core.validator.FieldValidator;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable, compiled form of a single field within a record layout.
+ * <pre>
+ * Holds the absolute offset of the field, its precompiled regex pattern, and only the checks
+ * that actually apply to it, so the per-line loop does not need to inspect the definition.
+ * For byte-level validation it also carries the fixed value, pad byte and digit zero pre-encoded in the record charset.
+ * Typed fields carry their parsed type and, for dates, the compiled date pattern.
+ * </pre>
+ */
+@Value
+public class FieldLayout {
+
+    /**
+     * Zero-based position of the field within the record, or -1 for the record type discriminator.
+     */
+    int index;
+
+    /**
+     * The field name used for identification in validation and logging.
+     */
+    String name;
+
+    /**
+     * Absolute offset of the field from the start of the record, in characters or bytes.
+     */
+    int offset;
+
+    /**
+     * Length of the field in characters or bytes.
+     */
+    int length;
+
+    /**
+     * Immutable snapshot of the definition the field was compiled from.
+     */
+    FrozenFieldDefinition definition;
+
+    /**
+     * Precompiled regex pattern, or null if the field has no regex.
+     */
+    Pattern pattern;
+
+    /**
+     * Charset the record is encoded in, used to pre-encode values and decode field bytes.
+     */
+    Charset charset;
+
+    /**
+     * Fixed value encoded in the record charset, or null if the field has no fixed value.
+     */
+    EncodedValue encodedFixedValue;
+
+    /**
+     * Byte value of a space in the record charset, or -1 if a space does not encode to a single byte.
+     */
+    int padByte;
+
+    /**
+     * Byte value of the digit zero in the record charset when the ten digits encode to consecutive
+     * single bytes, as in ASCII and EBCDIC, or -1 otherwise.
+     */
+    int digitZeroByte;
+
+    /**
+     * Data type of the field, or null for free text.
+     */
+    FieldType type;
+
+    /**
+     * Compiled date pattern of a date field, or null for other fields.
+     */
+    DatePattern datePattern;
+
+    /**
+     * Checks to run for the field, in order; empty if nothing needs to be checked.
+     */
+    List<FieldValidator> checks;
+
+    /**
+     * Decodes the bytes of this field into a string.
+     * <pre>
+     * Only called when a check or a result message needs the textual value.
+     * </pre>
+     * @param record buffer holding the record bytes
+     * @param offset absolute index of the first byte of the field in the buffer
+     * @return decoded field value
+     */
+    public String decode(ByteBuffer record, int offset) {
+        if (record.hasArray()) {
+            return new String(record.array(), record.arrayOffset() + offset, length, charset);
+        }
+        byte[] bytes = new byte[length];
+        record.get(offset, bytes);
+        return new String(bytes, charset);
+    }
+}
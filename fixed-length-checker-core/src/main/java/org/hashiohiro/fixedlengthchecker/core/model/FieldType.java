@@ -0,0 +1,68 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+import java.util.Locale;
+
+/**
+ * Data types a field can declare with its type attribute.
+ * <pre>
+ * Each type is checked by a dedicated validator that works on the field bytes or on reusable
+ * decoded text, without regex and without allocating for passing fields. Number types can be
+ * combined with min and max to check the range of the value.
+ * </pre>
+ */
+public enum FieldType {
+
+    /**
+     * Unsigned digits only, such as 0001234500.
+     */
+    NUMERIC,
+
+    /**
+     * Digits with an optional leading or trailing + or - sign, such as -000123 or 000123+.
+     */
+    SIGNED,
+
+    /**
+     * Zoned decimal: digits whose last character may carry the sign as an overpunch,
+     * such as 000012C in EBCDIC or 000012{ after decoding.
+     */
+    ZONED,
+
+    /**
+     * Packed decimal (COMP-3): two digits per byte and a sign nibble in the last byte.
+     * Checked on the raw bytes; the field length is counted in bytes.
+     */
+    PACKED,
+
+    /**
+     * Calendar date or time in the layout given by the format attribute, such as yyyyMMdd.
+     */
+    DATE;
+
+    /**
+     * Returns whether values of this type are numbers that can be range checked.
+     *
+     * @return true for every type except DATE
+     */
+    public boolean isNumber() {
+        return this != DATE;
+    }
+
+    /**
+     * Returns the type with the given name, ignoring case.
+     *
+     * @param name numeric, signed, zoned, packed or date; may be null
+     * @return matching type, or null if name is null
+     * @throws IllegalArgumentException if no type has the name
+     */
+    public static FieldType parse(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown field type: " + name);
+        }
+    }
+}
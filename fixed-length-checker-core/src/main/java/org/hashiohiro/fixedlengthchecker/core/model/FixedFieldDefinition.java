@@ -8,6 +8,9 @@ import lombok.NoArgsConstructor;
  * Represents a single field definition used in fixed-length file validation.
  * <pre>
  * This model defines field name, length, fixed value, regex, and blank or required flags.
+ * A field can also declare a data type, checked by a dedicated validator, with a date format
+ * for date fields and an inclusive min and max for number fields. A unique field must not hold
+ * the same value in two records of a file.
  * </pre>
  */
 @Data
@@ -44,4 +47,74 @@ public class FixedFieldDefinition {
      * Indicates if this field is required in the record.
      */
     private boolean required;
+
+    /**
+     * Data type of the field, one of numeric, signed, zoned, packed or date, or null for free text.
+     */
+    private String type;
+
+    /**
+     * Layout of a date field, such as yyyyMMdd; required when type is date.
+     */
+    private String format;
+
+    /**
+     * Smallest allowed value of a number field, or null for no lower bound.
+     */
+    private Long min;
+
+    /**
+     * Largest allowed value of a number field, or null for no upper bound.
+     */
+    private Long max;
+
+    /**
+     * Indicates whether the value of this field must differ in every record of a file, such as a key.
+     */
+    private boolean unique;
+
+    /**
+     * Creates an untyped definition.
+     *
+     * @param name field name
+     * @param length field length in characters or bytes
+     * @param fixedValue fixed value to match, or null
+     * @param blank true if the field must be blank
+     * @param regex regex pattern the value must match, or null
+     * @param required true if the field is required
+     */
+    public FixedFieldDefinition(String name, int length, String fixedValue, boolean blank, String regex, boolean required) {
+        this(name, length, fixedValue, blank, regex, required, null, null, null, null);
+    }
+
+    /**
+     * Creates a definition that is not unique.
+     *
+     * @param name field name
+     * @param length field length in characters or bytes
+     * @param fixedValue fixed value to match, or null
+     * @param blank true if the field must be blank
+     * @param regex regex pattern the value must match, or null
+     * @param required true if the field is required
+     * @param type data type, or null for free text
+     * @param format date format, or null
+     * @param min smallest allowed value, or null
+     * @param max largest allowed value, or null
+     */
+    public FixedFieldDefinition(String name, int length, String fixedValue, boolean blank, String regex, boolean required,
+                                String type, String format, Long min, Long max) {
+        this(name, length, fixedValue, blank, regex, required, type, format, min, max, false);
+    }
+
+    /**
+     * Returns an immutable snapshot of this definition.
+     * <pre>
+     * Compiled layouts hold snapshots, so the rules of a layout that is shared between threads
+     * can never change under a running validation.
+     * </pre>
+     * @return snapshot of the current values of this definition
+     */
+    public FrozenFieldDefinition freeze() {
+        return FrozenFieldDefinition.of(this);
+    }
 }
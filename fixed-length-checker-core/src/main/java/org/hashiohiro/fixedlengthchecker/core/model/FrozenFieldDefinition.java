@@ -0,0 +1,91 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+import lombok.Value;
+
+/**
+ * Immutable snapshot of a field definition, held by compiled layouts.
+ * <pre>
+ * Layouts shared between threads keep this snapshot instead of the mutable definition they were
+ * compiled from, so no one holding a layout can change the rules under a running validation.
+ * Code that needs a FixedFieldDefinition, such as a validator written against the definition,
+ * gets an independent copy from {@link #toDefinition()}.
+ * </pre>
+ */
+@Value
+public class FrozenFieldDefinition {
+
+    /**
+     * The field name used for identification in validation and logging.
+     */
+    String name;
+
+    /**
+     * The expected length of the field in characters or bytes.
+     */
+    int length;
+
+    /**
+     * The fixed value to match, or null.
+     */
+    String fixedValue;
+
+    /**
+     * Indicates whether this field is expected to be blank.
+     */
+    boolean blank;
+
+    /**
+     * The regex pattern for value validation, or null.
+     */
+    String regex;
+
+    /**
+     * Indicates if this field is required in the record.
+     */
+    boolean required;
+
+    /**
+     * Data type of the field, or null for free text.
+     */
+    String type;
+
+    /**
+     * Layout of a date field, or null.
+     */
+    String format;
+
+    /**
+     * Smallest allowed value of a number field, or null for no lower bound.
+     */
+    Long min;
+
+    /**
+     * Largest allowed value of a number field, or null for no upper bound.
+     */
+    Long max;
+
+    /**
+     * Indicates whether the value of this field must differ in every record of a file.
+     */
+    boolean unique;
+
+    /**
+     * Takes a snapshot of a definition.
+     *
+     * @param def definition to copy
+     * @return snapshot holding the current values of the definition
+     */
+    public static FrozenFieldDefinition of(FixedFieldDefinition def) {
+        return new FrozenFieldDefinition(def.getName(), def.getLength(), def.getFixedValue(), def.isBlank(), def.getRegex(),
+                def.isRequired(), def.getType(), def.getFormat(), def.getMin(), def.getMax(), def.isUnique());
+    }
+
+    /**
+     * Returns a mutable copy of this snapshot; changing it does not affect the snapshot.
+     *
+     * @return new definition holding the values of this snapshot
+     */
+    public FixedFieldDefinition toDefinition() {
+        return new FixedFieldDefinition(name, length, fixedValue, blank, regex, required, type, format, min, max, unique);
+    }
+}
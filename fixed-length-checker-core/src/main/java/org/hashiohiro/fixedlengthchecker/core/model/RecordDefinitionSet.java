@@ -0,0 +1,40 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Represents all record types of a definition file together with their discriminator.
+ * <pre>
+ * A definition file holding a plain list of fields is loaded as a single record type
+ * without a discriminator.
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordDefinitionSet {
+
+    /**
+     * Position of the record type code, or null when the file has a single record type.
+     */
+    private DiscriminatorDefinition discriminator;
+
+    /**
+     * Record types in definition order.
+     */
+    private List<RecordTypeDefinition> recordTypes;
+
+    /**
+     * Creates a set holding a single record type without a discriminator.
+     *
+     * @param fields field definitions of the record type
+     * @return definition set with one record type
+     */
+    public static RecordDefinitionSet single(List<FixedFieldDefinition> fields) {
+        return new RecordDefinitionSet(null, List.of(new RecordTypeDefinition(null, null, fields)));
+    }
+}
@@ -0,0 +1,37 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+import lombok.Value;
+
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * Immutable execution plan for validating records of a single layout.
+ * <pre>
+ * Produced by compiling validated field definitions; holds the fields in record order
+ * with precomputed offsets and the total record length.
+ * </pre>
+ */
+@Value
+public class RecordLayout {
+
+    /**
+     * Name of the record type, or null when the definitions describe a single record type.
+     */
+    String recordType;
+
+    /**
+     * Compiled fields in record order.
+     */
+    List<FieldLayout> fields;
+
+    /**
+     * Sum of all field lengths, in characters or bytes.
+     */
+    int recordLength;
+
+    /**
+     * Charset the layout was compiled for.
+     */
+    Charset charset;
+}
@@ -0,0 +1,237 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable set of compiled record layouts, selected per record by a discriminator code.
+ * <pre>
+ * In byte mode the layout is found through a 256-entry table indexed by the first code byte;
+ * each entry holds the few layouts whose code starts with that byte, so single-byte codes
+ * resolve with one array access and nothing is allocated per record. In character mode
+ * the code is looked up as text. A set with a single layout has no discriminator and
+ * always resolves to that layout. The set also holds the control totals of its trailer
+ * record types, as they link layouts to each other.
+ * </pre>
+ */
+public final class RecordLayoutSet {
+
+    /**
+     * Compiled layouts in definition order.
+     */
+    private final List<RecordLayout> layouts;
+
+    /**
+     * Pseudo field covering the discriminator, used to report unknown record types; null for a single layout.
+     */
+    private final FieldLayout discriminator;
+
+    /**
+     * Candidate layouts indexed by the unsigned first code byte; null where no code starts with the byte.
+     */
+    private final Candidate[][] candidatesByFirstByte;
+
+    /**
+     * Layouts keyed by their code as text, for character-mode lookup.
+     */
+    private final Map<String, RecordLayout> layoutsByCode;
+
+    /**
+     * Control totals of the trailer record types, in definition order.
+     */
+    private final List<ControlTotal> controls;
+
+    /**
+     * Creates a set; use {@link #single(RecordLayout)} or DefinitionCompiler to build one.
+     *
+     * @param layouts compiled layouts in definition order
+     * @param discriminator pseudo field covering the discriminator, or null for a single layout
+     * @param codes code of each layout as text, in the same order as layouts
+     * @param charset charset the codes are encoded in
+     */
+    public RecordLayoutSet(List<RecordLayout> layouts, FieldLayout discriminator, List<String> codes, Charset charset) {
+        this(layouts, discriminator, codes, charset, List.of());
+    }
+
+    /**
+     * Creates a set whose trailer record types carry control totals.
+     *
+     * @param layouts compiled layouts in definition order
+     * @param discriminator pseudo field covering the discriminator, or null for a single layout
+     * @param codes code of each layout as text, in the same order as layouts
+     * @param charset charset the codes are encoded in
+     * @param controls control totals of the trailer record types
+     */
+    public RecordLayoutSet(List<RecordLayout> layouts, FieldLayout discriminator, List<String> codes, Charset charset, List<ControlTotal> controls) {
+        this.layouts = List.copyOf(layouts);
+        this.controls = List.copyOf(controls);
+        this.discriminator = discriminator;
+        this.candidatesByFirstByte = new Candidate[256][];
+        Map<String, RecordLayout> byCode = new HashMap<>();
+
+        if (discriminator != null) {
+            for (int i = 0; i < layouts.size(); i++) {
+                String code = codes.get(i);
+                Candidate candidate = new Candidate(code.getBytes(charset), layouts.get(i));
+                int first = candidate.code[0] & 0xFF;
+                Candidate[] bucket = candidatesByFirstByte[first];
+                if (bucket == null) {
+                    candidatesByFirstByte[first] = new Candidate[]{candidate};
+                } else {
+                    bucket = Arrays.copyOf(bucket, bucket.length + 1);
+                    bucket[bucket.length - 1] = candidate;
+                    candidatesByFirstByte[first] = bucket;
+                }
+                byCode.put(code, layouts.get(i));
+            }
+        }
+        this.layoutsByCode = Map.copyOf(byCode);
+    }
+
+    /**
+     * Creates a set holding a single layout that every record resolves to.
+     *
+     * @param layout compiled record layout
+     * @return set with one layout
+     */
+    public static RecordLayoutSet single(RecordLayout layout) {
+        return new RecordLayoutSet(List.of(layout), null, List.of(), layout.getCharset());
+    }
+
+    /**
+     * Returns the compiled layouts in definition order.
+     *
+     * @return unmodifiable list of layouts
+     */
+    public List<RecordLayout> getLayouts() {
+        return layouts;
+    }
+
+    /**
+     * Returns the control totals of the trailer record types.
+     *
+     * @return unmodifiable list of controls, empty if no record type is a trailer
+     */
+    public List<ControlTotal> getControls() {
+        return controls;
+    }
+
+    /**
+     * Returns the pseudo field covering the discriminator.
+     *
+     * @return discriminator field, or null for a single layout
+     */
+    public FieldLayout getDiscriminator() {
+        return discriminator;
+    }
+
+    /**
+     * Returns whether records are dispatched by a discriminator code.
+     *
+     * @return true if the set holds several record types
+     */
+    public boolean isMultiType() {
+        return discriminator != null;
+    }
+
+    /**
+     * Finds the layout of a record held as raw bytes.
+     *
+     * @param record buffer holding the record bytes, indexed absolutely
+     * @param offset index of the first byte of the record in the buffer
+     * @param length number of bytes in the record, excluding any terminator
+     * @return matching layout, or null if the record is too short or its code is unknown
+     */
+    public RecordLayout resolve(ByteBuffer record, int offset, int length) {
+        if (discriminator == null) {
+            return layouts.get(0);
+        }
+        int codeOffset = discriminator.getOffset();
+        int codeLength = discriminator.getLength();
+        if (length < codeOffset + codeLength) {
+            return null;
+        }
+
+        int start = offset + codeOffset;
+        Candidate[] bucket = candidatesByFirstByte[record.get(start) & 0xFF];
+        if (bucket == null) {
+            return null;
+        }
+        for (Candidate candidate : bucket) {
+            if (matches(record, start, candidate.code, codeLength)) {
+                return candidate.layout;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the layout of a record held as text.
+     *
+     * @param line record text
+     * @return matching layout, or null if the record is too short or its code is unknown
+     */
+    public RecordLayout resolve(CharSequence line) {
+        if (discriminator == null) {
+            return layouts.get(0);
+        }
+        int codeOffset = discriminator.getOffset();
+        int codeEnd = codeOffset + discriminator.getLength();
+        if (line.length() < codeEnd) {
+            return null;
+        }
+        return layoutsByCode.get(line.subSequence(codeOffset, codeEnd).toString());
+    }
+
+    /**
+     * Compares the code bytes of a record with a candidate code.
+     *
+     * @param record buffer holding the record bytes
+     * @param start absolute index of the first code byte
+     * @param code candidate code bytes
+     * @param codeLength length of the discriminator in bytes
+     * @return true if the bytes are equal
+     */
+    private static boolean matches(ByteBuffer record, int start, byte[] code, int codeLength) {
+        if (code.length != codeLength) {
+            return false;
+        }
+        for (int i = 1; i < codeLength; i++) {
+            if (record.get(start + i) != code[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Code bytes of a record type and its layout.
+     */
+    private static final class Candidate {
+
+        /**
+         * Code encoded in the record charset.
+         */
+        private final byte[] code;
+
+        /**
+         * Layout of records carrying the code.
+         */
+        private final RecordLayout layout;
+
+        /**
+         * Creates a candidate.
+         *
+         * @param code code encoded in the record charset
+         * @param layout layout of records carrying the code
+         */
+        private Candidate(byte[] code, RecordLayout layout) {
+            this.code = code;
+            this.layout = layout;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Represents one record type of a file that mixes several record layouts.
+ * <pre>
+ * A record belongs to this type when its discriminator bytes equal the code.
+ * Trailer record types may declare controls: totals of earlier records that their fields must match.
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordTypeDefinition {
+
+    /**
+     * The record type name used for identification in validation and logging, such as "Header".
+     */
+    private String name;
+
+    /**
+     * The discriminator value identifying records of this type. Must match the discriminator length.
+     */
+    private String code;
+
+    /**
+     * Field definitions of this record type, in record order.
+     */
+    private List<FixedFieldDefinition> fields;
+
+    /**
+     * Control totals carried by records of this type, or null if it is not a trailer.
+     */
+    private List<ControlDefinition> controls;
+
+    /**
+     * Creates a record type without control totals.
+     *
+     * @param name record type name
+     * @param code discriminator value of the type
+     * @param fields field definitions in record order
+     */
+    public RecordTypeDefinition(String name, String code, List<FixedFieldDefinition> fields) {
+        this(name, code, fields, null);
+    }
+}
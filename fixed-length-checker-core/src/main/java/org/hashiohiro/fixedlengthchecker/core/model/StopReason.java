@@ -0,0 +1,22 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+/**
+ * Reason why a file validation stopped before reaching the end of the input.
+ */
+public enum StopReason {
+
+    /**
+     * A record with at least one invalid field was found while fail-fast was enabled.
+     */
+    FIRST_INVALID_RECORD,
+
+    /**
+     * The number of invalid fields reached the configured maximum.
+     */
+    MAX_ERRORS,
+
+    /**
+     * The share of invalid records exceeded the configured maximum rate.
+     */
+    MAX_ERROR_RATE
+}
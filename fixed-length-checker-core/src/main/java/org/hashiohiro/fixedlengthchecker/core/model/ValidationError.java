@@ -0,0 +1,151 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+import lombok.Getter;
+import org.hashiohiro.fixedlengthchecker.core.validator.FieldValidator;
+
+/**
+ * Compact record of a single field validation failure.
+ * <pre>
+ * Only the line number, the field, the error code and a copy of the raw field bytes are kept.
+ * The actual value and the message are built lazily on first access, so collecting errors
+ * costs one small allocation per failure and nothing for passing fields.
+ * </pre>
+ */
+public class ValidationError {
+
+    /**
+     * Message used when the record is too short to contain the field.
+     */
+    private static final String INSUFFICIENT_LENGTH_MESSAGE = "❌ Insufficient field length";
+
+    /**
+     * Message used when the record type code matches no record type.
+     */
+    private static final String UNKNOWN_RECORD_TYPE_MESSAGE = "❌ Unknown record type";
+
+    /**
+     * 1-based line number of the record containing the field.
+     */
+    @Getter
+    private final long lineNumber;
+
+    /**
+     * Compiled layout of the failing field.
+     */
+    @Getter
+    private final FieldLayout field;
+
+    /**
+     * Classification of the failure.
+     */
+    @Getter
+    private final ErrorCode code;
+
+    /**
+     * Validator that rejected the field, or null for length and record type errors.
+     */
+    private final FieldValidator validator;
+
+    /**
+     * Raw field bytes, or null when the value was captured as text.
+     */
+    private final byte[] rawValue;
+
+    /**
+     * Actual value, decoded on first access.
+     */
+    private String actualValue;
+
+    /**
+     * Message, built on first access.
+     */
+    private String message;
+
+    /**
+     * Creates an error that keeps the raw field bytes for lazy decoding.
+     *
+     * @param lineNumber 1-based line number of the record
+     * @param field compiled layout of the failing field
+     * @param code classification of the failure
+     * @param validator validator that rejected the field, or null for length and record type errors
+     * @param rawValue copy of the raw field bytes
+     */
+    public ValidationError(long lineNumber, FieldLayout field, ErrorCode code, FieldValidator validator, byte[] rawValue) {
+        this.lineNumber = lineNumber;
+        this.field = field;
+        this.code = code;
+        this.validator = validator;
+        this.rawValue = rawValue;
+    }
+
+    /**
+     * Creates an error whose actual value is already available as text.
+     *
+     * @param lineNumber 1-based line number of the record
+     * @param field compiled layout of the failing field
+     * @param code classification of the failure
+     * @param validator validator that rejected the field, or null for length and record type errors
+     * @param actualValue actual value of the field
+     */
+    public ValidationError(long lineNumber, FieldLayout field, ErrorCode code, FieldValidator validator, String actualValue) {
+        this(lineNumber, field, code, validator, (byte[]) null);
+        this.actualValue = actualValue;
+    }
+
+    /**
+     * Returns the zero-based index of the failing field in the record.
+     *
+     * @return field index
+     */
+    public int getFieldIndex() {
+        return field.getIndex();
+    }
+
+    /**
+     * Returns the name of the failing field.
+     *
+     * @return field name
+     */
+    public String getFieldName() {
+        return field.getName();
+    }
+
+    /**
+     * Returns the actual value of the field, decoding it on first access.
+     *
+     * @return actual value, or an empty string for length errors
+     */
+    public String getActualValue() {
+        if (actualValue == null) {
+            actualValue = rawValue == null || code == ErrorCode.INSUFFICIENT_LENGTH ? "" : new String(rawValue, field.getCharset());
+        }
+        return actualValue;
+    }
+
+    /**
+     * Returns the failure message, building it on first access.
+     * <pre>
+     * The message is the one the failing validator reports for the actual value.
+     * </pre>
+     * @return failure message
+     */
+    public String getMessage() {
+        if (message == null) {
+            if (validator != null) {
+                message = validator.validate(getActualValue(), field).getMessage();
+            } else {
+                message = code == ErrorCode.UNKNOWN_RECORD_TYPE ? UNKNOWN_RECORD_TYPE_MESSAGE : INSUFFICIENT_LENGTH_MESSAGE;
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Converts this error into the equivalent full validation result.
+     *
+     * @return invalid ValidationResult for the field
+     */
+    public ValidationResult toResult() {
+        return new ValidationResult(getFieldName(), false, getMessage(), getActualValue());
+    }
+}
@@ -0,0 +1,91 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Aggregated counters describing the outcome of a streaming file validation.
+ * <pre>
+ * Only counts are kept here; per-field results are passed to the handler and then dropped.
+ * When a stop condition ends the run early, the counters cover the lines validated so far.
+ * </pre>
+ */
+@Data
+public class ValidationSummary {
+
+    /**
+     * Number of lines validated.
+     */
+    private long records;
+
+    /**
+     * Number of lines containing at least one invalid field.
+     */
+    private long invalidRecords;
+
+    /**
+     * Total number of invalid field results.
+     */
+    private long errors;
+
+    /**
+     * Reason the run stopped early, or null if the whole input was validated.
+     */
+    private StopReason stopReason;
+
+    /**
+     * Adds the results of one validated line to the counters.
+     *
+     * @param results validation results for each field in the line
+     */
+    public void add(List<ValidationResult> results) {
+        long lineErrors = 0;
+        for (ValidationResult result : results) {
+            if (!result.isValid()) {
+                lineErrors++;
+            }
+        }
+        add(lineErrors);
+    }
+
+    /**
+     * Adds one validated line with the given number of invalid fields to the counters.
+     *
+     * @param lineErrors number of invalid fields in the line
+     */
+    public void add(long lineErrors) {
+        records++;
+        if (lineErrors > 0) {
+            invalidRecords++;
+            errors += lineErrors;
+        }
+    }
+
+    /**
+     * Returns the share of validated lines that contain at least one invalid field.
+     *
+     * @return percentage of invalid lines, or 0 if no line was validated
+     */
+    public double getErrorRate() {
+        return records == 0 ? 0 : invalidRecords * 100.0 / records;
+    }
+
+    /**
+     * Returns whether the run stopped before reaching the end of the input.
+     *
+     * @return true if a stop condition ended the run
+     */
+    public boolean isStopped() {
+        return stopReason != null;
+    }
+
+    /**
+     * Returns whether every validated line passed all checks.
+     *
+     * @return true if no invalid field was found
+     */
+    public boolean isValid() {
+        return errors == 0;
+    }
+}
@@ -0,0 +1,46 @@
+package org.hashiohiro.fixedlengthchecker.core.model;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * Record layouts compiled from one definition file, tagged with the version of the file they came from.
+ * <pre>
+ * Instances are immutable; a reload produces a new instance with the next version number,
+ * so a validation holding an instance keeps using the same layouts until it ends.
+ * </pre>
+ */
+@Value
+public class VersionedLayouts {
+
+    /**
+     * Name the layouts are registered under, the definition file name without its extension.
+     */
+    String name;
+
+    /**
+     * Version number, starting at 1 and incremented on every reload.
+     */
+    long version;
+
+    /**
+     * Definition file the layouts were compiled from.
+     */
+    Path source;
+
+    /**
+     * Size of the definition file when it was loaded.
+     */
+    long fileSize;
+
+    /**
+     * Modification time of the definition file in milliseconds when it was loaded.
+     */
+    long lastModified;
+
+    /**
+     * Compiled record layouts.
+     */
+    RecordLayoutSet layouts;
+}
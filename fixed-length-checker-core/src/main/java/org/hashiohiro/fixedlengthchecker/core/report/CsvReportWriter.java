@@ -0,0 +1,121 @@
+package org.hashiohiro.fixedlengthchecker.core.report;
+
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationSummary;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes validation results as CSV with one row per field result.
+ * <pre>
+ * line,field,valid,value,message
+ * 2,Inquiry Number,false,ABCDEFGHIJ,❌ Regex mismatch [ABCDEFGHIJ]
+ *
+ * Values are quoted as described in RFC 4180 when they contain a comma, quote or line break.
+ * The summary is not written, so the output stays a single table. A run that fails ends with a
+ * row without line number or field, whose message starts with "❌ Validation failed".
+ * </pre>
+ */
+public class CsvReportWriter implements ReportWriter {
+
+    /**
+     * Header row of the report.
+     */
+    static final String HEADER = "line,field,valid,value,message\n";
+
+    /**
+     * Buffered destination of the report.
+     */
+    private final Writer out;
+
+    /**
+     * Creates a CSV report writer and writes the header row.
+     *
+     * @param out buffered destination of the report
+     * @throws IOException if writing the header fails
+     */
+    public CsvReportWriter(Writer out) throws IOException {
+        this.out = out;
+        out.write(HEADER);
+    }
+
+    /**
+     * Writes one row per field result of a line.
+     *
+     * @param lineNumber 1-based line number in the validated input
+     * @param results validation results for each field in the line
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void onLine(long lineNumber, List<ValidationResult> results) throws IOException {
+        String line = Long.toString(lineNumber);
+        for (ValidationResult res : results) {
+            out.write(line);
+            out.write(',');
+            writeValue(res.getFieldName());
+            out.write(res.isValid() ? ",true," : ",false,");
+            writeValue(res.getActualValue());
+            out.write(',');
+            writeValue(res.getMessage());
+            out.write('\n');
+        }
+    }
+
+    /**
+     * Does nothing; CSV reports hold field results only.
+     *
+     * @param summary summary counters of the run
+     */
+    @Override
+    public void summary(ValidationSummary summary) {
+    }
+
+    /**
+     * Writes the failure as a row without line number or field.
+     *
+     * @param message description of the failure
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void failure(String message) throws IOException {
+        out.write(",,false,,");
+        writeValue(SummaryReportWriter.formatFailure(message).stripTrailing());
+        out.write('\n');
+    }
+
+    /**
+     * Flushes and closes the destination.
+     *
+     * @throws IOException if flushing fails
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Writes a value, quoting it if it contains a separator, quote or line break.
+     *
+     * @param value value to write; null is written as an empty value
+     * @throws IOException if writing fails
+     */
+    private void writeValue(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
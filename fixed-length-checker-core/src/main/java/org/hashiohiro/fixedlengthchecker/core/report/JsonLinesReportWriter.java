@@ -0,0 +1,128 @@
+package org.hashiohiro.fixedlengthchecker.core.report;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationSummary;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes validation results as JSON Lines, one object per validated line.
+ * <pre>
+ * {"type":"line","line":2,"valid":false,"fields":[{"name":"Data Section","valid":true,"value":"2","message":"✅ Check OK"},...]}
+ * {"type":"summary","records":2,"invalidRecords":1,"errors":1,"stopReason":null}
+ *
+ * A run that fails ends with {"type":"error","message":"..."} instead of the summary object.
+ *
+ * Objects are written with Jackson's streaming generator, so no tree or map is built per line.
+ * </pre>
+ */
+public class JsonLinesReportWriter implements ReportWriter {
+
+    /**
+     * Factory of the streaming generators.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Buffered destination of the report.
+     */
+    private final Writer out;
+
+    /**
+     * Generator writing the objects to the destination.
+     */
+    private final JsonGenerator generator;
+
+    /**
+     * Creates a JSON Lines report writer.
+     *
+     * @param out buffered destination of the report
+     * @throws IOException if the generator cannot be created
+     */
+    public JsonLinesReportWriter(Writer out) throws IOException {
+        this.out = out;
+        this.generator = JSON_FACTORY.createGenerator(out);
+        generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+    }
+
+    /**
+     * Writes the field results of a line as one object.
+     *
+     * @param lineNumber 1-based line number in the validated input
+     * @param results validation results for each field in the line
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void onLine(long lineNumber, List<ValidationResult> results) throws IOException {
+        boolean valid = true;
+        for (ValidationResult res : results) {
+            valid &= res.isValid();
+        }
+
+        generator.writeStartObject();
+        generator.writeStringField("type", "line");
+        generator.writeNumberField("line", lineNumber);
+        generator.writeBooleanField("valid", valid);
+        generator.writeArrayFieldStart("fields");
+        for (ValidationResult res : results) {
+            generator.writeStartObject();
+            generator.writeStringField("name", res.getFieldName());
+            generator.writeBooleanField("valid", res.isValid());
+            generator.writeStringField("value", res.getActualValue());
+            generator.writeStringField("message", res.getMessage());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * Writes the summary counters as one object.
+     *
+     * @param summary summary counters of the run
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void summary(ValidationSummary summary) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "summary");
+        generator.writeNumberField("records", summary.getRecords());
+        generator.writeNumberField("invalidRecords", summary.getInvalidRecords());
+        generator.writeNumberField("errors", summary.getErrors());
+        generator.writeStringField("stopReason", summary.isStopped() ? summary.getStopReason().name() : null);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * Writes the failure as one object.
+     *
+     * @param message description of the failure
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void failure(String message) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "error");
+        generator.writeStringField("message", message);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * Flushes and closes the generator and the destination.
+     *
+     * @throws IOException if flushing fails
+     */
+    @Override
+    public void close() throws IOException {
+        generator.close();
+        out.close();
+    }
+}
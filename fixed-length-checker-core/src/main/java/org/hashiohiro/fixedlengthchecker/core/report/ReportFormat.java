@@ -0,0 +1,95 @@
+package org.hashiohiro.fixedlengthchecker.core.report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Formats a validation report can be written in.
+ * <pre>
+ * Reports are always encoded in UTF-8, whatever the charset of the validated records.
+ * </pre>
+ */
+public enum ReportFormat {
+
+    /**
+     * Human-readable blocks of field results per line, followed by a summary line.
+     */
+    TEXT,
+
+    /**
+     * One JSON object per line, followed by a summary object.
+     */
+    JSONL,
+
+    /**
+     * One CSV row per field result, preceded by a header row.
+     */
+    CSV,
+
+    /**
+     * Summary counters only.
+     */
+    SUMMARY;
+
+    /**
+     * Size in characters of the buffer in front of the output stream.
+     */
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Returns the media type of reports in this format, as sent in a Content-Type header.
+     *
+     * @return media type including the charset where the type takes one
+     */
+    public String contentType() {
+        switch (this) {
+            case JSONL:
+                return "application/x-ndjson";
+            case CSV:
+                return "text/csv; charset=UTF-8";
+            default:
+                return "text/plain; charset=UTF-8";
+        }
+    }
+
+    /**
+     * Opens a report writer in this format on the given stream.
+     *
+     * @param out stream the report is written to; closed with the writer
+     * @return report writer buffering its output
+     * @throws IOException if the report header cannot be written
+     */
+    public ReportWriter open(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        switch (this) {
+            case JSONL:
+                return new JsonLinesReportWriter(writer);
+            case CSV:
+                return new CsvReportWriter(writer);
+            case SUMMARY:
+                return new SummaryReportWriter(writer);
+            default:
+                return new TextReportWriter(writer);
+        }
+    }
+
+    /**
+     * Returns the format with the given name, ignoring case.
+     *
+     * @param name text, jsonl, csv or summary
+     * @return matching format
+     * @throws IllegalArgumentException if no format has the name
+     */
+    public static ReportFormat parse(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown report format: " + name);
+        }
+    }
+}
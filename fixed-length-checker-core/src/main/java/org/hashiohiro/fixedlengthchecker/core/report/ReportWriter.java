@@ -0,0 +1,35 @@
+package org.hashiohiro.fixedlengthchecker.core.report;
+
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationSummary;
+import org.hashiohiro.fixedlengthchecker.core.service.ValidationResultHandler;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sink that writes validation results in a report format.
+ * <pre>
+ * A report writer is a ValidationResultHandler, so it can be passed straight to a file validation.
+ * Output is buffered and only flushed when the writer is closed, so the caller must close it,
+ * normally after writing the summary of the run. A run that fails before it finishes writes a
+ * failure record instead of the summary, so a truncated report is never mistaken for a complete one.
+ * </pre>
+ */
+public interface ReportWriter extends ValidationResultHandler, Closeable {
+
+    /**
+     * Writes the summary of a finished run.
+     *
+     * @param summary summary counters of the run
+     * @throws IOException if writing fails
+     */
+    void summary(ValidationSummary summary) throws IOException;
+
+    /**
+     * Writes a record telling that the run failed before it finished.
+     *
+     * @param message description of the failure
+     * @throws IOException if writing fails
+     */
+    void failure(String message) throws IOException;
+}
@@ -0,0 +1,97 @@
+package org.hashiohiro.fixedlengthchecker.core.report;
+
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationSummary;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes only the summary counters of a run.
+ * <pre>
+ * Line results are discarded as they arrive, so a large file produces a single line of output:
+ *
+ * Records: 10000000, invalid records: 12, errors: 15
+ * </pre>
+ */
+public class SummaryReportWriter implements ReportWriter {
+
+    /**
+     * Buffered destination of the report.
+     */
+    private final Writer out;
+
+    /**
+     * Creates a summary report writer.
+     *
+     * @param out buffered destination of the report
+     */
+    public SummaryReportWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Ignores the results of a line.
+     *
+     * @param lineNumber 1-based line number in the validated input
+     * @param results validation results for each field in the line
+     */
+    @Override
+    public void onLine(long lineNumber, List<ValidationResult> results) {
+    }
+
+    /**
+     * Writes the summary counters as one line.
+     *
+     * @param summary summary counters of the run
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void summary(ValidationSummary summary) throws IOException {
+        out.write(format(summary));
+    }
+
+    /**
+     * Writes the failure as one line.
+     *
+     * @param message description of the failure
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void failure(String message) throws IOException {
+        out.write(formatFailure(message));
+    }
+
+    /**
+     * Flushes and closes the destination.
+     *
+     * @throws IOException if flushing fails
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Formats summary counters as a line of text.
+     *
+     * @param summary summary counters of the run
+     * @return summary line, terminated by a line feed
+     */
+    static String format(ValidationSummary summary) {
+        return "Records: " + summary.getRecords()
+                + ", invalid records: " + summary.getInvalidRecords()
+                + ", errors: " + summary.getErrors() + "\n";
+    }
+
+    /**
+     * Formats a failure as a line of text.
+     *
+     * @param message description of the failure
+     * @return failure line, terminated by a line feed
+     */
+    static String formatFailure(String message) {
+        return "❌ Validation failed: " + message + "\n";
+    }
+}
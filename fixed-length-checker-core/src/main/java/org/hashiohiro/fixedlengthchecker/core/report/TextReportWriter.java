@@ -0,0 +1,94 @@
+package org.hashiohiro.fixedlengthchecker.core.report;
+
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationSummary;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes validation results as human-readable text.
+ * <pre>
+ * ----- Line 1 -----
+ * ✅ Check OK [2] (Data Section)
+ * ----- End of Line 1 -----
+ *
+ * Records: 1, invalid records: 0, errors: 0
+ *
+ * A run that fails ends with "❌ Validation failed: &lt;reason&gt;" instead of the summary line.
+ * </pre>
+ */
+public class TextReportWriter implements ReportWriter {
+
+    /**
+     * Buffered destination of the report.
+     */
+    private final Writer out;
+
+    /**
+     * Creates a text report writer.
+     *
+     * @param out buffered destination of the report
+     */
+    public TextReportWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes the field results of a line as one block.
+     *
+     * @param lineNumber 1-based line number in the validated input
+     * @param results validation results for each field in the line
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void onLine(long lineNumber, List<ValidationResult> results) throws IOException {
+        out.write("----- Line ");
+        out.write(Long.toString(lineNumber));
+        out.write(" -----\n");
+        for (ValidationResult res : results) {
+            out.write(res.getMessage());
+            out.write(" [");
+            out.write(String.valueOf(res.getActualValue()));
+            out.write("] (");
+            out.write(res.getFieldName());
+            out.write(")\n");
+        }
+        out.write("----- End of Line ");
+        out.write(Long.toString(lineNumber));
+        out.write(" -----\n\n");
+    }
+
+    /**
+     * Writes the summary counters as one line.
+     *
+     * @param summary summary counters of the run
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void summary(ValidationSummary summary) throws IOException {
+        out.write(SummaryReportWriter.format(summary));
+    }
+
+    /**
+     * Writes the failure as one line.
+     *
+     * @param message description of the failure
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void failure(String message) throws IOException {
+        out.write(SummaryReportWriter.formatFailure(message));
+    }
+
+    /**
+     * Flushes and closes the destination.
+     *
+     * @throws IOException if flushing fails
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -1,25 +1,67 @@
 package org.hashiohiro.fixedlengthchecker.core.service;
 
+import org.hashiohiro.fixedlengthchecker.core.definition.DefinitionCache;
+import org.hashiohiro.fixedlengthchecker.core.definition.DefinitionCompiler;
 import org.hashiohiro.fixedlengthchecker.core.definition.DefinitionLoader;
 import org.hashiohiro.fixedlengthchecker.core.definition.DefinitionValidator;
-import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.io.CheckpointFile;
+import org.hashiohiro.fixedlengthchecker.core.io.Decompression;
+import org.hashiohiro.fixedlengthchecker.core.io.LineRecordReader;
+import org.hashiohiro.fixedlengthchecker.core.io.MappedLineRecordReader;
+import org.hashiohiro.fixedlengthchecker.core.io.RecordFraming;
+import org.hashiohiro.fixedlengthchecker.core.io.RecordReader;
+import org.hashiohiro.fixedlengthchecker.core.io.RecordReaders;
+import org.hashiohiro.fixedlengthchecker.core.metrics.ValidationMetrics;
+import org.hashiohiro.fixedlengthchecker.core.model.BatchResult;
+import org.hashiohiro.fixedlengthchecker.core.model.Checkpoint;
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorMode;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldType;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordDefinitionSet;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayoutSet;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationError;
 import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationSummary;
+import org.hashiohiro.fixedlengthchecker.core.validator.FieldValidator;
 import org.hashiohiro.fixedlengthchecker.core.validator.FixedLengthValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.PackedDecimalValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.TimedFieldValidator;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Facade service for validating fixed-length files using predefined field definitions.
  * <pre>
- * Provides methods to load definitions, validate files, and validate single lines.
+ * Provides methods to load definitions, validate files, validate batches of records held in memory,
+ * and validate single lines.
+ *
+ * Thread safety: all validation methods may be called concurrently on one instance without locking.
+ * Compiled layouts are immutable, the validator keeps no state between calls, and reusable scratch
+ * state such as regex matchers and decode buffers is kept per thread. A checker created with
+ * {@link #builder()} is fully immutable and can be shared freely, for example by every request thread
+ * of a web application. A checker created with a constructor can have its definitions replaced while
+ * validations run; each validation keeps the layouts it started with.
  * </pre>
  */
 public class FixedLengthChecker {
 
+    /**
+     * Number of records below which a batch is not split further across threads.
+     */
+    private static final int MIN_BATCH_SLICE = 256;
+
     /**
      * Charset used to read and interpret file contents.
      */
@@ -31,15 +73,29 @@ public class FixedLengthChecker {
     private final boolean useByteLength;
 
     /**
-     * Loaded list of field definitions for validation.
+     * Record layouts compiled from the loaded definitions, one per record type.
+     * <pre>
+     * Replaced as a whole when definitions are loaded; every validation reads it once and keeps
+     * that snapshot, so loading new definitions never affects a validation already running.
+     * </pre>
      */
-    private List<FixedFieldDefinition> definitions;
+    private volatile RecordLayoutSet layouts;
 
     /**
      * Core validator instance for performing field-level checks.
      */
     private final FixedLengthValidator validator;
 
+    /**
+     * Receiver of throughput, timing and failure measurements, or null when metrics are disabled.
+     */
+    private final ValidationMetrics metrics;
+
+    /**
+     * True if the layouts were fixed when the checker was built and can no longer be replaced.
+     */
+    private final boolean immutable;
+
     /**
      * Constructs a new FixedLengthChecker with specified charset and length mode.
      * <pre>
@@ -49,47 +105,417 @@ public class FixedLengthChecker {
      * @param useByteLength true to use byte length, false for character length
      */
     public FixedLengthChecker(Charset charset, boolean useByteLength) {
+        this(charset, useByteLength, null);
+    }
+
+    /**
+     * Constructs a new FixedLengthChecker that publishes metrics of every file validation.
+     * <pre>
+     * Layouts loaded afterwards time each field check; file validations report records, bytes,
+     * read and validation time, and invalid fields. Pass null to disable metrics entirely.
+     * </pre>
+     * @param charset charset to use for file reading
+     * @param useByteLength true to use byte length, false for character length
+     * @param metrics receiver of measurements, such as a JmxValidationMetrics, or null
+     */
+    public FixedLengthChecker(Charset charset, boolean useByteLength, ValidationMetrics metrics) {
+        this(charset, useByteLength, metrics, ErrorMode.FIRST);
+    }
+
+    /**
+     * Constructs a new FixedLengthChecker that reports the failures of each field in the given mode.
+     * <pre>
+     * ErrorMode.FIRST stops at the first failing check of a field and is the fastest.
+     * ErrorMode.ALL reports every failing check, for audits that need full diagnostics;
+     * error counts and error limits then count each failing check.
+     * </pre>
+     * @param charset charset to use for file reading
+     * @param useByteLength true to use byte length, false for character length
+     * @param metrics receiver of measurements, or null
+     * @param errorMode FIRST or ALL failing checks per field
+     */
+    public FixedLengthChecker(Charset charset, boolean useByteLength, ValidationMetrics metrics, ErrorMode errorMode) {
+        this(charset, useByteLength, metrics, errorMode, null);
+    }
+
+    /**
+     * Constructs a checker, fixing its layouts if they are given.
+     *
+     * @param charset charset to use for file reading
+     * @param useByteLength true to use byte length, false for character length
+     * @param metrics receiver of measurements, or null
+     * @param errorMode FIRST or ALL failing checks per field
+     * @param layouts layouts the checker is built with, or null to load definitions later
+     */
+    private FixedLengthChecker(Charset charset, boolean useByteLength, ValidationMetrics metrics, ErrorMode errorMode, RecordLayoutSet layouts) {
         this.charset = charset;
         this.useByteLength = useByteLength;
-        this.validator = new FixedLengthValidator(charset, useByteLength);
+        this.validator = new FixedLengthValidator(charset, useByteLength, errorMode);
+        this.metrics = metrics;
+        this.immutable = layouts != null;
+        if (layouts != null) {
+            requireSupported(layouts, charset, useByteLength);
+            this.layouts = layouts;
+        }
+    }
+
+    /**
+     * Returns a builder of immutable checkers.
+     *
+     * @return new builder
+     */
+    public static Builder builder() {
+        return new Builder();
     }
 
     /**
      * Loads and validates field definitions from a JSON file.
      * <pre>
-     * Must be called before any validation; validates definitions immediately after loading.
+     * Must be called before any validation; validates definitions immediately after loading
+     * and compiles them into the record layouts used for every line.
+     * The file may hold a plain list of fields, or a discriminator and several record types
+     * such as header, detail and trailer; each line is then validated against the layout of its type.
      * </pre>
      * @param jsonPath path to the JSON definition file
      * @throws Exception if loading or validation fails
+     * @throws IllegalArgumentException if packed fields need byte length mode
+     * @throws IllegalStateException if the checker was built with {@link #builder()}
      */
     public void loadDefinitions(String jsonPath) throws Exception {
-        this.definitions = DefinitionLoader.loadDefinitions(jsonPath);
-        DefinitionValidator.validate(this.definitions);
+        requireMutable();
+        this.layouts = requireSupported(compileDefinitions(jsonPath, null, charset, metrics), charset, useByteLength);
+    }
+
+    /**
+     * Loads field definitions through a binary cache of validated definitions.
+     * <pre>
+     * On a cache hit the definition file is neither parsed nor validated again, which keeps
+     * short runs from paying for JSON or YAML parsing; only the layout compilation remains.
+     * On a miss the definitions are loaded and validated as by {@link #loadDefinitions(String)}
+     * and stored in the cache for the next run.
+     * </pre>
+     * @param jsonPath path to the JSON or YAML definition file
+     * @param cacheDir directory holding cached definitions
+     * @throws Exception if loading or validation fails
+     * @throws IllegalArgumentException if packed fields need byte length mode
+     * @throws IllegalStateException if the checker was built with {@link #builder()}
+     */
+    public void loadDefinitions(String jsonPath, Path cacheDir) throws Exception {
+        requireMutable();
+        this.layouts = requireSupported(compileDefinitions(jsonPath, cacheDir, charset, metrics), charset, useByteLength);
+    }
+
+    /**
+     * Loads, validates and compiles definitions, optionally through the binary definition cache.
+     *
+     * @param jsonPath path to the JSON or YAML definition file
+     * @param cacheDir directory holding cached definitions, or null to always parse the file
+     * @param charset charset to compile the layouts for
+     * @param metrics receiver of check timings, or null
+     * @return compiled record layouts
+     * @throws Exception if loading or validation fails
+     */
+    private static RecordLayoutSet compileDefinitions(String jsonPath, Path cacheDir, Charset charset, ValidationMetrics metrics) throws Exception {
+        RecordDefinitionSet definitions;
+        if (cacheDir != null) {
+            definitions = DefinitionCache.load(Path.of(jsonPath), cacheDir);
+        } else {
+            definitions = DefinitionLoader.loadRecordDefinitions(jsonPath);
+            DefinitionValidator.validate(definitions);
+        }
+        return DefinitionCompiler.compile(definitions, charset, validators(metrics));
     }
 
     /**
      * Validates all lines in a fixed-length file and returns results for each line.
      * <pre>
      * Throws IllegalStateException if definitions are not loaded.
+     * All results are kept in memory; use {@link #validateFile(String, ValidationResultHandler)} for large files.
      * </pre>
      * @param filePath path to the file to validate
      * @return list of validation results per line
      * @throws Exception if file reading fails
      */
     public List<List<ValidationResult>> validateFile(String filePath) throws Exception {
-        if (definitions == null) {
+        List<List<ValidationResult>> allResults = new ArrayList<>();
+        validateFile(filePath, (lineNumber, lineResults) -> allResults.add(lineResults));
+        return allResults;
+    }
+
+    /**
+     * Validates a fixed-length file line by line, passing each line's results to the handler.
+     * <pre>
+     * The file is read incrementally as raw bytes and results are not retained, so memory usage does not
+     * depend on the file size. Throws IllegalStateException if definitions are not loaded.
+     * </pre>
+     * @param filePath path to the file to validate
+     * @param handler callback receiving the results of each line in order
+     * @return summary counters of the validation run
+     * @throws Exception if file reading fails or the handler throws
+     */
+    public ValidationSummary validateFile(String filePath, ValidationResultHandler handler) throws Exception {
+        return validateFile(filePath, ValidationOptions.defaults(), handler);
+    }
+
+    /**
+     * Validates a fixed-length file line by line using the given options.
+     * <pre>
+     * The framing of the options decides how records are delimited: by line terminators, at a fixed
+     * record length, or by record descriptor words. With memory mapping enabled, records are read
+     * straight off mapped windows of the file instead of being copied through stream buffers. With more than one thread, chunks of
+     * records are validated in parallel and results are still passed to the handler in line order.
+     * With a checkpoint file, progress is saved periodically; resuming continues after the last
+     * checkpoint with its line numbers and counters, and the file is deleted when the run ends.
+     * When a stop condition of the options is met, validation ends early and the returned summary
+     * covers the lines handled so far together with the reason for stopping.
+     * Throws IllegalStateException if definitions are not loaded.
+     * </pre>
+     * @param filePath path to the file to validate
+     * @param options options controlling how the file is read
+     * @param handler callback receiving the results of each line in order
+     * @return summary counters of the validation run
+     * @throws Exception if file reading fails or the handler throws
+     */
+    public ValidationSummary validateFile(String filePath, ValidationOptions options, ValidationResultHandler handler) throws Exception {
+        RecordLayoutSet layouts = layouts();
+
+        Path path = Path.of(filePath);
+        ValidationRunner runner = new ValidationRunner(validator, layouts, options, metrics);
+        long startPosition = prepare(runner, path, options);
+        try (RecordReader reader = openReader(path, layouts, options, startPosition)) {
+            return runner.run(reader, handler);
+        }
+    }
+
+    /**
+     * Validates fixed-length records read from a stream, such as a pipe or a decompressing stream.
+     * <pre>
+     * Records are validated as they arrive, so nothing is written to disk first. Wrap the stream with
+     * {@link Decompression#decompress(InputStream)} to validate gzip or zip data directly.
+     * Threads and stop conditions apply as for files; checkpoints and memory mapping need a file on disk
+     * and are rejected with IllegalArgumentException. Throws IllegalStateException if definitions are not loaded.
+     * </pre>
+     * @param in stream of records; closed when validation ends
+     * @param options options controlling how the records are processed
+     * @param handler callback receiving the results of each line in order
+     * @return summary counters of the validation run
+     * @throws Exception if reading fails or the handler throws
+     */
+    public ValidationSummary validateStream(InputStream in, ValidationOptions options, ValidationResultHandler handler) throws Exception {
+        RecordLayoutSet layouts = layouts();
+        if (options.getCheckpointFile() != null || options.isMemoryMapped()) {
+            throw new IllegalArgumentException("Checkpoints and memory mapping require a file on disk.");
+        }
+
+        ValidationRunner runner = new ValidationRunner(validator, layouts, options, metrics);
+        try (RecordReader reader = RecordReaders.open(in, charset, options.getFraming(), recordLength(layouts, options.getFraming()))) {
+            return runner.run(reader, handler);
+        }
+    }
+
+    /**
+     * Validates fixed-length records read from a channel, such as a socket or a file channel.
+     * <pre>
+     * Behaves as {@link #validateStream(InputStream, ValidationOptions, ValidationResultHandler)}.
+     * </pre>
+     * @param channel channel of records; closed when validation ends
+     * @param options options controlling how the records are processed
+     * @param handler callback receiving the results of each line in order
+     * @return summary counters of the validation run
+     * @throws Exception if reading fails or the handler throws
+     */
+    public ValidationSummary validateStream(ReadableByteChannel channel, ValidationOptions options, ValidationResultHandler handler) throws Exception {
+        return validateStream(Channels.newInputStream(channel), options, handler);
+    }
+
+    /**
+     * Validates a fixed-length file and passes only the failures to the handler.
+     * <pre>
+     * Passing fields and lines allocate nothing; each failure is reported as a compact
+     * ValidationError whose message and actual value are built only when requested.
+     * Throws IllegalStateException if definitions are not loaded.
+     * </pre>
+     * @param filePath path to the file to validate
+     * @param options options controlling how the file is read
+     * @param handler callback receiving each failure in line order
+     * @return summary counters of the validation run
+     * @throws Exception if file reading fails or the handler throws
+     */
+    public ValidationSummary validateFileErrors(String filePath, ValidationOptions options, ValidationErrorHandler handler) throws Exception {
+        RecordLayoutSet layouts = layouts();
+
+        Path path = Path.of(filePath);
+        ValidationRunner runner = new ValidationRunner(validator, layouts, options, metrics);
+        long startPosition = prepare(runner, path, options);
+        try (RecordReader reader = openReader(path, layouts, options, startPosition)) {
+            return runner.runErrors(reader, handler);
+        }
+    }
+
+    /**
+     * Validates with record layouts compiled elsewhere, such as a version from a DefinitionRegistry.
+     * <pre>
+     * The layouts must have been compiled for the charset of this checker. Validations already
+     * running keep the layouts they started with.
+     * </pre>
+     * @param layouts compiled record layouts
+     * @throws IllegalArgumentException if the layouts were compiled for another charset or hold unsupported packed fields
+     * @throws IllegalStateException if the checker was built with {@link #builder()}
+     */
+    public void useLayouts(RecordLayoutSet layouts) {
+        requireMutable();
+        this.layouts = requireSupported(layouts, charset, useByteLength);
+    }
+
+    /**
+     * Rejects layouts this checker cannot validate.
+     * <pre>
+     * Layouts must be compiled for the charset of the checker. Packed fields in character length
+     * mode also need a charset that restores every byte of the decoded text, see
+     * {@link PackedDecimalValidator#supports(Charset)}; otherwise valid packed decimals would fail.
+     * </pre>
+     * @param layouts compiled record layouts
+     * @param charset charset of the checker
+     * @param useByteLength true if lengths are counted in bytes
+     * @return the layouts
+     * @throws IllegalArgumentException if the layouts were compiled for another charset or hold
+     *         packed fields the charset cannot decode in character length mode
+     */
+    private static RecordLayoutSet requireSupported(RecordLayoutSet layouts, Charset charset, boolean useByteLength) {
+        boolean packedAsText = !useByteLength && !PackedDecimalValidator.supports(charset);
+        for (RecordLayout layout : layouts.getLayouts()) {
+            if (!layout.getCharset().equals(charset)) {
+                throw new IllegalArgumentException("Layouts were compiled for " + layout.getCharset().name() + ", not " + charset.name() + ".");
+            }
+            if (!packedAsText) {
+                continue;
+            }
+            for (FieldLayout field : layout.getFields()) {
+                if (field.getType() == FieldType.PACKED) {
+                    throw new IllegalArgumentException("Packed field " + field.getName() +  " needs byte length mode or a charset such as IBM1047 or ISO-8859-1, not " + charset.name() + ".");
+                }
+            }
+        }
+        return layouts;
+    }
+
+    /**
+     * Rejects changes to a checker built with fixed layouts.
+     *
+     * @throws IllegalStateException if the checker was built with {@link #builder()}
+     */
+    private void requireMutable() {
+        if (immutable) {
+            throw new IllegalStateException("Definitions of a built checker cannot be replaced.");
+        }
+    }
+
+    /**
+     * Returns the current record layouts.
+     *
+     * @return layouts compiled from the loaded definitions
+     * @throws IllegalStateException if no definitions are loaded
+     */
+    private RecordLayoutSet layouts() {
+        RecordLayoutSet current = layouts;
+        if (current == null) {
             throw new IllegalStateException("Definitions not loaded. Call loadDefinitions() first.");
         }
+        return current;
+    }
 
-        List<String> lines = Files.readAllLines(Path.of(filePath), charset);
-        List<List<ValidationResult>> allResults = new ArrayList<>();
+    /**
+     * Returns the field validators layouts are compiled with.
+     *
+     * @param metrics receiver of check timings, or null
+     * @return default validators, timed when metrics are enabled
+     */
+    private static List<FieldValidator> validators(ValidationMetrics metrics) {
+        return metrics == null ? DefinitionCompiler.DEFAULT_VALIDATORS : TimedFieldValidator.wrap(DefinitionCompiler.DEFAULT_VALIDATORS, metrics);
+    }
 
-        for (String line : lines) {
-            List<ValidationResult> lineResults = validator.validateLine(line, definitions);
-            allResults.add(lineResults);
+    /**
+     * Sets up checkpointing for a run and loads the checkpoint to resume from, if any.
+     * <pre>
+     * Throws IllegalStateException if the checkpoint was written for a different version of the file.
+     * Runs with unique fields start reading at the beginning of the file, see {@link ValidationRunner#resume(Checkpoint)}.
+     * </pre>
+     * @param runner runner of the validation run
+     * @param path file to validate
+     * @param options options of the run
+     * @return byte position to start reading at
+     * @throws IOException if the file attributes or the checkpoint cannot be read
+     */
+    private long prepare(ValidationRunner runner, Path path, ValidationOptions options) throws IOException {
+        Path checkpointFile = options.getCheckpointFile();
+        if (checkpointFile == null) {
+            return 0;
+        }
+        if (options.getFraming() == RecordFraming.LINES && !LineRecordReader.supports(charset)) {
+            throw new IllegalArgumentException("Checkpoints are not supported for " + charset.name());
+        }
+        if (options.getFraming() == RecordFraming.VB) {
+            throw new IllegalArgumentException("Checkpoints are not supported for variable blocked files.");
         }
 
-        return allResults;
+        long fileSize = Files.size(path);
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        runner.identify(fileSize, lastModified);
+        if (!options.isResume() || !Files.exists(checkpointFile)) {
+            return 0;
+        }
+
+        Checkpoint checkpoint = CheckpointFile.read(checkpointFile);
+        if (checkpoint.getFileSize() != fileSize || checkpoint.getLastModified() != lastModified) {
+            throw new IllegalStateException("Checkpoint " + checkpointFile + " does not match " + path + ".");
+        }
+        return runner.resume(checkpoint);
+    }
+
+    /**
+     * Opens a record reader for the file according to the options.
+     *
+     * @param path file to read
+     * @param layouts record layouts of the validation
+     * @param options options controlling how the file is read
+     * @param startPosition byte position of the first record to read
+     * @return record reader positioned before the first record to read
+     * @throws IOException if the file cannot be opened
+     */
+    private RecordReader openReader(Path path, RecordLayoutSet layouts, ValidationOptions options, long startPosition) throws IOException {
+        if (options.isMemoryMapped()) {
+            if (options.getFraming() != RecordFraming.LINES) {
+                throw new IllegalArgumentException("Memory mapping is only supported for line framing.");
+            }
+            return new MappedLineRecordReader(path, charset, options.getMappedWindowSize(), startPosition);
+        }
+        return RecordReaders.open(path, charset, options.getFraming(), recordLength(layouts, options.getFraming()), startPosition);
+    }
+
+    /**
+     * Returns the byte length of every record for fixed framing.
+     * <pre>
+     * Fixed framing needs records of one length, counted in bytes; other framings do not use it.
+     * </pre>
+     * @param layouts record layouts of the validation
+     * @param framing how records are delimited
+     * @return record length in bytes, or 0 if the framing does not use it
+     * @throws IllegalArgumentException if record types differ in length or lengths are counted in characters
+     */
+    private int recordLength(RecordLayoutSet layouts, RecordFraming framing) {
+        if (framing != RecordFraming.FIXED) {
+            return 0;
+        }
+        if (!useByteLength) {
+            throw new IllegalArgumentException("Fixed framing requires byte length mode.");
+        }
+        int recordLength = layouts.getLayouts().get(0).getRecordLength();
+        for (RecordLayout layout : layouts.getLayouts()) {
+            if (layout.getRecordLength() != recordLength) {
+                throw new IllegalArgumentException("Fixed framing requires all record types to have the same length.");
+            }
+        }
+        return recordLength;
     }
 
     /**
@@ -101,9 +527,294 @@ public class FixedLengthChecker {
      * @return list of validation results for the line
      */
     public List<ValidationResult> validateLine(String line) {
-        if (definitions == null) {
-            throw new IllegalStateException("Definitions not loaded. Call loadDefinitions() first.");
+        return validator.validateLine(line, layouts());
+    }
+
+    /**
+     * Validates a batch of records held in memory, such as the payloads of consumed messages.
+     * <pre>
+     * Only failures are collected, into a compact BatchResult; passing records allocate nothing,
+     * and in byte length mode each record is encoded into a per-thread scratch buffer.
+     * Arrays can be passed through Arrays.asList.
+     * Throws IllegalStateException if definitions are not loaded.
+     * </pre>
+     * @param records records to validate, without line terminators
+     * @return failures of each record
+     */
+    public BatchResult validateBatch(List<String> records) {
+        return validateBatch(records, 1);
+    }
+
+    /**
+     * Validates a batch of records held in memory, splitting it across threads.
+     * <pre>
+     * The batch is cut into contiguous slices validated on the common fork/join pool, with the
+     * calling thread taking part, so no threads are created per batch. Small batches are validated
+     * on the calling thread only.
+     * </pre>
+     * @param records records to validate, without line terminators
+     * @param threads maximum number of slices validated at the same time
+     * @return failures of each record
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+    public BatchResult validateBatch(List<String> records, int threads) {
+        RecordLayoutSet layouts = layouts();
+        return validateBatch(records.size(), 0, threads,
+                (index, errors) -> validator.collectErrors(index + 1, records.get(index), layouts, errors));
+    }
+
+    /**
+     * Validates a batch of records stored in one array.
+     *
+     * @param data bytes of every record
+     * @param offsets index of the first byte of each record in data
+     * @param lengths number of bytes of each record, excluding any terminator
+     * @return failures of each record
+     * @throws IllegalArgumentException if offsets and lengths differ in size
+     */
+    public BatchResult validateBatch(byte[] data, int[] offsets, int[] lengths) {
+        return validateBatch(ByteBuffer.wrap(data), offsets, lengths, 1);
+    }
+
+    /**
+     * Validates a batch of records stored in one buffer, splitting it across threads.
+     * <pre>
+     * Records are validated in place on the raw bytes, which is the fastest batch form; the buffer
+     * can be a heap or a direct buffer. Its position and limit are ignored and left unchanged.
+     * See {@link #validateBatch(List, int)} for how the batch is split.
+     * </pre>
+     * @param data buffer holding every record, indexed absolutely
+     * @param offsets index of the first byte of each record in data
+     * @param lengths number of bytes of each record, excluding any terminator
+     * @param threads maximum number of slices validated at the same time
+     * @return failures of each record
+     * @throws IllegalArgumentException if offsets and lengths differ in size or threads is less than 1
+     */
+    public BatchResult validateBatch(ByteBuffer data, int[] offsets, int[] lengths, int threads) {
+        if (offsets.length != lengths.length) {
+            throw new IllegalArgumentException("offsets and lengths must have the same number of records.");
+        }
+        RecordLayoutSet layouts = layouts();
+        long bytes = 0;
+        for (int length : lengths) {
+            bytes += length;
+        }
+        return validateBatch(offsets.length, bytes, threads,
+                (index, errors) -> validator.collectErrors(index + 1, data, offsets[index], lengths[index], layouts, errors));
+    }
+
+    /**
+     * Validates the records of a batch on the calling thread, or in slices on the common pool.
+     *
+     * @param count number of records in the batch
+     * @param bytes number of record bytes in the batch, or 0 if unknown
+     * @param threads maximum number of slices validated at the same time
+     * @param batch validation of a single record
+     * @return failures of each record
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+    private BatchResult validateBatch(int count, long bytes, int threads, BatchRecords batch) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be a positive integer.");
+        }
+        long started = metrics != null ? System.nanoTime() : 0;
+        int[] errorCounts = new int[count];
+        List<ValidationError> errors;
+
+        int slices = Math.max(1, Math.min(threads, count / MIN_BATCH_SLICE));
+        if (slices == 1) {
+            errors = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                errorCounts[i] = batch.collectErrors(i, errors);
+            }
+        } else {
+            List<ForkJoinTask<List<ValidationError>>> tasks = new ArrayList<>(slices);
+            for (int s = 0; s < slices; s++) {
+                int from = (int) ((long) count * s / slices);
+                int to = (int) ((long) count * (s + 1) / slices);
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    List<ValidationError> sliceErrors = new ArrayList<>();
+                    for (int i = from; i < to; i++) {
+                        errorCounts[i] = batch.collectErrors(i, sliceErrors);
+                    }
+                    return sliceErrors;
+                }));
+            }
+            ForkJoinTask.invokeAll(tasks);
+            errors = new ArrayList<>();
+            for (ForkJoinTask<List<ValidationError>> task : tasks) {
+                errors.addAll(task.join());
+            }
+        }
+
+        if (metrics != null) {
+            metrics.recordValidation(count, bytes, System.nanoTime() - started);
+            for (ValidationError error : errors) {
+                metrics.recordFailure(error.getFieldName());
+            }
+        }
+        return new BatchResult(errorCounts, errors);
+    }
+
+    /**
+     * Validation of one record of a batch, addressed by its position.
+     */
+    @FunctionalInterface
+    private interface BatchRecords {
+
+        /**
+         * Validates one record and collects its failures.
+         *
+         * @param index zero-based position of the record in the batch
+         * @param errors list receiving the failures of the record
+         * @return number of errors added
+         */
+        int collectErrors(int index, List<ValidationError> errors);
+    }
+
+    /**
+     * Builder of immutable, thread-safe checkers.
+     * <pre>
+     * FixedLengthChecker checker = FixedLengthChecker.builder()
+     *         .charset(Charset.forName("MS932"))
+     *         .definitions("config/definitions.json")
+     *         .build();
+     *
+     * Exactly one of definitions and layouts must be set. The built checker cannot load other
+     * definitions, so one instance can be shared by any number of threads.
+     * </pre>
+     */
+    public static final class Builder {
+
+        /**
+         * Charset of the records; UTF-8 by default.
+         */
+        private Charset charset = StandardCharsets.UTF_8;
+
+        /**
+         * True to count lengths in bytes, the default; false to count characters.
+         */
+        private boolean useByteLength = true;
+
+        /**
+         * Receiver of measurements, or null.
+         */
+        private ValidationMetrics metrics;
+
+        /**
+         * Failing checks reported per field; the first only by default.
+         */
+        private ErrorMode errorMode = ErrorMode.FIRST;
+
+        /**
+         * Path to the definition file, or null.
+         */
+        private String definitions;
+
+        /**
+         * Directory of the binary definition cache, or null.
+         */
+        private Path definitionCache;
+
+        /**
+         * Precompiled layouts, or null.
+         */
+        private RecordLayoutSet layouts;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the charset of the records.
+         *
+         * @param charset charset to use for file reading
+         * @return this builder
+         */
+        public Builder charset(Charset charset) {
+            this.charset = charset;
+            return this;
+        }
+
+        /**
+         * Sets whether lengths are counted in bytes or characters.
+         *
+         * @param useByteLength true to use byte length, false for character length
+         * @return this builder
+         */
+        public Builder useByteLength(boolean useByteLength) {
+            this.useByteLength = useByteLength;
+            return this;
+        }
+
+        /**
+         * Sets the receiver of throughput, timing and failure measurements.
+         *
+         * @param metrics receiver of measurements, or null to disable metrics
+         * @return this builder
+         */
+        public Builder metrics(ValidationMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Sets whether each field reports its first failing check only or every failing check.
+         *
+         * @param errorMode FIRST or ALL failing checks per field
+         * @return this builder
+         */
+        public Builder errorMode(ErrorMode errorMode) {
+            this.errorMode = errorMode;
+            return this;
+        }
+
+        /**
+         * Sets the definition file to load.
+         *
+         * @param jsonPath path to the JSON or YAML definition file
+         * @return this builder
+         */
+        public Builder definitions(String jsonPath) {
+            this.definitions = jsonPath;
+            return this;
+        }
+
+        /**
+         * Sets the directory of the binary definition cache used when loading the definition file.
+         *
+         * @param cacheDir directory holding cached definitions
+         * @return this builder
+         */
+        public Builder definitionCache(Path cacheDir) {
+            this.definitionCache = cacheDir;
+            return this;
+        }
+
+        /**
+         * Sets precompiled layouts, such as a version from a DefinitionRegistry.
+         *
+         * @param layouts compiled record layouts
+         * @return this builder
+         */
+        public Builder layouts(RecordLayoutSet layouts) {
+            this.layouts = layouts;
+            return this;
+        }
+
+        /**
+         * Loads the definitions and builds the checker.
+         *
+         * @return immutable checker
+         * @throws Exception if loading or validation of the definitions fails
+         * @throws IllegalStateException if not exactly one of definitions and layouts is set
+         * @throws IllegalArgumentException if the layouts were compiled for another charset or hold unsupported packed fields
+         */
+        public FixedLengthChecker build() throws Exception {
+            if ((definitions == null) == (layouts == null)) {
+                throw new IllegalStateException("Set either definitions or layouts.");
+            }
+            RecordLayoutSet compiled = layouts != null ? layouts : compileDefinitions(definitions, definitionCache, charset, metrics);
+            return new FixedLengthChecker(charset, useByteLength, metrics, errorMode, compiled);
         }
-        return validator.validateLine(line, definitions);
     }
 }
@@ -0,0 +1,116 @@
+package org.hashiohiro.fixedlengthchecker.core.service;
+
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationError;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+import org.hashiohiro.fixedlengthchecker.core.validator.ControlTotals;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Contiguous batch of consecutive records handed to a worker during parallel validation.
+ * <pre>
+ * Record bytes are copied back to back into one array; offsets and lengths locate each record.
+ * A chunk always ends at a record boundary and remembers the line number of its first record,
+ * so results can be reported in line order after the chunks are validated out of order.
+ * Partial control totals are merged the same way, in line order, when the chunk is reported.
+ * </pre>
+ */
+class RecordChunk {
+
+    /**
+     * Line number of the first record in the chunk.
+     */
+    final long firstLineNumber;
+
+    /**
+     * Record bytes stored back to back.
+     */
+    byte[] data;
+
+    /**
+     * Number of bytes used in data.
+     */
+    int size;
+
+    /**
+     * Offset of each record in data.
+     */
+    int[] offsets = new int[256];
+
+    /**
+     * Length of each record in bytes.
+     */
+    int[] lengths = new int[256];
+
+    /**
+     * Number of records in the chunk.
+     */
+    int count;
+
+    /**
+     * Byte position of the input following the last record, or -1 if unknown.
+     */
+    long endPosition = -1;
+
+    /**
+     * Validation results per record, set by the worker in full-result mode.
+     */
+    List<List<ValidationResult>> results;
+
+    /**
+     * Failures of all records in line order, set by the worker in error-only mode.
+     */
+    List<ValidationError> errors;
+
+    /**
+     * Number of failures per record, set by the worker in error-only mode.
+     */
+    int[] errorCounts;
+
+    /**
+     * Control totals of the chunk's records split at each trailer, set by the worker when controls are defined.
+     * Segment k holds the records up to and including the k-th trailer; the last one those after the last trailer.
+     */
+    List<ControlTotals> totals;
+
+    /**
+     * Trailer records of the chunk, set by the worker when controls are defined.
+     */
+    BitSet trailers;
+
+    /**
+     * Creates an empty chunk.
+     *
+     * @param firstLineNumber line number of the first record
+     * @param capacity initial capacity in bytes
+     */
+    RecordChunk(long firstLineNumber, int capacity) {
+        this.firstLineNumber = firstLineNumber;
+        this.data = new byte[capacity];
+    }
+
+    /**
+     * Copies a record into the chunk, growing the buffers as needed.
+     *
+     * @param buffer buffer holding the record
+     * @param offset absolute index of the record in the buffer
+     * @param length number of bytes in the record
+     */
+    void add(ByteBuffer buffer, int offset, int length) {
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+            lengths = Arrays.copyOf(lengths, count * 2);
+        }
+        if (size + length > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, size + length));
+        }
+        buffer.get(offset, data, size, length);
+        offsets[count] = size;
+        lengths[count] = length;
+        size += length;
+        count++;
+    }
+}
@@ -0,0 +1,23 @@
+package org.hashiohiro.fixedlengthchecker.core.service;
+
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationError;
+
+/**
+ * Callback that receives only the failures found during error-only validation.
+ * <pre>
+ * Passing fields and lines are never reported, so nothing is allocated for them.
+ * </pre>
+ */
+@FunctionalInterface
+public interface ValidationErrorHandler {
+
+    /**
+     * Receives a single field failure.
+     * <pre>
+     * Called in line order, then field order within a line.
+     * </pre>
+     * @param error compact description of the failure
+     * @throws Exception if the handler fails to process the error
+     */
+    void onError(ValidationError error) throws Exception;
+}
@@ -0,0 +1,118 @@
+package org.hashiohiro.fixedlengthchecker.core.service;
+
+import lombok.Builder;
+import lombok.Value;
+import org.hashiohiro.fixedlengthchecker.core.io.MappedLineRecordReader;
+import org.hashiohiro.fixedlengthchecker.core.io.RecordFraming;
+import org.hashiohiro.fixedlengthchecker.core.validator.UniqueKeyChecker;
+
+import java.nio.file.Path;
+
+/**
+ * Options controlling how a file validation run reads and processes its input.
+ * <pre>
+ * Stop conditions are evaluated after each record in line order, so a run that stops
+ * reports exactly the records up to and including the one that triggered the stop.
+ * A checkpoint file is deleted once a run finishes, so only interrupted runs leave one to resume from.
+ * Values of unique fields are not saved in checkpoints; a resumed run reads the lines before its
+ * checkpoint again, without reporting them, so it still detects duplicates of their values.
+ * Built with {@link #builder()}; unspecified options keep their defaults.
+ * </pre>
+ */
+@Value
+@Builder
+public class ValidationOptions {
+
+    /**
+     * How records are delimited in the input.
+     */
+    @Builder.Default
+    RecordFraming framing = RecordFraming.LINES;
+
+    /**
+     * True to read the file through memory-mapped windows instead of buffered stream reads; lines framing only.
+     */
+    @Builder.Default
+    boolean memoryMapped = false;
+
+    /**
+     * Size in bytes of each mapped window when memoryMapped is enabled.
+     */
+    @Builder.Default
+    int mappedWindowSize = MappedLineRecordReader.DEFAULT_WINDOW_SIZE;
+
+    /**
+     * Number of threads validating records; 1 validates sequentially on the calling thread.
+     */
+    @Builder.Default
+    int threads = 1;
+
+    /**
+     * Approximate number of bytes of records handed to a worker at once in parallel mode.
+     */
+    @Builder.Default
+    int chunkSize = 1024 * 1024;
+
+    /**
+     * True to stop at the first record containing an invalid field.
+     */
+    @Builder.Default
+    boolean failFast = false;
+
+    /**
+     * Number of invalid fields after which validation stops; 0 means no limit.
+     */
+    @Builder.Default
+    long maxErrors = 0;
+
+    /**
+     * Percentage of invalid records above which validation stops; 0 means no limit.
+     */
+    @Builder.Default
+    double maxErrorRate = 0;
+
+    /**
+     * Number of records to validate before the error rate limit is evaluated.
+     */
+    @Builder.Default
+    long errorRateMinRecords = 1000;
+
+    /**
+     * File the progress is periodically saved to, or null to disable checkpoints.
+     */
+    @Builder.Default
+    Path checkpointFile = null;
+
+    /**
+     * Number of lines validated between two checkpoints.
+     */
+    @Builder.Default
+    long checkpointInterval = 1_000_000;
+
+    /**
+     * True to continue from the checkpoint file if it exists, instead of starting from the first line.
+     */
+    @Builder.Default
+    boolean resume = false;
+
+    /**
+     * Number of bytes of direct memory the values of unique fields may use before further values spill to disk.
+     */
+    @Builder.Default
+    long uniqueMemoryBudget = UniqueKeyChecker.DEFAULT_MEMORY_BUDGET;
+
+    /**
+     * Directory receiving spill files of unique field values, or null for the system temporary directory.
+     */
+    @Builder.Default
+    Path spillDirectory = null;
+
+    /**
+     * Returns the options used when none are specified.
+     *
+     * @return default options
+     */
+    public static ValidationOptions defaults() {
+        return builder().build();
+    }
+}
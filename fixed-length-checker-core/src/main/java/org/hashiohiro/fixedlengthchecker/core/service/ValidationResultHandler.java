@@ -0,0 +1,27 @@
+package org.hashiohiro.fixedlengthchecker.core.service;
+
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+
+import java.util.List;
+
+/**
+ * Callback that receives validation results one line at a time during streaming validation.
+ * <pre>
+ * Results are handed over as soon as a line is validated and are not retained by the checker,
+ * so memory usage stays flat regardless of the input size.
+ * </pre>
+ */
+@FunctionalInterface
+public interface ValidationResultHandler {
+
+    /**
+     * Receives the validation results of a single line.
+     * <pre>
+     * Called in line order; the list may be discarded once the call returns.
+     * </pre>
+     * @param lineNumber 1-based line number in the validated input
+     * @param results validation results for each field in the line
+     * @throws Exception if the handler fails to process the results
+     */
+    void onLine(long lineNumber, List<ValidationResult> results) throws Exception;
+}
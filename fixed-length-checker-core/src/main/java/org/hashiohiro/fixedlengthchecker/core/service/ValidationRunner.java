@@ -0,0 +1,643 @@
+package org.hashiohiro.fixedlengthchecker.core.service;
+
+import org.hashiohiro.fixedlengthchecker.core.io.CheckpointFile;
+import org.hashiohiro.fixedlengthchecker.core.io.RecordReader;
+import org.hashiohiro.fixedlengthchecker.core.metrics.ValidationMetrics;
+import org.hashiohiro.fixedlengthchecker.core.model.Checkpoint;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayoutSet;
+import org.hashiohiro.fixedlengthchecker.core.model.StopReason;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationError;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationSummary;
+import org.hashiohiro.fixedlengthchecker.core.validator.ControlTotalChecker;
+import org.hashiohiro.fixedlengthchecker.core.validator.ControlTotals;
+import org.hashiohiro.fixedlengthchecker.core.validator.FixedLengthValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.UniqueKeyChecker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Drives a single validation run over a record reader, sequentially or in parallel.
+ * <pre>
+ * A run either reports full per-line results or, in error-only mode, only the failures.
+ * In parallel mode the calling thread reads records and packs them into chunks that end at
+ * record boundaries; chunks are validated on a fork-join pool and their results are handed
+ * to the handler strictly in line order. The number of chunks in flight is bounded so memory
+ * use does not grow with the file size.
+ * Stop conditions are checked after each reported line; once one is met, reading stops and
+ * chunks still in flight are discarded without being reported.
+ * Checkpoints are only written for lines already reported, at the byte position following
+ * the last of them, so a resumed run neither skips nor repeats a line.
+ * When metrics are enabled, read and validation time are accumulated locally and reported
+ * once per run, or once per chunk from the workers in parallel mode.
+ * Values of unique fields are checked across records on the calling thread as each line is
+ * reported, so duplicates are found in line order in both modes; their failures follow the
+ * field failures of the line. The values are not saved in checkpoints: a resumed run reads the
+ * lines before its checkpoint again, without reporting them, to remember their values.
+ * Control totals are aggregated by the workers, per chunk and split at each trailer, and merged
+ * in line order on the calling thread, which reconciles each trailer once the totals cover every
+ * record before it. The running totals are saved in checkpoints.
+ * </pre>
+ */
+class ValidationRunner {
+
+    /**
+     * Upper bound on records per chunk, so chunks of very short lines stay small.
+     */
+    private static final int MAX_RECORDS_PER_CHUNK = 64 * 1024;
+
+    /**
+     * Validator applied to each record.
+     */
+    private final FixedLengthValidator validator;
+
+    /**
+     * Compiled layouts of the record types.
+     */
+    private final RecordLayoutSet layouts;
+
+    /**
+     * Options of this run.
+     */
+    private final ValidationOptions options;
+
+    /**
+     * Receiver of measurements, or null when metrics are disabled.
+     */
+    private final ValidationMetrics metrics;
+
+    /**
+     * Time the calling thread spent reading records.
+     */
+    private long readNanos;
+
+    /**
+     * Time the calling thread spent validating records in sequential mode.
+     */
+    private long validationNanos;
+
+    /**
+     * Number of records validated on the calling thread in sequential mode.
+     */
+    private long validatedRecords;
+
+    /**
+     * Number of record bytes validated on the calling thread in sequential mode.
+     */
+    private long validatedBytes;
+
+    /**
+     * Receiver of full per-line results, or null in error-only mode.
+     */
+    private ValidationResultHandler resultHandler;
+
+    /**
+     * Receiver of failures in error-only mode, or null in full-result mode.
+     */
+    private ValidationErrorHandler errorHandler;
+
+    /**
+     * Reusable list collecting the failures of one record in sequential error-only mode, or its duplicates and control total mismatches in parallel mode.
+     */
+    private final List<ValidationError> lineErrors = new ArrayList<>();
+
+    /**
+     * Checker of the unique fields during a run, or null if no field is unique.
+     */
+    private UniqueKeyChecker unique;
+
+    /**
+     * Checker of the trailer control totals, or null if no record type carries controls.
+     */
+    private final ControlTotalChecker controls;
+
+    /**
+     * Control totals of the lines reported so far during a run, or null if no record type carries controls.
+     */
+    private ControlTotals totals;
+
+    /**
+     * Progress to continue from, or null to start at the first line.
+     */
+    private Checkpoint start;
+
+    /**
+     * Size of the data file, stored in each checkpoint.
+     */
+    private long fileSize;
+
+    /**
+     * Last modification time of the data file, stored in each checkpoint.
+     */
+    private long lastModified;
+
+    /**
+     * Line number of the last checkpoint written.
+     */
+    private long lastCheckpointLine;
+
+    /**
+     * Creates a runner for one validation run.
+     *
+     * @param validator validator applied to each record
+     * @param layouts compiled layouts of the record types
+     * @param options options of this run
+     * @param metrics receiver of measurements, or null to disable metrics
+     */
+    ValidationRunner(FixedLengthValidator validator, RecordLayoutSet layouts, ValidationOptions options, ValidationMetrics metrics) {
+        if (options.getThreads() < 1) {
+            throw new IllegalArgumentException("threads must be a positive integer.");
+        }
+        if (options.getChunkSize() < 1) {
+            throw new IllegalArgumentException("chunkSize must be a positive integer.");
+        }
+        if (options.getMaxErrors() < 0) {
+            throw new IllegalArgumentException("maxErrors must not be negative.");
+        }
+        if (options.getMaxErrorRate() < 0 || options.getMaxErrorRate() > 100) {
+            throw new IllegalArgumentException("maxErrorRate must be between 0 and 100.");
+        }
+        if (options.getCheckpointInterval() < 1) {
+            throw new IllegalArgumentException("checkpointInterval must be a positive integer.");
+        }
+        if (options.isResume() && options.getCheckpointFile() == null) {
+            throw new IllegalArgumentException("resume requires a checkpointFile.");
+        }
+        this.validator = validator;
+        this.layouts = layouts;
+        this.options = options;
+        this.metrics = metrics;
+        this.controls = ControlTotalChecker.hasControls(layouts) ? new ControlTotalChecker(layouts, validator.isUseByteLength()) : null;
+    }
+
+    /**
+     * Identifies the data file in the checkpoints written by this run.
+     *
+     * @param fileSize size of the data file in bytes
+     * @param lastModified last modification time of the data file in milliseconds
+     */
+    void identify(long fileSize, long lastModified) {
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Continues counting lines and errors from a checkpoint.
+     * <pre>
+     * With unique fields the reader must start at the beginning of the file, so the values of the
+     * lines before the checkpoint are remembered again; otherwise it must start at the checkpoint.
+     * </pre>
+     * @param checkpoint progress to continue from
+     * @return byte position the reader must start at
+     */
+    long resume(Checkpoint checkpoint) {
+        this.start = checkpoint;
+        return UniqueKeyChecker.hasUniqueFields(layouts) ? 0 : checkpoint.getPosition();
+    }
+
+    /**
+     * Validates every record of the reader and passes the results to the handler in line order.
+     *
+     * @param reader source of records
+     * @param handler callback receiving the results of each line
+     * @return summary counters of the validation run
+     * @throws Exception if reading fails, validation fails, or the handler throws
+     */
+    ValidationSummary run(RecordReader reader, ValidationResultHandler handler) throws Exception {
+        this.resultHandler = handler;
+        return run(reader);
+    }
+
+    /**
+     * Validates every record of the reader and passes only the failures to the handler in line order.
+     *
+     * @param reader source of records
+     * @param handler callback receiving each failure
+     * @return summary counters of the validation run
+     * @throws Exception if reading fails, validation fails, or the handler throws
+     */
+    ValidationSummary runErrors(RecordReader reader, ValidationErrorHandler handler) throws Exception {
+        this.errorHandler = handler;
+        return run(reader);
+    }
+
+    /**
+     * Chooses sequential or parallel validation according to the options.
+     *
+     * @param reader source of records
+     * @return summary counters of the validation run
+     * @throws Exception if reading fails, validation fails, or a handler throws
+     */
+    private ValidationSummary run(RecordReader reader) throws Exception {
+        long started = System.nanoTime();
+        lastCheckpointLine = start != null ? start.getLineNumber() : 0;
+        if (controls != null) {
+            totals = start != null ? controls.restore(start.getControlTotals()) : controls.newTotals();
+        }
+        ValidationSummary summary;
+        try (UniqueKeyChecker checker = openUniqueKeyChecker()) {
+            unique = checker;
+            if (unique != null && start != null) {
+                rememberKeys(reader);
+            }
+            summary = options.getThreads() > 1 ? runParallel(reader) : runSequential(reader);
+        } finally {
+            unique = null;
+        }
+        if (options.getCheckpointFile() != null) {
+            Files.deleteIfExists(options.getCheckpointFile());
+        }
+        if (metrics != null) {
+            metrics.recordRead(readNanos);
+            if (validatedRecords > 0) {
+                metrics.recordValidation(validatedRecords, validatedBytes, validationNanos);
+            }
+            metrics.recordRun(System.nanoTime() - started);
+        }
+        return summary;
+    }
+
+    /**
+     * Creates the checker of unique fields for a run.
+     *
+     * @return checker, or null if no field of the layouts is unique
+     */
+    private UniqueKeyChecker openUniqueKeyChecker() {
+        if (!UniqueKeyChecker.hasUniqueFields(layouts)) {
+            return null;
+        }
+        Path spillDirectory = options.getSpillDirectory() != null
+                ? options.getSpillDirectory() : Paths.get(System.getProperty("java.io.tmpdir"));
+        return new UniqueKeyChecker(layouts, validator.isUseByteLength(), options.getUniqueMemoryBudget(), spillDirectory);
+    }
+
+    /**
+     * Reads the lines before the checkpoint being resumed and remembers the values of their unique fields.
+     * <pre>
+     * The lines are validated again so that fields failing their own checks are skipped as in the
+     * interrupted run, but nothing is reported and the control totals of the checkpoint are kept.
+     * </pre>
+     * @param reader source of records, at the beginning of the file
+     * @throws IOException if reading fails or a key set cannot be spilled
+     * @throws IllegalStateException if the file ends before the checkpoint or its lines end elsewhere
+     */
+    private void rememberKeys(RecordReader reader) throws IOException {
+        for (long lineNumber = 1; lineNumber <= start.getLineNumber(); lineNumber++) {
+            if (!next(reader)) {
+                throw new IllegalStateException("File ends before line " + start.getLineNumber() + " of the checkpoint.");
+            }
+            lineErrors.clear();
+            int found = validator.collectErrors(lineNumber, reader.buffer(), reader.offset(), reader.length(), layouts, lineErrors);
+            unique.collectErrors(lineNumber, reader.buffer(), reader.offset(), reader.length(), lineErrors, 0, found, lineErrors);
+        }
+        if (start.getLineNumber() > 0 && reader.nextPosition() != start.getPosition()) {
+            throw new IllegalStateException("Line " + start.getLineNumber() + " does not end at position " + start.getPosition() + " of the checkpoint.");
+        }
+        lineErrors.clear();
+    }
+
+    /**
+     * Advances the reader, measuring the time spent when metrics are enabled.
+     *
+     * @param reader source of records
+     * @return true if a record is available
+     * @throws IOException if reading fails
+     */
+    private boolean next(RecordReader reader) throws IOException {
+        if (metrics == null) {
+            return reader.next();
+        }
+        long started = System.nanoTime();
+        boolean available = reader.next();
+        readNanos += System.nanoTime() - started;
+        return available;
+    }
+
+    /**
+     * Reports the invalid fields of a line to the metrics.
+     *
+     * @param lineResults validation results of the line
+     */
+    private void recordFailures(List<ValidationResult> lineResults) {
+        for (int i = 0, n = lineResults.size(); i < n; i++) {
+            ValidationResult result = lineResults.get(i);
+            if (!result.isValid()) {
+                metrics.recordFailure(result.getFieldName());
+            }
+        }
+    }
+
+    /**
+     * Creates the summary a run starts counting from.
+     *
+     * @return empty summary, or the counters of the checkpoint being resumed
+     */
+    private ValidationSummary initialSummary() {
+        return start != null ? start.toSummary() : new ValidationSummary();
+    }
+
+    /**
+     * Writes a checkpoint if checkpoints are enabled and enough lines were reported since the last one.
+     *
+     * @param nextPosition byte position following the last reported line
+     * @param lineNumber line number of the last reported line
+     * @param summary counters of the lines reported so far
+     * @throws IOException if writing the checkpoint fails
+     */
+    private void checkpoint(long nextPosition, long lineNumber, ValidationSummary summary) throws IOException {
+        Path file = options.getCheckpointFile();
+        if (file == null || lineNumber - lastCheckpointLine < options.getCheckpointInterval()) {
+            return;
+        }
+        CheckpointFile.write(file, new Checkpoint(fileSize, lastModified, nextPosition, lineNumber,
+                summary.getInvalidRecords(), summary.getErrors(), totals != null ? totals.toArray() : null));
+        lastCheckpointLine = lineNumber;
+    }
+
+    /**
+     * Validates records one after another on the calling thread.
+     *
+     * @param reader source of records
+     * @return summary counters of the validation run
+     * @throws Exception if reading fails or a handler throws
+     */
+    private ValidationSummary runSequential(RecordReader reader) throws Exception {
+        ValidationSummary summary = initialSummary();
+        long lineNumber = lastCheckpointLine;
+        while (next(reader)) {
+            lineNumber++;
+            long started = metrics != null ? System.nanoTime() : 0;
+            List<ValidationResult> lineResults = null;
+            int found = 0;
+            if (resultHandler != null) {
+                lineResults = validator.validateRecord(reader.buffer(), reader.offset(), reader.length(), layouts);
+                if (unique != null) {
+                    unique.check(lineNumber, reader.buffer(), reader.offset(), reader.length(), lineResults);
+                }
+                if (controls != null && controls.accumulate(totals, reader.buffer(), reader.offset(), reader.length())) {
+                    controls.check(lineNumber, totals, reader.buffer(), reader.offset(), reader.length(), lineResults);
+                }
+            } else {
+                lineErrors.clear();
+                found = validator.collectErrors(lineNumber, reader.buffer(), reader.offset(), reader.length(), layouts, lineErrors);
+                if (unique != null) {
+                    found += unique.collectErrors(lineNumber, reader.buffer(), reader.offset(), reader.length(), lineErrors, 0, found, lineErrors);
+                }
+                if (controls != null && controls.accumulate(totals, reader.buffer(), reader.offset(), reader.length())) {
+                    found += controls.collectErrors(lineNumber, totals, reader.buffer(), reader.offset(), reader.length(), lineErrors, 0, found, lineErrors);
+                }
+            }
+            if (metrics != null) {
+                validationNanos += System.nanoTime() - started;
+                validatedRecords++;
+                validatedBytes += reader.length();
+            }
+
+            if (resultHandler != null) {
+                summary.add(lineResults);
+                if (metrics != null) {
+                    recordFailures(lineResults);
+                }
+                resultHandler.onLine(lineNumber, lineResults);
+            } else {
+                summary.add(found);
+                for (int i = 0; i < found; i++) {
+                    if (metrics != null) {
+                        metrics.recordFailure(lineErrors.get(i).getFieldName());
+                    }
+                    errorHandler.onError(lineErrors.get(i));
+                }
+            }
+            if (shouldStop(summary)) {
+                break;
+            }
+            checkpoint(reader.nextPosition(), lineNumber, summary);
+        }
+        return summary;
+    }
+
+    /**
+     * Validates chunks of records on a pool while the calling thread reads and reports in order.
+     *
+     * @param reader source of records
+     * @return summary counters of the validation run
+     * @throws Exception if reading fails, validation fails, or a handler throws
+     */
+    private ValidationSummary runParallel(RecordReader reader) throws Exception {
+        int chunkSize = options.getChunkSize();
+        int maxInFlight = options.getThreads() * 2;
+        ValidationSummary summary = initialSummary();
+        ExecutorService pool = new ForkJoinPool(options.getThreads());
+
+        try {
+            Deque<Future<RecordChunk>> inFlight = new ArrayDeque<>();
+            RecordChunk chunk = null;
+            long lineNumber = lastCheckpointLine;
+
+            while (next(reader)) {
+                if (chunk == null) {
+                    chunk = new RecordChunk(lineNumber + 1, chunkSize);
+                }
+                chunk.add(reader.buffer(), reader.offset(), reader.length());
+                lineNumber++;
+
+                if (chunk.size >= chunkSize || chunk.count >= MAX_RECORDS_PER_CHUNK) {
+                    chunk.endPosition = reader.nextPosition();
+                    RecordChunk full = chunk;
+                    inFlight.addLast(pool.submit(() -> validateChunk(full)));
+                    chunk = null;
+                    if (inFlight.size() >= maxInFlight && !report(await(inFlight.removeFirst()), summary)) {
+                        return summary;
+                    }
+                }
+            }
+
+            if (chunk != null) {
+                chunk.endPosition = reader.nextPosition();
+                RecordChunk last = chunk;
+                inFlight.addLast(pool.submit(() -> validateChunk(last)));
+            }
+            while (!inFlight.isEmpty()) {
+                if (!report(await(inFlight.removeFirst()), summary)) {
+                    return summary;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return summary;
+    }
+
+    /**
+     * Validates every record of a chunk; runs on a pool thread.
+     *
+     * @param chunk chunk to validate
+     * @return the same chunk with its results or errors set
+     */
+    private RecordChunk validateChunk(RecordChunk chunk) {
+        long started = metrics != null ? System.nanoTime() : 0;
+        ByteBuffer buffer = ByteBuffer.wrap(chunk.data);
+        if (resultHandler != null) {
+            List<List<ValidationResult>> results = new ArrayList<>(chunk.count);
+            for (int i = 0; i < chunk.count; i++) {
+                results.add(validator.validateRecord(buffer, chunk.offsets[i], chunk.lengths[i], layouts));
+            }
+            chunk.results = results;
+        } else {
+            List<ValidationError> errors = new ArrayList<>();
+            int[] errorCounts = new int[chunk.count];
+            for (int i = 0; i < chunk.count; i++) {
+                errorCounts[i] = validator.collectErrors(chunk.firstLineNumber + i, buffer, chunk.offsets[i], chunk.lengths[i], layouts, errors);
+            }
+            chunk.errors = errors;
+            chunk.errorCounts = errorCounts;
+        }
+        if (controls != null) {
+            accumulate(chunk, buffer);
+        }
+        if (metrics != null) {
+            metrics.recordValidation(chunk.count, chunk.size, System.nanoTime() - started);
+        }
+        return chunk;
+    }
+
+    /**
+     * Aggregates the control totals of a chunk's records, starting a new segment after each trailer; runs on a pool thread.
+     *
+     * @param chunk chunk to aggregate
+     * @param buffer buffer wrapping the chunk data
+     */
+    private void accumulate(RecordChunk chunk, ByteBuffer buffer) {
+        List<ControlTotals> segments = new ArrayList<>();
+        BitSet trailers = new BitSet(chunk.count);
+        ControlTotals segment = controls.newTotals();
+        for (int i = 0; i < chunk.count; i++) {
+            if (controls.accumulate(segment, buffer, chunk.offsets[i], chunk.lengths[i])) {
+                trailers.set(i);
+                segments.add(segment);
+                segment = controls.newTotals();
+            }
+        }
+        segments.add(segment);
+        chunk.totals = segments;
+        chunk.trailers = trailers;
+    }
+
+    /**
+     * Passes the results or failures of a validated chunk to the handler in line order.
+     *
+     * @param chunk validated chunk
+     * @param summary summary to update
+     * @return true to continue, false if a stop condition was met
+     * @throws Exception if a handler throws or writing a checkpoint fails
+     */
+    private boolean report(RecordChunk chunk, ValidationSummary summary) throws Exception {
+        ByteBuffer buffer = unique != null || controls != null ? ByteBuffer.wrap(chunk.data) : null;
+        int next = 0;
+        int segment = 0;
+        for (int i = 0; i < chunk.count; i++) {
+            long lineNumber = chunk.firstLineNumber + i;
+            boolean trailer = controls != null && chunk.trailers.get(i);
+            if (trailer) {
+                totals.merge(chunk.totals.get(segment++));
+            }
+            if (resultHandler != null) {
+                List<ValidationResult> lineResults = chunk.results.get(i);
+                if (unique != null) {
+                    unique.check(lineNumber, buffer, chunk.offsets[i], chunk.lengths[i], lineResults);
+                }
+                if (trailer) {
+                    controls.check(lineNumber, totals, buffer, chunk.offsets[i], chunk.lengths[i], lineResults);
+                }
+                summary.add(lineResults);
+                if (metrics != null) {
+                    recordFailures(lineResults);
+                }
+                resultHandler.onLine(lineNumber, lineResults);
+            } else {
+                int found = chunk.errorCounts[i];
+                int crossRecord = 0;
+                lineErrors.clear();
+                if (unique != null) {
+                    crossRecord = unique.collectErrors(lineNumber, buffer, chunk.offsets[i], chunk.lengths[i], chunk.errors, next, next + found, lineErrors);
+                }
+                if (trailer) {
+                    crossRecord += controls.collectErrors(lineNumber, totals, buffer, chunk.offsets[i], chunk.lengths[i], chunk.errors, next, next + found, lineErrors);
+                }
+                summary.add(found + crossRecord);
+                for (int j = 0; j < found + crossRecord; j++) {
+                    ValidationError error = j < found ? chunk.errors.get(next + j) : lineErrors.get(j - found);
+                    if (metrics != null) {
+                        metrics.recordFailure(error.getFieldName());
+                    }
+                    errorHandler.onError(error);
+                }
+                next += found;
+            }
+            if (shouldStop(summary)) {
+                return false;
+            }
+        }
+        if (controls != null) {
+            totals.merge(chunk.totals.get(segment));
+        }
+        checkpoint(chunk.endPosition, chunk.firstLineNumber + chunk.count - 1, summary);
+        return true;
+    }
+
+    /**
+     * Checks the stop conditions against the counters so far and records the reason if one is met.
+     *
+     * @param summary summary of the lines reported so far
+     * @return true if validation must stop
+     */
+    private boolean shouldStop(ValidationSummary summary) {
+        StopReason reason = null;
+        if (options.isFailFast() && summary.getInvalidRecords() > 0) {
+            reason = StopReason.FIRST_INVALID_RECORD;
+        } else if (options.getMaxErrors() > 0 && summary.getErrors() >= options.getMaxErrors()) {
+            reason = StopReason.MAX_ERRORS;
+        } else if (options.getMaxErrorRate() > 0 && summary.getRecords() >= options.getErrorRateMinRecords()
+                && summary.getErrorRate() > options.getMaxErrorRate()) {
+            reason = StopReason.MAX_ERROR_RATE;
+        }
+        summary.setStopReason(reason);
+        return reason != null;
+    }
+
+    /**
+     * Waits for a chunk to be validated, rethrowing any failure of the worker.
+     *
+     * @param future pending chunk validation
+     * @return validated chunk
+     * @throws Exception if the worker failed
+     */
+    private static RecordChunk await(Future<RecordChunk> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
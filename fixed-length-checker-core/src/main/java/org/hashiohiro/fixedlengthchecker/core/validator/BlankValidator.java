@@ -1,8 +1,12 @@
 package org.hashiohiro.fixedlengthchecker.core.validator;
 
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorCode;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
 import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
 import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
 
+import java.nio.ByteBuffer;
+
 /**
  * Validator that checks if a field value is blank when expected.
  * <pre>
@@ -28,4 +32,58 @@ public class BlankValidator implements FieldValidator {
         String msg = ok ? "Blank OK" : "❌ Not blank [" + value + "]";
         return new ValidationResult(fieldName, ok, msg, value);
     }
+
+    /**
+     * Applies only to fields marked as blank.
+     *
+     * @param def field definition to inspect
+     * @return true if the check must run for the field
+     */
+    @Override
+    public boolean appliesTo(FixedFieldDefinition def) {
+        return def.isBlank();
+    }
+
+    /**
+     * Checks whether every byte of the field is the charset's space byte.
+     * <pre>
+     * Other whitespace such as tabs is left to the string check.
+     * Long filler fields are compared eight bytes at a time against the repeated pad byte.
+     * </pre>
+     * @param record buffer holding the record bytes
+     * @param offset absolute index of the first byte of the field in the buffer
+     * @param field compiled field layout holding the pad byte
+     * @return true if the field consists only of space bytes
+     */
+    @Override
+    public boolean passesWithoutDecoding(ByteBuffer record, int offset, FieldLayout field) {
+        int pad = field.getPadByte();
+        if (pad < 0) return false;
+        return ByteScan.allEqual(record, offset, field.getLength(), (byte) pad);
+    }
+
+    /**
+     * Checks that the value consists only of whitespace, like String.isBlank, without allocating.
+     *
+     * @param value actual value to check
+     * @param field compiled field layout
+     * @return true if the value is blank
+     */
+    @Override
+    public boolean test(CharSequence value, FieldLayout field) {
+        for (int i = 0, n = value.length(); i < n; i++) {
+            if (!Character.isWhitespace(value.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reports non-blank values as {@link ErrorCode#NOT_BLANK}.
+     *
+     * @return error code of this validator
+     */
+    @Override
+    public ErrorCode errorCode() {
+        return ErrorCode.NOT_BLANK;
+    }
 }
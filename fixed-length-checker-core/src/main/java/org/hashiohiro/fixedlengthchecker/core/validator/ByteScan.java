@@ -0,0 +1,96 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Word-at-a-time comparisons of record bytes, used by the raw byte paths of the validators.
+ * <pre>
+ * Heap buffers are compared through Arrays.equals, which the JIT compiles to vectorized mismatch
+ * instructions, or eight bytes at a time through a long view of the backing array.
+ * Direct and read-only buffers, such as mapped windows, are compared eight bytes at a time with
+ * absolute long reads. The remaining bytes of a field are compared one by one.
+ * All reads are absolute, so the buffer position and limit are left untouched.
+ * </pre>
+ */
+final class ByteScan {
+
+    /**
+     * Long view of a byte array in big-endian order.
+     */
+    private static final VarHandle LONGS_BIG_ENDIAN = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * Long view of a byte array in little-endian order.
+     */
+    private static final VarHandle LONGS_LITTLE_ENDIAN = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Multiplier that repeats a byte in each of the eight bytes of a long.
+     */
+    private static final long REPEAT = 0x0101010101010101L;
+
+    private ByteScan() {
+    }
+
+    /**
+     * Checks whether every byte in a range of the buffer equals the given byte.
+     *
+     * @param buffer buffer holding the bytes
+     * @param offset absolute index of the first byte to check
+     * @param length number of bytes to check
+     * @param value expected byte
+     * @return true if all bytes in the range equal value
+     */
+    static boolean allEqual(ByteBuffer buffer, int offset, int length, byte value) {
+        long pattern = (value & 0xFFL) * REPEAT;
+        int end = offset + length;
+        int i = offset;
+        if (buffer.hasArray()) {
+            byte[] array = buffer.array();
+            int base = buffer.arrayOffset();
+            for (; i + Long.BYTES <= end; i += Long.BYTES) {
+                if ((long) LONGS_BIG_ENDIAN.get(array, base + i) != pattern) return false;
+            }
+            for (; i < end; i++) {
+                if (array[base + i] != value) return false;
+            }
+            return true;
+        }
+        for (; i + Long.BYTES <= end; i += Long.BYTES) {
+            if (buffer.getLong(i) != pattern) return false;
+        }
+        for (; i < end; i++) {
+            if (buffer.get(i) != value) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the bytes of the buffer starting at offset are identical to the expected bytes.
+     *
+     * @param buffer buffer holding the bytes
+     * @param offset absolute index of the first byte to compare
+     * @param expected bytes the range must contain
+     * @return true if the range equals expected
+     */
+    static boolean equalsAt(ByteBuffer buffer, int offset, byte[] expected) {
+        int length = expected.length;
+        if (buffer.hasArray()) {
+            int from = buffer.arrayOffset() + offset;
+            return Arrays.equals(buffer.array(), from, from + length, expected, 0, length);
+        }
+        VarHandle longs = buffer.order() == ByteOrder.BIG_ENDIAN ? LONGS_BIG_ENDIAN : LONGS_LITTLE_ENDIAN;
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            if (buffer.getLong(offset + i) != (long) longs.get(expected, i)) return false;
+        }
+        for (; i < length; i++) {
+            if (buffer.get(offset + i) != expected[i]) return false;
+        }
+        return true;
+    }
+}
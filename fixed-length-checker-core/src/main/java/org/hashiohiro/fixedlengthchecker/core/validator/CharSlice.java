@@ -0,0 +1,63 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+/**
+ * Mutable window over a character sequence, reused to pass field values to checks without copying.
+ * <pre>
+ * Only valid while the underlying text is unchanged; call toString() to keep the value.
+ * </pre>
+ */
+final class CharSlice implements CharSequence {
+
+    /**
+     * Underlying text.
+     */
+    private CharSequence text;
+
+    /**
+     * Index of the first character of the window in the text.
+     */
+    private int offset;
+
+    /**
+     * Number of characters in the window.
+     */
+    private int length;
+
+    /**
+     * Points this window at part of a text.
+     *
+     * @param text underlying text
+     * @param offset index of the first character
+     * @param length number of characters
+     * @return this window
+     */
+    CharSlice wrap(CharSequence text, int offset, int length) {
+        this.text = text;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return text.charAt(offset + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return text.subSequence(offset, offset + length).toString();
+    }
+}
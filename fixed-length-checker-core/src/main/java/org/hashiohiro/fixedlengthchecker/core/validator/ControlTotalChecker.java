@@ -0,0 +1,493 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import org.hashiohiro.fixedlengthchecker.core.model.AggregateType;
+import org.hashiohiro.fixedlengthchecker.core.model.ControlTotal;
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorCode;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldType;
+import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayoutSet;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationError;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cross-record check that trailer records carry the correct record counts and control totals.
+ * <pre>
+ * Records are aggregated into ControlTotals in a single pass: each record adds one to the counts
+ * and the value of its source field to the sums and hash totals that cover its record type.
+ * When a trailer is reached, its controls are compared with its fields and reset, so a file of
+ * several batches reconciles every batch trailer against the records since the previous one.
+ * A mismatch is reported on the trailer field as CONTROL_TOTAL_MISMATCH; trailer fields that
+ * already failed their own checks and source values that are not numbers are skipped. Records
+ * after the last trailer are not reconciled.
+ *
+ * The checker itself is stateless and thread-safe. Sequential runs accumulate into one
+ * ControlTotals; parallel runs let every chunk accumulate its own totals, split at each trailer,
+ * and merge them in line order on the reporting thread before the trailer is reconciled.
+ * </pre>
+ */
+public class ControlTotalChecker {
+
+    /**
+     * Maximum number of digits of a control or source field, so every value it holds fits in a long.
+     */
+    public static final int MAX_DIGITS = 18;
+
+    /**
+     * Value returned for a field that is not a number.
+     */
+    private static final long NOT_A_NUMBER = Long.MIN_VALUE;
+
+    /**
+     * Compiled layouts of the record types.
+     */
+    private final RecordLayoutSet layouts;
+
+    /**
+     * Control totals of all trailer record types, indexed as in ControlTotals.
+     */
+    private final List<ControlTotal> controls;
+
+    /**
+     * True if values are read from the raw bytes, false if from the decoded characters.
+     */
+    private final boolean useByteLength;
+
+    /**
+     * Charset the records are encoded in.
+     */
+    private final Charset charset;
+
+    /**
+     * Indexes of the controls aggregating records of each layout.
+     */
+    private final Map<RecordLayout, int[]> sourcesByLayout = new IdentityHashMap<>();
+
+    /**
+     * Indexes of the controls reconciled at records of each trailer layout.
+     */
+    private final Map<RecordLayout, int[]> controlsByTrailer = new IdentityHashMap<>();
+
+    /**
+     * Indexes of the counts of every record type, which also count records of unknown type.
+     */
+    private final int[] unknownSources;
+
+    /**
+     * Creates a checker for the control totals of the layouts.
+     *
+     * @param layouts compiled layouts of the record types
+     * @param useByteLength true for byte-based lengths, false for character-based
+     */
+    public ControlTotalChecker(RecordLayoutSet layouts, boolean useByteLength) {
+        this.layouts = layouts;
+        this.controls = layouts.getControls();
+        this.useByteLength = useByteLength;
+        this.charset = layouts.getLayouts().get(0).getCharset();
+
+        for (RecordLayout layout : layouts.getLayouts()) {
+            List<Integer> sources = new ArrayList<>();
+            List<Integer> reconciled = new ArrayList<>();
+            for (int i = 0; i < controls.size(); i++) {
+                ControlTotal control = controls.get(i);
+                if (control.getSource() == layout || control.getSource() == null && control.getTrailer() != layout) {
+                    sources.add(i);
+                }
+                if (control.getTrailer() == layout) {
+                    reconciled.add(i);
+                }
+            }
+            if (!sources.isEmpty()) {
+                sourcesByLayout.put(layout, toArray(sources));
+            }
+            if (!reconciled.isEmpty()) {
+                controlsByTrailer.put(layout, toArray(reconciled));
+            }
+        }
+        List<Integer> unknown = new ArrayList<>();
+        for (int i = 0; i < controls.size(); i++) {
+            if (controls.get(i).getSource() == null) {
+                unknown.add(i);
+            }
+        }
+        this.unknownSources = toArray(unknown);
+    }
+
+    /**
+     * Returns whether any record type of the layouts carries control totals.
+     *
+     * @param layouts compiled layouts of the record types
+     * @return true if trailers must be reconciled
+     */
+    public static boolean hasControls(RecordLayoutSet layouts) {
+        return !layouts.getControls().isEmpty();
+    }
+
+    /**
+     * Creates zero totals for the controls of the layouts.
+     *
+     * @return new totals
+     */
+    public ControlTotals newTotals() {
+        return new ControlTotals(controls.size());
+    }
+
+    /**
+     * Restores totals saved in a checkpoint.
+     *
+     * @param state state returned by {@link ControlTotals#toArray()}
+     * @return restored totals
+     * @throws IllegalStateException if the state does not fit the controls of the layouts
+     */
+    public ControlTotals restore(long[] state) {
+        if (state == null || state.length != controls.size() * 2) {
+            throw new IllegalStateException("Checkpoint control totals do not match the definitions.");
+        }
+        return ControlTotals.of(state);
+    }
+
+    /**
+     * Adds a record to the totals of the controls covering its record type.
+     * <pre>
+     * Returns true for trailer records; their own controls must then be reconciled with
+     * {@link #collectErrors} or {@link #check} once the totals cover every record before them.
+     * </pre>
+     * @param totals totals to add to
+     * @param record buffer holding the record bytes, indexed absolutely
+     * @param offset index of the first byte of the record in the buffer
+     * @param length number of bytes in the record, excluding any terminator
+     * @return true if the record is a trailer carrying control totals
+     */
+    public boolean accumulate(ControlTotals totals, ByteBuffer record, int offset, int length) {
+        CharBuffer line = useByteLength ? null : DecodeScratch.get().decode(record, offset, length, charset);
+        RecordLayout layout = resolve(record, offset, length, line);
+        int[] sources = layout != null ? sourcesByLayout.get(layout) : unknownSources;
+        if (sources != null) {
+            for (int i : sources) {
+                ControlTotal control = controls.get(i);
+                if (control.getAggregate() == AggregateType.COUNT) {
+                    totals.add(i, 1);
+                    continue;
+                }
+                long value = parse(control.getSourceField(), record, offset, length, line);
+                if (value != NOT_A_NUMBER) {
+                    totals.add(i, value);
+                }
+            }
+        }
+        return layout != null && controlsByTrailer.containsKey(layout);
+    }
+
+    /**
+     * Reconciles the controls of a trailer record and collects a CONTROL_TOTAL_MISMATCH error for each wrong total.
+     * <pre>
+     * The totals must cover every record before the trailer; the trailer's controls are reset
+     * afterwards. Fields with an error among fieldErrors[from, to), the failures already collected
+     * for the record, are skipped. Mismatches are appended to errors, which may be the same list.
+     * </pre>
+     * @param lineNumber 1-based line number of the trailer
+     * @param totals totals of the records before the trailer
+     * @param record buffer holding the record bytes, indexed absolutely
+     * @param offset index of the first byte of the record in the buffer
+     * @param length number of bytes in the record, excluding any terminator
+     * @param fieldErrors failures already collected
+     * @param from index of the first failure of the record in fieldErrors
+     * @param to index after the last failure of the record in fieldErrors
+     * @param errors list receiving the mismatches
+     * @return number of errors added
+     */
+    public int collectErrors(long lineNumber, ControlTotals totals, ByteBuffer record, int offset, int length,
+                             List<ValidationError> fieldErrors, int from, int to, List<ValidationError> errors) {
+        CharBuffer line = useByteLength ? null : DecodeScratch.get().decode(record, offset, length, charset);
+        int[] trailerControls = trailerControls(record, offset, length, line);
+        if (trailerControls == null) {
+            return 0;
+        }
+        int found = 0;
+        for (int i : trailerControls) {
+            ControlTotal control = controls.get(i);
+            FieldLayout field = control.getField();
+            if (!FieldResults.hasError(field, fieldErrors, from, to)) {
+                BigInteger actual = mismatch(control, totals.get(i), record, offset, length, line);
+                if (actual != null) {
+                    MismatchValidator mismatch = new MismatchValidator(control, actual);
+                    errors.add(useByteLength
+                            ? new ValidationError(lineNumber, field, ErrorCode.CONTROL_TOTAL_MISMATCH, mismatch, bytes(record, offset, field))
+                            : new ValidationError(lineNumber, field, ErrorCode.CONTROL_TOTAL_MISMATCH, mismatch, value(line, field)));
+                    found++;
+                }
+            }
+            totals.reset(i);
+        }
+        return found;
+    }
+
+    /**
+     * Reconciles the controls of a trailer record and replaces the passing result of each wrong total with a failure.
+     * <pre>
+     * The totals must cover every record before the trailer; the trailer's controls are reset
+     * afterwards. Fields without a passing result already failed their own checks and are skipped.
+     * </pre>
+     * @param lineNumber 1-based line number of the trailer
+     * @param totals totals of the records before the trailer
+     * @param record buffer holding the record bytes, indexed absolutely
+     * @param offset index of the first byte of the record in the buffer
+     * @param length number of bytes in the record, excluding any terminator
+     * @param results mutable validation results of the record
+     * @return number of results turned into failures
+     */
+    public int check(long lineNumber, ControlTotals totals, ByteBuffer record, int offset, int length, List<ValidationResult> results) {
+        CharBuffer line = useByteLength ? null : DecodeScratch.get().decode(record, offset, length, charset);
+        int[] trailerControls = trailerControls(record, offset, length, line);
+        if (trailerControls == null) {
+            return 0;
+        }
+        int found = 0;
+        for (int i : trailerControls) {
+            ControlTotal control = controls.get(i);
+            int index = FieldResults.passingResult(control.getField(), results);
+            if (index >= 0) {
+                BigInteger actual = mismatch(control, totals.get(i), record, offset, length, line);
+                if (actual != null) {
+                    results.set(index, new MismatchValidator(control, actual).validate(results.get(index).getActualValue(), control.getField()));
+                    found++;
+                }
+            }
+            totals.reset(i);
+        }
+        return found;
+    }
+
+    /**
+     * Returns the layout a record resolves to.
+     *
+     * @param record buffer holding the record bytes
+     * @param offset index of the first byte of the record
+     * @param length number of bytes in the record
+     * @param line decoded record in character length mode, or null in byte length mode
+     * @return layout, or null if the record type is unknown
+     */
+    private RecordLayout resolve(ByteBuffer record, int offset, int length, CharBuffer line) {
+        return line != null ? layouts.resolve(line) : layouts.resolve(record, offset, length);
+    }
+
+    /**
+     * Returns the controls reconciled at a record.
+     *
+     * @param record buffer holding the record bytes
+     * @param offset index of the first byte of the record
+     * @param length number of bytes in the record
+     * @param line decoded record in character length mode, or null in byte length mode
+     * @return control indexes, or null if the record is not a trailer
+     */
+    private int[] trailerControls(ByteBuffer record, int offset, int length, CharBuffer line) {
+        RecordLayout layout = resolve(record, offset, length, line);
+        return layout != null ? controlsByTrailer.get(layout) : null;
+    }
+
+    /**
+     * Compares the total of a control with its trailer field.
+     * <pre>
+     * Hash totals are truncated to the digits the trailer field can hold before the comparison.
+     * </pre>
+     * @param control control to reconcile
+     * @param total aggregated total
+     * @param record buffer holding the record bytes
+     * @param offset index of the first byte of the record
+     * @param length number of bytes in the record
+     * @param line decoded record in character length mode, or null in byte length mode
+     * @return the total to report if it differs from the field, or null if it matches or the field is not a number
+     */
+    private BigInteger mismatch(ControlTotal control, BigInteger total, ByteBuffer record, int offset, int length, CharBuffer line) {
+        long expected = parse(control.getField(), record, offset, length, line);
+        if (expected == NOT_A_NUMBER) {
+            return null;
+        }
+        BigInteger actual = control.getAggregate() == AggregateType.HASH
+                ? total.mod(BigInteger.TEN.pow(digits(control.getField())))
+                : total;
+        return actual.equals(BigInteger.valueOf(expected)) ? null : actual;
+    }
+
+    /**
+     * Parses the value of a number field without allocating.
+     *
+     * @param field compiled layout of a numeric, signed, zoned or packed field
+     * @param record buffer holding the record bytes
+     * @param offset index of the first byte of the record
+     * @param length number of bytes in the record
+     * @param line decoded record in character length mode, or null in byte length mode
+     * @return parsed value, or NOT_A_NUMBER if the record is too short or the value is not a number of the field type
+     */
+    private static long parse(FieldLayout field, ByteBuffer record, int offset, int length, CharBuffer line) {
+        int end = field.getOffset() + field.getLength();
+        FieldType type = field.getType();
+        CharSequence value;
+        if (line == null) {
+            if (length < end) return NOT_A_NUMBER;
+            int start = offset + field.getOffset();
+            if (type == FieldType.PACKED) {
+                return Decimals.isPacked(record, start, field.getLength()) ? Decimals.parsePacked(record, start, field.getLength()) : NOT_A_NUMBER;
+            }
+            if (type == FieldType.NUMERIC && Decimals.isDigits(record, start, field.getLength(), field.getDigitZeroByte())) {
+                return Decimals.parseDigits(record, start, field.getLength(), field.getDigitZeroByte());
+            }
+            value = DecodeScratch.get().decode(record, start, field.getLength(), field.getCharset());
+        } else {
+            if (line.length() < end) return NOT_A_NUMBER;
+            value = DecodeScratch.get().slice(line, field.getOffset(), field.getLength());
+            if (type == FieldType.PACKED) {
+                ByteBuffer bytes = DecodeScratch.get().encodeValue(value, field.getCharset());
+                return Decimals.isPacked(bytes, 0, bytes.limit()) ? Decimals.parsePacked(bytes, 0, bytes.limit()) : NOT_A_NUMBER;
+            }
+        }
+        boolean valid = type == FieldType.SIGNED ? Decimals.isSigned(value)
+                : type == FieldType.ZONED ? Decimals.isZoned(value)
+                : Decimals.isDigits(value, 0, value.length());
+        return valid ? Decimals.parse(value, type) : NOT_A_NUMBER;
+    }
+
+    /**
+     * Returns the number of digits a trailer field can hold.
+     *
+     * @param field compiled layout of a number field
+     * @return two digits per byte but the sign nibble for packed fields, the length less a sign for signed fields, the length otherwise
+     */
+    private static int digits(FieldLayout field) {
+        return digits(field.getType(), field.getLength());
+    }
+
+    /**
+     * Returns the number of digits a number field of a type and length can hold.
+     *
+     * @param type numeric, signed, zoned or packed
+     * @param length length of the field
+     * @return two digits per byte but the sign nibble for packed fields, the length less a sign for signed fields, the length otherwise
+     */
+    public static int digits(FieldType type, int length) {
+        if (type == FieldType.PACKED) return length * 2 - 1;
+        if (type == FieldType.SIGNED) return length - 1;
+        return length;
+    }
+
+    /**
+     * Copies the raw bytes of a field.
+     *
+     * @param record buffer holding the record bytes
+     * @param offset index of the first byte of the record
+     * @param field compiled field layout
+     * @return field bytes
+     */
+    private static byte[] bytes(ByteBuffer record, int offset, FieldLayout field) {
+        byte[] value = new byte[field.getLength()];
+        record.get(offset + field.getOffset(), value);
+        return value;
+    }
+
+    /**
+     * Extracts the value of a field from a decoded record.
+     *
+     * @param line decoded record
+     * @param field compiled field layout
+     * @return field value
+     */
+    private static String value(CharBuffer line, FieldLayout field) {
+        return line.subSequence(field.getOffset(), field.getOffset() + field.getLength()).toString();
+    }
+
+    /**
+     * Converts a list of indexes to an array.
+     *
+     * @param indexes control indexes
+     * @return array of the indexes
+     */
+    private static int[] toArray(List<Integer> indexes) {
+        return indexes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Builds the message of a wrong control total, naming what the total covers and its actual value.
+     * <pre>
+     * Never attached to a layout; it only lets CONTROL_TOTAL_MISMATCH errors build their messages lazily like other failures.
+     * </pre>
+     */
+    private static final class MismatchValidator implements FieldValidator {
+
+        /**
+         * Control whose total differs.
+         */
+        private final ControlTotal control;
+
+        /**
+         * Total aggregated from the records.
+         */
+        private final BigInteger actual;
+
+        /**
+         * Creates the validator of one mismatch.
+         *
+         * @param control control whose total differs
+         * @param actual total aggregated from the records
+         */
+        private MismatchValidator(ControlTotal control, BigInteger actual) {
+            this.control = control;
+            this.actual = actual;
+        }
+
+        /**
+         * Reports the trailer value as a wrong total.
+         *
+         * @param fieldName name of the field
+         * @param value trailer value
+         * @param def field definition
+         * @return failing ValidationResult
+         */
+        @Override
+        public ValidationResult validate(String fieldName, String value, FixedFieldDefinition def) {
+            return new ValidationResult(fieldName, false, "❌ Control total mismatch (" + control.describe() + " is " + actual + ")", value);
+        }
+
+        /**
+         * Never applies, as totals are reconciled across records rather than by field checks.
+         *
+         * @param def field definition to inspect
+         * @return false
+         */
+        @Override
+        public boolean appliesTo(FixedFieldDefinition def) {
+            return false;
+        }
+
+        /**
+         * Always fails, as the validator only exists for mismatches.
+         *
+         * @param value trailer value
+         * @param field compiled field layout
+         * @return false
+         */
+        @Override
+        public boolean test(CharSequence value, FieldLayout field) {
+            return false;
+        }
+
+        /**
+         * Reports mismatches as {@link ErrorCode#CONTROL_TOTAL_MISMATCH}.
+         *
+         * @return error code of this validator
+         */
+        @Override
+        public ErrorCode errorCode() {
+            return ErrorCode.CONTROL_TOTAL_MISMATCH;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import java.math.BigInteger;
+
+/**
+ * Running aggregates of the control totals of a run, one 128-bit sum per control.
+ * <pre>
+ * Counts add one per record, sums and hash totals add the value of their source field; hash
+ * totals are only truncated when they are compared, so every aggregate is a plain sum. Sums
+ * merge by addition, which lets chunks validated in parallel aggregate their records
+ * independently and be merged in line order. 128 bits never overflow for sums of long values
+ * over any file that fits on disk. Not thread-safe.
+ * </pre>
+ */
+public final class ControlTotals {
+
+    /**
+     * High and low 64 bits of the sum of each control, interleaved.
+     */
+    private final long[] sums;
+
+    /**
+     * Creates zero totals.
+     *
+     * @param controls number of controls
+     */
+    ControlTotals(int controls) {
+        this.sums = new long[controls * 2];
+    }
+
+    /**
+     * Creates totals from a saved state.
+     *
+     * @param state state returned by {@link #toArray()}
+     */
+    private ControlTotals(long[] state) {
+        this.sums = state.clone();
+    }
+
+    /**
+     * Restores totals saved with {@link #toArray()}.
+     *
+     * @param state saved state
+     * @return restored totals
+     */
+    static ControlTotals of(long[] state) {
+        return new ControlTotals(state);
+    }
+
+    /**
+     * Adds a value to the sum of a control.
+     *
+     * @param control index of the control
+     * @param value value to add; may be negative
+     */
+    void add(int control, long value) {
+        add(control, value >> 63, value);
+    }
+
+    /**
+     * Adds all sums of other totals of the same controls.
+     *
+     * @param other totals to merge
+     */
+    public void merge(ControlTotals other) {
+        for (int i = 0, n = sums.length / 2; i < n; i++) {
+            add(i, other.sums[2 * i], other.sums[2 * i + 1]);
+        }
+    }
+
+    /**
+     * Resets the sum of a control to zero.
+     *
+     * @param control index of the control
+     */
+    void reset(int control) {
+        sums[2 * control] = 0;
+        sums[2 * control + 1] = 0;
+    }
+
+    /**
+     * Returns the sum of a control.
+     *
+     * @param control index of the control
+     * @return exact sum
+     */
+    BigInteger get(int control) {
+        return BigInteger.valueOf(sums[2 * control]).shiftLeft(64)
+                .add(new BigInteger(Long.toUnsignedString(sums[2 * control + 1])));
+    }
+
+    /**
+     * Returns the number of controls.
+     *
+     * @return number of controls
+     */
+    int size() {
+        return sums.length / 2;
+    }
+
+    /**
+     * Returns the state of the totals, for checkpoints.
+     *
+     * @return copy of the high and low bits of every sum
+     */
+    public long[] toArray() {
+        return sums.clone();
+    }
+
+    /**
+     * Adds a 128-bit value to the sum of a control.
+     *
+     * @param control index of the control
+     * @param high high 64 bits of the value
+     * @param low low 64 bits of the value
+     */
+    private void add(int control, long high, long low) {
+        long sum = sums[2 * control + 1] + low;
+        long carry = Long.compareUnsigned(sum, low) < 0 ? 1 : 0;
+        sums[2 * control] += high + carry;
+        sums[2 * control + 1] = sum;
+    }
+}
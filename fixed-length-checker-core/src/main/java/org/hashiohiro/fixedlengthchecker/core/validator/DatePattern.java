@@ -0,0 +1,271 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import java.util.Arrays;
+
+/**
+ * Compiled date and time layout used to check date fields without allocating.
+ * <pre>
+ * Supported pattern letters, each standing for a fixed number of digits:
+ *
+ *   yyyy  year 0000-9999      yy  year 00-99, taken as 2000-2099
+ *   MM    month 01-12         dd  day 01-31, checked against the month and leap years
+ *   HH    hour 00-23          mm  minute 00-59          ss  second 00-59
+ *
+ * Any other character that is not a letter must appear literally, such as the dashes in yyyy-MM-dd.
+ * Other letters are rejected when compiling, so a mistyped pattern never silently becomes a literal.
+ * </pre>
+ */
+public final class DatePattern {
+
+    /**
+     * Kind of a literal character.
+     */
+    private static final int LITERAL = 0;
+
+    /**
+     * Kind of a four-digit year.
+     */
+    private static final int YEAR4 = 1;
+
+    /**
+     * Kind of a two-digit year.
+     */
+    private static final int YEAR2 = 2;
+
+    /**
+     * Kind of a month.
+     */
+    private static final int MONTH = 3;
+
+    /**
+     * Kind of a day of month.
+     */
+    private static final int DAY = 4;
+
+    /**
+     * Kind of an hour of day.
+     */
+    private static final int HOUR = 5;
+
+    /**
+     * Kind of a minute.
+     */
+    private static final int MINUTE = 6;
+
+    /**
+     * Kind of a second.
+     */
+    private static final int SECOND = 7;
+
+    /**
+     * Pattern the layout was compiled from.
+     */
+    private final String pattern;
+
+    /**
+     * Kind of each element, in order.
+     */
+    private final int[] kinds;
+
+    /**
+     * Character index of each element in a value.
+     */
+    private final int[] starts;
+
+    /**
+     * Expected character of each literal element; unused for other kinds.
+     */
+    private final char[] literals;
+
+    /**
+     * Number of characters of a matching value.
+     */
+    private final int length;
+
+    /**
+     * Creates a compiled layout.
+     *
+     * @param pattern pattern the layout was compiled from
+     * @param kinds kind of each element
+     * @param starts character index of each element
+     * @param literals expected character of each literal element
+     */
+    private DatePattern(String pattern, int[] kinds, int[] starts, char[] literals) {
+        this.pattern = pattern;
+        this.kinds = kinds;
+        this.starts = starts;
+        this.literals = literals;
+        this.length = pattern.length();
+    }
+
+    /**
+     * Compiles a date pattern.
+     *
+     * @param pattern layout such as yyyyMMdd or yyyy-MM-dd HH:mm:ss
+     * @return compiled layout
+     * @throws IllegalArgumentException if the pattern is empty or contains an unsupported letter sequence
+     */
+    public static DatePattern compile(String pattern) {
+        if (pattern == null || pattern.isEmpty()) {
+            throw new IllegalArgumentException("Date format is empty.");
+        }
+        int[] kinds = new int[pattern.length()];
+        int[] starts = new int[pattern.length()];
+        char[] literals = new char[pattern.length()];
+        int count = 0;
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int run = 1;
+            while (i + run < pattern.length() && pattern.charAt(i + run) == c) {
+                run++;
+            }
+            int kind = kind(c, run);
+            if (kind == LITERAL) {
+                if (Character.isLetter(c)) {
+                    throw new IllegalArgumentException("Unsupported date format element: " + pattern.substring(i, i + run));
+                }
+                run = 1;
+                literals[count] = c;
+            }
+            kinds[count] = kind;
+            starts[count] = i;
+            count++;
+            i += run;
+        }
+        return new DatePattern(pattern, Arrays.copyOf(kinds, count), Arrays.copyOf(starts, count),
+                Arrays.copyOf(literals, count));
+    }
+
+    /**
+     * Returns the kind of a run of identical pattern characters.
+     *
+     * @param c pattern character
+     * @param run number of consecutive occurrences
+     * @return element kind, or LITERAL if the run is not a supported element
+     */
+    private static int kind(char c, int run) {
+        switch (c) {
+            case 'y':
+                return run == 4 ? YEAR4 : run == 2 ? YEAR2 : LITERAL;
+            case 'M':
+                return run == 2 ? MONTH : LITERAL;
+            case 'd':
+                return run == 2 ? DAY : LITERAL;
+            case 'H':
+                return run == 2 ? HOUR : LITERAL;
+            case 'm':
+                return run == 2 ? MINUTE : LITERAL;
+            case 's':
+                return run == 2 ? SECOND : LITERAL;
+            default:
+                return LITERAL;
+        }
+    }
+
+    /**
+     * Checks whether a value is a valid date and time in this layout.
+     *
+     * @param value value to check
+     * @return true if every element is present and denotes an existing date and time
+     */
+    public boolean matches(CharSequence value) {
+        if (value.length() != length) {
+            return false;
+        }
+        int year = -1;
+        int month = -1;
+        int day = -1;
+        for (int e = 0; e < kinds.length; e++) {
+            int start = starts[e];
+            int kind = kinds[e];
+            if (kind == LITERAL) {
+                if (value.charAt(start) != literals[e]) return false;
+                continue;
+            }
+            int n = digits(value, start, kind == YEAR4 ? 4 : 2);
+            switch (kind) {
+                case YEAR4:
+                    year = n;
+                    break;
+                case YEAR2:
+                    year = n < 0 ? n : 2000 + n;
+                    break;
+                case MONTH:
+                    if (n < 1 || n > 12) return false;
+                    month = n;
+                    break;
+                case DAY:
+                    if (n < 1 || n > 31) return false;
+                    day = n;
+                    break;
+                case HOUR:
+                    if (n < 0 || n > 23) return false;
+                    break;
+                default:
+                    if (n < 0 || n > 59) return false;
+                    break;
+            }
+            if (n < 0) return false;
+        }
+        return day < 0 || month < 0 || day <= daysInMonth(month, year);
+    }
+
+    /**
+     * Parses a run of decimal digits.
+     *
+     * @param value value holding the digits
+     * @param start index of the first digit
+     * @param count number of digits
+     * @return parsed number, or -1 if a character is not a digit
+     */
+    private static int digits(CharSequence value, int start, int count) {
+        int n = 0;
+        for (int i = start, end = start + count; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            n = n * 10 + (c - '0');
+        }
+        return n;
+    }
+
+    /**
+     * Returns the number of days of a month.
+     *
+     * @param month month 1-12
+     * @param year year, or -1 if the layout has no year, in which case February has 29 days
+     * @return number of days
+     */
+    private static int daysInMonth(int month, int year) {
+        switch (month) {
+            case 2:
+                return year < 0 || (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Returns the number of characters of a matching value.
+     *
+     * @return value length
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns the pattern the layout was compiled from.
+     *
+     * @return date pattern
+     */
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
@@ -0,0 +1,93 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorCode;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldType;
+import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+
+/**
+ * Validator that checks if a field value is an existing date in the field's format.
+ * <pre>
+ * Used for fields declared with type=date and a format such as yyyyMMdd. Unlike a regex, the check
+ * rejects dates that do not exist, such as 20230229 or 20240431. The format is compiled into the
+ * field layout once, so checking a value does not allocate.
+ * </pre>
+ */
+public class DateValidator implements FieldValidator {
+
+    /**
+     * Validates whether the value of a field is a date in the format of its definition.
+     * <pre>
+     * The format is compiled on every call; the compiled layout path reuses a precompiled pattern.
+     * </pre>
+     * @param fieldName name of the field being validated
+     * @param value actual value to check
+     * @param def field definition containing the type and format
+     * @return ValidationResult object with the validation outcome
+     */
+    @Override
+    public ValidationResult validate(String fieldName, String value, FixedFieldDefinition def) {
+        if (FieldType.parse(def.getType()) != FieldType.DATE) return new ValidationResult(fieldName, true, "No date check", value);
+        return result(fieldName, value, DatePattern.compile(def.getFormat()));
+    }
+
+    /**
+     * Validates the value against the date pattern precompiled into the field layout.
+     *
+     * @param value actual value to check
+     * @param field compiled field layout holding the date pattern
+     * @return ValidationResult object with the validation outcome
+     */
+    @Override
+    public ValidationResult validate(String value, FieldLayout field) {
+        return result(field.getName(), value, field.getDatePattern());
+    }
+
+    /**
+     * Applies only to fields of type date.
+     *
+     * @param def field definition to inspect
+     * @return true if the check must run for the field
+     */
+    @Override
+    public boolean appliesTo(FixedFieldDefinition def) {
+        return FieldType.parse(def.getType()) == FieldType.DATE;
+    }
+
+    /**
+     * Checks the value against the precompiled date pattern without allocating.
+     *
+     * @param value actual value to check
+     * @param field compiled field layout holding the date pattern
+     * @return true if the value is an existing date in the format
+     */
+    @Override
+    public boolean test(CharSequence value, FieldLayout field) {
+        return field.getDatePattern().matches(value);
+    }
+
+    /**
+     * Reports invalid dates as {@link ErrorCode#INVALID_DATE}.
+     *
+     * @return error code of this validator
+     */
+    @Override
+    public ErrorCode errorCode() {
+        return ErrorCode.INVALID_DATE;
+    }
+
+    /**
+     * Builds the result for a value checked against a date pattern.
+     *
+     * @param fieldName name of the field being validated
+     * @param value actual value to check
+     * @param pattern compiled date pattern
+     * @return ValidationResult object with the validation outcome
+     */
+    private static ValidationResult result(String fieldName, String value, DatePattern pattern) {
+        boolean ok = pattern.matches(value);
+        String msg = ok ? "Date OK" : "❌ Invalid date [" + value + "] (" + pattern + ")";
+        return new ValidationResult(fieldName, ok, msg, value);
+    }
+}
@@ -0,0 +1,210 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import org.hashiohiro.fixedlengthchecker.core.model.FieldType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Allocation-free syntax checks and parsing of the number field types.
+ * <pre>
+ * Text forms work on decoded characters, so they apply to every charset: zoned sign overpunches
+ * decode to the same characters ({ A-I for positive, } J-R for negative) in EBCDIC and ASCII.
+ * Packed decimals only exist as bytes. Parsed values saturate at Long.MIN_VALUE and
+ * Long.MAX_VALUE instead of overflowing, which keeps range checks correct for long fields.
+ * </pre>
+ */
+final class Decimals {
+
+    private Decimals() {
+    }
+
+    /**
+     * Checks that a range of characters is non-empty and consists only of the digits 0-9.
+     *
+     * @param value value to check
+     * @param from index of the first character
+     * @param to index after the last character
+     * @return true if every character in the range is a digit
+     */
+    static boolean isDigits(CharSequence value, int from, int to) {
+        if (from >= to) return false;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks that a range of bytes consists only of digits of the record charset.
+     *
+     * @param record buffer holding the bytes, indexed absolutely
+     * @param offset index of the first byte
+     * @param length number of bytes
+     * @param zeroByte unsigned byte value of the digit zero; the other digits follow it
+     * @return true if every byte is a digit
+     */
+    static boolean isDigits(ByteBuffer record, int offset, int length, int zeroByte) {
+        if (length <= 0 || zeroByte < 0) return false;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int digit = (record.get(i) & 0xFF) - zeroByte;
+            if (digit < 0 || digit > 9) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks the signed number syntax: digits with an optional leading or trailing + or - sign.
+     *
+     * @param value value to check
+     * @return true if the value is a signed number
+     */
+    static boolean isSigned(CharSequence value) {
+        int n = value.length();
+        if (n > 0 && isSign(value.charAt(0))) return isDigits(value, 1, n);
+        if (n > 0 && isSign(value.charAt(n - 1))) return isDigits(value, 0, n - 1);
+        return isDigits(value, 0, n);
+    }
+
+    /**
+     * Checks the zoned decimal syntax: digits whose last character may be a sign overpunch.
+     *
+     * @param value value to check
+     * @return true if the value is a zoned decimal
+     */
+    static boolean isZoned(CharSequence value) {
+        int n = value.length();
+        if (n == 0 || zonedDigit(value.charAt(n - 1)) < 0) return false;
+        return n == 1 || isDigits(value, 0, n - 1);
+    }
+
+    /**
+     * Checks the packed decimal syntax: a digit in every nibble except the last, which holds the sign.
+     * <pre>
+     * Sign nibbles A, C, E and F are positive, B and D negative, as defined for IBM packed decimals.
+     * </pre>
+     * @param record buffer holding the bytes, indexed absolutely
+     * @param offset index of the first byte
+     * @param length number of bytes
+     * @return true if the bytes are a packed decimal
+     */
+    static boolean isPacked(ByteBuffer record, int offset, int length) {
+        if (length <= 0) return false;
+        int last = offset + length - 1;
+        for (int i = offset; i < last; i++) {
+            int b = record.get(i) & 0xFF;
+            if ((b >>> 4) > 9 || (b & 0x0F) > 9) return false;
+        }
+        int b = record.get(last) & 0xFF;
+        return (b >>> 4) <= 9 && (b & 0x0F) >= 0x0A;
+    }
+
+    /**
+     * Parses a value of a text number type that already passed its syntax check.
+     *
+     * @param value value to parse
+     * @param type NUMERIC, SIGNED or ZONED
+     * @return parsed value, saturated at the long range
+     */
+    static long parse(CharSequence value, FieldType type) {
+        int n = value.length();
+        boolean negative = false;
+        int from = 0;
+        int to = n;
+        if (type == FieldType.SIGNED) {
+            if (isSign(value.charAt(0))) {
+                negative = value.charAt(0) == '-';
+                from = 1;
+            } else if (isSign(value.charAt(n - 1))) {
+                negative = value.charAt(n - 1) == '-';
+                to = n - 1;
+            }
+        } else if (type == FieldType.ZONED) {
+            char last = value.charAt(n - 1);
+            negative = last == '}' || last >= 'J' && last <= 'R';
+            to = n - 1;
+        }
+        long magnitude = 0;
+        for (int i = from; i < to; i++) {
+            magnitude = accumulate(magnitude, value.charAt(i) - '0');
+        }
+        if (type == FieldType.ZONED) {
+            magnitude = accumulate(magnitude, zonedDigit(value.charAt(n - 1)));
+        }
+        return negative ? -magnitude : magnitude;
+    }
+
+    /**
+     * Parses a packed decimal that already passed its syntax check.
+     *
+     * @param record buffer holding the bytes, indexed absolutely
+     * @param offset index of the first byte
+     * @param length number of bytes
+     * @return parsed value, saturated at the long range
+     */
+    static long parsePacked(ByteBuffer record, int offset, int length) {
+        long magnitude = 0;
+        int last = offset + length - 1;
+        for (int i = offset; i < last; i++) {
+            int b = record.get(i) & 0xFF;
+            magnitude = accumulate(accumulate(magnitude, b >>> 4), b & 0x0F);
+        }
+        int b = record.get(last) & 0xFF;
+        magnitude = accumulate(magnitude, b >>> 4);
+        int sign = b & 0x0F;
+        return sign == 0x0B || sign == 0x0D ? -magnitude : magnitude;
+    }
+
+    /**
+     * Parses a run of digits of the record charset.
+     *
+     * @param record buffer holding the bytes, indexed absolutely
+     * @param offset index of the first byte
+     * @param length number of bytes
+     * @param zeroByte unsigned byte value of the digit zero
+     * @return parsed value, saturated at Long.MAX_VALUE
+     */
+    static long parseDigits(ByteBuffer record, int offset, int length, int zeroByte) {
+        long magnitude = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            magnitude = accumulate(magnitude, (record.get(i) & 0xFF) - zeroByte);
+        }
+        return magnitude;
+    }
+
+    /**
+     * Returns the digit of a zoned decimal's last character.
+     *
+     * @param c last character, possibly a sign overpunch
+     * @return digit 0-9, or -1 if the character is neither a digit nor an overpunch
+     */
+    private static int zonedDigit(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c == '{' || c == '}') return 0;
+        if (c >= 'A' && c <= 'I') return c - 'A' + 1;
+        if (c >= 'J' && c <= 'R') return c - 'J' + 1;
+        return -1;
+    }
+
+    /**
+     * Returns whether a character is a + or - sign.
+     *
+     * @param c character to check
+     * @return true for + and -
+     */
+    private static boolean isSign(char c) {
+        return c == '+' || c == '-';
+    }
+
+    /**
+     * Appends a digit to a non-negative magnitude, saturating instead of overflowing.
+     *
+     * @param magnitude current magnitude
+     * @param digit digit 0-9 to append
+     * @return new magnitude, or Long.MAX_VALUE on overflow
+     */
+    private static long accumulate(long magnitude, int digit) {
+        if (magnitude > (Long.MAX_VALUE - digit) / 10) return Long.MAX_VALUE;
+        return magnitude * 10 + digit;
+    }
+}
@@ -0,0 +1,177 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Per-thread buffers for decoding record bytes without allocating strings.
+ * <pre>
+ * Decoded characters land in a reusable CharBuffer and parts of decoded text are exposed through
+ * a reusable CharSlice, so checks that need text (such as regex) can run on passing fields without any allocation.
+ * Records given as strings are encoded into a reusable byte buffer, so they can take the raw byte path.
+ * Malformed input is replaced the same way as new String(bytes, charset) and String.getBytes do.
+ * The returned views are only valid until the next decode or encode on the same thread.
+ * </pre>
+ */
+final class DecodeScratch {
+
+    /**
+     * Scratch instance of the current thread.
+     */
+    private static final ThreadLocal<DecodeScratch> CURRENT = ThreadLocal.withInitial(DecodeScratch::new);
+
+    /**
+     * Decoder for the charset used most recently on this thread.
+     */
+    private CharsetDecoder decoder;
+
+    /**
+     * Reusable output buffer; grows when a value does not fit.
+     */
+    private CharBuffer chars = CharBuffer.allocate(256);
+
+    /**
+     * Encoder for the charset used most recently on this thread.
+     */
+    private CharsetEncoder encoder;
+
+    /**
+     * Reusable encoded record; grows when a record does not fit.
+     */
+    private ByteBuffer bytes = ByteBuffer.allocate(256);
+
+    /**
+     * Reusable encoded field value, kept apart from the encoded record it may come from.
+     */
+    private ByteBuffer valueBytes = ByteBuffer.allocate(64);
+
+    /**
+     * Buffer the cached input view was created from.
+     */
+    private ByteBuffer source;
+
+    /**
+     * Reusable view of the source buffer whose position and limit select the bytes to decode.
+     */
+    private ByteBuffer view;
+
+    /**
+     * Reusable character window handed to checks.
+     */
+    private final CharSlice slice = new CharSlice();
+
+    private DecodeScratch() {
+    }
+
+    /**
+     * Returns the scratch buffers of the current thread.
+     *
+     * @return thread-local scratch instance
+     */
+    static DecodeScratch get() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Decodes a range of bytes into the scratch buffer.
+     *
+     * @param record buffer holding the bytes, indexed absolutely
+     * @param offset index of the first byte to decode
+     * @param length number of bytes to decode
+     * @param charset charset of the bytes
+     * @return reusable buffer holding the decoded characters, positioned at the first one
+     */
+    CharBuffer decode(ByteBuffer record, int offset, int length, Charset charset) {
+        if (decoder == null || !decoder.charset().equals(charset)) {
+            decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        if (record != source) {
+            source = record;
+            view = record.duplicate();
+        }
+        view.limit(offset + length).position(offset);
+
+        int capacity = Math.max(chars.capacity(), (int) Math.ceil(length * (double) decoder.maxCharsPerByte()));
+        if (capacity > chars.capacity()) {
+            chars = CharBuffer.allocate(capacity);
+        }
+        chars.clear();
+        decoder.reset();
+        decoder.decode(view, chars, true);
+        decoder.flush(chars);
+        chars.flip();
+        return chars;
+    }
+
+    /**
+     * Encodes text into the scratch byte buffer.
+     *
+     * @param text text to encode
+     * @param charset charset to encode to
+     * @return reusable buffer holding the encoded bytes from index 0 to its limit
+     */
+    ByteBuffer encode(CharSequence text, Charset charset) {
+        bytes = encode(text, charset, bytes);
+        return bytes;
+    }
+
+    /**
+     * Encodes a field value back into bytes, for checks defined on the raw bytes such as packed decimals.
+     * <pre>
+     * Uses a buffer of its own, so the encoded record returned by {@link #encode(CharSequence, Charset)}
+     * stays intact while its fields are checked.
+     * </pre>
+     * @param value field value to encode
+     * @param charset charset to encode to
+     * @return reusable buffer holding the encoded bytes from index 0 to its limit
+     */
+    ByteBuffer encodeValue(CharSequence value, Charset charset) {
+        valueBytes = encode(value, charset, valueBytes);
+        return valueBytes;
+    }
+
+    /**
+     * Encodes text into the given buffer, replacing it with a larger one when it does not fit.
+     *
+     * @param text text to encode
+     * @param charset charset to encode to
+     * @param target buffer to encode into
+     * @return target or its replacement, holding the encoded bytes from index 0 to its limit
+     */
+    private ByteBuffer encode(CharSequence text, Charset charset, ByteBuffer target) {
+        if (encoder == null || !encoder.charset().equals(charset)) {
+            encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        int capacity = (int) Math.ceil(text.length() * (double) encoder.maxBytesPerChar());
+        if (capacity > target.capacity()) {
+            target = ByteBuffer.allocate(capacity);
+        }
+        target.clear();
+        encoder.reset();
+        encoder.encode(CharBuffer.wrap(text), target, true);
+        encoder.flush(target);
+        target.flip();
+        return target;
+    }
+
+    /**
+     * Returns a view over part of already decoded text.
+     *
+     * @param text decoded text
+     * @param offset index of the first character
+     * @param length number of characters
+     * @return reusable view of the characters
+     */
+    CharSlice slice(CharSequence text, int offset, int length) {
+        return slice.wrap(text, offset, length);
+    }
+}
@@ -0,0 +1,94 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Immutable value pre-encoded in a record charset, such as the fixed value of a field.
+ * <pre>
+ * The bytes are copied when the value is created and are only handed out as copies, so a value
+ * shared by concurrent validations cannot be changed by any caller. The validators compare
+ * record bytes with the encoded value in place, without copying it.
+ * </pre>
+ */
+public final class EncodedValue {
+
+    /**
+     * Encoded bytes; never exposed.
+     */
+    private final byte[] bytes;
+
+    /**
+     * Creates a value holding a copy of the given bytes.
+     *
+     * @param bytes encoded bytes
+     */
+    public EncodedValue(byte[] bytes) {
+        this.bytes = bytes.clone();
+    }
+
+    /**
+     * Returns the number of encoded bytes.
+     *
+     * @return length in bytes
+     */
+    public int length() {
+        return bytes.length;
+    }
+
+    /**
+     * Returns a copy of the encoded bytes.
+     *
+     * @return new array holding the bytes
+     */
+    public byte[] toByteArray() {
+        return bytes.clone();
+    }
+
+    /**
+     * Checks whether the bytes of the buffer starting at offset are identical to this value.
+     *
+     * @param buffer buffer holding the bytes, indexed absolutely
+     * @param offset absolute index of the first byte to compare
+     * @return true if the range equals this value
+     */
+    boolean equalsAt(ByteBuffer buffer, int offset) {
+        return ByteScan.equalsAt(buffer, offset, bytes);
+    }
+
+    /**
+     * Compares the encoded bytes of two values.
+     *
+     * @param o other object
+     * @return true if o is an EncodedValue with the same bytes
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof EncodedValue && Arrays.equals(bytes, ((EncodedValue) o).bytes);
+    }
+
+    /**
+     * Returns a hash code of the encoded bytes.
+     *
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    /**
+     * Formats the bytes as a hex literal.
+     *
+     * @return bytes in the form X'0123'
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(bytes.length * 2 + 3).append("X'");
+        for (byte b : bytes) {
+            sb.append(Character.toUpperCase(Character.forDigit((b >>> 4) & 0x0F, 16)))
+                    .append(Character.toUpperCase(Character.forDigit(b & 0x0F, 16)));
+        }
+        return sb.append('\'').toString();
+    }
+}
@@ -0,0 +1,54 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationError;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+
+import java.util.List;
+
+/**
+ * Lookups of the outcome of a field among the results or errors already collected for a record.
+ * <pre>
+ * Used by the checks that span records, which only judge fields that passed their own checks.
+ * </pre>
+ */
+final class FieldResults {
+
+    private FieldResults() {
+    }
+
+    /**
+     * Returns whether a field already has a failure among the collected errors of the record.
+     *
+     * @param field compiled field layout
+     * @param errors failures already collected
+     * @param from index of the first failure of the record
+     * @param to index after the last failure of the record
+     * @return true if the field failed a check
+     */
+    static boolean hasError(FieldLayout field, List<ValidationError> errors, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (errors.get(i).getField() == field) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Finds the passing result of a field.
+     *
+     * @param field compiled field layout
+     * @param results validation results of the record
+     * @return index of the passing result, or -1 if the field failed
+     */
+    static int passingResult(FieldLayout field, List<ValidationResult> results) {
+        int index = field.getIndex();
+        if (index < results.size() && results.get(index).getFieldName().equals(field.getName())) {
+            return results.get(index).isValid() ? index : -1;
+        }
+        for (int i = 0, n = results.size(); i < n; i++) {
+            ValidationResult result = results.get(i);
+            if (result.getFieldName().equals(field.getName())) return result.isValid() ? i : -1;
+        }
+        return -1;
+    }
+}
@@ -1,8 +1,12 @@
 package org.hashiohiro.fixedlengthchecker.core.validator;
 
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
 import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorCode;
 import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
 
+import java.nio.ByteBuffer;
+
 /**
  * Interface for field validators used in fixed-length file validation.
  * <pre>
@@ -22,4 +26,70 @@ public interface FieldValidator {
      * @return ValidationResult object indicating the outcome of the validation
      */
     ValidationResult validate(String fieldName, String value, FixedFieldDefinition def);
+
+    /**
+     * Determines whether this validator has anything to check for the given definition.
+     * <pre>
+     * Used when compiling a record layout so that only applicable checks run for each field.
+     * </pre>
+     * @param def field definition providing validation rules
+     * @return true if the validator must run for the field
+     */
+    default boolean appliesTo(FixedFieldDefinition def) {
+        return true;
+    }
+
+    /**
+     * Validates a single field value against its compiled layout entry.
+     * <pre>
+     * Implementations may override this to use values precomputed at compile time. The default
+     * passes a copy of the definition snapshot to {@link #validate(String, String, FixedFieldDefinition)}.
+     * </pre>
+     * @param value actual value to validate
+     * @param field compiled field layout
+     * @return ValidationResult object indicating the outcome of the validation
+     */
+    default ValidationResult validate(String value, FieldLayout field) {
+        return validate(field.getName(), value, field.getDefinition().toDefinition());
+    }
+
+    /**
+     * Checks the raw field bytes without decoding them to a string.
+     * <pre>
+     * Returning true guarantees the field passes this check. Returning false means the engine
+     * decodes the field and falls back to {@link #validate(String, FieldLayout)}, which makes the
+     * final decision and builds the message. The default has no byte-level fast path.
+     * </pre>
+     * @param record buffer holding the record bytes
+     * @param offset absolute index of the first byte of the field in the buffer
+     * @param field compiled field layout
+     * @return true if the field is known to pass without decoding
+     */
+    default boolean passesWithoutDecoding(ByteBuffer record, int offset, FieldLayout field) {
+        return false;
+    }
+
+    /**
+     * Checks a field value without building a ValidationResult.
+     * <pre>
+     * Used by error-only validation, where passing fields must not allocate. The value may be a
+     * reusable view that is only valid during the call. The default delegates to
+     * {@link #validate(String, FieldLayout)}; implementations should override it with an allocation-free check.
+     * </pre>
+     * @param value actual value to check
+     * @param field compiled field layout
+     * @return true if the field passes this check
+     */
+    default boolean test(CharSequence value, FieldLayout field) {
+        return validate(value.toString(), field).isValid();
+    }
+
+    /**
+     * Returns the compact error code reported when this validator rejects a field.
+     *
+     * @return error code of this validator
+     */
+    default ErrorCode errorCode() {
+        return ErrorCode.INVALID;
+    }
 }
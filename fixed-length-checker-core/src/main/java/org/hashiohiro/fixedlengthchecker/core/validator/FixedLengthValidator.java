@@ -1,17 +1,34 @@
 package org.hashiohiro.fixedlengthchecker.core.validator;
 
+import org.hashiohiro.fixedlengthchecker.core.definition.DefinitionCompiler;
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorCode;
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorMode;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
 import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayoutSet;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationError;
 import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 /**
  * Validates each field in a fixed-length line using various validators.
  * <pre>
  * Supports byte-based or character-based length validation depending on configuration.
+ * In byte mode, records are validated directly on their raw bytes and a field is only
+ * decoded when a check or a result needs its textual value. Error-only validation
+ * reports failures as compact ValidationError entries and allocates nothing for passing fields.
+ * Files with several record types are validated against a RecordLayoutSet, which selects the
+ * layout of each record by its discriminator code.
+ * By default each field reports only its first failing check; with ErrorMode.ALL every
+ * failing check of a field is reported, at the cost of running the remaining checks of failing fields.
+ * Instances are immutable and safe to share between threads; decode buffers and regex
+ * matchers are reused per thread rather than per instance.
  * </pre>
  */
 public class FixedLengthValidator {
@@ -27,99 +44,460 @@ public class FixedLengthValidator {
     private final boolean useByteLength;
 
     /**
-     * List of field validators to apply to each field.
+     * True to stop at the first failing check of each field, false to report every failing check.
      */
-    private final List<FieldValidator> validators = Arrays.asList(
-            new FixedValueValidator(),
-            new BlankValidator(),
-            new RegexValidator()
-    );
+    private final boolean firstErrorOnly;
 
     /**
      * Constructs a FixedLengthValidator with specified charset and length mode.
      * <pre>
-     * Initializes validators for fixed value, blank, and regex checks.
+     * Field checks are taken from the compiled record layout passed to each validation.
+     * Each field reports only its first failing check.
      * </pre>
      * @param charset charset to use for byte conversions
      * @param useByteLength true for byte-based length checks; false for character-based
      */
     public FixedLengthValidator(Charset charset, boolean useByteLength) {
+        this(charset, useByteLength, ErrorMode.FIRST);
+    }
+
+    /**
+     * Constructs a FixedLengthValidator with specified charset, length mode and error mode.
+     *
+     * @param charset charset to use for byte conversions
+     * @param useByteLength true for byte-based length checks; false for character-based
+     * @param errorMode FIRST to stop at the first failing check of a field, ALL to report every failing check
+     */
+    public FixedLengthValidator(Charset charset, boolean useByteLength, ErrorMode errorMode) {
         this.charset = charset;
         this.useByteLength = useByteLength;
+        this.firstErrorOnly = errorMode == ErrorMode.FIRST;
+    }
+
+    /**
+     * Returns whether lengths and offsets are counted in bytes.
+     *
+     * @return true for byte-based length checks; false for character-based
+     */
+    public boolean isUseByteLength() {
+        return useByteLength;
     }
 
     /**
      * Validates a single line against provided field definitions.
      * <pre>
      * Returns a list of validation results for each field in the line.
+     * The definitions are compiled on every call; prefer {@link #validateLine(String, RecordLayout)}
+     * with a layout compiled once by {@link DefinitionCompiler}.
      * </pre>
      * @param line line string to validate
      * @param definitions list of field definitions
      * @return list of ValidationResult objects per field
      */
     public List<ValidationResult> validateLine(String line, List<FixedFieldDefinition> definitions) {
-        List<ValidationResult> results = new ArrayList<>();
-        int offset = 0;
+        return validateLine(line, DefinitionCompiler.compile(definitions, charset));
+    }
 
+    /**
+     * Validates a single line against a compiled record layout.
+     * <pre>
+     * Returns a list of validation results for each field in the line, or for each failing
+     * check of a field when every failure is reported.
+     * Only the checks attached to each field by the compiler are executed.
+     * </pre>
+     * @param line line string to validate
+     * @param layout compiled record layout
+     * @return list of ValidationResult objects per field
+     */
+    public List<ValidationResult> validateLine(String line, RecordLayout layout) {
         if (useByteLength) {
             byte[] lineBytes = line.getBytes(charset);
+            return validateRecord(ByteBuffer.wrap(lineBytes), 0, lineBytes.length, layout);
+        }
 
-            for (FixedFieldDefinition def : definitions) {
-                int length = def.getLength();
+        List<FieldLayout> fields = layout.getFields();
+        List<ValidationResult> results = new ArrayList<>(fields.size());
 
-                if (lineBytes.length < offset + length) {
-                    results.add(new ValidationResult(def.getName(), false, "❌ Insufficient field length", ""));
-                    offset += length;
-                    continue;
-                }
+        for (int i = 0, n = fields.size(); i < n; i++) {
+            FieldLayout field = fields.get(i);
+            int offset = field.getOffset();
+            int length = field.getLength();
+
+            if (line.length() < offset + length) {
+                results.add(new ValidationResult(field.getName(), false, "❌ Insufficient field length", ""));
+                continue;
+            }
+
+            appendFieldResult(results, field, line.substring(offset, offset + length));
+        }
+
+        return results;
+    }
+
+    /**
+     * Validates a single line against the layout its record type code selects.
+     * <pre>
+     * Returns a single failing result for the discriminator when the line is too short
+     * to contain it or its code matches no record type.
+     * </pre>
+     * @param line line string to validate
+     * @param layouts compiled layouts of every record type
+     * @return list of ValidationResult objects per field
+     */
+    public List<ValidationResult> validateLine(String line, RecordLayoutSet layouts) {
+        if (useByteLength) {
+            byte[] lineBytes = line.getBytes(charset);
+            return validateRecord(ByteBuffer.wrap(lineBytes), 0, lineBytes.length, layouts);
+        }
+
+        RecordLayout layout = layouts.resolve(line);
+        if (layout == null) {
+            FieldLayout discriminator = layouts.getDiscriminator();
+            int end = discriminator.getOffset() + discriminator.getLength();
+            return List.of(line.length() < end
+                    ? new ValidationResult(discriminator.getName(), false, "❌ Insufficient field length", "")
+                    : new ValidationResult(discriminator.getName(), false, "❌ Unknown record type", line.substring(discriminator.getOffset(), end)));
+        }
+        return validateLine(line, layout);
+    }
+
+    /**
+     * Validates a single record held as raw bytes against the layout its record type code selects.
+     * <pre>
+     * Returns a single failing result for the discriminator when the record is too short
+     * to contain it or its code matches no record type.
+     * </pre>
+     * @param record buffer holding the record bytes, indexed absolutely
+     * @param offset index of the first byte of the record in the buffer
+     * @param length number of bytes in the record, excluding any terminator
+     * @param layouts compiled layouts of every record type
+     * @return list of ValidationResult objects per field
+     */
+    public List<ValidationResult> validateRecord(ByteBuffer record, int offset, int length, RecordLayoutSet layouts) {
+        if (!useByteLength) {
+            return validateLine(decode(record, offset, length), layouts);
+        }
+
+        RecordLayout layout = layouts.resolve(record, offset, length);
+        if (layout == null) {
+            FieldLayout discriminator = layouts.getDiscriminator();
+            return List.of(length < discriminator.getOffset() + discriminator.getLength()
+                    ? new ValidationResult(discriminator.getName(), false, "❌ Insufficient field length", "")
+                    : new ValidationResult(discriminator.getName(), false, "❌ Unknown record type", discriminator.decode(record, offset + discriminator.getOffset())));
+        }
+        return validateRecord(record, offset, length, layout);
+    }
+
+    /**
+     * Validates a single record held as raw bytes against a compiled record layout.
+     * <pre>
+     * In byte mode, fixed value and blank checks compare the bytes directly and a field is only
+     * decoded when a regex check or a result needs it. In character mode the record is decoded first.
+     * The layout must have been compiled for the charset of this validator.
+     * </pre>
+     * @param record buffer holding the record bytes, indexed absolutely
+     * @param offset index of the first byte of the record in the buffer
+     * @param length number of bytes in the record, excluding any terminator
+     * @param layout compiled record layout
+     * @return list of ValidationResult objects per field
+     */
+    public List<ValidationResult> validateRecord(ByteBuffer record, int offset, int length, RecordLayout layout) {
+        if (!useByteLength) {
+            return validateLine(decode(record, offset, length), layout);
+        }
+        requireCharset(layout);
+
+        List<FieldLayout> fields = layout.getFields();
+        List<ValidationResult> results = new ArrayList<>(fields.size());
 
-                String value = new String(lineBytes, offset, length, charset);
-                offset += length;
+        for (int i = 0, n = fields.size(); i < n; i++) {
+            FieldLayout field = fields.get(i);
 
-                appendFieldResult(results, def, value);
+            if (length < field.getOffset() + field.getLength()) {
+                results.add(new ValidationResult(field.getName(), false, "❌ Insufficient field length", ""));
+                continue;
             }
+
+            appendFieldResult(results, field, record, offset + field.getOffset());
+        }
+
+        return results;
+    }
+
+    /**
+     * Validates a record held as raw bytes and collects only the failures.
+     * <pre>
+     * Passing fields produce no results and do not allocate: checks run on the raw bytes or on
+     * text decoded into per-thread scratch buffers. Each failure copies the field value once and
+     * defers building its message. Stops at the first failing check of each field unless every
+     * failure is reported.
+     * </pre>
+     * @param lineNumber 1-based line number of the record, stored in each error
+     * @param record buffer holding the record bytes, indexed absolutely
+     * @param offset index of the first byte of the record in the buffer
+     * @param length number of bytes in the record, excluding any terminator
+     * @param layout compiled record layout
+     * @param errors list receiving the failures of this record
+     * @return number of errors added
+     */
+    public int collectErrors(long lineNumber, ByteBuffer record, int offset, int length, RecordLayout layout, List<ValidationError> errors) {
+        if (!useByteLength) {
+            return collectErrors(lineNumber, DecodeScratch.get().decode(record, offset, length, charset), layout, errors);
+        }
+        return collectByteErrors(lineNumber, record, offset, length, layout, errors);
+    }
+
+    /**
+     * Validates a record held as raw bytes against the layout its record type code selects and collects only the failures.
+     * <pre>
+     * Adds a single error for the discriminator when the record is too short to contain it
+     * or its code matches no record type.
+     * </pre>
+     * @param lineNumber 1-based line number of the record, stored in each error
+     * @param record buffer holding the record bytes, indexed absolutely
+     * @param offset index of the first byte of the record in the buffer
+     * @param length number of bytes in the record, excluding any terminator
+     * @param layouts compiled layouts of every record type
+     * @param errors list receiving the failures of this record
+     * @return number of errors added
+     */
+    public int collectErrors(long lineNumber, ByteBuffer record, int offset, int length, RecordLayoutSet layouts, List<ValidationError> errors) {
+        if (!useByteLength) {
+            return collectErrors(lineNumber, DecodeScratch.get().decode(record, offset, length, charset), layouts, errors);
+        }
+
+        FieldLayout discriminator = layouts.getDiscriminator();
+        RecordLayout layout = layouts.resolve(record, offset, length);
+        if (layout != null) {
+            return collectByteErrors(lineNumber, record, offset, length, layout, errors);
+        }
+        if (length < discriminator.getOffset() + discriminator.getLength()) {
+            errors.add(new ValidationError(lineNumber, discriminator, ErrorCode.INSUFFICIENT_LENGTH, null, ""));
         } else {
-            for (FixedFieldDefinition def : definitions) {
-                int length = def.getLength();
+            byte[] raw = new byte[discriminator.getLength()];
+            record.get(offset + discriminator.getOffset(), raw);
+            errors.add(new ValidationError(lineNumber, discriminator, ErrorCode.UNKNOWN_RECORD_TYPE, null, raw));
+        }
+        return 1;
+    }
 
-                if (line.length() < offset + length) {
-                    results.add(new ValidationResult(def.getName(), false, "❌ Insufficient field length", ""));
-                    offset += length;
-                    continue;
-                }
+    /**
+     * Validates a record given as a string against the layout its record type code selects and collects only the failures.
+     * <pre>
+     * In byte length mode the record is encoded into a per-thread scratch buffer instead of a new array.
+     * </pre>
+     * @param lineNumber 1-based line number of the record, stored in each error
+     * @param line record to validate
+     * @param layouts compiled layouts of every record type
+     * @param errors list receiving the failures of this record
+     * @return number of errors added
+     */
+    public int collectErrors(long lineNumber, String line, RecordLayoutSet layouts, List<ValidationError> errors) {
+        if (useByteLength) {
+            ByteBuffer record = DecodeScratch.get().encode(line, charset);
+            return collectErrors(lineNumber, record, 0, record.limit(), layouts, errors);
+        }
+        return collectErrors(lineNumber, CharBuffer.wrap(line), layouts, errors);
+    }
 
-                String value = line.substring(offset, offset + length);
-                offset += length;
+    /**
+     * Collects the failures of a record already decoded into text, against the layout its record type code selects.
+     *
+     * @param lineNumber 1-based line number of the record, stored in each error
+     * @param line decoded record
+     * @param layouts compiled layouts of every record type
+     * @param errors list receiving the failures of this record
+     * @return number of errors added
+     */
+    private int collectErrors(long lineNumber, CharBuffer line, RecordLayoutSet layouts, List<ValidationError> errors) {
+        RecordLayout layout = layouts.resolve(line);
+        if (layout != null) {
+            return collectErrors(lineNumber, line, layout, errors);
+        }
+        FieldLayout discriminator = layouts.getDiscriminator();
+        int end = discriminator.getOffset() + discriminator.getLength();
+        errors.add(line.length() < end
+                ? new ValidationError(lineNumber, discriminator, ErrorCode.INSUFFICIENT_LENGTH, null, "")
+                : new ValidationError(lineNumber, discriminator, ErrorCode.UNKNOWN_RECORD_TYPE, null, line.subSequence(discriminator.getOffset(), end).toString()));
+        return 1;
+    }
 
-                appendFieldResult(results, def, value);
+    /**
+     * Collects the failures of a record already decoded into text.
+     *
+     * @param lineNumber 1-based line number of the record, stored in each error
+     * @param line decoded record
+     * @param layout compiled record layout
+     * @param errors list receiving the failures of this record
+     * @return number of errors added
+     */
+    private int collectErrors(long lineNumber, CharBuffer line, RecordLayout layout, List<ValidationError> errors) {
+        DecodeScratch scratch = DecodeScratch.get();
+        List<FieldLayout> fields = layout.getFields();
+        int found = 0;
+        for (int i = 0, n = fields.size(); i < n; i++) {
+            FieldLayout field = fields.get(i);
+            if (line.length() < field.getOffset() + field.getLength()) {
+                errors.add(new ValidationError(lineNumber, field, ErrorCode.INSUFFICIENT_LENGTH, null, ""));
+                found++;
+                continue;
+            }
+
+            CharSlice value = scratch.slice(line, field.getOffset(), field.getLength());
+            List<FieldValidator> checks = field.getChecks();
+            for (int j = 0, m = checks.size(); j < m; j++) {
+                FieldValidator check = checks.get(j);
+                if (!check.test(value, field)) {
+                    errors.add(new ValidationError(lineNumber, field, check.errorCode(), check, value.toString()));
+                    found++;
+                    if (firstErrorOnly) break;
+                }
             }
         }
+        return found;
+    }
 
-        return results;
+    /**
+     * Collects the failures of a record held as raw bytes, decoding fields only when a check needs text.
+     *
+     * @param lineNumber 1-based line number of the record, stored in each error
+     * @param record buffer holding the record bytes, indexed absolutely
+     * @param offset index of the first byte of the record in the buffer
+     * @param length number of bytes in the record, excluding any terminator
+     * @param layout compiled record layout
+     * @param errors list receiving the failures of this record
+     * @return number of errors added
+     */
+    private int collectByteErrors(long lineNumber, ByteBuffer record, int offset, int length, RecordLayout layout, List<ValidationError> errors) {
+        requireCharset(layout);
+        DecodeScratch scratch = DecodeScratch.get();
+        List<FieldLayout> fields = layout.getFields();
+        int found = 0;
+        for (int i = 0, n = fields.size(); i < n; i++) {
+            FieldLayout field = fields.get(i);
+            if (length < field.getOffset() + field.getLength()) {
+                errors.add(new ValidationError(lineNumber, field, ErrorCode.INSUFFICIENT_LENGTH, null, ""));
+                found++;
+                continue;
+            }
+
+            int fieldOffset = offset + field.getOffset();
+            CharBuffer value = null;
+            List<FieldValidator> checks = field.getChecks();
+            for (int j = 0, m = checks.size(); j < m; j++) {
+                FieldValidator check = checks.get(j);
+                if (check.passesWithoutDecoding(record, fieldOffset, field)) {
+                    continue;
+                }
+                if (value == null) {
+                    value = scratch.decode(record, fieldOffset, field.getLength(), charset);
+                }
+                if (!check.test(value, field)) {
+                    byte[] raw = new byte[field.getLength()];
+                    record.get(fieldOffset, raw);
+                    errors.add(new ValidationError(lineNumber, field, check.errorCode(), check, raw));
+                    found++;
+                    if (firstErrorOnly) break;
+                }
+            }
+        }
+        return found;
     }
 
     /**
-     * Appends a validation result for a field using defined validators.
+     * Appends a validation result for a field using its compiled checks.
      * <pre>
-     * Stops at first validation failure; otherwise adds a success result.
+     * Stops at first validation failure unless every failure is reported; adds a success result
+     * if no check fails.
      * </pre>
      * @param results list to append results
-     * @param def field definition
+     * @param field compiled field layout
      * @param value actual value to validate
      */
-    private void appendFieldResult(List<ValidationResult> results, FixedFieldDefinition def, String value) {
-        boolean hasError = false;
-        for (FieldValidator v : validators) {
-            ValidationResult res = v.validate(def.getName(), value, def);
+    private void appendFieldResult(List<ValidationResult> results, FieldLayout field, String value) {
+        boolean failed = false;
+        List<FieldValidator> checks = field.getChecks();
+        for (int i = 0, n = checks.size(); i < n; i++) {
+            ValidationResult res = checks.get(i).validate(value, field);
+            if (!res.isValid()) {
+                results.add(res);
+                if (firstErrorOnly) return;
+                failed = true;
+            }
+        }
+
+        if (failed) {
+            return;
+        }
+        results.add(new ValidationResult(field.getName(), true, "✅ Check OK", value));
+    }
+
+    /**
+     * Appends a validation result for a field held as raw bytes.
+     * <pre>
+     * Checks with a byte-level fast path run first on the raw bytes; the field is decoded
+     * at most once, when a check falls back to the string path or a result needs the value.
+     * </pre>
+     * @param results list to append results
+     * @param field compiled field layout
+     * @param record buffer holding the record bytes
+     * @param fieldOffset absolute index of the first byte of the field in the buffer
+     */
+    private void appendFieldResult(List<ValidationResult> results, FieldLayout field, ByteBuffer record, int fieldOffset) {
+        boolean failed = false;
+        String value = null;
+        List<FieldValidator> checks = field.getChecks();
+        for (int i = 0, n = checks.size(); i < n; i++) {
+            FieldValidator check = checks.get(i);
+            if (check.passesWithoutDecoding(record, fieldOffset, field)) {
+                continue;
+            }
+            if (value == null) {
+                value = field.decode(record, fieldOffset);
+            }
+            ValidationResult res = check.validate(value, field);
             if (!res.isValid()) {
                 results.add(res);
-                hasError = true;
-                break;
+                if (firstErrorOnly) return;
+                failed = true;
             }
         }
 
-        if (!hasError) {
-            results.add(new ValidationResult(def.getName(), true, "✅ Check OK", value));
+        if (failed) {
+            return;
+        }
+        if (value == null) {
+            value = field.decode(record, fieldOffset);
+        }
+        results.add(new ValidationResult(field.getName(), true, "✅ Check OK", value));
+    }
+
+    /**
+     * Decodes a whole record into a string for character-based validation.
+     *
+     * @param record buffer holding the record bytes
+     * @param offset index of the first byte of the record
+     * @param length number of bytes in the record
+     * @return decoded record
+     */
+    private String decode(ByteBuffer record, int offset, int length) {
+        if (record.hasArray()) {
+            return new String(record.array(), record.arrayOffset() + offset, length, charset);
+        }
+        byte[] bytes = new byte[length];
+        record.get(offset, bytes);
+        return new String(bytes, charset);
+    }
+
+    /**
+     * Ensures that pre-encoded values in the layout match the charset of this validator.
+     *
+     * @param layout compiled record layout
+     * @throws IllegalArgumentException if the layout was compiled for another charset
+     */
+    private void requireCharset(RecordLayout layout) {
+        if (layout.getCharset() != charset && !layout.getCharset().equals(charset)) {
+            throw new IllegalArgumentException("Layout was compiled for " + layout.getCharset().name() + ", not " + charset.name());
         }
     }
 }
@@ -1,8 +1,12 @@
 package org.hashiohiro.fixedlengthchecker.core.validator;
 
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorCode;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
 import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
 import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
 
+import java.nio.ByteBuffer;
+
 /**
  * Validator that checks if a field value exactly matches a predefined fixed value.
  * <pre>
@@ -28,4 +32,52 @@ public class FixedValueValidator implements FieldValidator {
         String msg = ok ? "Fixed value match" : "❌ Fixed value mismatch [" + value + "]";
         return new ValidationResult(fieldName, ok, msg, value);
     }
+
+    /**
+     * Applies only to fields that define a fixed value.
+     *
+     * @param def field definition to inspect
+     * @return true if the check must run for the field
+     */
+    @Override
+    public boolean appliesTo(FixedFieldDefinition def) {
+        return def.getFixedValue() != null;
+    }
+
+    /**
+     * Compares the field bytes with the fixed value pre-encoded in the record charset.
+     *
+     * @param record buffer holding the record bytes
+     * @param offset absolute index of the first byte of the field in the buffer
+     * @param field compiled field layout holding the encoded fixed value
+     * @return true if the bytes are identical to the encoded fixed value
+     */
+    @Override
+    public boolean passesWithoutDecoding(ByteBuffer record, int offset, FieldLayout field) {
+        EncodedValue expected = field.getEncodedFixedValue();
+        if (expected.length() != field.getLength()) return false;
+        return expected.equalsAt(record, offset);
+    }
+
+    /**
+     * Compares the value with the fixed value without allocating.
+     *
+     * @param value actual value to check
+     * @param field compiled field layout holding the fixed value
+     * @return true if the value equals the fixed value
+     */
+    @Override
+    public boolean test(CharSequence value, FieldLayout field) {
+        return field.getDefinition().getFixedValue().contentEquals(value);
+    }
+
+    /**
+     * Reports fixed value mismatches as {@link ErrorCode#FIXED_VALUE_MISMATCH}.
+     *
+     * @return error code of this validator
+     */
+    @Override
+    public ErrorCode errorCode() {
+        return ErrorCode.FIXED_VALUE_MISMATCH;
+    }
 }
@@ -0,0 +1,104 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory budget shared by the key sets of one uniqueness check, with the spill directory used beyond it.
+ * <pre>
+ * Tables within the budget live in direct memory, outside the Java heap. A table that cannot grow
+ * within the budget is written to a temporary file in one sequential pass and mapped back read-only,
+ * so the operating system may page it in and out without ever writing it back. Spill files are
+ * deleted as soon as they are mapped; the disk space is released once their mappings are garbage
+ * collected.
+ * </pre>
+ */
+final class KeyMemory {
+
+    /**
+     * Number of direct memory bytes the key sets may use together.
+     */
+    private final long budget;
+
+    /**
+     * Directory receiving spill files.
+     */
+    private final Path spillDirectory;
+
+    /**
+     * Number of direct memory bytes currently reserved.
+     */
+    private long reserved;
+
+    /**
+     * Creates a budget.
+     *
+     * @param budget number of direct memory bytes the key sets may use together
+     * @param spillDirectory directory receiving spill files
+     */
+    KeyMemory(long budget, Path spillDirectory) {
+        this.budget = budget;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Reserves direct memory if it fits the budget.
+     *
+     * @param bytes number of bytes to reserve
+     * @return true if the bytes were reserved, false if the table must be spilled instead
+     */
+    boolean reserve(long bytes) {
+        if (reserved + bytes > budget) return false;
+        reserved += bytes;
+        return true;
+    }
+
+    /**
+     * Reserves direct memory that cannot be done without, even beyond the budget.
+     *
+     * @param bytes number of bytes to reserve
+     */
+    void force(long bytes) {
+        reserved += bytes;
+    }
+
+    /**
+     * Returns previously reserved direct memory to the budget.
+     *
+     * @param bytes number of bytes to release
+     */
+    void release(long bytes) {
+        reserved -= bytes;
+    }
+
+    /**
+     * Writes segments to a new spill file and maps them back read-only.
+     *
+     * @param segments segments to write, all of the same size; their positions are left unchanged
+     * @return read-only mapped copies of the segments
+     * @throws IOException if the spill file cannot be created, written or mapped
+     */
+    ByteBuffer[] spill(ByteBuffer[] segments) throws IOException {
+        Files.createDirectories(spillDirectory);
+        Path file = Files.createTempFile(spillDirectory, "unique-keys", ".tmp");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE)) {
+            for (ByteBuffer segment : segments) {
+                ByteBuffer source = segment.duplicate().clear();
+                while (source.hasRemaining()) {
+                    channel.write(source);
+                }
+            }
+            ByteBuffer[] mapped = new ByteBuffer[segments.length];
+            long segmentBytes = segments[0].capacity();
+            for (int i = 0; i < segments.length; i++) {
+                mapped[i] = channel.map(FileChannel.MapMode.READ_ONLY, i * segmentBytes, segmentBytes);
+            }
+            return mapped;
+        }
+    }
+}
@@ -0,0 +1,450 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Open-addressing hash set of fixed-length keys stored outside the Java heap.
+ * <pre>
+ * Each slot holds a 32-bit hash tag, the line number the key was first seen on, and the key bytes.
+ * Keys are found by linear probing and compared byte for byte only when their tags match, so
+ * lookups are exact and the heap holds no per-key objects. The table doubles when it is 70% full.
+ * Tables are split into segments of at most 1 GiB, so a single set can hold billions of keys.
+ *
+ * When the table cannot double within the shared KeyMemory budget, it is spilled: written to disk
+ * as a read-only run, summarised by a Bloom filter, and cleared for the next keys. A lookup probes
+ * a run only when the run's filter matches the key, which for a new key happens a few times in a
+ * thousand, so spilled runs cost disk reads almost only for actual duplicates. Each filter takes two
+ * bytes per spilled key of direct memory and reads a single 64-bit word per lookup.
+ * Not thread-safe.
+ * </pre>
+ */
+final class OffHeapKeySet {
+
+    /**
+     * Offset of the line number in a slot; the tag is at offset 0.
+     */
+    private static final int LINE = 4;
+
+    /**
+     * Offset of the key bytes in a slot.
+     */
+    private static final int KEY = 12;
+
+    /**
+     * Largest size of a segment in bytes.
+     */
+    private static final int MAX_SEGMENT_BYTES = 1 << 30;
+
+    /**
+     * Number of slots of a new table.
+     */
+    private static final long INITIAL_CAPACITY = 1 << 12;
+
+    /**
+     * Number of Bloom filter bits per spilled key.
+     */
+    private static final int FILTER_BITS_PER_KEY = 16;
+
+    /**
+     * Largest number of 64-bit words of a Bloom filter, so its byte positions fit an int.
+     */
+    private static final long MAX_FILTER_WORDS = 1 << 27;
+
+    /**
+     * Size of a slot in bytes.
+     */
+    private final int slotSize;
+
+    /**
+     * Budget and spill directory the tables are allocated from.
+     */
+    private final KeyMemory memory;
+
+    /**
+     * Reusable copy of a key while the table is rehashed or spilled.
+     */
+    private final byte[] scratchKey;
+
+    /**
+     * Tables spilled so far, oldest first.
+     */
+    private final List<Run> runs = new ArrayList<>();
+
+    /**
+     * Segments of the in-memory table.
+     */
+    private ByteBuffer[] segments;
+
+    /**
+     * Number of slots in the in-memory table, a power of two.
+     */
+    private long capacity;
+
+    /**
+     * log2 of the number of slots per segment.
+     */
+    private int segmentShift;
+
+    /**
+     * Number of keys in the in-memory table.
+     */
+    private long tableSize;
+
+    /**
+     * Number of keys in the set, spilled or not.
+     */
+    private long size;
+
+    /**
+     * Number of direct memory bytes held by the Bloom filters of the runs.
+     */
+    private long filterBytes;
+
+    /**
+     * Creates an empty set.
+     * <pre>
+     * The initial table is small and always taken from direct memory, even beyond the budget.
+     * </pre>
+     * @param keyLength length of every key in bytes
+     * @param memory budget and spill directory the tables are allocated from
+     */
+    OffHeapKeySet(int keyLength, KeyMemory memory) {
+        this.slotSize = KEY + keyLength;
+        this.memory = memory;
+        this.scratchKey = new byte[keyLength];
+        memory.force(INITIAL_CAPACITY * slotSize);
+        this.segmentShift = segmentShift(INITIAL_CAPACITY);
+        this.segments = allocate(INITIAL_CAPACITY, segmentShift);
+        this.capacity = INITIAL_CAPACITY;
+    }
+
+    /**
+     * Adds a key unless it is already present.
+     *
+     * @param key key bytes, exactly keyLength long
+     * @param lineNumber line number to remember if the key is new; must be positive
+     * @return 0 if the key was added, otherwise the line number remembered for the key
+     * @throws IOException if the table has to be spilled and cannot be
+     */
+    long putIfAbsent(byte[] key, long lineNumber) throws IOException {
+        long hash = hash(key);
+        int tag = tag(hash);
+        long found = find(segments, capacity, segmentShift, slotSize, hash, tag, key);
+        if (found > 0) return found;
+        for (int i = runs.size() - 1; i >= 0; i--) {
+            Run run = runs.get(i);
+            if (!run.mightContain(hash)) continue;
+            long line = find(run.segments, run.capacity, run.segmentShift, slotSize, hash, tag, key);
+            if (line > 0) return line;
+        }
+
+        long index = -found - 1;
+        write(segments[(int) (index >>> segmentShift)], slot(index, segmentShift), tag, lineNumber, key);
+        size++;
+        if (++tableSize * 10 > capacity * 7) {
+            grow();
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the number of keys in the set.
+     *
+     * @return number of keys
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Returns whether part of the set has been spilled to disk.
+     *
+     * @return true if the table exceeded the memory budget
+     */
+    boolean isSpilled() {
+        return !runs.isEmpty();
+    }
+
+    /**
+     * Releases the reserved memory; the set must not be used afterwards.
+     */
+    void close() {
+        memory.release(capacity * slotSize + filterBytes);
+        segments = null;
+        runs.clear();
+    }
+
+    /**
+     * Doubles the table and reinserts every key, or spills it if the larger table does not fit the budget.
+     *
+     * @throws IOException if the table has to be spilled and cannot be
+     */
+    private void grow() throws IOException {
+        long newCapacity = capacity * 2;
+        long bytes = newCapacity * slotSize;
+        if (!memory.reserve(bytes)) {
+            spill();
+            return;
+        }
+        int newShift = segmentShift(newCapacity);
+        ByteBuffer[] newSegments;
+        try {
+            newSegments = allocate(newCapacity, newShift);
+        } catch (OutOfMemoryError e) {
+            memory.release(bytes);
+            spill();
+            return;
+        }
+
+        for (long i = 0; i < capacity; i++) {
+            ByteBuffer segment = segments[(int) (i >>> segmentShift)];
+            int pos = slot(i, segmentShift);
+            int tag = segment.getInt(pos);
+            if (tag != 0) {
+                segment.get(pos + KEY, scratchKey);
+                long index = hash(scratchKey) & (newCapacity - 1);
+                while (newSegments[(int) (index >>> newShift)].getInt(slot(index, newShift)) != 0) {
+                    index = (index + 1) & (newCapacity - 1);
+                }
+                write(newSegments[(int) (index >>> newShift)], slot(index, newShift), tag, segment.getLong(pos + LINE), scratchKey);
+            }
+        }
+
+        memory.release(capacity * slotSize);
+        segments = newSegments;
+        capacity = newCapacity;
+        segmentShift = newShift;
+    }
+
+    /**
+     * Writes the table to disk as a read-only run, records its keys in a Bloom filter, and clears it.
+     *
+     * @throws IOException if the spill file cannot be written or mapped
+     */
+    private void spill() throws IOException {
+        long words = Long.highestOneBit(Math.max(1, tableSize * FILTER_BITS_PER_KEY / Long.SIZE) * 2 - 1);
+        words = Math.min(words, MAX_FILTER_WORDS);
+        memory.force(words * Long.BYTES);
+        filterBytes += words * Long.BYTES;
+        Run run = new Run(memory.spill(segments), capacity, segmentShift, ByteBuffer.allocateDirect((int) (words * Long.BYTES)));
+
+        for (long i = 0; i < capacity; i++) {
+            ByteBuffer segment = segments[(int) (i >>> segmentShift)];
+            int pos = slot(i, segmentShift);
+            if (segment.getInt(pos) != 0) {
+                segment.get(pos + KEY, scratchKey);
+                run.add(hash(scratchKey));
+            }
+        }
+        for (ByteBuffer segment : segments) {
+            int pos = 0;
+            for (int end = segment.capacity() - Long.BYTES; pos <= end; pos += Long.BYTES) {
+                segment.putLong(pos, 0L);
+            }
+            for (; pos < segment.capacity(); pos++) {
+                segment.put(pos, (byte) 0);
+            }
+        }
+        runs.add(run);
+        tableSize = 0;
+    }
+
+    /**
+     * Returns log2 of the number of slots per segment for a table size.
+     *
+     * @param slots number of slots, a power of two
+     * @return segment shift keeping segments within 1 GiB
+     */
+    private int segmentShift(long slots) {
+        int shift = 63 - Long.numberOfLeadingZeros(Math.max(1, MAX_SEGMENT_BYTES / slotSize));
+        return Math.min(shift, 63 - Long.numberOfLeadingZeros(slots));
+    }
+
+    /**
+     * Allocates the zero-filled segments of a table in direct memory.
+     *
+     * @param slots number of slots, a power of two
+     * @param shift log2 of the number of slots per segment
+     * @return new segments
+     */
+    private ByteBuffer[] allocate(long slots, int shift) {
+        ByteBuffer[] allocated = new ByteBuffer[(int) (slots >>> shift)];
+        for (int i = 0; i < allocated.length; i++) {
+            allocated[i] = ByteBuffer.allocateDirect((1 << shift) * slotSize);
+        }
+        return allocated;
+    }
+
+    /**
+     * Returns the position of a slot in its segment.
+     *
+     * @param index slot index in the table
+     * @param shift log2 of the number of slots per segment
+     * @return byte position in the segment
+     */
+    private int slot(long index, int shift) {
+        return (int) (index & ((1L << shift) - 1)) * slotSize;
+    }
+
+    /**
+     * Looks a key up in a table by linear probing.
+     *
+     * @param segments segments of the table
+     * @param capacity number of slots, a power of two
+     * @param shift log2 of the number of slots per segment
+     * @param slotSize size of a slot in bytes
+     * @param hash hash of the key
+     * @param tag tag of the key
+     * @param key key bytes
+     * @return the line number remembered for the key, or -(index + 1) of the empty slot ending the probe
+     */
+    private static long find(ByteBuffer[] segments, long capacity, int shift, int slotSize, long hash, int tag, byte[] key) {
+        for (long index = hash & (capacity - 1); ; index = (index + 1) & (capacity - 1)) {
+            ByteBuffer segment = segments[(int) (index >>> shift)];
+            int pos = (int) (index & ((1L << shift) - 1)) * slotSize;
+            int slotTag = segment.getInt(pos);
+            if (slotTag == 0) return -index - 1;
+            if (slotTag == tag && ByteScan.equalsAt(segment, pos + KEY, key)) {
+                return segment.getLong(pos + LINE);
+            }
+        }
+    }
+
+    /**
+     * Writes a slot.
+     *
+     * @param segment segment holding the slot
+     * @param pos byte position of the slot
+     * @param tag non-zero hash tag
+     * @param lineNumber line number the key was first seen on
+     * @param key key bytes
+     */
+    private static void write(ByteBuffer segment, int pos, int tag, long lineNumber, byte[] key) {
+        segment.putLong(pos + LINE, lineNumber);
+        segment.put(pos + KEY, key);
+        segment.putInt(pos, tag);
+    }
+
+    /**
+     * Hashes a key with FNV-1a and a final avalanche, so both the low bits used as index and the high bits used as tag are well mixed.
+     *
+     * @param key key bytes
+     * @return 64-bit hash
+     */
+    private static long hash(byte[] key) {
+        long h = 0xCBF29CE484222325L;
+        for (byte b : key) {
+            h = (h ^ (b & 0xFF)) * 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Derives the non-zero slot tag of a hash from its high bits.
+     *
+     * @param hash 64-bit hash
+     * @return tag, never 0 as 0 marks empty slots
+     */
+    private static int tag(long hash) {
+        return (int) (hash >>> 32) | 1;
+    }
+
+    /**
+     * Spilled table, mapped read-only from disk, with the Bloom filter of its keys.
+     * <pre>
+     * The filter is blocked: each key sets four bits of a single 64-bit word, so a lookup reads
+     * one word instead of four scattered bits.
+     * </pre>
+     */
+    private static final class Run {
+
+        /**
+         * Mapped segments of the table.
+         */
+        private final ByteBuffer[] segments;
+
+        /**
+         * Number of slots of the table.
+         */
+        private final long capacity;
+
+        /**
+         * log2 of the number of slots per segment.
+         */
+        private final int segmentShift;
+
+        /**
+         * Bloom filter words in direct memory.
+         */
+        private final ByteBuffer filter;
+
+        /**
+         * Number of filter words minus one, the words being a power of two.
+         */
+        private final long wordMask;
+
+        /**
+         * Creates a run with an empty filter.
+         *
+         * @param segments mapped segments of the table
+         * @param capacity number of slots of the table
+         * @param segmentShift log2 of the number of slots per segment
+         * @param filter zero-filled filter words, a power of two of them
+         */
+        private Run(ByteBuffer[] segments, long capacity, int segmentShift, ByteBuffer filter) {
+            this.segments = segments;
+            this.capacity = capacity;
+            this.segmentShift = segmentShift;
+            this.filter = filter;
+            this.wordMask = filter.capacity() / Long.BYTES - 1;
+        }
+
+        /**
+         * Records a key in the filter.
+         *
+         * @param hash hash of the key
+         */
+        private void add(long hash) {
+            int pos = word(hash);
+            filter.putLong(pos, filter.getLong(pos) | bits(hash));
+        }
+
+        /**
+         * Checks whether the run may hold a key.
+         *
+         * @param hash hash of the key
+         * @return false if the key is certainly not in the run
+         */
+        private boolean mightContain(long hash) {
+            long bits = bits(hash);
+            return (filter.getLong(word(hash)) & bits) == bits;
+        }
+
+        /**
+         * Returns the byte position of the filter word of a key, from a remix of its hash.
+         *
+         * @param hash hash of the key
+         * @return byte position in the filter
+         */
+        private int word(long hash) {
+            return (int) (((hash * 0x9E3779B97F4A7C15L) >>> 32) & wordMask) * Long.BYTES;
+        }
+
+        /**
+         * Returns the four filter bits of a key, from the top 24 bits of its hash.
+         *
+         * @param hash hash of the key
+         * @return word with up to four bits set
+         */
+        private static long bits(long hash) {
+            return 1L << (hash >>> 40) | 1L << (hash >>> 46) | 1L << (hash >>> 52) | 1L << (hash >>> 58);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorCode;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldType;
+import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Validator that checks if a field holds a packed decimal (COMP-3).
+ * <pre>
+ * Used for fields declared with type=packed. Each byte holds two digit nibbles, except the last,
+ * whose low nibble is the sign: A, C, E or F for positive and B or D for negative values.
+ * Packed decimals are binary, so the check runs on the raw bytes in byte length mode.
+ * Text values, as in character length mode or messages, are encoded back into the record charset
+ * first, which restores the original bytes only for charsets that map every byte to its own
+ * character, such as IBM1047 or ISO-8859-1; see {@link #supports(Charset)}.
+ * Failure messages show the bytes in hex, such as X'12345G'.
+ * </pre>
+ */
+public class PackedDecimalValidator implements FieldValidator {
+
+    /**
+     * Charset values are encoded in when validated without a compiled layout.
+     */
+    private final Charset charset;
+
+    /**
+     * Constructs a validator whose definition-based checks encode values as ISO-8859-1.
+     */
+    public PackedDecimalValidator() {
+        this(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Constructs a validator whose definition-based checks encode values in the given record charset.
+     *
+     * @param charset charset the records are decoded with
+     * @throws IllegalArgumentException if the charset cannot restore the bytes of a packed decimal
+     */
+    public PackedDecimalValidator(Charset charset) {
+        if (!supports(charset)) {
+            throw new IllegalArgumentException("Packed decimals cannot be read as " + charset.name() + " text.");
+        }
+        this.charset = charset;
+    }
+
+    /**
+     * Returns whether packed decimals survive being decoded as text in a charset.
+     * <pre>
+     * True for single-byte charsets that map each of the 256 byte values to its own character,
+     * such as IBM1047 and ISO-8859-1. Multi-byte charsets such as UTF-8, single-byte charsets with
+     * unmapped bytes such as US-ASCII, and IBM037, which encodes the line feed of byte 0x25 as 0x15,
+     * change some bytes, so their packed fields can only be checked in byte length mode.
+     * </pre>
+     * @param charset charset to inspect
+     * @return true if every byte is restored when the decoded text is encoded again
+     */
+    public static boolean supports(Charset charset) {
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return Arrays.equals(bytes, new String(bytes, charset).getBytes(charset));
+    }
+
+    /**
+     * Validates whether a value encodes a packed decimal.
+     * <pre>
+     * Without a compiled layout the value is encoded in the charset this validator was constructed with.
+     * </pre>
+     * @param fieldName name of the field being validated
+     * @param value actual value to check
+     * @param def field definition containing the type
+     * @return ValidationResult object with the validation outcome
+     */
+    @Override
+    public ValidationResult validate(String fieldName, String value, FixedFieldDefinition def) {
+        if (FieldType.parse(def.getType()) != FieldType.PACKED) return new ValidationResult(fieldName, true, "No packed check", value);
+        return result(fieldName, value, charset, def.getLength());
+    }
+
+    /**
+     * Validates whether a value encodes a packed decimal in the record charset.
+     *
+     * @param value actual value to check
+     * @param field compiled field layout
+     * @return ValidationResult object with the validation outcome
+     */
+    @Override
+    public ValidationResult validate(String value, FieldLayout field) {
+        return result(field.getName(), value, field.getCharset(), field.getLength());
+    }
+
+    /**
+     * Applies only to fields of type packed.
+     *
+     * @param def field definition to inspect
+     * @return true if the check must run for the field
+     */
+    @Override
+    public boolean appliesTo(FixedFieldDefinition def) {
+        return FieldType.parse(def.getType()) == FieldType.PACKED;
+    }
+
+    /**
+     * Checks the packed decimal nibbles directly on the record bytes.
+     *
+     * @param record buffer holding the record bytes
+     * @param offset absolute index of the first byte of the field in the buffer
+     * @param field compiled field layout
+     * @return true if the field is a valid packed decimal
+     */
+    @Override
+    public boolean passesWithoutDecoding(ByteBuffer record, int offset, FieldLayout field) {
+        return Decimals.isPacked(record, offset, field.getLength());
+    }
+
+    /**
+     * Encodes the value into this thread's scratch buffer and checks the packed decimal nibbles.
+     *
+     * @param value actual value to check
+     * @param field compiled field layout
+     * @return true if the value encodes a valid packed decimal of the field length
+     */
+    @Override
+    public boolean test(CharSequence value, FieldLayout field) {
+        ByteBuffer bytes = DecodeScratch.get().encodeValue(value, field.getCharset());
+        return bytes.limit() == field.getLength() && Decimals.isPacked(bytes, 0, bytes.limit());
+    }
+
+    /**
+     * Reports invalid packed decimals as {@link ErrorCode#NOT_NUMERIC}.
+     *
+     * @return error code of this validator
+     */
+    @Override
+    public ErrorCode errorCode() {
+        return ErrorCode.NOT_NUMERIC;
+    }
+
+    /**
+     * Builds the result for a value encoded in the given charset.
+     *
+     * @param fieldName name of the field being validated
+     * @param value actual value to check
+     * @param charset charset the value is encoded in
+     * @param length expected number of bytes
+     * @return ValidationResult object with the validation outcome
+     */
+    private static ValidationResult result(String fieldName, String value, Charset charset, int length) {
+        byte[] bytes = value.getBytes(charset);
+        boolean ok = bytes.length == length && Decimals.isPacked(ByteBuffer.wrap(bytes), 0, bytes.length);
+        String msg = ok ? "Packed OK" : "❌ Not a packed decimal [" + hex(bytes) + "]";
+        return new ValidationResult(fieldName, ok, msg, value);
+    }
+
+    /**
+     * Formats bytes as a hex literal.
+     *
+     * @param bytes bytes to format
+     * @return bytes in the form X'0123'
+     */
+    private static String hex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2 + 3).append("X'");
+        for (byte b : bytes) {
+            sb.append(Character.toUpperCase(Character.forDigit((b >>> 4) & 0x0F, 16)))
+                    .append(Character.toUpperCase(Character.forDigit(b & 0x0F, 16)));
+        }
+        return sb.append('\'').toString();
+    }
+}
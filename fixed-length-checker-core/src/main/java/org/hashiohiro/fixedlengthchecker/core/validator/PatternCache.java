@@ -0,0 +1,94 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Shared cache of compiled regex patterns and per-thread reusable matchers.
+ * <pre>
+ * Patterns are compiled once when definitions are validated and reused for every field of every line.
+ * Matchers are kept per thread and reset for each value, so regex checks do not allocate a new Matcher.
+ * Both caches hold at most MAX_PATTERNS entries; compiled layouts keep their own patterns, so only
+ * the definition-based path depends on the cache. Matchers are reset to an empty input after each
+ * check, so they never keep a record line reachable.
+ * </pre>
+ */
+public final class PatternCache {
+
+    /**
+     * Maximum number of patterns cached, and of matchers kept per thread.
+     */
+    static final int MAX_PATTERNS = 1024;
+
+    /**
+     * Compiled patterns keyed by their regex source.
+     */
+    private static final ConcurrentMap<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+    /**
+     * Reusable matchers of the current thread keyed by pattern identity.
+     */
+    private static final ThreadLocal<Map<Pattern, Matcher>> MATCHERS = ThreadLocal.withInitial(IdentityHashMap::new);
+
+    private PatternCache() {
+    }
+
+    /**
+     * Returns the compiled pattern for the given regex, compiling it on first use.
+     * <pre>
+     * Once the cache is full, new patterns are compiled for the caller without being cached.
+     * </pre>
+     * @param regex regex source
+     * @return compiled pattern, shared by all callers while it is cached
+     * @throws java.util.regex.PatternSyntaxException if the regex is invalid
+     */
+    public static Pattern compile(String regex) {
+        Pattern pattern = PATTERNS.get(regex);
+        if (pattern != null) return pattern;
+        pattern = Pattern.compile(regex);
+        if (PATTERNS.size() >= MAX_PATTERNS) return pattern;
+        Pattern cached = PATTERNS.putIfAbsent(regex, pattern);
+        return cached != null ? cached : pattern;
+    }
+
+    /**
+     * Tells whether the whole input matches the given regex, using this thread's reusable matcher.
+     *
+     * @param regex regex source
+     * @param input value to match
+     * @return true if the entire input matches
+     */
+    public static boolean matches(String regex, CharSequence input) {
+        return matches(compile(regex), input);
+    }
+
+    /**
+     * Tells whether the whole input matches the given pattern, using this thread's reusable matcher.
+     * <pre>
+     * The matcher is reset to an empty input afterwards, so it does not keep the value reachable.
+     * </pre>
+     * @param pattern compiled pattern
+     * @param input value to match
+     * @return true if the entire input matches
+     */
+    public static boolean matches(Pattern pattern, CharSequence input) {
+        Map<Pattern, Matcher> matchers = MATCHERS.get();
+        Matcher matcher = matchers.get(pattern);
+        if (matcher == null) {
+            if (matchers.size() >= MAX_PATTERNS) {
+                matchers.clear();
+            }
+            matcher = pattern.matcher(input);
+            matchers.put(pattern, matcher);
+        } else {
+            matcher.reset(input);
+        }
+        boolean matches = matcher.matches();
+        matcher.reset("");
+        return matches;
+    }
+}
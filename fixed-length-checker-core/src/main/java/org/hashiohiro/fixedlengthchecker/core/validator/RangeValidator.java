@@ -0,0 +1,192 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorCode;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldType;
+import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Validator that checks if the value of a number field lies within its min and max.
+ * <pre>
+ * Used for numeric, signed, zoned and packed fields that define min, max or both; the bounds are inclusive.
+ * Values are parsed without allocating, as whole numbers of their digits, and values beyond the
+ * long range compare as Long.MIN_VALUE or Long.MAX_VALUE. Runs after the type check, so it only
+ * reports values that are valid numbers.
+ * </pre>
+ */
+public class RangeValidator implements FieldValidator {
+
+    /**
+     * Charset packed values are encoded in when validated without a compiled layout.
+     */
+    private final Charset charset;
+
+    /**
+     * Constructs a validator whose definition-based checks encode packed values as ISO-8859-1.
+     */
+    public RangeValidator() {
+        this(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Constructs a validator whose definition-based checks encode packed values in the given record charset.
+     *
+     * @param charset charset the records are decoded with
+     * @throws IllegalArgumentException if the charset cannot restore the bytes of a packed decimal
+     */
+    public RangeValidator(Charset charset) {
+        if (!PackedDecimalValidator.supports(charset)) {
+            throw new IllegalArgumentException("Packed decimals cannot be read as " + charset.name() + " text.");
+        }
+        this.charset = charset;
+    }
+
+    /**
+     * Validates whether the value of a number field lies within the bounds of its definition.
+     * <pre>
+     * Without a compiled layout, packed values are encoded in the charset this validator was constructed with.
+     * </pre>
+     * @param fieldName name of the field being validated
+     * @param value actual value to check
+     * @param def field definition containing the type and bounds
+     * @return ValidationResult object with the validation outcome
+     */
+    @Override
+    public ValidationResult validate(String fieldName, String value, FixedFieldDefinition def) {
+        if (!appliesTo(def)) return new ValidationResult(fieldName, true, "No range check", value);
+        FieldType type = FieldType.parse(def.getType());
+        boolean ok;
+        if (type == FieldType.PACKED) {
+            byte[] bytes = value.getBytes(charset);
+            ok = Decimals.isPacked(ByteBuffer.wrap(bytes), 0, bytes.length)
+                    && inRange(Decimals.parsePacked(ByteBuffer.wrap(bytes), 0, bytes.length), def.getMin(), def.getMax());
+        } else {
+            ok = isNumber(value, type) && inRange(Decimals.parse(value, type), def.getMin(), def.getMax());
+        }
+        return result(fieldName, value, ok, def.getMin(), def.getMax());
+    }
+
+    /**
+     * Validates the value using the type of the compiled field layout.
+     *
+     * @param value actual value to check
+     * @param field compiled field layout
+     * @return ValidationResult object with the validation outcome
+     */
+    @Override
+    public ValidationResult validate(String value, FieldLayout field) {
+        return result(field.getName(), value, test(value, field), field.getDefinition().getMin(), field.getDefinition().getMax());
+    }
+
+    /**
+     * Applies only to number fields that define min or max.
+     *
+     * @param def field definition to inspect
+     * @return true if the check must run for the field
+     */
+    @Override
+    public boolean appliesTo(FixedFieldDefinition def) {
+        FieldType type = FieldType.parse(def.getType());
+        return type != null && type.isNumber() && (def.getMin() != null || def.getMax() != null);
+    }
+
+    /**
+     * Parses and compares packed decimals and unsigned digits directly on the record bytes.
+     * <pre>
+     * Signed and zoned values with a sign are left to the text check.
+     * </pre>
+     * @param record buffer holding the record bytes
+     * @param offset absolute index of the first byte of the field in the buffer
+     * @param field compiled field layout
+     * @return true if the value is known to lie within the bounds
+     */
+    @Override
+    public boolean passesWithoutDecoding(ByteBuffer record, int offset, FieldLayout field) {
+        int length = field.getLength();
+        if (field.getType() == FieldType.PACKED) {
+            return Decimals.isPacked(record, offset, length) && inRange(Decimals.parsePacked(record, offset, length), field.getDefinition().getMin(), field.getDefinition().getMax());
+        }
+        return Decimals.isDigits(record, offset, length, field.getDigitZeroByte())
+                && inRange(Decimals.parseDigits(record, offset, length, field.getDigitZeroByte()), field.getDefinition().getMin(), field.getDefinition().getMax());
+    }
+
+    /**
+     * Parses the value according to the field type and compares it with the bounds, without allocating.
+     *
+     * @param value actual value to check
+     * @param field compiled field layout
+     * @return true if the value is a number within the bounds
+     */
+    @Override
+    public boolean test(CharSequence value, FieldLayout field) {
+        FieldType type = field.getType();
+        if (type == FieldType.PACKED) {
+            ByteBuffer bytes = DecodeScratch.get().encodeValue(value, field.getCharset());
+            return Decimals.isPacked(bytes, 0, bytes.limit()) && inRange(Decimals.parsePacked(bytes, 0, bytes.limit()), field.getDefinition().getMin(), field.getDefinition().getMax());
+        }
+        return isNumber(value, type) && inRange(Decimals.parse(value, type), field.getDefinition().getMin(), field.getDefinition().getMax());
+    }
+
+    /**
+     * Reports values outside the bounds as {@link ErrorCode#OUT_OF_RANGE}.
+     *
+     * @return error code of this validator
+     */
+    @Override
+    public ErrorCode errorCode() {
+        return ErrorCode.OUT_OF_RANGE;
+    }
+
+    /**
+     * Checks the syntax of a text number type.
+     *
+     * @param value value to check
+     * @param type NUMERIC, SIGNED or ZONED
+     * @return true if the value is a valid number of the type
+     */
+    private static boolean isNumber(CharSequence value, FieldType type) {
+        switch (type) {
+            case NUMERIC:
+                return Decimals.isDigits(value, 0, value.length());
+            case SIGNED:
+                return Decimals.isSigned(value);
+            case ZONED:
+                return Decimals.isZoned(value);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Compares a value with the inclusive bounds of a definition.
+     *
+     * @param value parsed value
+     * @param min smallest allowed value, or null
+     * @param max largest allowed value, or null
+     * @return true if the value is not below min and not above max
+     */
+    private static boolean inRange(long value, Long min, Long max) {
+        return (min == null || value >= min) && (max == null || value <= max);
+    }
+
+    /**
+     * Builds the result of a range check.
+     *
+     * @param fieldName name of the field being validated
+     * @param value actual value
+     * @param ok true if the value is within the bounds
+     * @param min smallest allowed value, or null
+     * @param max largest allowed value, or null
+     * @return ValidationResult object with the validation outcome
+     */
+    private static ValidationResult result(String fieldName, String value, boolean ok, Long min, Long max) {
+        String msg = ok ? "Range OK" : "❌ Out of range [" + value + "] ("
+                + (min != null ? min : "") + ".." + (max != null ? max : "") + ")";
+        return new ValidationResult(fieldName, ok, msg, value);
+    }
+}
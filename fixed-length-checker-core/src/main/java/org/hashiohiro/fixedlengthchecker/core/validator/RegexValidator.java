@@ -1,5 +1,7 @@
 package org.hashiohiro.fixedlengthchecker.core.validator;
 
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorCode;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
 import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
 import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
 
@@ -7,6 +9,7 @@ import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
  * Validator that checks if a field value matches a defined regular expression.
  * <pre>
  * Used when the field definition specifies a regex pattern to validate format or content.
+ * Patterns are taken from {@link PatternCache} instead of being recompiled for each value.
  * </pre>
  */
 public class RegexValidator implements FieldValidator {
@@ -24,8 +27,55 @@ public class RegexValidator implements FieldValidator {
     @Override
     public ValidationResult validate(String fieldName, String value, FixedFieldDefinition def) {
         if (def.getRegex() == null) return new ValidationResult(fieldName, true, "No regex", value);
-        boolean ok = value.matches(def.getRegex());
+        boolean ok = PatternCache.matches(def.getRegex(), value);
         String msg = ok ? "Regex OK" : "❌ Regex mismatch [" + value + "]";
         return new ValidationResult(fieldName, ok, msg, value);
     }
+
+    /**
+     * Validates the value against the pattern precompiled into the field layout.
+     *
+     * @param value actual value to validate
+     * @param field compiled field layout holding the pattern
+     * @return ValidationResult object indicating the result of the regex check
+     */
+    @Override
+    public ValidationResult validate(String value, FieldLayout field) {
+        boolean ok = PatternCache.matches(field.getPattern(), value);
+        String msg = ok ? "Regex OK" : "❌ Regex mismatch [" + value + "]";
+        return new ValidationResult(field.getName(), ok, msg, value);
+    }
+
+    /**
+     * Applies only to fields that define a regex pattern.
+     *
+     * @param def field definition to inspect
+     * @return true if the check must run for the field
+     */
+    @Override
+    public boolean appliesTo(FixedFieldDefinition def) {
+        return def.getRegex() != null;
+    }
+
+    /**
+     * Matches the value against the precompiled pattern using this thread's reusable matcher.
+     *
+     * @param value actual value to check
+     * @param field compiled field layout holding the pattern
+     * @return true if the value matches the pattern
+     */
+    @Override
+    public boolean test(CharSequence value, FieldLayout field) {
+        return PatternCache.matches(field.getPattern(), value);
+    }
+
+    /**
+     * Reports regex mismatches as {@link ErrorCode#REGEX_MISMATCH}.
+     *
+     * @return error code of this validator
+     */
+    @Override
+    public ErrorCode errorCode() {
+        return ErrorCode.REGEX_MISMATCH;
+    }
 }
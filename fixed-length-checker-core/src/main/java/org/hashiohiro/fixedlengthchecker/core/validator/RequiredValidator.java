@@ -0,0 +1,113 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorCode;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldType;
+import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Validator that checks if a required field holds a value.
+ * <pre>
+ * Used for fields marked with required=true. A field consisting only of whitespace is missing,
+ * as fixed-length records pad absent values with spaces. Fields that must be blank are never
+ * required, so the check does not apply to fields marked with blank=true. Nor does it apply to
+ * packed decimals: their binary bytes may decode to whitespace, and the packed check already
+ * rejects a field of spaces.
+ * </pre>
+ */
+public class RequiredValidator implements FieldValidator {
+
+    /**
+     * Unsigned value of the digit zero in ASCII-compatible charsets.
+     */
+    private static final int ASCII_ZERO = 0x30;
+
+    /**
+     * Unsigned value of the digit zero in EBCDIC charsets.
+     */
+    private static final int EBCDIC_ZERO = 0xF0;
+
+    /**
+     * Validates whether a required field holds a value.
+     * <pre>
+     * Returns a ValidationResult indicating success or failure with a descriptive message.
+     * </pre>
+     * @param fieldName name of the field being validated
+     * @param value actual value to check
+     * @param def field definition containing the required flag
+     * @return ValidationResult object with the validation outcome
+     */
+    @Override
+    public ValidationResult validate(String fieldName, String value, FixedFieldDefinition def) {
+        if (!appliesTo(def)) return new ValidationResult(fieldName, true, "No required check", value);
+        boolean ok = !value.isBlank();
+        String msg = ok ? "Required OK" : "❌ Required value missing";
+        return new ValidationResult(fieldName, ok, msg, value);
+    }
+
+    /**
+     * Applies only to fields marked as required, except blank fields and packed decimals.
+     *
+     * @param def field definition to inspect
+     * @return true if the check must run for the field
+     */
+    @Override
+    public boolean appliesTo(FixedFieldDefinition def) {
+        return def.isRequired() && !def.isBlank() && FieldType.parse(def.getType()) != FieldType.PACKED;
+    }
+
+    /**
+     * Checks whether the first byte that is not a space starts a visible character.
+     * <pre>
+     * Everything before that byte is a single-byte space, so it starts a character even in
+     * multi-byte charsets. Visible ASCII bytes in ASCII-compatible charsets and visible EBCDIC
+     * bytes in EBCDIC charsets prove the field is not blank; any other byte, such as a tab or the
+     * lead byte of a full-width space, is left to the string check.
+     * </pre>
+     * @param record buffer holding the record bytes
+     * @param offset absolute index of the first byte of the field in the buffer
+     * @param field compiled field layout holding the pad and digit zero bytes
+     * @return true if the field holds a value
+     */
+    @Override
+    public boolean passesWithoutDecoding(ByteBuffer record, int offset, FieldLayout field) {
+        int pad = field.getPadByte();
+        if (pad < 0) return false;
+        for (int i = offset, end = offset + field.getLength(); i < end; i++) {
+            int b = record.get(i) & 0xFF;
+            if (b == pad) continue;
+            if (field.getDigitZeroByte() == ASCII_ZERO) return b > 0x20 && b < 0x7F;
+            if (field.getDigitZeroByte() == EBCDIC_ZERO) return b > 0x40 && b < 0xFF;
+            return false;
+        }
+        return false;
+    }
+
+    /**
+     * Checks that the value contains a character other than whitespace, without allocating.
+     *
+     * @param value actual value to check
+     * @param field compiled field layout
+     * @return true if the value is not blank
+     */
+    @Override
+    public boolean test(CharSequence value, FieldLayout field) {
+        for (int i = 0, n = value.length(); i < n; i++) {
+            if (!Character.isWhitespace(value.charAt(i))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reports missing values as {@link ErrorCode#REQUIRED_MISSING}.
+     *
+     * @return error code of this validator
+     */
+    @Override
+    public ErrorCode errorCode() {
+        return ErrorCode.REQUIRED_MISSING;
+    }
+}
@@ -0,0 +1,83 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorCode;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldType;
+import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Validator that checks if a field value is a number with an optional leading or trailing sign.
+ * <pre>
+ * Used for fields declared with type=signed. The check is hand-written instead of a regex and does not allocate.
+ * Either + or - is accepted as the first or the last character; all other characters must be digits.
+ * </pre>
+ */
+public class SignedNumericValidator implements FieldValidator {
+
+    /**
+     * Validates whether the value of a field is a signed number.
+     *
+     * @param fieldName name of the field being validated
+     * @param value actual value to check
+     * @param def field definition containing the type
+     * @return ValidationResult object with the validation outcome
+     */
+    @Override
+    public ValidationResult validate(String fieldName, String value, FixedFieldDefinition def) {
+        if (FieldType.parse(def.getType()) != FieldType.SIGNED) return new ValidationResult(fieldName, true, "No signed check", value);
+        boolean ok = Decimals.isSigned(value);
+        String msg = ok ? "Signed OK" : "❌ Not a signed number [" + value + "]";
+        return new ValidationResult(fieldName, ok, msg, value);
+    }
+
+    /**
+     * Applies only to fields of type signed.
+     *
+     * @param def field definition to inspect
+     * @return true if the check must run for the field
+     */
+    @Override
+    public boolean appliesTo(FixedFieldDefinition def) {
+        return FieldType.parse(def.getType()) == FieldType.SIGNED;
+    }
+
+    /**
+     * Checks whether every byte of the field is a digit of the record charset.
+     * <pre>
+     * Unsigned values pass without decoding; signs are left to the text check.
+     * </pre>
+     * @param record buffer holding the record bytes
+     * @param offset absolute index of the first byte of the field in the buffer
+     * @param field compiled field layout holding the digit zero byte
+     * @return true if the field consists only of digit bytes
+     */
+    @Override
+    public boolean passesWithoutDecoding(ByteBuffer record, int offset, FieldLayout field) {
+        return Decimals.isDigits(record, offset, field.getLength(), field.getDigitZeroByte());
+    }
+
+    /**
+     * Checks that the value is a signed number, without allocating.
+     *
+     * @param value actual value to check
+     * @param field compiled field layout
+     * @return true if the value is a signed number
+     */
+    @Override
+    public boolean test(CharSequence value, FieldLayout field) {
+        return Decimals.isSigned(value);
+    }
+
+    /**
+     * Reports invalid values as {@link ErrorCode#NOT_NUMERIC}.
+     *
+     * @return error code of this validator
+     */
+    @Override
+    public ErrorCode errorCode() {
+        return ErrorCode.NOT_NUMERIC;
+    }
+}
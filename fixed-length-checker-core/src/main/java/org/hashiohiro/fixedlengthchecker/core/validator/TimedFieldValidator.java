@@ -0,0 +1,163 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import org.hashiohiro.fixedlengthchecker.core.metrics.ValidationMetrics;
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorCode;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decorator that reports the time spent in each check of another field validator.
+ * <pre>
+ * Layouts are only compiled with timed validators when metrics are enabled, so checks
+ * run undecorated and without any timing cost otherwise.
+ * </pre>
+ */
+public class TimedFieldValidator implements FieldValidator {
+
+    /**
+     * Validator performing the actual checks.
+     */
+    private final FieldValidator delegate;
+
+    /**
+     * Name reported for the delegate.
+     */
+    private final String name;
+
+    /**
+     * Receiver of the timings.
+     */
+    private final ValidationMetrics metrics;
+
+    /**
+     * Creates a timed decorator.
+     *
+     * @param delegate validator performing the actual checks
+     * @param metrics receiver of the timings
+     */
+    public TimedFieldValidator(FieldValidator delegate, ValidationMetrics metrics) {
+        this.delegate = delegate;
+        this.name = delegate.getClass().getSimpleName();
+        this.metrics = metrics;
+    }
+
+    /**
+     * Wraps every validator of a list.
+     *
+     * @param validators validators to wrap, in evaluation order
+     * @param metrics receiver of the timings
+     * @return timed validators in the same order
+     */
+    public static List<FieldValidator> wrap(List<FieldValidator> validators, ValidationMetrics metrics) {
+        List<FieldValidator> timed = new ArrayList<>(validators.size());
+        for (FieldValidator v : validators) {
+            timed.add(new TimedFieldValidator(v, metrics));
+        }
+        return List.copyOf(timed);
+    }
+
+    /**
+     * Returns the validator performing the actual checks.
+     *
+     * @return wrapped validator
+     */
+    public FieldValidator getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Delegates and records the time spent.
+     *
+     * @param fieldName name of the field being validated
+     * @param value actual value to validate
+     * @param def field definition providing validation rules
+     * @return result of the delegate
+     */
+    @Override
+    public ValidationResult validate(String fieldName, String value, FixedFieldDefinition def) {
+        long start = System.nanoTime();
+        try {
+            return delegate.validate(fieldName, value, def);
+        } finally {
+            metrics.recordCheck(name, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Delegates without timing; only called while compiling layouts.
+     *
+     * @param def field definition providing validation rules
+     * @return result of the delegate
+     */
+    @Override
+    public boolean appliesTo(FixedFieldDefinition def) {
+        return delegate.appliesTo(def);
+    }
+
+    /**
+     * Delegates and records the time spent.
+     *
+     * @param value actual value to validate
+     * @param field compiled field layout
+     * @return result of the delegate
+     */
+    @Override
+    public ValidationResult validate(String value, FieldLayout field) {
+        long start = System.nanoTime();
+        try {
+            return delegate.validate(value, field);
+        } finally {
+            metrics.recordCheck(name, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Delegates and records the time spent.
+     *
+     * @param record buffer holding the record bytes
+     * @param offset absolute index of the first byte of the field in the buffer
+     * @param field compiled field layout
+     * @return result of the delegate
+     */
+    @Override
+    public boolean passesWithoutDecoding(ByteBuffer record, int offset, FieldLayout field) {
+        long start = System.nanoTime();
+        try {
+            return delegate.passesWithoutDecoding(record, offset, field);
+        } finally {
+            metrics.recordCheck(name, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Delegates and records the time spent.
+     *
+     * @param value actual value to check
+     * @param field compiled field layout
+     * @return result of the delegate
+     */
+    @Override
+    public boolean test(CharSequence value, FieldLayout field) {
+        long start = System.nanoTime();
+        try {
+            return delegate.test(value, field);
+        } finally {
+            metrics.recordCheck(name, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Returns the error code of the delegate.
+     *
+     * @return error code of the delegate
+     */
+    @Override
+    public ErrorCode errorCode() {
+        return delegate.errorCode();
+    }
+}
@@ -0,0 +1,378 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorCode;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayoutSet;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationError;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cross-record check that the values of unique fields never repeat within a file.
+ * <pre>
+ * Every field marked with unique=true keeps the values seen so far in an OffHeapKeySet: fixed-length
+ * slots in direct memory, outside the Java heap, with no objects per key. Once the sets together
+ * would exceed the memory budget, full tables are written to read-only spill files in the spill
+ * directory and screened by Bloom filters, so 100 million keys need neither a large heap nor that
+ * much physical memory.
+ *
+ * Records must be passed in line order; the first occurrence of a value passes and every later one
+ * is reported as DUPLICATE_KEY, naming the line of the first occurrence. Values are compared as raw
+ * bytes in byte length mode and as characters in character length mode. Blank values and fields
+ * that already failed their own checks are skipped, as they are reported by the field checks.
+ * Each record type keeps separate values for its unique fields.
+ * Not thread-safe: a run uses one checker on the thread reporting the records.
+ * </pre>
+ */
+public class UniqueKeyChecker implements Closeable {
+
+    /**
+     * Default number of bytes of direct memory the key sets of a run may use before spilling.
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = 256L * 1024 * 1024;
+
+    /**
+     * Unique fields and their key sets, per record layout.
+     */
+    private final Map<RecordLayout, UniqueField[]> fieldsByLayout = new IdentityHashMap<>();
+
+    /**
+     * Compiled layouts of the record types.
+     */
+    private final RecordLayoutSet layouts;
+
+    /**
+     * True if keys are taken from the raw bytes, false if from the decoded characters.
+     */
+    private final boolean useByteLength;
+
+    /**
+     * Charset the records are encoded in.
+     */
+    private final Charset charset;
+
+    /**
+     * Budget and spill directory shared by the key sets.
+     */
+    private final KeyMemory memory;
+
+    /**
+     * Creates a checker for the unique fields of the layouts.
+     *
+     * @param layouts compiled layouts of the record types
+     * @param useByteLength true for byte-based lengths, false for character-based
+     * @param memoryBudget number of bytes of direct memory the key sets may use together
+     * @param spillDirectory directory receiving spill files once the budget is used up
+     */
+    public UniqueKeyChecker(RecordLayoutSet layouts, boolean useByteLength, long memoryBudget, Path spillDirectory) {
+        if (memoryBudget < 0) {
+            throw new IllegalArgumentException("memoryBudget must not be negative.");
+        }
+        this.layouts = layouts;
+        this.useByteLength = useByteLength;
+        this.charset = layouts.getLayouts().get(0).getCharset();
+        this.memory = new KeyMemory(memoryBudget, spillDirectory);
+
+        for (RecordLayout layout : layouts.getLayouts()) {
+            List<UniqueField> unique = new ArrayList<>();
+            for (FieldLayout field : layout.getFields()) {
+                if (field.getDefinition().isUnique()) {
+                    int keyLength = useByteLength ? field.getLength() : field.getLength() * 2;
+                    unique.add(new UniqueField(field, new OffHeapKeySet(keyLength, memory), new byte[keyLength]));
+                }
+            }
+            if (!unique.isEmpty()) {
+                fieldsByLayout.put(layout, unique.toArray(new UniqueField[0]));
+            }
+        }
+    }
+
+    /**
+     * Returns whether any record type of the layouts has a unique field.
+     *
+     * @param layouts compiled layouts of the record types
+     * @return true if a uniqueness check is needed
+     */
+    public static boolean hasUniqueFields(RecordLayoutSet layouts) {
+        for (RecordLayout layout : layouts.getLayouts()) {
+            for (FieldLayout field : layout.getFields()) {
+                if (field.getDefinition().isUnique()) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the unique fields of a record and collects a DUPLICATE_KEY error for each repeated value.
+     * <pre>
+     * Fields with an error among fieldErrors[from, to), the failures already collected for the record,
+     * are skipped. Duplicates are appended to errors, which may be the same list.
+     * </pre>
+     * @param lineNumber 1-based line number of the record
+     * @param record buffer holding the record bytes, indexed absolutely
+     * @param offset index of the first byte of the record in the buffer
+     * @param length number of bytes in the record, excluding any terminator
+     * @param fieldErrors failures already collected
+     * @param from index of the first failure of the record in fieldErrors
+     * @param to index after the last failure of the record in fieldErrors
+     * @param errors list receiving the duplicates
+     * @return number of errors added
+     * @throws IOException if a key set grows beyond the budget and cannot be spilled
+     */
+    public int collectErrors(long lineNumber, ByteBuffer record, int offset, int length,
+                             List<ValidationError> fieldErrors, int from, int to, List<ValidationError> errors) throws IOException {
+        CharBuffer line = useByteLength ? null : DecodeScratch.get().decode(record, offset, length, charset);
+        UniqueField[] unique = uniqueFields(record, offset, length, line);
+        if (unique == null) {
+            return 0;
+        }
+        int found = 0;
+        for (UniqueField u : unique) {
+            if (FieldResults.hasError(u.field, fieldErrors, from, to) || !readKey(u, record, offset, length, line)) {
+                continue;
+            }
+            long first = u.keys.putIfAbsent(u.key, lineNumber);
+            if (first != 0) {
+                DuplicateKeyValidator duplicate = new DuplicateKeyValidator(first);
+                errors.add(useByteLength
+                        ? new ValidationError(lineNumber, u.field, ErrorCode.DUPLICATE_KEY, duplicate, u.key.clone())
+                        : new ValidationError(lineNumber, u.field, ErrorCode.DUPLICATE_KEY, duplicate, value(line, u.field)));
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Checks the unique fields of a record and replaces the passing result of each repeated value with a failure.
+     * <pre>
+     * Fields without a passing result already failed their own checks and are skipped.
+     * </pre>
+     * @param lineNumber 1-based line number of the record
+     * @param record buffer holding the record bytes, indexed absolutely
+     * @param offset index of the first byte of the record in the buffer
+     * @param length number of bytes in the record, excluding any terminator
+     * @param results mutable validation results of the record
+     * @return number of results turned into failures
+     * @throws IOException if a key set grows beyond the budget and cannot be spilled
+     */
+    public int check(long lineNumber, ByteBuffer record, int offset, int length, List<ValidationResult> results) throws IOException {
+        CharBuffer line = useByteLength ? null : DecodeScratch.get().decode(record, offset, length, charset);
+        UniqueField[] unique = uniqueFields(record, offset, length, line);
+        if (unique == null) {
+            return 0;
+        }
+        int found = 0;
+        for (UniqueField u : unique) {
+            int index = FieldResults.passingResult(u.field, results);
+            if (index < 0 || !readKey(u, record, offset, length, line)) {
+                continue;
+            }
+            long first = u.keys.putIfAbsent(u.key, lineNumber);
+            if (first != 0) {
+                results.set(index, new DuplicateKeyValidator(first).validate(results.get(index).getActualValue(), u.field));
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns whether a key set exceeded the memory budget and was spilled to disk.
+     *
+     * @return true if a spill file is in use
+     */
+    public boolean isSpilled() {
+        for (UniqueField[] unique : fieldsByLayout.values()) {
+            for (UniqueField u : unique) {
+                if (u.keys.isSpilled()) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Releases the key sets.
+     */
+    @Override
+    public void close() {
+        for (UniqueField[] unique : fieldsByLayout.values()) {
+            for (UniqueField u : unique) {
+                u.keys.close();
+            }
+        }
+        fieldsByLayout.clear();
+    }
+
+    /**
+     * Returns the unique fields of the layout a record resolves to.
+     *
+     * @param record buffer holding the record bytes
+     * @param offset index of the first byte of the record
+     * @param length number of bytes in the record
+     * @param line decoded record in character length mode, or null in byte length mode
+     * @return unique fields, or null if the record type has none or is unknown
+     */
+    private UniqueField[] uniqueFields(ByteBuffer record, int offset, int length, CharBuffer line) {
+        RecordLayout layout = !layouts.isMultiType() ? layouts.getLayouts().get(0)
+                : line != null ? layouts.resolve(line) : layouts.resolve(record, offset, length);
+        return layout != null ? fieldsByLayout.get(layout) : null;
+    }
+
+    /**
+     * Copies the key of a unique field into its scratch array.
+     *
+     * @param u unique field
+     * @param record buffer holding the record bytes
+     * @param offset index of the first byte of the record
+     * @param length number of bytes in the record
+     * @param line decoded record in character length mode, or null in byte length mode
+     * @return true if the key was read, false if the record is too short or the value is blank
+     */
+    private boolean readKey(UniqueField u, ByteBuffer record, int offset, int length, CharBuffer line) {
+        FieldLayout field = u.field;
+        int end = field.getOffset() + field.getLength();
+        if (line == null) {
+            if (length < end) return false;
+            int pad = field.getPadByte();
+            if (pad >= 0 && ByteScan.allEqual(record, offset + field.getOffset(), field.getLength(), (byte) pad)) return false;
+            record.get(offset + field.getOffset(), u.key);
+            return true;
+        }
+        if (line.length() < end) return false;
+        boolean blank = true;
+        for (int i = field.getOffset(), k = 0; i < end; i++, k += 2) {
+            char c = line.charAt(i);
+            blank &= Character.isWhitespace(c);
+            u.key[k] = (byte) (c >>> 8);
+            u.key[k + 1] = (byte) c;
+        }
+        return !blank;
+    }
+
+    /**
+     * Extracts the value of a field from a decoded record.
+     *
+     * @param line decoded record
+     * @param field compiled field layout
+     * @return field value
+     */
+    private static String value(CharBuffer line, FieldLayout field) {
+        return line.subSequence(field.getOffset(), field.getOffset() + field.getLength()).toString();
+    }
+
+    /**
+     * Unique field of a record type with the values seen so far.
+     */
+    private static final class UniqueField {
+
+        /**
+         * Compiled layout of the field.
+         */
+        private final FieldLayout field;
+
+        /**
+         * Values seen so far.
+         */
+        private final OffHeapKeySet keys;
+
+        /**
+         * Reusable key of the current record.
+         */
+        private final byte[] key;
+
+        /**
+         * Creates a unique field.
+         *
+         * @param field compiled layout of the field
+         * @param keys set holding the values seen so far
+         * @param key reusable key array
+         */
+        private UniqueField(FieldLayout field, OffHeapKeySet keys, byte[] key) {
+            this.field = field;
+            this.keys = keys;
+            this.key = key;
+        }
+    }
+
+    /**
+     * Builds the message of a duplicate value, naming the line of its first occurrence.
+     * <pre>
+     * Never attached to a layout; it only lets DUPLICATE_KEY errors build their messages lazily like other failures.
+     * </pre>
+     */
+    private static final class DuplicateKeyValidator implements FieldValidator {
+
+        /**
+         * Line number of the first occurrence of the value.
+         */
+        private final long firstLineNumber;
+
+        /**
+         * Creates the validator of one duplicate.
+         *
+         * @param firstLineNumber line number of the first occurrence of the value
+         */
+        private DuplicateKeyValidator(long firstLineNumber) {
+            this.firstLineNumber = firstLineNumber;
+        }
+
+        /**
+         * Reports the value as a duplicate.
+         *
+         * @param fieldName name of the field
+         * @param value duplicate value
+         * @param def field definition
+         * @return failing ValidationResult
+         */
+        @Override
+        public ValidationResult validate(String fieldName, String value, FixedFieldDefinition def) {
+            return new ValidationResult(fieldName, false, "❌ Duplicate key [" + value + "] (first on line " + firstLineNumber + ")", value);
+        }
+
+        /**
+         * Never applies, as duplicates are found across records rather than by field checks.
+         *
+         * @param def field definition to inspect
+         * @return false
+         */
+        @Override
+        public boolean appliesTo(FixedFieldDefinition def) {
+            return false;
+        }
+
+        /**
+         * Always fails, as the validator only exists for duplicates.
+         *
+         * @param value duplicate value
+         * @param field compiled field layout
+         * @return false
+         */
+        @Override
+        public boolean test(CharSequence value, FieldLayout field) {
+            return false;
+        }
+
+        /**
+         * Reports duplicates as {@link ErrorCode#DUPLICATE_KEY}.
+         *
+         * @return error code of this validator
+         */
+        @Override
+        public ErrorCode errorCode() {
+            return ErrorCode.DUPLICATE_KEY;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorCode;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldType;
+import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Validator that checks if a field value is a zoned decimal.
+ * <pre>
+ * Used for fields declared with type=zoned. The check is hand-written instead of a regex and does not allocate.
+ * All characters but the last must be digits; the last is a digit or a sign overpunch, { A-I for
+ * positive and } J-R for negative values. EBCDIC zoned bytes such as X'F1F2C3' decode to exactly these
+ * characters, so the same check applies to EBCDIC and ASCII records.
+ * </pre>
+ */
+public class ZonedDecimalValidator implements FieldValidator {
+
+    /**
+     * Validates whether the value of a field is a zoned decimal.
+     *
+     * @param fieldName name of the field being validated
+     * @param value actual value to check
+     * @param def field definition containing the type
+     * @return ValidationResult object with the validation outcome
+     */
+    @Override
+    public ValidationResult validate(String fieldName, String value, FixedFieldDefinition def) {
+        if (FieldType.parse(def.getType()) != FieldType.ZONED) return new ValidationResult(fieldName, true, "No zoned check", value);
+        boolean ok = Decimals.isZoned(value);
+        String msg = ok ? "Zoned OK" : "❌ Not a zoned decimal [" + value + "]";
+        return new ValidationResult(fieldName, ok, msg, value);
+    }
+
+    /**
+     * Applies only to fields of type zoned.
+     *
+     * @param def field definition to inspect
+     * @return true if the check must run for the field
+     */
+    @Override
+    public boolean appliesTo(FixedFieldDefinition def) {
+        return FieldType.parse(def.getType()) == FieldType.ZONED;
+    }
+
+    /**
+     * Checks whether every byte of the field is a digit of the record charset.
+     * <pre>
+     * Unsigned values pass without decoding; sign overpunches are left to the text check.
+     * </pre>
+     * @param record buffer holding the record bytes
+     * @param offset absolute index of the first byte of the field in the buffer
+     * @param field compiled field layout holding the digit zero byte
+     * @return true if the field consists only of digit bytes
+     */
+    @Override
+    public boolean passesWithoutDecoding(ByteBuffer record, int offset, FieldLayout field) {
+        return Decimals.isDigits(record, offset, field.getLength(), field.getDigitZeroByte());
+    }
+
+    /**
+     * Checks that the value is a zoned decimal, without allocating.
+     *
+     * @param value actual value to check
+     * @param field compiled field layout
+     * @return true if the value is a zoned decimal
+     */
+    @Override
+    public boolean test(CharSequence value, FieldLayout field) {
+        return Decimals.isZoned(value);
+    }
+
+    /**
+     * Reports invalid values as {@link ErrorCode#NOT_NUMERIC}.
+     *
+     * @return error code of this validator
+     */
+    @Override
+    public ErrorCode errorCode() {
+        return ErrorCode.NOT_NUMERIC;
+    }
+}
@@ -0,0 +1,112 @@
+package org.hashiohiro.fixedlengthchecker.core.definition;
+
+import org.hashiohiro.fixedlengthchecker.core.model.ControlDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordDefinitionSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefinitionCacheTest {
+
+    @Test
+    void testMissWritesEntryAndHitReturnsSameDefinitions(@TempDir Path dir) throws Exception {
+        Path source = Files.copy(Path.of("src/test/resources/multi_record_definitions.json"), dir.resolve("defs.json"));
+        Path cacheDir = dir.resolve("cache");
+
+        RecordDefinitionSet loaded = DefinitionCache.load(source, cacheDir);
+        List<Path> entries;
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            entries = files.toList();
+        }
+        assertEquals(1, entries.size());
+
+        RecordDefinitionSet cached = DefinitionCache.load(source, cacheDir);
+        assertEquals(DefinitionLoader.loadRecordDefinitions(source.toString()), loaded);
+        assertEquals(loaded, cached);
+    }
+
+    @Test
+    void testTypedFieldsSurviveCache(@TempDir Path dir) throws Exception {
+        Path source = Files.copy(Path.of("src/test/resources/typed_definitions.json"), dir.resolve("defs.json"));
+        Path cacheDir = dir.resolve("cache");
+
+        RecordDefinitionSet loaded = DefinitionCache.load(source, cacheDir);
+        RecordDefinitionSet cached = DefinitionCache.load(source, cacheDir);
+
+        assertEquals(loaded, cached);
+        assertEquals("yyyyMMdd", cached.getRecordTypes().get(0).getFields().get(3).getFormat());
+        assertEquals(500L, cached.getRecordTypes().get(0).getFields().get(4).getMax());
+        assertTrue(cached.getRecordTypes().get(0).getFields().get(0).isUnique());
+        assertFalse(cached.getRecordTypes().get(0).getFields().get(1).isUnique());
+    }
+
+    @Test
+    void testControlsSurviveCache(@TempDir Path dir) throws Exception {
+        Path source = Files.copy(Path.of("src/test/resources/control_definitions.json"), dir.resolve("defs.json"));
+        Path cacheDir = dir.resolve("cache");
+
+        RecordDefinitionSet loaded = DefinitionCache.load(source, cacheDir);
+        RecordDefinitionSet cached = DefinitionCache.load(source, cacheDir);
+
+        assertEquals(loaded, cached);
+        assertNull(cached.getRecordTypes().get(0).getControls());
+        assertEquals(new ControlDefinition("Total Amount", "sum", "Detail", "Amount"), cached.getRecordTypes().get(2).getControls().get(1));
+        assertEquals(new ControlDefinition("Record Count", "count", null, null), cached.getRecordTypes().get(3).getControls().get(0));
+    }
+
+    @Test
+    void testEntryRequiresMatchingModificationTime(@TempDir Path dir) throws Exception {
+        Path source = Files.copy(Path.of("src/test/resources/valid_definitions.json"), dir.resolve("defs.json"));
+        Path cacheDir = dir.resolve("cache");
+        RecordDefinitionSet expected = DefinitionCache.load(source, cacheDir);
+
+        Path entry;
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            entry = files.findFirst().orElseThrow();
+        }
+        long lastModified = Files.getLastModifiedTime(source).toMillis();
+        assertEquals(expected, DefinitionCache.read(entry, lastModified));
+        assertNull(DefinitionCache.read(entry, lastModified + 1000));
+    }
+
+    @Test
+    void testChangedModificationTimeIsMiss(@TempDir Path dir) throws Exception {
+        Path source = Files.copy(Path.of("src/test/resources/valid_definitions.json"), dir.resolve("defs.json"));
+        Path cacheDir = dir.resolve("cache");
+        DefinitionCache.load(source, cacheDir);
+
+        Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 60_000));
+        RecordDefinitionSet reloaded = DefinitionCache.load(source, cacheDir);
+
+        assertEquals(2, reloaded.getRecordTypes().get(0).getFields().size());
+        Path entry;
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            entry = files.findFirst().orElseThrow();
+        }
+        assertNotNull(DefinitionCache.read(entry, Files.getLastModifiedTime(source).toMillis()));
+    }
+
+    @Test
+    void testCorruptEntryIsMiss(@TempDir Path dir) throws Exception {
+        Path entry = dir.resolve("broken.flcdef");
+        Files.write(entry, new byte[]{1, 2, 3});
+        assertNull(DefinitionCache.read(entry, 0));
+    }
+
+    @Test
+    void testInvalidDefinitionsAreNotCached(@TempDir Path dir) throws Exception {
+        Path source = dir.resolve("defs.json");
+        Files.writeString(source, "[{\"name\": \"\", \"length\": 1}]");
+        Path cacheDir = dir.resolve("cache");
+
+        assertThrows(IllegalArgumentException.class, () -> DefinitionCache.load(source, cacheDir));
+        assertFalse(Files.exists(cacheDir));
+    }
+}
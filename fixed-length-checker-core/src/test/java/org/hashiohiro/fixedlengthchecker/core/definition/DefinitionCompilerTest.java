@@ -0,0 +1,115 @@
+package org.hashiohiro.fixedlengthchecker.core.definition;
+
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.DiscriminatorDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordDefinitionSet;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayoutSet;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordTypeDefinition;
+import org.hashiohiro.fixedlengthchecker.core.validator.BlankValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.FixedValueValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.RegexValidator;
+import org.hashiohiro.fixedlengthchecker.core.validator.RequiredValidator;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefinitionCompilerTest {
+
+    @Test
+    void testOffsetsAndRecordLength() {
+        RecordLayout layout = DefinitionCompiler.compile(List.of(
+                new FixedFieldDefinition("Field1", 1, "2", false, null, true),
+                new FixedFieldDefinition("Field2", 10, null, false, "\\d+", true),
+                new FixedFieldDefinition("Field3", 5, null, true, null, false)), StandardCharsets.UTF_8);
+
+        assertEquals(16, layout.getRecordLength());
+        assertEquals(List.of(0, 1, 11), layout.getFields().stream().map(FieldLayout::getOffset).toList());
+        assertEquals(List.of(0, 1, 2), layout.getFields().stream().map(FieldLayout::getIndex).toList());
+    }
+
+    @Test
+    void testOnlyApplicableChecksAreAttached() {
+        RecordLayout layout = DefinitionCompiler.compile(List.of(
+                new FixedFieldDefinition("Fixed", 1, "2", false, null, true),
+                new FixedFieldDefinition("Regex", 3, null, false, "\\d+", true),
+                new FixedFieldDefinition("Blank", 3, null, true, null, false),
+                new FixedFieldDefinition("Free", 3, null, false, null, false)), StandardCharsets.UTF_8);
+
+        List<FieldLayout> fields = layout.getFields();
+        assertEquals(List.of(RequiredValidator.class, FixedValueValidator.class),
+                fields.get(0).getChecks().stream().map(Object::getClass).toList());
+        assertEquals(List.of(RequiredValidator.class, RegexValidator.class),
+                fields.get(1).getChecks().stream().map(Object::getClass).toList());
+        assertNotNull(fields.get(1).getPattern());
+        assertInstanceOf(BlankValidator.class, fields.get(2).getChecks().get(0));
+        assertTrue(fields.get(3).getChecks().isEmpty());
+    }
+
+    @Test
+    void testLayoutIsDetachedFromDefinitions() {
+        FixedFieldDefinition def = new FixedFieldDefinition("Field1", 3, "ABC", false, null, true);
+        List<FixedFieldDefinition> defs = new ArrayList<>(List.of(def));
+        RecordLayout layout = DefinitionCompiler.compile(defs, StandardCharsets.UTF_8);
+
+        def.setFixedValue("XYZ");
+        defs.clear();
+
+        assertEquals(1, layout.getFields().size());
+        assertEquals("ABC", layout.getFields().get(0).getDefinition().getFixedValue());
+        assertThrows(UnsupportedOperationException.class, () -> layout.getFields().clear());
+    }
+
+    @Test
+    void testFixedValueAndPadBytesAreEncodedInCharset() {
+        RecordLayout layout = DefinitionCompiler.compile(List.of(
+                new FixedFieldDefinition("Fixed", 2, "AB", false, null, true),
+                new FixedFieldDefinition("Filler", 4, null, true, null, false)), Charset.forName("IBM037"));
+
+        byte[] fixedValue = layout.getFields().get(0).getEncodedFixedValue().toByteArray();
+        assertArrayEquals(new byte[]{(byte) 0xC1, (byte) 0xC2}, fixedValue);
+        fixedValue[0] = 0;
+        assertArrayEquals(new byte[]{(byte) 0xC1, (byte) 0xC2}, layout.getFields().get(0).getEncodedFixedValue().toByteArray());
+        assertEquals(0x40, layout.getFields().get(1).getPadByte());
+        assertNull(layout.getFields().get(1).getEncodedFixedValue());
+    }
+
+    @Test
+    void testRecordTypesResolveByDiscriminatorBytes() {
+        RecordDefinitionSet set = new RecordDefinitionSet(new DiscriminatorDefinition(1, 2), List.of(
+                new RecordTypeDefinition("Header", "HD", List.of(new FixedFieldDefinition("Record", 4, null, false, null, true))),
+                new RecordTypeDefinition("Detail", "DT", List.of(new FixedFieldDefinition("Record", 6, null, false, null, true))),
+                new RecordTypeDefinition("Trailer", "DZ", List.of(new FixedFieldDefinition("Record", 5, null, false, null, true)))));
+        RecordLayoutSet layouts = DefinitionCompiler.compile(set, StandardCharsets.UTF_8);
+
+        assertTrue(layouts.isMultiType());
+        assertEquals("Detail", resolve(layouts, "xDT123").getRecordType());
+        assertEquals("Trailer", resolve(layouts, "xDZ12").getRecordType());
+        assertEquals("Header", resolve(layouts, "xHD1").getRecordType());
+        assertNull(resolve(layouts, "xDX1"));
+        assertNull(resolve(layouts, "xD"));
+        assertEquals("Trailer", layouts.resolve("xDZ12").getRecordType());
+        assertEquals(6, layouts.resolve("xDT123").getRecordLength());
+    }
+
+    @Test
+    void testSingleRecordTypeAlwaysResolves() {
+        RecordLayoutSet layouts = DefinitionCompiler.compile(RecordDefinitionSet.single(List.of(
+                new FixedFieldDefinition("Field1", 3, null, false, null, true))), StandardCharsets.UTF_8);
+
+        assertFalse(layouts.isMultiType());
+        assertSame(layouts.getLayouts().get(0), resolve(layouts, ""));
+    }
+
+    private static RecordLayout resolve(RecordLayoutSet layouts, String record) {
+        byte[] bytes = record.getBytes(StandardCharsets.UTF_8);
+        return layouts.resolve(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+}
@@ -1,6 +1,7 @@
 package org.hashiohiro.fixedlengthchecker.core.definition;
 
 import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordDefinitionSet;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
@@ -62,4 +63,33 @@ class DefinitionLoaderTest {
         });
         assertNotNull(ex.getMessage());
     }
+
+    @Test
+    void testLoadRecordTypes() throws Exception {
+        RecordDefinitionSet set = DefinitionLoader.loadRecordDefinitions("src/test/resources/multi_record_definitions.json");
+        assertEquals(1, set.getDiscriminator().getLength());
+        assertEquals(3, set.getRecordTypes().size());
+        assertEquals("Trailer", set.getRecordTypes().get(2).getName());
+        assertEquals("8", set.getRecordTypes().get(2).getCode());
+        assertEquals(3, set.getRecordTypes().get(2).getFields().size());
+    }
+
+    @Test
+    void testLoadFieldListAsSingleRecordType() throws Exception {
+        RecordDefinitionSet set = DefinitionLoader.loadRecordDefinitions("src/test/resources/valid_definitions.yaml");
+        assertNull(set.getDiscriminator());
+        assertEquals(1, set.getRecordTypes().size());
+        assertEquals(2, set.getRecordTypes().get(0).getFields().size());
+    }
+
+    @Test
+    void testLoadTypedFields() throws Exception {
+        List<FixedFieldDefinition> defs = DefinitionLoader.loadDefinitions("src/test/resources/typed_definitions.json");
+        assertEquals("numeric", defs.get(0).getType());
+        assertEquals(-100000L, defs.get(1).getMin());
+        assertEquals(9999999L, defs.get(1).getMax());
+        assertEquals("yyyyMMdd", defs.get(3).getFormat());
+        assertNull(defs.get(0).getMin());
+        assertDoesNotThrow(() -> DefinitionValidator.validate(defs));
+    }
 }
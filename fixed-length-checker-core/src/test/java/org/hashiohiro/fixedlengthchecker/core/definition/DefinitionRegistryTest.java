@@ -0,0 +1,168 @@
+package org.hashiohiro.fixedlengthchecker.core.definition;
+
+import org.hashiohiro.fixedlengthchecker.core.model.VersionedLayouts;
+import org.hashiohiro.fixedlengthchecker.core.service.FixedLengthChecker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefinitionRegistryTest {
+
+    @Test
+    void testRefreshLoadsEveryDefinitionFile(@TempDir Path dir) throws Exception {
+        write(dir.resolve("transfer.json"), "A", 0);
+        write(dir.resolve("payroll.yaml"), "B", 0);
+        Files.writeString(dir.resolve("notes.txt"), "not a definition");
+
+        DefinitionRegistry registry = new DefinitionRegistry(dir, StandardCharsets.UTF_8);
+        registry.refresh();
+
+        assertEquals(Set.of("transfer", "payroll"), registry.names());
+        assertEquals(1, registry.get("transfer").getVersion());
+        assertNull(registry.get("notes"));
+    }
+
+    @Test
+    void testOnlyChangedFilesAreReloaded(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("transfer.json");
+        write(file, "A", 0);
+        DefinitionRegistry registry = new DefinitionRegistry(dir, StandardCharsets.UTF_8);
+        registry.refresh();
+        VersionedLayouts first = registry.get("transfer");
+
+        registry.refresh();
+        assertSame(first, registry.get("transfer"));
+
+        write(file, "B", 2000);
+        registry.refresh();
+        VersionedLayouts second = registry.get("transfer");
+
+        assertEquals(2, second.getVersion());
+        assertEquals("A", first.getLayouts().getLayouts().get(0).getFields().get(0).getDefinition().getFixedValue());
+        assertEquals("B", second.getLayouts().getLayouts().get(0).getFields().get(0).getDefinition().getFixedValue());
+    }
+
+    @Test
+    void testFailedReloadKeepsPreviousVersion(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("transfer.json");
+        write(file, "A", 0);
+        DefinitionRegistry registry = new DefinitionRegistry(dir, StandardCharsets.UTF_8);
+        registry.refresh();
+
+        Files.writeString(file, "[{\"name\":\"Code\",\"length\":0");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 2000));
+        registry.refresh();
+
+        assertEquals(1, registry.get("transfer").getVersion());
+        assertTrue(registry.getFailures().containsKey("transfer"));
+        assertThrows(Exception.class, () -> registry.reload(file));
+    }
+
+    @Test
+    void testConcurrentReloadsPublishOneVersion(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("transfer.json");
+        write(file, "A", 0);
+        DefinitionRegistry registry = new DefinitionRegistry(dir, StandardCharsets.UTF_8);
+        registry.refresh();
+        write(file, "B", 2000);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<VersionedLayouts>> reloads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                reloads.add(executor.submit(() -> registry.reload(file)));
+            }
+            for (Future<VersionedLayouts> reload : reloads) {
+                assertEquals(2, reload.get().getVersion());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testNamesDifferingOnlyByExtensionAreRejected(@TempDir Path dir) throws Exception {
+        write(dir.resolve("transfer.json"), "A", 0);
+        DefinitionRegistry registry = new DefinitionRegistry(dir, StandardCharsets.UTF_8);
+        registry.refresh();
+
+        Path yaml = dir.resolve("transfer.yaml");
+        write(yaml, "B", 0);
+        registry.refresh();
+
+        assertEquals(1, registry.get("transfer").getVersion());
+        assertEquals(dir.resolve("transfer.json"), registry.get("transfer").getSource());
+        assertInstanceOf(IllegalStateException.class, registry.getFailures().get("transfer"));
+        assertThrows(IllegalStateException.class, () -> registry.reload(yaml));
+
+        Files.delete(dir.resolve("transfer.json"));
+        registry.refresh();
+
+        assertEquals(2, registry.get("transfer").getVersion());
+        assertEquals(yaml, registry.get("transfer").getSource());
+        assertTrue(registry.getFailures().isEmpty());
+    }
+
+    @Test
+    void testWatchAppliesChanges(@TempDir Path dir) throws Exception {
+        write(dir.resolve("transfer.json"), "A", 0);
+        try (DefinitionRegistry registry = new DefinitionRegistry(dir, StandardCharsets.UTF_8)) {
+            registry.watch();
+            assertNotNull(registry.get("transfer"));
+
+            write(dir.resolve("payroll.json"), "B", 0);
+            assertTrue(eventually(() -> registry.get("payroll") != null));
+
+            Files.delete(dir.resolve("transfer.json"));
+            assertTrue(eventually(() -> registry.get("transfer") == null));
+        }
+    }
+
+    @Test
+    void testCheckerUsesRegisteredLayouts(@TempDir Path dir) throws Exception {
+        write(dir.resolve("transfer.json"), "A", 0);
+        DefinitionRegistry registry = new DefinitionRegistry(dir, StandardCharsets.UTF_8);
+        registry.refresh();
+
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true);
+        checker.useLayouts(registry.get("transfer").getLayouts());
+        assertTrue(checker.validateLine("A").get(0).isValid());
+        assertFalse(checker.validateLine("B").get(0).isValid());
+
+        FixedLengthChecker ebcdic = new FixedLengthChecker(Charset.forName("IBM037"), true);
+        assertThrows(IllegalArgumentException.class, () -> ebcdic.useLayouts(registry.get("transfer").getLayouts()));
+    }
+
+    private static void write(Path file, String fixedValue, long ageOffsetMillis) throws Exception {
+        Files.writeString(file, "[{\"name\":\"Code\",\"length\":1,\"fixedValue\":\"" + fixedValue
+                + "\",\"blank\":false,\"regex\":null,\"required\":true}]");
+        if (ageOffsetMillis != 0) {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + ageOffsetMillis));
+        }
+    }
+
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+}
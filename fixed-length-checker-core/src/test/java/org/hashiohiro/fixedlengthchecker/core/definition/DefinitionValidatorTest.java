@@ -1,6 +1,10 @@
 package org.hashiohiro.fixedlengthchecker.core.definition;
 
 import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.ControlDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.DiscriminatorDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordDefinitionSet;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordTypeDefinition;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
@@ -44,4 +48,130 @@ class DefinitionValidatorTest {
         FixedFieldDefinition def = new FixedFieldDefinition("FieldA", 5, "ABCDE", true, null, true);
         assertThrows(IllegalArgumentException.class, () -> DefinitionValidator.validate(List.of(def)));
     }
+
+    @Test
+    void testTypedDefinitions() {
+        FixedFieldDefinition date = new FixedFieldDefinition("Date", 10, null, false, null, true, "date", "yyyy-MM-dd", null, null);
+        FixedFieldDefinition amount = new FixedFieldDefinition("Amount", 5, null, false, null, true, "PACKED", null, -1000L, 1000L);
+        assertDoesNotThrow(() -> DefinitionValidator.validate(List.of(date, amount)));
+    }
+
+    @Test
+    void testUnknownType() {
+        FixedFieldDefinition def = new FixedFieldDefinition("FieldA", 5, null, false, null, true, "decimal", null, null, null);
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> DefinitionValidator.validate(List.of(def)));
+        assertEquals("[FieldA] unknown type: decimal", ex.getMessage());
+    }
+
+    @Test
+    void testDateFormatMustMatchLength() {
+        FixedFieldDefinition missing = new FixedFieldDefinition("Date", 8, null, false, null, true, "date", null, null, null);
+        FixedFieldDefinition tooShort = new FixedFieldDefinition("Date", 10, null, false, null, true, "date", "yyyyMMdd", null, null);
+        FixedFieldDefinition unsupported = new FixedFieldDefinition("Date", 8, null, false, null, true, "date", "yyyyMMDD", null, null);
+        FixedFieldDefinition notDate = new FixedFieldDefinition("Code", 8, null, false, null, true, "numeric", "yyyyMMdd", null, null);
+        for (FixedFieldDefinition def : List.of(missing, tooShort, unsupported, notDate)) {
+            assertThrows(IllegalArgumentException.class, () -> DefinitionValidator.validate(List.of(def)));
+        }
+    }
+
+    @Test
+    void testRangeRequiresNumberType() {
+        FixedFieldDefinition untyped = new FixedFieldDefinition("FieldA", 5, null, false, null, true, null, null, 0L, null);
+        FixedFieldDefinition reversed = new FixedFieldDefinition("FieldA", 5, null, false, null, true, "numeric", null, 10L, 1L);
+        FixedFieldDefinition blank = new FixedFieldDefinition("FieldA", 5, null, true, null, false, "numeric", null, null, null);
+        for (FixedFieldDefinition def : List.of(untyped, reversed, blank)) {
+            assertThrows(IllegalArgumentException.class, () -> DefinitionValidator.validate(List.of(def)));
+        }
+    }
+
+    @Test
+    void testUniqueFieldMustHoldValues() {
+        FixedFieldDefinition blank = new FixedFieldDefinition("Filler", 5, null, true, null, false, null, null, null, null, true);
+        FixedFieldDefinition fixed = new FixedFieldDefinition("Kind", 1, "2", false, null, true, null, null, null, null, true);
+        for (FixedFieldDefinition def : List.of(blank, fixed)) {
+            assertThrows(IllegalArgumentException.class, () -> DefinitionValidator.validate(List.of(def)));
+        }
+        assertDoesNotThrow(() -> DefinitionValidator.validate(List.of(
+                new FixedFieldDefinition("Key", 5, null, false, "\\d+", true, null, null, null, null, true))));
+    }
+
+    @Test
+    void testValidRecordTypes() {
+        RecordDefinitionSet set = new RecordDefinitionSet(new DiscriminatorDefinition(0, 1), List.of(
+                new RecordTypeDefinition("Header", "1", List.of(new FixedFieldDefinition("Kind", 1, "1", false, null, true))),
+                new RecordTypeDefinition("Detail", "2", List.of(new FixedFieldDefinition("Kind", 1, "2", false, null, true)))));
+        assertDoesNotThrow(() -> DefinitionValidator.validate(set));
+    }
+
+    @Test
+    void testSeveralRecordTypesWithoutDiscriminator() {
+        RecordDefinitionSet set = new RecordDefinitionSet(null, List.of(
+                new RecordTypeDefinition("Header", "1", List.of(new FixedFieldDefinition("Kind", 1, null, false, null, true))),
+                new RecordTypeDefinition("Detail", "2", List.of(new FixedFieldDefinition("Kind", 1, null, false, null, true)))));
+        assertThrows(IllegalArgumentException.class, () -> DefinitionValidator.validate(set));
+    }
+
+    @Test
+    void testDuplicateRecordTypeCode() {
+        RecordDefinitionSet set = new RecordDefinitionSet(new DiscriminatorDefinition(0, 1), List.of(
+                new RecordTypeDefinition("Header", "1", List.of(new FixedFieldDefinition("Kind", 1, null, false, null, true))),
+                new RecordTypeDefinition("Detail", "1", List.of(new FixedFieldDefinition("Kind", 1, null, false, null, true)))));
+        assertThrows(IllegalArgumentException.class, () -> DefinitionValidator.validate(set));
+    }
+
+    @Test
+    void testRecordTypeCodeLengthMismatch() {
+        RecordDefinitionSet set = new RecordDefinitionSet(new DiscriminatorDefinition(0, 2), List.of(
+                new RecordTypeDefinition("Header", "1", List.of(new FixedFieldDefinition("Kind", 2, null, false, null, true)))));
+        assertThrows(IllegalArgumentException.class, () -> DefinitionValidator.validate(set));
+    }
+
+    @Test
+    void testControlsMustReferToNumberFields() throws Exception {
+        RecordDefinitionSet valid = DefinitionLoader.loadRecordDefinitions("src/test/resources/control_definitions.json");
+        assertDoesNotThrow(() -> DefinitionValidator.validate(valid));
+
+        List<ControlDefinition> invalid = List.of(
+                new ControlDefinition("Filler", "count", "Detail", null),
+                new ControlDefinition("Count", "average", "Detail", null),
+                new ControlDefinition("Count", null, "Detail", null),
+                new ControlDefinition("Count", "count", "Missing", null),
+                new ControlDefinition("Count", "count", "Trailer", null),
+                new ControlDefinition("Count", "count", "Detail", "Amount"),
+                new ControlDefinition("Count", "sum", null, "Amount"),
+                new ControlDefinition("Count", "hash", "Detail", "Kind"));
+        for (ControlDefinition control : invalid) {
+            RecordDefinitionSet set = new RecordDefinitionSet(new DiscriminatorDefinition(0, 1), List.of(
+                    new RecordTypeDefinition("Detail", "2", List.of(new FixedFieldDefinition("Kind", 1, "2", false, null, true),
+                            new FixedFieldDefinition("Amount", 5, null, false, null, true, "numeric", null, null, null))),
+                    new RecordTypeDefinition("Trailer", "8", List.of(new FixedFieldDefinition("Kind", 1, "8", false, null, true),
+                            new FixedFieldDefinition("Count", 5, null, false, null, true, "numeric", null, null, null),
+                            new FixedFieldDefinition("Filler", 2, null, true, null, false)), List.of(control))));
+            assertThrows(IllegalArgumentException.class, () -> DefinitionValidator.validate(set), control.toString());
+        }
+
+        RecordDefinitionSet single = new RecordDefinitionSet(null, List.of(new RecordTypeDefinition(null, null,
+                List.of(new FixedFieldDefinition("Count", 5, null, false, null, true, "numeric", null, null, null)),
+                List.of(new ControlDefinition("Count", "count", null, null)))));
+        assertThrows(IllegalArgumentException.class, () -> DefinitionValidator.validate(single));
+    }
+
+    @Test
+    void testControlFieldsHoldAtMostEighteenDigits() {
+        assertDoesNotThrow(() -> DefinitionValidator.validate(controlSet("numeric", 18, "numeric", 18)));
+        assertDoesNotThrow(() -> DefinitionValidator.validate(controlSet("signed", 19, "packed", 9)));
+        assertThrows(IllegalArgumentException.class, () -> DefinitionValidator.validate(controlSet("numeric", 19, "numeric", 18)));
+        assertThrows(IllegalArgumentException.class, () -> DefinitionValidator.validate(controlSet("numeric", 18, "numeric", 20)));
+        assertThrows(IllegalArgumentException.class, () -> DefinitionValidator.validate(controlSet("zoned", 19, "numeric", 18)));
+        assertThrows(IllegalArgumentException.class, () -> DefinitionValidator.validate(controlSet("numeric", 18, "packed", 10)));
+    }
+
+    private static RecordDefinitionSet controlSet(String totalType, int totalLength, String amountType, int amountLength) {
+        return new RecordDefinitionSet(new DiscriminatorDefinition(0, 1), List.of(
+                new RecordTypeDefinition("Detail", "2", List.of(new FixedFieldDefinition("Kind", 1, "2", false, null, true),
+                        new FixedFieldDefinition("Amount", amountLength, null, false, null, true, amountType, null, null, null))),
+                new RecordTypeDefinition("Trailer", "8", List.of(new FixedFieldDefinition("Kind", 1, "8", false, null, true),
+                        new FixedFieldDefinition("Total", totalLength, null, false, null, true, totalType, null, null, null)),
+                        List.of(new ControlDefinition("Total", "sum", "Detail", "Amount")))));
+    }
 }
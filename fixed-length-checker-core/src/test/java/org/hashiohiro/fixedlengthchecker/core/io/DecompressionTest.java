@@ -0,0 +1,99 @@
+package org.hashiohiro.fixedlengthchecker.core.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecompressionTest {
+
+    private static final String RECORDS = "21234567890\n2ABCDEFGHIJ\n";
+
+    @Test
+    void testGzipIsDecompressed() throws Exception {
+        assertEquals(RECORDS, read(Decompression.decompress(new ByteArrayInputStream(gzip(RECORDS)))));
+    }
+
+    @Test
+    void testConcatenatedGzipMembersAreRead() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(gzip("21234567890\n"));
+        out.write(gzip("2ABCDEFGHIJ\n"));
+
+        assertEquals(RECORDS, read(Decompression.decompress(new ByteArrayInputStream(out.toByteArray()))));
+    }
+
+    @Test
+    void testZipFileEntryIsRead() throws Exception {
+        byte[] archive = zip(false);
+
+        assertEquals(RECORDS, read(Decompression.decompress(new ByteArrayInputStream(archive))));
+    }
+
+    @Test
+    void testZipWithSeveralFilesIsRejected() throws Exception {
+        InputStream in = Decompression.decompress(new ByteArrayInputStream(zip(true)));
+
+        IOException e = assertThrows(IOException.class, () -> read(in));
+        assertEquals("Zip archive holds more than one file: data/other.dat", e.getMessage());
+    }
+
+    @Test
+    void testPlainInputIsPassedThrough() throws Exception {
+        assertEquals(RECORDS, read(Decompression.decompress(new ByteArrayInputStream(RECORDS.getBytes(StandardCharsets.UTF_8)))));
+        assertEquals("2", read(Decompression.decompress(new ByteArrayInputStream("2".getBytes(StandardCharsets.UTF_8)))));
+    }
+
+    @Test
+    void testIsCompressed(@TempDir Path dir) throws Exception {
+        Path plain = Files.writeString(dir.resolve("input.dat"), RECORDS);
+        Path gzipped = Files.write(dir.resolve("input.dat.gz"), gzip(RECORDS));
+
+        assertFalse(Decompression.isCompressed(plain));
+        assertTrue(Decompression.isCompressed(gzipped));
+    }
+
+    private static byte[] gzip(String content) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] zip(boolean secondFile) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("data/"));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("data/input.dat"));
+            zip.write(RECORDS.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("data/empty/"));
+            zip.closeEntry();
+            if (secondFile) {
+                zip.putNextEntry(new ZipEntry("data/other.dat"));
+                zip.write("other\n".getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static String read(InputStream in) throws Exception {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.hashiohiro.fixedlengthchecker.core.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FramedRecordReaderTest {
+
+    private static List<String> readAll(RecordReader reader) throws Exception {
+        List<String> records = new ArrayList<>();
+        while (reader.next()) {
+            byte[] bytes = new byte[reader.length()];
+            reader.buffer().get(reader.offset(), bytes);
+            records.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        reader.close();
+        return records;
+    }
+
+    @Test
+    void testFixedRecordsWithoutTerminators() throws Exception {
+        byte[] data = "AAA\nBBBCC".getBytes(StandardCharsets.UTF_8);
+        List<String> records = readAll(new FixedRecordReader(new ByteArrayInputStream(data), 4));
+
+        assertEquals(List.of("AAA\n", "BBBC", "C"), records);
+    }
+
+    @Test
+    void testFixedRecordsLongerThanBufferAndPositions() throws Exception {
+        byte[] data = "X".repeat(300_000).getBytes(StandardCharsets.UTF_8);
+        FixedRecordReader reader = new FixedRecordReader(new ByteArrayInputStream(data), 100_000, 50);
+
+        assertTrue(reader.next());
+        assertEquals(50, reader.position());
+        assertTrue(reader.next());
+        assertTrue(reader.next());
+        assertEquals(100_000, reader.length());
+        assertEquals(200_050, reader.position());
+        assertEquals(300_050, reader.nextPosition());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    void testRdwRecords() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeRecord(out, "HEADER");
+        writeRecord(out, "");
+        writeRecord(out, "DETAIL01");
+
+        RdwRecordReader reader = new RdwRecordReader(new ByteArrayInputStream(out.toByteArray()), false);
+        assertTrue(reader.next());
+        assertEquals(4, reader.position());
+        assertEquals(10, reader.nextPosition());
+        reader.close();
+        assertEquals(List.of("HEADER", "", "DETAIL01"), readAll(new RdwRecordReader(new ByteArrayInputStream(out.toByteArray()), false)));
+    }
+
+    @Test
+    void testVariableBlockedRecords() throws Exception {
+        ByteArrayOutputStream block1 = new ByteArrayOutputStream();
+        writeRecord(block1, "AB");
+        writeRecord(block1, "CDE");
+        ByteArrayOutputStream block2 = new ByteArrayOutputStream();
+        writeRecord(block2, "FGHI");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeDescriptor(out, block1.size() + 4);
+        block1.writeTo(out);
+        out.write(new byte[]{(byte) 0x80, 0, 0, (byte) (block2.size() + 4)});
+        block2.writeTo(out);
+
+        assertEquals(List.of("AB", "CDE", "FGHI"), readAll(new RdwRecordReader(new ByteArrayInputStream(out.toByteArray()), true)));
+    }
+
+    @Test
+    void testInvalidDescriptorWords() {
+        byte[] zeroLength = {0, 0, 0, 0};
+        byte[] truncated = {0, 10, 0, 0, 'A'};
+        byte[] partial = {0, 5, 0, 0, 'A', 0, 9};
+
+        assertThrows(IOException.class, () -> readAll(new RdwRecordReader(new ByteArrayInputStream(zeroLength), false)));
+        assertThrows(IOException.class, () -> readAll(new RdwRecordReader(new ByteArrayInputStream(truncated), false)));
+        assertThrows(IOException.class, () -> readAll(new RdwRecordReader(new ByteArrayInputStream(partial), false)));
+    }
+
+    private static void writeRecord(ByteArrayOutputStream out, String record) throws IOException {
+        byte[] bytes = record.getBytes(StandardCharsets.UTF_8);
+        writeDescriptor(out, bytes.length + 4);
+        out.write(bytes);
+    }
+
+    private static void writeDescriptor(ByteArrayOutputStream out, int length) {
+        out.write(length >> 8);
+        out.write(length);
+        out.write(0);
+        out.write(0);
+    }
+}
@@ -0,0 +1,99 @@
+package org.hashiohiro.fixedlengthchecker.core.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineRecordReaderTest {
+
+    private static List<String> readAll(RecordReader reader, Charset charset) throws Exception {
+        List<String> lines = new ArrayList<>();
+        while (reader.next()) {
+            byte[] bytes = new byte[reader.length()];
+            reader.buffer().get(reader.offset(), bytes);
+            lines.add(new String(bytes, charset));
+        }
+        reader.close();
+        return lines;
+    }
+
+    @Test
+    void testSplitsOnAllTerminators() throws Exception {
+        InputStream in = new ByteArrayInputStream("AAA\nBBB\r\nCCC\rDDD".getBytes(StandardCharsets.UTF_8));
+        List<String> lines = readAll(new LineRecordReader(in, StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        assertEquals(List.of("AAA", "BBB", "CCC", "DDD"), lines);
+    }
+
+    @Test
+    void testEmptyLinesMatchReadAllLines() throws Exception {
+        InputStream in = new ByteArrayInputStream("A\n\nB\n".getBytes(StandardCharsets.UTF_8));
+        List<String> lines = readAll(new LineRecordReader(in, StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        assertEquals(List.of("A", "", "B"), lines);
+    }
+
+    @Test
+    void testLinesLongerThanBufferAndPositions() throws Exception {
+        String longLine = "X".repeat(200_000);
+        byte[] data = (longLine + "\r\n" + "Y\n").getBytes(StandardCharsets.UTF_8);
+        LineRecordReader reader = new LineRecordReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8);
+
+        assertTrue(reader.next());
+        assertEquals(200_000, reader.length());
+        assertEquals(0, reader.position());
+        assertTrue(reader.next());
+        assertEquals(1, reader.length());
+        assertEquals(200_002, reader.position());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    void testEbcdicTerminators() throws Exception {
+        Charset ebcdic = Charset.forName("IBM037");
+        InputStream in = new ByteArrayInputStream("AB\nCD\n".getBytes(ebcdic));
+        assertEquals(List.of("AB", "CD"), readAll(new LineRecordReader(in, ebcdic), ebcdic));
+    }
+
+    @Test
+    void testFallbackForMultiByteTerminators() throws Exception {
+        InputStream in = new ByteArrayInputStream("AB\nCD\n".getBytes(StandardCharsets.UTF_16LE));
+        RecordReader reader = RecordReaders.lines(in, StandardCharsets.UTF_16LE);
+        assertInstanceOf(ReaderLineRecordReader.class, reader);
+        assertEquals(List.of("AB", "CD"), readAll(reader, StandardCharsets.UTF_16LE));
+    }
+
+    @Test
+    void testNextPositionFollowsTerminator() throws Exception {
+        byte[] data = "AAA\r\nBB\nC".getBytes(StandardCharsets.UTF_8);
+        LineRecordReader reader = new LineRecordReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8);
+
+        assertTrue(reader.next());
+        assertEquals(5, reader.nextPosition());
+        assertTrue(reader.next());
+        assertEquals(8, reader.nextPosition());
+        assertTrue(reader.next());
+        assertEquals(9, reader.nextPosition());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    void testStartAtPosition(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("input.dat");
+        Files.writeString(file, "AAA\nBBB\nCCC\n");
+
+        RecordReader reader = RecordReaders.lines(file, StandardCharsets.UTF_8, 4);
+        assertTrue(reader.next());
+        assertEquals(4, reader.position());
+        assertEquals(8, reader.nextPosition());
+        assertEquals(List.of("CCC"), readAll(reader, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,58 @@
+package org.hashiohiro.fixedlengthchecker.core.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedLineRecordReaderTest {
+
+    private static List<String> readAll(Path file, int windowSize) throws Exception {
+        List<String> lines = new ArrayList<>();
+        try (RecordReader reader = new MappedLineRecordReader(file, StandardCharsets.UTF_8, windowSize)) {
+            while (reader.next()) {
+                byte[] bytes = new byte[reader.length()];
+                reader.buffer().get(reader.offset(), bytes);
+                lines.add(new String(bytes, StandardCharsets.UTF_8) + "@" + reader.position());
+            }
+        }
+        return lines;
+    }
+
+    @Test
+    void testRecordsAcrossWindowBoundaries(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("input.dat");
+        Files.writeString(file, "AAAA\r\nBBBBBBBBBBBB\nCC\rDD");
+
+        List<String> expected = List.of("AAAA@0", "BBBBBBBBBBBB@6", "CC@19", "DD@22");
+        assertEquals(expected, readAll(file, 5));
+        assertEquals(expected, readAll(file, 6));
+        assertEquals(expected, readAll(file, 1024));
+    }
+
+    @Test
+    void testRecordLongerThanMaximumWindowIsRejected(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("input.dat");
+        Files.writeString(file, "AAAA\n" + "B".repeat(40) + "\nCC\n");
+
+        try (RecordReader reader = new MappedLineRecordReader(file, StandardCharsets.UTF_8, 4, 0, 32)) {
+            assertTrue(reader.next());
+            IOException e = assertThrows(IOException.class, reader::next);
+            assertEquals("Record at position 5 exceeds maximum window of 32 bytes.", e.getMessage());
+        }
+    }
+
+    @Test
+    void testEmptyFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("empty.dat");
+        Files.writeString(file, "");
+        assertTrue(readAll(file, 16).isEmpty());
+    }
+}
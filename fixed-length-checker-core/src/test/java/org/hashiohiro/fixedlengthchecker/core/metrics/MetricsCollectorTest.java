@@ -0,0 +1,80 @@
+package org.hashiohiro.fixedlengthchecker.core.metrics;
+
+import org.hashiohiro.fixedlengthchecker.core.service.FixedLengthChecker;
+import org.hashiohiro.fixedlengthchecker.core.service.ValidationOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsCollectorTest {
+
+    @Test
+    void testRunIsCountedPerRecordFieldAndCheck(@TempDir Path dir) throws Exception {
+        Path data = writeLines(dir, 100, 10);
+
+        for (int threads : new int[]{1, 4}) {
+            MetricsCollector metrics = new MetricsCollector();
+            FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true, metrics);
+            checker.loadDefinitions("src/test/resources/valid_definitions.json");
+            ValidationOptions options = ValidationOptions.builder().threads(threads).chunkSize(64).build();
+            checker.validateFile(data.toString(), options, (lineNumber, results) -> { });
+
+            MetricsSnapshot snapshot = metrics.snapshot();
+            assertEquals(100, snapshot.getRecords());
+            assertEquals(1100, snapshot.getBytes());
+            assertEquals(10L, snapshot.getFieldFailures().get("Data Section"));
+            assertEquals(10L, snapshot.getFieldFailures().get("Inquiry Number"));
+            assertTrue(snapshot.getCheckCalls().get("FixedValueValidator") >= 100);
+            assertTrue(snapshot.getCheckCalls().get("RegexValidator") >= 100);
+            assertTrue(snapshot.getElapsedNanos() > 0);
+            assertTrue(snapshot.getRecordsPerSecond() > 0);
+        }
+    }
+
+    @Test
+    void testResetClearsCounters() {
+        MetricsCollector metrics = new MetricsCollector();
+        metrics.recordValidation(3, 30, 1000);
+        metrics.recordFailure("Field1");
+        metrics.recordCheck("RegexValidator", 500);
+
+        metrics.reset();
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(0, snapshot.getRecords());
+        assertTrue(snapshot.getFieldFailures().isEmpty());
+        assertTrue(snapshot.getCheckNanos().isEmpty());
+    }
+
+    @Test
+    void testJmxMetricsAreRegisteredUntilClosed() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name;
+        try (JmxValidationMetrics metrics = new JmxValidationMetrics("test")) {
+            name = metrics.getObjectName();
+            metrics.recordValidation(5, 50, 1000);
+
+            assertTrue(server.isRegistered(name));
+            assertEquals(5L, server.getAttribute(name, "Records"));
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    private static Path writeLines(Path dir, int lines, int invalidEvery) throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= lines; i++) {
+            content.append(i % invalidEvery == 0 ? "3ABCDEFGHIJ" : "21234567890").append('\n');
+        }
+        Path data = dir.resolve("input.dat");
+        Files.writeString(data, content);
+        return data;
+    }
+}
@@ -0,0 +1,95 @@
+package org.hashiohiro.fixedlengthchecker.core.report;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationSummary;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportWriterTest {
+
+    private static final List<ValidationResult> RESULTS = List.of(
+            new ValidationResult("Data Section", true, "✅ Check OK", "2"),
+            new ValidationResult("Inquiry Number", false, "❌ Regex mismatch [AB,\"C\"]", "AB,\"C\""));
+
+    @Test
+    void testTextReport() throws Exception {
+        String report = write(ReportFormat.TEXT);
+
+        assertEquals("----- Line 7 -----\n"
+                + "✅ Check OK [2] (Data Section)\n"
+                + "❌ Regex mismatch [AB,\"C\"] [AB,\"C\"] (Inquiry Number)\n"
+                + "----- End of Line 7 -----\n\n"
+                + "Records: 1, invalid records: 1, errors: 1\n", report);
+    }
+
+    @Test
+    void testJsonLinesReport() throws Exception {
+        String[] lines = write(ReportFormat.JSONL).split("\n");
+        ObjectMapper mapper = new ObjectMapper();
+
+        assertEquals(2, lines.length);
+        JsonNode line = mapper.readTree(lines[0]);
+        assertEquals("line", line.get("type").asText());
+        assertEquals(7, line.get("line").asLong());
+        assertFalse(line.get("valid").asBoolean());
+        assertEquals("AB,\"C\"", line.get("fields").get(1).get("value").asText());
+        JsonNode summary = mapper.readTree(lines[1]);
+        assertEquals("summary", summary.get("type").asText());
+        assertEquals(1, summary.get("errors").asLong());
+        assertTrue(summary.get("stopReason").isNull());
+    }
+
+    @Test
+    void testCsvReport() throws Exception {
+        assertEquals("line,field,valid,value,message\n"
+                + "7,Data Section,true,2,✅ Check OK\n"
+                + "7,Inquiry Number,false,\"AB,\"\"C\"\"\",\"❌ Regex mismatch [AB,\"\"C\"\"]\"\n", write(ReportFormat.CSV));
+    }
+
+    @Test
+    void testSummaryReport() throws Exception {
+        assertEquals("Records: 1, invalid records: 1, errors: 1\n", write(ReportFormat.SUMMARY));
+    }
+
+    @Test
+    void testFailureReplacesSummary() throws Exception {
+        assertEquals("❌ Validation failed: Not in GZIP format\n", fail(ReportFormat.TEXT));
+        assertEquals("❌ Validation failed: Not in GZIP format\n", fail(ReportFormat.SUMMARY));
+        assertEquals("line,field,valid,value,message\n,,false,,❌ Validation failed: Not in GZIP format\n", fail(ReportFormat.CSV));
+        JsonNode error = new ObjectMapper().readTree(fail(ReportFormat.JSONL));
+        assertEquals("error", error.get("type").asText());
+        assertEquals("Not in GZIP format", error.get("message").asText());
+    }
+
+    @Test
+    void testParse() {
+        assertEquals(ReportFormat.JSONL, ReportFormat.parse("jsonl"));
+        assertThrows(IllegalArgumentException.class, () -> ReportFormat.parse("xml"));
+    }
+
+    private static String write(ReportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ValidationSummary summary = new ValidationSummary();
+        summary.add(RESULTS);
+        try (ReportWriter writer = format.open(out)) {
+            writer.onLine(7, RESULTS);
+            writer.summary(summary);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String fail(ReportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ReportWriter writer = format.open(out)) {
+            writer.failure("Not in GZIP format");
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
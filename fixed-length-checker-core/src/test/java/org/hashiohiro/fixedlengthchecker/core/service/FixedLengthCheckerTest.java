@@ -1,13 +1,41 @@
 package org.hashiohiro.fixedlengthchecker.core.service;
 
+import org.hashiohiro.fixedlengthchecker.core.definition.DefinitionCompiler;
 import org.hashiohiro.fixedlengthchecker.core.definition.DefinitionLoader;
 import org.hashiohiro.fixedlengthchecker.core.definition.DefinitionValidator;
+import org.hashiohiro.fixedlengthchecker.core.io.CheckpointFile;
+import org.hashiohiro.fixedlengthchecker.core.io.Decompression;
+import org.hashiohiro.fixedlengthchecker.core.io.RecordFraming;
+import org.hashiohiro.fixedlengthchecker.core.model.BatchResult;
+import org.hashiohiro.fixedlengthchecker.core.model.Checkpoint;
 import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.FrozenFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordDefinitionSet;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayoutSet;
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorCode;
+import org.hashiohiro.fixedlengthchecker.core.model.StopReason;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationError;
 import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationSummary;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,4 +69,656 @@ class FixedLengthCheckerTest {
         Exception ex = assertThrows(IllegalStateException.class, () -> checker.validateLine("21234567890"));
         assertTrue(ex.getMessage().contains("Definitions not loaded"));
     }
+
+    @Test
+    void testValidateFileStreamsLinesInOrder(@TempDir Path dir) throws Exception {
+        Path data = dir.resolve("input.dat");
+        Files.writeString(data, "21234567890\n2ABCDEFGHIJ\n21234567890\n");
+
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true);
+        checker.loadDefinitions("src/test/resources/valid_definitions.json");
+
+        List<Long> lineNumbers = new ArrayList<>();
+        ValidationSummary summary = checker.validateFile(data.toString(), (lineNumber, results) -> lineNumbers.add(lineNumber));
+
+        assertEquals(List.of(1L, 2L, 3L), lineNumbers);
+        assertEquals(3, summary.getRecords());
+        assertEquals(1, summary.getInvalidRecords());
+        assertFalse(summary.isValid());
+    }
+
+    @Test
+    void testValidateFileCollectsAllLines(@TempDir Path dir) throws Exception {
+        Path data = dir.resolve("input.dat");
+        Files.writeString(data, "21234567890\n2ABCDEFGHIJ\n");
+
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true);
+        checker.loadDefinitions("src/test/resources/valid_definitions.json");
+
+        List<List<ValidationResult>> results = checker.validateFile(data.toString());
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).stream().allMatch(ValidationResult::isValid));
+        assertTrue(results.get(1).stream().anyMatch(r -> !r.isValid()));
+    }
+
+    @Test
+    void testValidateMappedFile(@TempDir Path dir) throws Exception {
+        Path data = dir.resolve("input.dat");
+        Files.writeString(data, "21234567890\r\n2ABCDEFGHIJ\r\n21234567890");
+
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true);
+        checker.loadDefinitions("src/test/resources/valid_definitions.json");
+
+        ValidationOptions options = ValidationOptions.builder().memoryMapped(true).mappedWindowSize(16).build();
+        List<Boolean> valid = new ArrayList<>();
+        ValidationSummary summary = checker.validateFile(data.toString(), options,
+                (lineNumber, results) -> valid.add(results.stream().allMatch(ValidationResult::isValid)));
+
+        assertEquals(List.of(true, false, true), valid);
+        assertEquals(3, summary.getRecords());
+    }
+
+    @Test
+    void testParallelValidationKeepsLineOrder(@TempDir Path dir) throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            content.append(i % 7 == 0 ? "2ABCDEFGHIJ" : "21234567890").append('\n');
+        }
+        Path data = dir.resolve("input.dat");
+        Files.writeString(data, content);
+
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true);
+        checker.loadDefinitions("src/test/resources/valid_definitions.json");
+
+        List<List<ValidationResult>> sequential = checker.validateFile(data.toString());
+        List<Long> lineNumbers = new ArrayList<>();
+        List<List<ValidationResult>> parallel = new ArrayList<>();
+        ValidationOptions options = ValidationOptions.builder().threads(4).chunkSize(1024).build();
+        ValidationSummary summary = checker.validateFile(data.toString(), options, (lineNumber, results) -> {
+            lineNumbers.add(lineNumber);
+            parallel.add(results);
+        });
+
+        assertEquals(sequential, parallel);
+        assertEquals(5000, lineNumbers.size());
+        for (int i = 0; i < lineNumbers.size(); i++) {
+            assertEquals(i + 1, lineNumbers.get(i));
+        }
+        assertEquals(715, summary.getInvalidRecords());
+    }
+
+    @Test
+    void testValidateFileErrorsReportsOnlyInvalidFields(@TempDir Path dir) throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            content.append(i % 10 == 0 ? "3ABCDEFGHIJ" : "21234567890").append('\n');
+        }
+        Path data = dir.resolve("input.dat");
+        Files.writeString(data, content);
+
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true);
+        checker.loadDefinitions("src/test/resources/valid_definitions.json");
+
+        for (int threads : new int[]{1, 3}) {
+            List<ValidationError> errors = new ArrayList<>();
+            ValidationOptions options = ValidationOptions.builder().threads(threads).chunkSize(512).build();
+            ValidationSummary summary = checker.validateFileErrors(data.toString(), options, errors::add);
+
+            assertEquals(3000, summary.getRecords());
+            assertEquals(300, summary.getInvalidRecords());
+            assertEquals(600, errors.size());
+            assertEquals(1, errors.get(0).getLineNumber());
+            assertEquals(2991, errors.get(599).getLineNumber());
+            assertEquals("ABCDEFGHIJ", errors.get(599).getActualValue());
+        }
+    }
+
+    @Test
+    void testUniqueFieldRejectsDuplicatesInLineOrder(@TempDir Path dir) throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 4000; i++) {
+            content.append('2').append(String.format("%010d", i % 1000 == 999 ? i - 500 : i)).append('\n');
+        }
+        content.append("2ABCDEFGHIJ\n2ABCDEFGHIJ\n");
+        Path data = dir.resolve("input.dat");
+        Files.writeString(data, content);
+
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true);
+        checker.loadDefinitions("src/test/resources/unique_definitions.json");
+
+        for (int threads : new int[]{1, 3}) {
+            List<ValidationError> errors = new ArrayList<>();
+            ValidationOptions options = ValidationOptions.builder().threads(threads).chunkSize(512)
+                    .uniqueMemoryBudget(0).spillDirectory(dir).build();
+            ValidationSummary summary = checker.validateFileErrors(data.toString(), options, errors::add);
+
+            assertEquals(6, summary.getInvalidRecords());
+            assertEquals(List.of(1000L, 2000L, 3000L, 4000L, 4001L, 4002L), errors.stream().map(ValidationError::getLineNumber).toList());
+            assertEquals(ErrorCode.DUPLICATE_KEY, errors.get(0).getCode());
+            assertEquals("❌ Duplicate key [0000000499] (first on line 500)", errors.get(0).getMessage());
+            assertEquals(ErrorCode.REGEX_MISMATCH, errors.get(5).getCode());
+        }
+
+        ValidationOptions options = ValidationOptions.builder().threads(2).chunkSize(512).build();
+        List<List<ValidationResult>> results = new ArrayList<>();
+        checker.validateFile(data.toString(), options, (lineNumber, lineResults) -> results.add(lineResults));
+        assertEquals(checker.validateFile(data.toString()), results);
+        assertEquals("❌ Duplicate key [0000003499] (first on line 3500)", results.get(3999).get(1).getMessage());
+        try (var files = Files.list(dir)) {
+            assertEquals(List.of(data), files.toList());
+        }
+    }
+
+    @Test
+    void testTrailerControlTotalsAreReconciledPerBatch(@TempDir Path dir) throws Exception {
+        Path data = writeBatches(dir, new int[]{700, 900, 800}, 1);
+
+        for (boolean useByteLength : new boolean[]{true, false}) {
+            FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, useByteLength);
+            checker.loadDefinitions("src/test/resources/control_definitions.json");
+
+            for (int threads : new int[]{1, 3}) {
+                List<ValidationError> errors = new ArrayList<>();
+                ValidationOptions options = ValidationOptions.builder().threads(threads).chunkSize(512).build();
+                ValidationSummary summary = checker.validateFileErrors(data.toString(), options, errors::add);
+
+                assertEquals(1, summary.getInvalidRecords());
+                assertEquals(List.of("Record Count", "Hash Total"), errors.stream().map(ValidationError::getFieldName).toList());
+                assertEquals(List.of(1604L, 1604L), errors.stream().map(ValidationError::getLineNumber).toList());
+                assertEquals(ErrorCode.CONTROL_TOTAL_MISMATCH, errors.get(0).getCode());
+                assertEquals("000901", errors.get(0).getActualValue());
+                assertEquals("❌ Control total mismatch (count of Detail is 900)", errors.get(0).getMessage());
+                assertTrue(errors.get(1).getMessage().startsWith("❌ Control total mismatch (hash total of Account in Detail is "));
+            }
+
+            List<List<ValidationResult>> results = new ArrayList<>();
+            ValidationOptions options = ValidationOptions.builder().threads(3).chunkSize(512).build();
+            checker.validateFile(data.toString(), options, (lineNumber, lineResults) -> results.add(lineResults));
+            assertEquals(checker.validateFile(data.toString()), results);
+            assertFalse(results.get(1603).get(1).isValid());
+            assertTrue(results.get(1603).get(2).isValid());
+            assertTrue(results.get(2406).stream().allMatch(ValidationResult::isValid));
+        }
+    }
+
+    @Test
+    void testResumedRunKeepsControlTotals(@TempDir Path dir) throws Exception {
+        Path data = writeBatches(dir, new int[]{700, 900, 800}, -1);
+        Path checkpointFile = dir.resolve("input.checkpoint");
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true);
+        checker.loadDefinitions("src/test/resources/control_definitions.json");
+
+        for (int threads : new int[]{1, 3}) {
+            ValidationOptions options = ValidationOptions.builder().threads(threads).chunkSize(256)
+                    .checkpointFile(checkpointFile).checkpointInterval(100).resume(true).build();
+            assertThrows(IllegalStateException.class, () -> checker.validateFile(data.toString(), options, (lineNumber, results) -> {
+                if (lineNumber == 2000) {
+                    throw new IllegalStateException("crash");
+                }
+            }));
+            Checkpoint checkpoint = CheckpointFile.read(checkpointFile);
+            assertTrue(checkpoint.getLineNumber() > 1604 && checkpoint.getLineNumber() < 2000);
+            assertEquals(8, checkpoint.getControlTotals().length);
+
+            List<ValidationError> errors = new ArrayList<>();
+            ValidationSummary summary = checker.validateFileErrors(data.toString(), options, errors::add);
+            assertEquals(2407, summary.getRecords());
+            assertEquals(List.of(), errors);
+        }
+    }
+
+    /**
+     * Writes batches of detail records, each with a header and a trailer, and a file trailer.
+     *
+     * @param dir directory receiving the file
+     * @param batchSizes number of details per batch
+     * @param wrongBatch index of the batch whose trailer has a wrong count and hash total, or -1
+     * @return path of the written file
+     * @throws IOException if writing fails
+     */
+    private static Path writeBatches(Path dir, int[] batchSizes, int wrongBatch) throws IOException {
+        StringBuilder content = new StringBuilder();
+        int records = 0;
+        int detail = 0;
+        for (int batch = 0; batch < batchSizes.length; batch++) {
+            content.append('1').append(String.format("%04d", batch)).append('\n');
+            long total = 0;
+            long hash = 0;
+            for (int i = 0; i < batchSizes[batch]; i++, detail++) {
+                int account = detail * 7919 % 1_000_000;
+                int amount = detail * 37 % 200_000 - 100_000;
+                content.append('2').append(String.format("%06d%+08d", account, amount)).append('\n');
+                total += amount;
+                hash += account;
+            }
+            int wrong = batch == wrongBatch ? 1 : 0;
+            content.append('8').append(String.format("%06d%+010d%04d", batchSizes[batch] + wrong, total, (hash + wrong) % 10_000)).append('\n');
+            records += batchSizes[batch] + 2;
+        }
+        content.append('9').append(String.format("%08d", records)).append('\n');
+        Path data = dir.resolve("batches.dat");
+        Files.writeString(data, content);
+        return data;
+    }
+
+    @Test
+    void testFailFastStopsAtFirstInvalidRecord(@TempDir Path dir) throws Exception {
+        Path data = writeLines(dir, 5000, 100);
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true);
+        checker.loadDefinitions("src/test/resources/valid_definitions.json");
+
+        for (int threads : new int[]{1, 3}) {
+            List<Long> lineNumbers = new ArrayList<>();
+            ValidationOptions options = ValidationOptions.builder().threads(threads).chunkSize(256).failFast(true).build();
+            ValidationSummary summary = checker.validateFile(data.toString(), options, (lineNumber, results) -> lineNumbers.add(lineNumber));
+
+            assertTrue(summary.isStopped());
+            assertEquals(StopReason.FIRST_INVALID_RECORD, summary.getStopReason());
+            assertEquals(100, summary.getRecords());
+            assertEquals(1, summary.getInvalidRecords());
+            assertEquals(100, lineNumbers.size());
+            assertEquals(100, lineNumbers.get(99));
+        }
+    }
+
+    @Test
+    void testMaxErrorsStopsAfterErrorBudget(@TempDir Path dir) throws Exception {
+        Path data = writeLines(dir, 3000, 10);
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true);
+        checker.loadDefinitions("src/test/resources/valid_definitions.json");
+
+        for (int threads : new int[]{1, 3}) {
+            List<ValidationError> errors = new ArrayList<>();
+            ValidationOptions options = ValidationOptions.builder().threads(threads).chunkSize(256).maxErrors(5).build();
+            ValidationSummary summary = checker.validateFileErrors(data.toString(), options, errors::add);
+
+            assertEquals(StopReason.MAX_ERRORS, summary.getStopReason());
+            assertEquals(30, summary.getRecords());
+            assertEquals(6, summary.getErrors());
+            assertEquals(6, errors.size());
+        }
+    }
+
+    @Test
+    void testMaxErrorRateStopsOnceRateIsExceeded(@TempDir Path dir) throws Exception {
+        Path data = writeLines(dir, 3000, 5);
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true);
+        checker.loadDefinitions("src/test/resources/valid_definitions.json");
+
+        ValidationOptions options = ValidationOptions.builder().maxErrorRate(10).errorRateMinRecords(100).build();
+        ValidationSummary summary = checker.validateFile(data.toString(), options, (lineNumber, results) -> { });
+
+        assertEquals(StopReason.MAX_ERROR_RATE, summary.getStopReason());
+        assertEquals(100, summary.getRecords());
+        assertEquals(20.0, summary.getErrorRate());
+
+        ValidationOptions tolerant = ValidationOptions.builder().maxErrorRate(25).errorRateMinRecords(100).build();
+        ValidationSummary complete = checker.validateFile(data.toString(), tolerant, (lineNumber, results) -> { });
+
+        assertFalse(complete.isStopped());
+        assertEquals(3000, complete.getRecords());
+    }
+
+    @Test
+    void testInvalidStopConditions(@TempDir Path dir) throws Exception {
+        Path data = writeLines(dir, 10, 5);
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true);
+        checker.loadDefinitions("src/test/resources/valid_definitions.json");
+
+        ValidationOptions options = ValidationOptions.builder().maxErrorRate(150).build();
+        assertThrows(IllegalArgumentException.class,
+                () -> checker.validateFile(data.toString(), options, (lineNumber, results) -> { }));
+    }
+
+    @Test
+    void testResumeContinuesFromLastCheckpoint(@TempDir Path dir) throws Exception {
+        Path data = writeLines(dir, 1000, 7);
+        Path checkpointFile = dir.resolve("input.checkpoint");
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true);
+        checker.loadDefinitions("src/test/resources/valid_definitions.json");
+        ValidationSummary expected = checker.validateFile(data.toString(), (lineNumber, results) -> { });
+
+        for (int threads : new int[]{1, 3}) {
+            for (boolean memoryMapped : new boolean[]{false, true}) {
+                ValidationOptions options = ValidationOptions.builder().threads(threads).chunkSize(256).memoryMapped(memoryMapped)
+                        .checkpointFile(checkpointFile).checkpointInterval(100).resume(true).build();
+
+                assertThrows(IllegalStateException.class, () -> checker.validateFile(data.toString(), options, (lineNumber, results) -> {
+                    if (lineNumber == 650) {
+                        throw new IllegalStateException("crash");
+                    }
+                }));
+                Checkpoint checkpoint = CheckpointFile.read(checkpointFile);
+                assertTrue(checkpoint.getLineNumber() >= 500 && checkpoint.getLineNumber() < 650);
+                assertEquals(checkpoint.getLineNumber() * 12, checkpoint.getPosition());
+
+                List<Long> lineNumbers = new ArrayList<>();
+                ValidationSummary summary = checker.validateFile(data.toString(), options, (lineNumber, results) -> lineNumbers.add(lineNumber));
+
+                assertEquals(checkpoint.getLineNumber() + 1, lineNumbers.get(0));
+                assertEquals(1000, lineNumbers.get(lineNumbers.size() - 1));
+                assertEquals(1000 - checkpoint.getLineNumber(), lineNumbers.size());
+                assertEquals(expected, summary);
+                assertFalse(Files.exists(checkpointFile));
+            }
+        }
+    }
+
+    @Test
+    void testResumedRunDetectsDuplicatesOfLinesBeforeCheckpoint(@TempDir Path dir) throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= 1000; i++) {
+            content.append('2').append(String.format("%010d", i == 800 ? 100 : i)).append('\n');
+        }
+        Path data = dir.resolve("input.dat");
+        Files.writeString(data, content);
+        Path checkpointFile = dir.resolve("input.checkpoint");
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true);
+        checker.loadDefinitions("src/test/resources/unique_definitions.json");
+
+        for (int threads : new int[]{1, 3}) {
+            ValidationOptions options = ValidationOptions.builder().threads(threads).chunkSize(256)
+                    .checkpointFile(checkpointFile).checkpointInterval(100).resume(true).build();
+
+            assertThrows(IllegalStateException.class, () -> checker.validateFile(data.toString(), options, (lineNumber, results) -> {
+                if (lineNumber == 650) {
+                    throw new IllegalStateException("crash");
+                }
+            }));
+            assertTrue(CheckpointFile.read(checkpointFile).getLineNumber() >= 500);
+
+            List<ValidationError> errors = new ArrayList<>();
+            ValidationSummary summary = checker.validateFileErrors(data.toString(), options, errors::add);
+
+            assertEquals(1, summary.getInvalidRecords());
+            assertEquals(List.of(800L), errors.stream().map(ValidationError::getLineNumber).toList());
+            assertEquals(ErrorCode.DUPLICATE_KEY, errors.get(0).getCode());
+            assertEquals("❌ Duplicate key [0000000100] (first on line 100)", errors.get(0).getMessage());
+            assertFalse(Files.exists(checkpointFile));
+        }
+    }
+
+    @Test
+    void testResumeRejectsChangedFile(@TempDir Path dir) throws Exception {
+        Path data = writeLines(dir, 100, 7);
+        Path checkpointFile = dir.resolve("input.checkpoint");
+        CheckpointFile.write(checkpointFile, new Checkpoint(Files.size(data) - 1, 0, 120, 10, 1, 2));
+
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true);
+        checker.loadDefinitions("src/test/resources/valid_definitions.json");
+        ValidationOptions options = ValidationOptions.builder().checkpointFile(checkpointFile).resume(true).build();
+
+        assertThrows(IllegalStateException.class, () -> checker.validateFile(data.toString(), options, (lineNumber, results) -> { }));
+    }
+
+    @Test
+    void testValidateStreamReadsGzipAsItDecompresses() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write("21234567890\n2ABCDEFGHIJ\n21234567890\n".getBytes(StandardCharsets.UTF_8));
+        }
+
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true);
+        checker.loadDefinitions("src/test/resources/valid_definitions.json");
+
+        List<Long> lineNumbers = new ArrayList<>();
+        InputStream in = Decompression.decompress(new ByteArrayInputStream(compressed.toByteArray()));
+        ValidationSummary summary = checker.validateStream(in, ValidationOptions.defaults(), (lineNumber, results) -> lineNumbers.add(lineNumber));
+
+        assertEquals(List.of(1L, 2L, 3L), lineNumbers);
+        assertEquals(3, summary.getRecords());
+        assertEquals(1, summary.getInvalidRecords());
+    }
+
+    @Test
+    void testValidateStreamRejectsCheckpoints(@TempDir Path dir) throws Exception {
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true);
+        checker.loadDefinitions("src/test/resources/valid_definitions.json");
+        ValidationOptions options = ValidationOptions.builder().checkpointFile(dir.resolve("checkpoint")).build();
+
+        assertThrows(IllegalArgumentException.class, () -> checker.validateStream(
+                new ByteArrayInputStream(new byte[0]), options, (lineNumber, results) -> { }));
+    }
+
+    @Test
+    void testFixedFramingWithoutTerminators(@TempDir Path dir) throws Exception {
+        Path data = dir.resolve("input.dat");
+        Files.writeString(data, "21234567890".repeat(500) + "2ABCDEFGHIJ" + "21234567890".repeat(499));
+
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, true);
+        checker.loadDefinitions("src/test/resources/valid_definitions.json");
+
+        for (int threads : new int[]{1, 4}) {
+            ValidationOptions options = ValidationOptions.builder().framing(RecordFraming.FIXED).threads(threads).chunkSize(256).build();
+            List<Long> invalidLines = new ArrayList<>();
+            ValidationSummary summary = checker.validateFile(data.toString(), options, (lineNumber, results) -> {
+                if (results.stream().anyMatch(r -> !r.isValid())) {
+                    invalidLines.add(lineNumber);
+                }
+            });
+
+            assertEquals(1000, summary.getRecords());
+            assertEquals(List.of(501L), invalidLines);
+        }
+    }
+
+    @Test
+    void testFixedFramingRequiresByteLength() throws Exception {
+        FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, false);
+        checker.loadDefinitions("src/test/resources/valid_definitions.json");
+        ValidationOptions options = ValidationOptions.builder().framing(RecordFraming.FIXED).build();
+
+        assertThrows(IllegalArgumentException.class, () -> checker.validateStream(
+                new ByteArrayInputStream(new byte[0]), options, (lineNumber, results) -> { }));
+    }
+
+    @Test
+    void testPackedFieldsNeedByteLengthOrSingleByteCharset() throws Exception {
+        List<FixedFieldDefinition> definitions = List.of(
+                new FixedFieldDefinition("Amount", 3, null, false, null, true, "packed", null, null, null));
+        RecordLayoutSet utf8 = RecordLayoutSet.single(DefinitionCompiler.compile(definitions, StandardCharsets.UTF_8));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> FixedLengthChecker.builder()
+                .charset(StandardCharsets.UTF_8).useByteLength(false).layouts(utf8).build());
+        assertTrue(e.getMessage().startsWith("Packed field Amount needs byte length mode"));
+        assertThrows(IllegalArgumentException.class, () -> new FixedLengthChecker(StandardCharsets.UTF_8, false).useLayouts(utf8));
+
+        FixedLengthChecker byteMode = FixedLengthChecker.builder().charset(StandardCharsets.UTF_8).layouts(utf8).build();
+        BatchResult result = byteMode.validateBatch(new byte[] {0x12, (byte) 0x98, 0x7C}, new int[] {0}, new int[] {3});
+        assertEquals(0, result.getErrorCount());
+
+        Charset ibm1047 = Charset.forName("IBM1047");
+        FixedLengthChecker charMode = FixedLengthChecker.builder().charset(ibm1047).useByteLength(false)
+                .layouts(RecordLayoutSet.single(DefinitionCompiler.compile(definitions, ibm1047))).build();
+        assertTrue(charMode.validateLine(new String(new byte[] {0x12, (byte) 0x98, 0x7C}, ibm1047)).get(0).isValid());
+    }
+
+    @Test
+    void testBuiltCheckerIsSharedByConcurrentCallers() throws Exception {
+        FixedLengthChecker checker = FixedLengthChecker.builder()
+                .definitions("src/test/resources/valid_definitions.json")
+                .build();
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                int mismatches = 0;
+                for (int i = 0; i < 20_000; i++) {
+                    boolean invalid = (i + offset) % 7 == 0;
+                    List<ValidationResult> results = checker.validateLine(invalid ? "2ABCDEFGHI" + (char) ('A' + offset) : "2123456789" + (offset % 10));
+                    if (results.get(1).isValid() == invalid
+                            || !results.get(1).getActualValue().endsWith(invalid ? String.valueOf((char) ('A' + offset)) : String.valueOf(offset % 10))) {
+                        mismatches++;
+                    }
+                }
+                return mismatches;
+            }));
+        }
+        start.countDown();
+        for (Future<Integer> future : futures) {
+            assertEquals(0, future.get());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    void testConcurrentFileValidationsOnOneChecker(@TempDir Path dir) throws Exception {
+        Path data = writeLines(dir, 5000, 9);
+        FixedLengthChecker checker = FixedLengthChecker.builder()
+                .definitions("src/test/resources/valid_definitions.json")
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<ValidationSummary>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> checker.validateFile(data.toString(), (lineNumber, results) -> { })));
+        }
+        for (Future<ValidationSummary> future : futures) {
+            assertEquals(5000, future.get().getRecords());
+            assertEquals(555, future.get().getInvalidRecords());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    void testBuiltCheckerIsImmutable() throws Exception {
+        FixedLengthChecker checker = FixedLengthChecker.builder()
+                .definitions("src/test/resources/valid_definitions.json")
+                .build();
+
+        assertThrows(IllegalStateException.class, () -> checker.loadDefinitions("src/test/resources/valid_definitions.json"));
+        assertThrows(IllegalStateException.class, () -> FixedLengthChecker.builder().build());
+
+        RecordLayoutSet layouts = DefinitionCompiler.compile(RecordDefinitionSet.single(
+                DefinitionLoader.loadDefinitions("src/test/resources/valid_definitions.json")), StandardCharsets.UTF_8);
+        FrozenFieldDefinition frozen = layouts.getLayouts().get(0).getFields().get(0).getDefinition();
+        FixedFieldDefinition copy = frozen.toDefinition();
+        copy.setFixedValue("3");
+        assertEquals("2", frozen.getFixedValue());
+        assertEquals("3", copy.freeze().getFixedValue());
+    }
+
+    private static Path writeLines(Path dir, int lines, int invalidEvery) throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= lines; i++) {
+            content.append(i % invalidEvery == 0 ? "3ABCDEFGHIJ" : "21234567890").append('\n');
+        }
+        Path data = dir.resolve("input.dat");
+        Files.writeString(data, content);
+        return data;
+    }
+
+    @Test
+    void testRecordTypesAreDispatchedInOnePass(@TempDir Path dir) throws Exception {
+        Path data = dir.resolve("input.dat");
+        Files.writeString(data, "120250101  \n21234567890\n2ABCDEFGHIJ\n91234567890\n8000002    \n");
+
+        for (boolean useByteLength : new boolean[]{true, false}) {
+            FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, useByteLength);
+            checker.loadDefinitions("src/test/resources/multi_record_definitions.json");
+
+            List<List<ValidationResult>> results = checker.validateFile(data.toString());
+
+            assertEquals(5, results.size());
+            assertEquals(List.of("Data Section", "Created Date", "Filler"), results.get(0).stream().map(ValidationResult::getFieldName).toList());
+            assertTrue(results.get(0).stream().allMatch(ValidationResult::isValid));
+            assertTrue(results.get(1).stream().allMatch(ValidationResult::isValid));
+            assertFalse(results.get(2).get(1).isValid());
+            assertEquals(1, results.get(3).size());
+            assertEquals("Record Type", results.get(3).get(0).getFieldName());
+            assertEquals("❌ Unknown record type", results.get(3).get(0).getMessage());
+            assertEquals("9", results.get(3).get(0).getActualValue());
+            assertEquals(List.of("Data Section", "Record Count", "Filler"), results.get(4).stream().map(ValidationResult::getFieldName).toList());
+            assertTrue(results.get(4).stream().allMatch(ValidationResult::isValid));
+
+            List<ValidationError> errors = new ArrayList<>();
+            ValidationSummary summary = checker.validateFileErrors(data.toString(), ValidationOptions.defaults(), errors::add);
+
+            assertEquals(2, summary.getInvalidRecords());
+            assertEquals(2, errors.size());
+            assertEquals("Inquiry Number", errors.get(0).getFieldName());
+            assertEquals(ErrorCode.UNKNOWN_RECORD_TYPE, errors.get(1).getCode());
+            assertEquals(4, errors.get(1).getLineNumber());
+            assertEquals("9", errors.get(1).getActualValue());
+            assertEquals("❌ Unknown record type", errors.get(1).getMessage());
+        }
+    }
+
+    @Test
+    void testValidateBatchOfStrings() throws Exception {
+        for (boolean useByteLength : new boolean[]{true, false}) {
+            FixedLengthChecker checker = new FixedLengthChecker(StandardCharsets.UTF_8, useByteLength);
+            checker.loadDefinitions("src/test/resources/multi_record_definitions.json");
+
+            BatchResult result = checker.validateBatch(List.of("120250101  ", "21234567890", "2ABCDEFGHIJ", "91234567890", "2123"));
+
+            assertEquals(5, result.size());
+            assertTrue(result.isValid(0));
+            assertTrue(result.isValid(1));
+            assertEquals(1, result.getErrorCount(2));
+            assertEquals("Inquiry Number", result.getErrors(2).get(0).getFieldName());
+            assertEquals(3, result.getErrors(2).get(0).getLineNumber());
+            assertEquals("ABCDEFGHIJ", result.getErrors(2).get(0).getActualValue());
+            assertEquals(ErrorCode.UNKNOWN_RECORD_TYPE, result.getErrors(3).get(0).getCode());
+            assertEquals(ErrorCode.INSUFFICIENT_LENGTH, result.getErrors(4).get(0).getCode());
+            assertEquals(3, result.getInvalidRecords());
+            assertEquals(3, result.getErrorCount());
+            assertFalse(result.isValid());
+            assertEquals(5, result.toSummary().getRecords());
+        }
+    }
+
+    @Test
+    void testValidateBatchOfBytesInPlace() throws Exception {
+        FixedLengthChecker checker = FixedLengthChecker.builder()
+                .definitions("src/test/resources/valid_definitions.json")
+                .build();
+        byte[] data = "xx21234567890|2ABCDEFGHIJ|21234567890".getBytes(StandardCharsets.UTF_8);
+        int[] offsets = {2, 14, 26};
+        int[] lengths = {11, 11, 11};
+
+        BatchResult heap = checker.validateBatch(data, offsets, lengths);
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length).put(data).flip();
+        BatchResult mapped = checker.validateBatch(direct, offsets, lengths, 1);
+
+        for (BatchResult result : List.of(heap, mapped)) {
+            assertEquals(3, result.size());
+            assertTrue(result.isValid(0));
+            assertFalse(result.isValid(1));
+            assertTrue(result.isValid(2));
+            assertEquals("ABCDEFGHIJ", result.getErrors(1).get(0).getActualValue());
+        }
+        assertEquals(0, direct.position());
+        assertThrows(IllegalArgumentException.class, () -> checker.validateBatch(data, offsets, new int[2]));
+        assertThrows(IllegalArgumentException.class, () -> checker.validateBatch(List.of("21234567890"), 0));
+    }
+
+    @Test
+    void testParallelBatchKeepsRecordOrder() throws Exception {
+        FixedLengthChecker checker = FixedLengthChecker.builder()
+                .definitions("src/test/resources/valid_definitions.json")
+                .build();
+        List<String> records = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            records.add(i % 7 == 0 ? "2ABCDEFGHI" + (char) ('A' + i % 26) : "21234567890");
+        }
+
+        BatchResult sequential = checker.validateBatch(records);
+        BatchResult parallel = checker.validateBatch(records, 8);
+
+        assertEquals(1429, parallel.getInvalidRecords());
+        assertEquals(sequential.getErrorCount(), parallel.getErrorCount());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(i % 7 != 0, parallel.isValid(i));
+        }
+        for (int i = 0; i < parallel.getErrorCount(); i++) {
+            assertEquals(sequential.getErrors().get(i).getLineNumber(), parallel.getErrors().get(i).getLineNumber());
+            assertEquals(sequential.getErrors().get(i).getActualValue(), parallel.getErrors().get(i).getActualValue());
+        }
+    }
 }
@@ -0,0 +1,170 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import org.hashiohiro.fixedlengthchecker.core.definition.DefinitionCompiler;
+import org.hashiohiro.fixedlengthchecker.core.definition.DefinitionLoader;
+import org.hashiohiro.fixedlengthchecker.core.model.ControlDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.DiscriminatorDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorCode;
+import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordDefinitionSet;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayoutSet;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordTypeDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationError;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ControlTotalCheckerTest {
+
+    private static final List<String> BATCH = List.of(
+            "10001",
+            "2123456+0000150",
+            "2000044-0000050",
+            "2999999+0001000",
+            "8000003+0000011003499");
+
+    @Test
+    void testSplitTotalsMergeToSinglePassTotals() throws Exception {
+        ControlTotalChecker checker = new ControlTotalChecker(layouts(), true);
+
+        for (int split = 0; split < BATCH.size(); split++) {
+            ControlTotals first = checker.newTotals();
+            ControlTotals second = checker.newTotals();
+            for (int i = 0; i < BATCH.size() - 1; i++) {
+                accumulate(checker, i < split ? first : second, BATCH.get(i));
+            }
+            assertTrue(accumulate(checker, second, BATCH.get(BATCH.size() - 1)));
+            first.merge(second);
+
+            List<ValidationError> errors = new ArrayList<>();
+            assertEquals(0, collect(checker, 5, first, BATCH.get(BATCH.size() - 1), errors));
+            assertEquals(BigInteger.valueOf(5), first.get(3));
+        }
+    }
+
+    @Test
+    void testMismatchesAreReportedAndTotalsReset() throws Exception {
+        ControlTotalChecker checker = new ControlTotalChecker(layouts(), true);
+        ControlTotals totals = checker.newTotals();
+        List<ValidationError> errors = new ArrayList<>();
+
+        for (String line : BATCH.subList(0, BATCH.size() - 1)) {
+            accumulate(checker, totals, line);
+        }
+        accumulate(checker, totals, "8000004+0000011002499");
+        assertEquals(2, collect(checker, 5, totals, "8000004+0000011002499", errors));
+        assertEquals(List.of("Record Count", "Hash Total"), errors.stream().map(ValidationError::getFieldName).toList());
+        assertEquals(ErrorCode.CONTROL_TOTAL_MISMATCH, errors.get(0).getCode());
+        assertEquals("❌ Control total mismatch (count of Detail is 3)", errors.get(0).getMessage());
+        assertEquals("❌ Control total mismatch (hash total of Account in Detail is 3499)", errors.get(1).getMessage());
+        assertEquals(BigInteger.ZERO, totals.get(0));
+        assertEquals(BigInteger.ZERO, totals.get(2));
+
+        accumulate(checker, totals, "8000000+0000000000000");
+        assertEquals(0, collect(checker, 6, totals, "8000000+0000000000000", errors));
+        assertTrue(accumulate(checker, totals, "900000006"));
+        assertEquals(0, collect(checker, 7, totals, "900000006", errors));
+    }
+
+    @Test
+    void testCharLengthModeReplacesPassingResults() throws Exception {
+        RecordLayoutSet layouts = layouts();
+        ControlTotalChecker checker = new ControlTotalChecker(layouts, false);
+        FixedLengthValidator validator = new FixedLengthValidator(StandardCharsets.UTF_8, false);
+        ControlTotals totals = checker.newTotals();
+
+        for (String line : BATCH.subList(0, BATCH.size() - 1)) {
+            accumulate(checker, totals, line);
+        }
+        String trailer = "8000003+0000011103499";
+        accumulate(checker, totals, trailer);
+        List<ValidationResult> results = validator.validateLine(trailer, layouts);
+        assertEquals(1, checker.check(5, totals, record(trailer), 0, trailer.length(), results));
+        assertTrue(results.get(1).isValid());
+        assertFalse(results.get(2).isValid());
+        assertEquals("+000001110", results.get(2).getActualValue());
+        assertEquals("❌ Control total mismatch (sum of Amount in Detail is 1100)", results.get(2).getMessage());
+        assertTrue(results.get(3).isValid());
+    }
+
+    @Test
+    void testSumsDoNotOverflow() {
+        ControlTotals totals = new ControlTotals(1);
+        totals.add(0, Long.MAX_VALUE);
+        totals.add(0, Long.MAX_VALUE);
+        ControlTotals other = new ControlTotals(1);
+        other.add(0, Long.MIN_VALUE);
+        other.add(0, -1);
+        totals.merge(other);
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.TWO)
+                .add(BigInteger.valueOf(Long.MIN_VALUE)).subtract(BigInteger.ONE), totals.get(0));
+
+        ControlTotals negative = new ControlTotals(1);
+        negative.add(0, Long.MIN_VALUE);
+        negative.add(0, Long.MIN_VALUE);
+        assertEquals(BigInteger.valueOf(Long.MIN_VALUE).multiply(BigInteger.TWO), ControlTotals.of(negative.toArray()).get(0));
+    }
+
+    @Test
+    void testEighteenDigitTotalsReconcile() {
+        RecordLayoutSet layouts = DefinitionCompiler.compile(new RecordDefinitionSet(new DiscriminatorDefinition(0, 1), List.of(
+                new RecordTypeDefinition("Detail", "2", List.of(new FixedFieldDefinition("Kind", 1, "2", false, null, true),
+                        new FixedFieldDefinition("Amount", 18, null, false, null, true, "numeric", null, null, null))),
+                new RecordTypeDefinition("Trailer", "8", List.of(new FixedFieldDefinition("Kind", 1, "8", false, null, true),
+                        new FixedFieldDefinition("Total", 18, null, false, null, true, "numeric", null, null, null),
+                        new FixedFieldDefinition("Hash", 18, null, false, null, true, "numeric", null, null, null)),
+                        List.of(new ControlDefinition("Total", "sum", "Detail", "Amount"),
+                                new ControlDefinition("Hash", "hash", "Detail", "Amount"))))), StandardCharsets.UTF_8);
+
+        for (boolean useByteLength : new boolean[]{true, false}) {
+            ControlTotalChecker checker = new ControlTotalChecker(layouts, useByteLength);
+            ControlTotals totals = checker.newTotals();
+            accumulate(checker, totals, "2900000000000000000");
+            accumulate(checker, totals, "2099999999999999999");
+            String trailer = "8999999999999999999" + "999999999999999999";
+            assertTrue(accumulate(checker, totals, trailer));
+            assertEquals(0, collect(checker, 3, totals, trailer, new ArrayList<>()));
+
+            accumulate(checker, totals, "2999999999999999999");
+            accumulate(checker, totals, "2000000000000000001");
+            trailer = "8999999999999999999" + "000000000000000000";
+            accumulate(checker, totals, trailer);
+            List<ValidationError> errors = new ArrayList<>();
+            assertEquals(1, collect(checker, 6, totals, trailer, errors));
+            assertEquals("❌ Control total mismatch (sum of Amount in Detail is 1000000000000000000)", errors.get(0).getMessage());
+        }
+    }
+
+    @Test
+    void testRestoreRejectsMismatchedState() throws Exception {
+        ControlTotalChecker checker = new ControlTotalChecker(layouts(), true);
+        assertThrows(IllegalStateException.class, () -> checker.restore(null));
+        assertThrows(IllegalStateException.class, () -> checker.restore(new long[2]));
+        assertFalse(ControlTotalChecker.hasControls(RecordLayoutSet.single(DefinitionCompiler.compile(List.of(
+                new FixedFieldDefinition("Key", 5, null, false, null, true)), StandardCharsets.UTF_8))));
+    }
+
+    private static RecordLayoutSet layouts() throws Exception {
+        return DefinitionCompiler.compile(DefinitionLoader.loadRecordDefinitions("src/test/resources/control_definitions.json"),
+                StandardCharsets.UTF_8);
+    }
+
+    private static boolean accumulate(ControlTotalChecker checker, ControlTotals totals, String line) {
+        return checker.accumulate(totals, record(line), 0, line.length());
+    }
+
+    private static int collect(ControlTotalChecker checker, long lineNumber, ControlTotals totals, String line, List<ValidationError> errors) {
+        return checker.collectErrors(lineNumber, totals, record(line), 0, line.length(), errors, errors.size(), errors.size(), errors);
+    }
+
+    private static ByteBuffer record(String line) {
+        return ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+    }
+}
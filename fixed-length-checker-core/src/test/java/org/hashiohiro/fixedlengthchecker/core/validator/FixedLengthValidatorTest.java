@@ -1,10 +1,18 @@
 package org.hashiohiro.fixedlengthchecker.core.validator;
 
+import org.hashiohiro.fixedlengthchecker.core.definition.DefinitionCompiler;
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorCode;
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorMode;
 import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationError;
 import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -67,4 +75,135 @@ class FixedLengthValidatorTest {
 
         assertTrue(results.get(0).isValid());
     }
+
+    @Test
+    void testValidateRecordOnRawBytes() {
+        Charset ms932 = Charset.forName("MS932");
+        FixedFieldDefinition def1 = new FixedFieldDefinition("Field1", 4, "ＡＢ", false, null, true);
+        FixedFieldDefinition def2 = new FixedFieldDefinition("Field2", 3, null, true, null, false);
+        FixedFieldDefinition def3 = new FixedFieldDefinition("Field3", 3, null, false, "\\d+", true);
+
+        byte[] record = "ＡＢ   123".getBytes(ms932);
+        FixedLengthValidator validator = new FixedLengthValidator(ms932, true);
+        List<ValidationResult> results = validator.validateRecord(ByteBuffer.wrap(record), 0, record.length,
+                DefinitionCompiler.compile(List.of(def1, def2, def3), ms932));
+
+        assertTrue(results.stream().allMatch(ValidationResult::isValid));
+        assertEquals("ＡＢ", results.get(0).getActualValue());
+    }
+
+    @Test
+    void testCollectErrorsOfTypedFields() {
+        RecordLayout layout = DefinitionCompiler.compile(List.of(
+                new FixedFieldDefinition("Account", 6, null, false, null, true, "numeric", null, null, null),
+                new FixedFieldDefinition("Amount", 8, null, false, null, true, "signed", null, -100000L, 9999999L),
+                new FixedFieldDefinition("Booked", 8, null, false, null, true, "date", "yyyyMMdd", null, null)), StandardCharsets.UTF_8);
+
+        for (boolean useByteLength : new boolean[]{true, false}) {
+            FixedLengthValidator validator = new FixedLengthValidator(StandardCharsets.UTF_8, useByteLength);
+            List<ValidationError> errors = new ArrayList<>();
+            byte[] valid = "000123-000500020240229".getBytes(StandardCharsets.UTF_8);
+            byte[] invalid = "00A123-020000020230229".getBytes(StandardCharsets.UTF_8);
+
+            assertEquals(0, validator.collectErrors(1, ByteBuffer.wrap(valid), 0, valid.length, layout, errors));
+            assertEquals(3, validator.collectErrors(2, ByteBuffer.wrap(invalid), 0, invalid.length, layout, errors));
+            assertEquals(List.of(ErrorCode.NOT_NUMERIC, ErrorCode.OUT_OF_RANGE, ErrorCode.INVALID_DATE),
+                    errors.stream().map(ValidationError::getCode).toList());
+            assertEquals("❌ Out of range [-0200000] (-100000..9999999)", errors.get(1).getMessage());
+        }
+    }
+
+    @Test
+    void testAllErrorsPerField() {
+        RecordLayout layout = DefinitionCompiler.compile(List.of(
+                new FixedFieldDefinition("Code", 3, "123", false, "\\d+", true),
+                new FixedFieldDefinition("Name", 4, null, false, null, true)), StandardCharsets.UTF_8);
+        byte[] record = "   Anne".getBytes(StandardCharsets.UTF_8);
+
+        for (boolean useByteLength : new boolean[]{true, false}) {
+            FixedLengthValidator first = new FixedLengthValidator(StandardCharsets.UTF_8, useByteLength);
+            FixedLengthValidator all = new FixedLengthValidator(StandardCharsets.UTF_8, useByteLength, ErrorMode.ALL);
+
+            List<ValidationError> errors = new ArrayList<>();
+            assertEquals(1, first.collectErrors(1, ByteBuffer.wrap(record), 0, record.length, layout, errors));
+            assertEquals(ErrorCode.REQUIRED_MISSING, errors.get(0).getCode());
+
+            errors.clear();
+            assertEquals(3, all.collectErrors(1, ByteBuffer.wrap(record), 0, record.length, layout, errors));
+            assertEquals(List.of(ErrorCode.REQUIRED_MISSING, ErrorCode.FIXED_VALUE_MISMATCH, ErrorCode.REGEX_MISMATCH),
+                    errors.stream().map(ValidationError::getCode).toList());
+
+            List<ValidationResult> results = all.validateLine("   Anne", layout);
+            assertEquals(4, results.size());
+            assertEquals("❌ Required value missing", results.get(0).getMessage());
+            assertTrue(results.get(3).isValid());
+            assertEquals(2, first.validateLine("   Anne", layout).size());
+        }
+    }
+
+    @Test
+    void testValidateRecordFallsBackToStringChecks() {
+        FixedFieldDefinition def1 = new FixedFieldDefinition("Field1", 3, null, true, null, false);
+        FixedFieldDefinition def2 = new FixedFieldDefinition("Field2", 2, "XY", false, null, true);
+
+        byte[] record = "--\t \tXZ".getBytes(StandardCharsets.UTF_8);
+        FixedLengthValidator validator = new FixedLengthValidator(StandardCharsets.UTF_8, true);
+        List<ValidationResult> results = validator.validateRecord(ByteBuffer.wrap(record), 2, record.length - 2,
+                DefinitionCompiler.compile(List.of(def1, def2), StandardCharsets.UTF_8));
+
+        assertTrue(results.get(0).isValid());
+        assertFalse(results.get(1).isValid());
+        assertEquals("XZ", results.get(1).getActualValue());
+    }
+
+    @Test
+    void testValidateRecordRejectsLayoutForOtherCharset() {
+        FixedFieldDefinition def1 = new FixedFieldDefinition("Field1", 2, "AB", false, null, true);
+        FixedLengthValidator validator = new FixedLengthValidator(StandardCharsets.UTF_8, true);
+
+        assertThrows(IllegalArgumentException.class, () -> validator.validateRecord(ByteBuffer.wrap(new byte[2]), 0, 2,
+                DefinitionCompiler.compile(List.of(def1), Charset.forName("IBM037"))));
+    }
+
+    @Test
+    void testCollectErrorsReportsOnlyFailures() {
+        RecordLayout layout = DefinitionCompiler.compile(List.of(
+                new FixedFieldDefinition("Field1", 2, "AB", false, null, true),
+                new FixedFieldDefinition("Field2", 3, null, true, null, false),
+                new FixedFieldDefinition("Field3", 3, null, false, "\\d+", true),
+                new FixedFieldDefinition("Field4", 2, null, false, null, true)), StandardCharsets.UTF_8);
+        FixedLengthValidator validator = new FixedLengthValidator(StandardCharsets.UTF_8, true);
+        List<ValidationError> errors = new ArrayList<>();
+
+        byte[] valid = "AB   123XY".getBytes(StandardCharsets.UTF_8);
+        assertEquals(0, validator.collectErrors(1, ByteBuffer.wrap(valid), 0, valid.length, layout, errors));
+        assertTrue(errors.isEmpty());
+
+        byte[] invalid = "AXabc12Z".getBytes(StandardCharsets.UTF_8);
+        assertEquals(4, validator.collectErrors(2, ByteBuffer.wrap(invalid), 0, invalid.length, layout, errors));
+        assertEquals(List.of(ErrorCode.FIXED_VALUE_MISMATCH, ErrorCode.NOT_BLANK, ErrorCode.REGEX_MISMATCH, ErrorCode.INSUFFICIENT_LENGTH),
+                errors.stream().map(ValidationError::getCode).toList());
+
+        List<ValidationResult> full = validator.validateRecord(ByteBuffer.wrap(invalid), 0, invalid.length, layout);
+        for (int i = 0; i < errors.size(); i++) {
+            assertEquals(2, errors.get(i).getLineNumber());
+            assertEquals(i, errors.get(i).getFieldIndex());
+            assertEquals(full.get(i), errors.get(i).toResult());
+        }
+    }
+
+    @Test
+    void testCollectErrorsInCharMode() {
+        RecordLayout layout = DefinitionCompiler.compile(List.of(
+                new FixedFieldDefinition("Field1", 2, "ＡＢ", false, null, true),
+                new FixedFieldDefinition("Field2", 3, null, false, "\\d+", true)), StandardCharsets.UTF_8);
+        FixedLengthValidator validator = new FixedLengthValidator(StandardCharsets.UTF_8, false);
+        List<ValidationError> errors = new ArrayList<>();
+
+        byte[] record = "ＡＢ12X".getBytes(StandardCharsets.UTF_8);
+        assertEquals(1, validator.collectErrors(7, ByteBuffer.wrap(record), 0, record.length, layout, errors));
+        assertEquals("12X", errors.get(0).getActualValue());
+        assertEquals("Field2", errors.get(0).getFieldName());
+        assertTrue(errors.get(0).getMessage().contains("Regex mismatch"));
+    }
 }
@@ -0,0 +1,125 @@
+package org.hashiohiro.fixedlengthchecker.core.validator;
+
+import org.hashiohiro.fixedlengthchecker.core.definition.DefinitionCompiler;
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorCode;
+import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
+import org.hashiohiro.fixedlengthchecker.core.model.RecordLayoutSet;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationError;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UniqueKeyCheckerTest {
+
+    private static final List<FixedFieldDefinition> DEFINITIONS = List.of(
+            new FixedFieldDefinition("Key", 5, null, false, null, true, null, null, null, null, true),
+            new FixedFieldDefinition("Name", 4, null, false, null, false));
+
+    @Test
+    void testDuplicatesNameFirstOccurrence(@TempDir Path dir) throws Exception {
+        RecordLayoutSet layouts = RecordLayoutSet.single(DefinitionCompiler.compile(DEFINITIONS, StandardCharsets.UTF_8));
+        List<ValidationError> errors = new ArrayList<>();
+
+        try (UniqueKeyChecker checker = new UniqueKeyChecker(layouts, true, UniqueKeyChecker.DEFAULT_MEMORY_BUDGET, dir)) {
+            assertEquals(0, collect(checker, 1, "K0001Anne", errors));
+            assertEquals(0, collect(checker, 2, "K0002Anne", errors));
+            assertEquals(0, collect(checker, 3, "     Anne", errors));
+            assertEquals(0, collect(checker, 4, "     Anne", errors));
+            assertEquals(1, collect(checker, 5, "K0001Bert", errors));
+            assertEquals(1, collect(checker, 6, "K0001Carl", errors));
+            assertFalse(checker.isSpilled());
+        }
+
+        assertEquals(List.of(5L, 6L), errors.stream().map(ValidationError::getLineNumber).toList());
+        assertEquals(ErrorCode.DUPLICATE_KEY, errors.get(0).getCode());
+        assertEquals("K0001", errors.get(0).getActualValue());
+        assertEquals("❌ Duplicate key [K0001] (first on line 1)", errors.get(1).getMessage());
+    }
+
+    @Test
+    void testFieldsThatFailedTheirChecksAreSkipped(@TempDir Path dir) throws Exception {
+        RecordLayoutSet layouts = RecordLayoutSet.single(DefinitionCompiler.compile(DEFINITIONS, StandardCharsets.UTF_8));
+        FixedLengthValidator validator = new FixedLengthValidator(StandardCharsets.UTF_8, true);
+
+        try (UniqueKeyChecker checker = new UniqueKeyChecker(layouts, true, UniqueKeyChecker.DEFAULT_MEMORY_BUDGET, dir)) {
+            List<ValidationResult> first = validator.validateLine("K0001Anne", layouts);
+            List<ValidationResult> second = validator.validateLine("K0001Bert", layouts);
+            assertEquals(0, checker.check(1, record("K0001Anne"), 0, 9, first));
+            assertEquals(1, checker.check(2, record("K0001Bert"), 0, 9, second));
+            assertFalse(second.get(0).isValid());
+            assertEquals("❌ Duplicate key [K0001] (first on line 1)", second.get(0).getMessage());
+            assertTrue(second.get(1).isValid());
+
+            List<ValidationError> errors = new ArrayList<>();
+            ValidationError failed = new ValidationError(3, layouts.getLayouts().get(0).getFields().get(0), ErrorCode.INVALID, null, "K0001");
+            errors.add(failed);
+            assertEquals(0, checker.collectErrors(3, record("K0001Carl"), 0, 9, errors, 0, 1, errors));
+            assertEquals(List.of(failed), errors);
+        }
+    }
+
+    @Test
+    void testCharLengthModeComparesCharacters(@TempDir Path dir) throws Exception {
+        Charset ms932 = Charset.forName("MS932");
+        RecordLayoutSet layouts = RecordLayoutSet.single(DefinitionCompiler.compile(DEFINITIONS, ms932));
+        List<ValidationError> errors = new ArrayList<>();
+
+        try (UniqueKeyChecker checker = new UniqueKeyChecker(layouts, false, UniqueKeyChecker.DEFAULT_MEMORY_BUDGET, dir)) {
+            assertEquals(0, collect(checker, 1, "東京0001Anne", ms932, errors));
+            assertEquals(0, collect(checker, 2, "京都0001Anne", ms932, errors));
+            assertEquals(1, collect(checker, 3, "東京0001Bert", ms932, errors));
+        }
+        assertEquals("東京000", errors.get(0).getActualValue());
+    }
+
+    @Test
+    void testSpillsBeyondMemoryBudget(@TempDir Path dir) throws Exception {
+        RecordLayoutSet layouts = RecordLayoutSet.single(DefinitionCompiler.compile(List.of(
+                new FixedFieldDefinition("Key", 8, null, false, null, true, null, null, null, null, true)), StandardCharsets.US_ASCII));
+        List<ValidationError> errors = new ArrayList<>();
+
+        try (UniqueKeyChecker checker = new UniqueKeyChecker(layouts, true, 256 * 1024, dir)) {
+            for (int i = 0; i < 200_000; i++) {
+                collect(checker, i + 1, String.format("%08d", i * 7), errors);
+            }
+            assertTrue(checker.isSpilled());
+            assertTrue(errors.isEmpty());
+
+            for (int i = 0; i < 200_000; i += 997) {
+                assertEquals(1, collect(checker, 300_000 + i, String.format("%08d", i * 7), errors));
+                assertEquals("❌ Duplicate key [" + String.format("%08d", i * 7) + "] (first on line " + (i + 1) + ")",
+                        errors.get(errors.size() - 1).getMessage());
+            }
+            assertEquals(0, collect(checker, 999_999, String.format("%08d", 3), errors));
+        }
+    }
+
+    @Test
+    void testOnlyLayoutsWithUniqueFieldsAreChecked() {
+        assertTrue(UniqueKeyChecker.hasUniqueFields(RecordLayoutSet.single(DefinitionCompiler.compile(DEFINITIONS, StandardCharsets.UTF_8))));
+        assertFalse(UniqueKeyChecker.hasUniqueFields(RecordLayoutSet.single(DefinitionCompiler.compile(List.of(
+                new FixedFieldDefinition("Key", 5, null, false, null, true)), StandardCharsets.UTF_8))));
+    }
+
+    private static int collect(UniqueKeyChecker checker, long lineNumber, String line, List<ValidationError> errors) throws Exception {
+        return collect(checker, lineNumber, line, StandardCharsets.UTF_8, errors);
+    }
+
+    private static int collect(UniqueKeyChecker checker, long lineNumber, String line, Charset charset, List<ValidationError> errors) throws Exception {
+        byte[] bytes = line.getBytes(charset);
+        return checker.collectErrors(lineNumber, ByteBuffer.wrap(bytes), 0, bytes.length, errors, errors.size(), errors.size(), errors);
+    }
+
+    private static ByteBuffer record(String line) {
+        return ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+    }
+}
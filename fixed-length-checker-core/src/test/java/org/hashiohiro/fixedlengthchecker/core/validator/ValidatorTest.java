@@ -1,9 +1,19 @@
 package org.hashiohiro.fixedlengthchecker.core.validator;
 
+import org.hashiohiro.fixedlengthchecker.core.definition.DefinitionCompiler;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldLayout;
+import org.hashiohiro.fixedlengthchecker.core.model.FieldType;
 import org.hashiohiro.fixedlengthchecker.core.model.FixedFieldDefinition;
 import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
 import org.junit.jupiter.api.Test;
 
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ValidatorTest {
@@ -55,4 +65,247 @@ class ValidatorTest {
         ValidationResult res = v.validate("FieldA", "ABCDE", def);
         assertFalse(res.isValid());
     }
+
+    @Test
+    void testPatternCacheReusesCompiledPattern() {
+        assertSame(PatternCache.compile("\\d{3}"), PatternCache.compile("\\d{3}"));
+    }
+
+    @Test
+    void testPatternCacheMatcherKeepsNoInput() {
+        assertTrue(PatternCache.matches("[A-Z]+", "ABC"));
+        assertFalse(PatternCache.matches("[A-Z]+", "abc"));
+
+        WeakReference<String> line = new WeakReference<>("A".repeat(10_000));
+        assertTrue(PatternCache.matches("[A-Z]+", line.get()));
+        for (int i = 0; i < 10 && line.get() != null; i++) {
+            System.gc();
+        }
+        assertNull(line.get());
+    }
+
+    @Test
+    void testBlankBytesDetectNonPadByteAtEveryPosition() {
+        FieldLayout field = DefinitionCompiler.compile(List.of(
+                new FixedFieldDefinition("Prefix", 3, null, false, null, false),
+                new FixedFieldDefinition("Filler", 203, null, true, null, false)), StandardCharsets.UTF_8).getFields().get(1);
+        BlankValidator v = new BlankValidator();
+        byte[] record = ("ABC" + " ".repeat(203)).getBytes(StandardCharsets.UTF_8);
+
+        for (ByteBuffer buffer : buffers(record)) {
+            assertTrue(v.passesWithoutDecoding(buffer, 3, field));
+        }
+        for (int i = 3; i < record.length; i++) {
+            record[i] = 'x';
+            for (ByteBuffer buffer : buffers(record)) {
+                assertFalse(v.passesWithoutDecoding(buffer, 3, field), "position " + i);
+            }
+            record[i] = ' ';
+        }
+    }
+
+    @Test
+    void testBlankBytesUseCharsetPadByte() {
+        Charset ibm037 = Charset.forName("IBM037");
+        FieldLayout field = DefinitionCompiler.compile(List.of(
+                new FixedFieldDefinition("Filler", 20, null, true, null, false)), ibm037).getFields().get(0);
+        BlankValidator v = new BlankValidator();
+
+        assertTrue(v.passesWithoutDecoding(ByteBuffer.wrap(" ".repeat(20).getBytes(ibm037)), 0, field));
+        assertFalse(v.passesWithoutDecoding(ByteBuffer.wrap(" ".repeat(20).getBytes(StandardCharsets.UTF_8)), 0, field));
+    }
+
+    @Test
+    void testFixedValueBytesDetectDifferenceAtEveryPosition() {
+        String expected = "HEADER-0123456789-ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+        FieldLayout field = DefinitionCompiler.compile(List.of(
+                new FixedFieldDefinition("Prefix", 5, null, false, null, false),
+                new FixedFieldDefinition("Code", expected.length(), expected, false, null, true)), StandardCharsets.UTF_8).getFields().get(1);
+        FixedValueValidator v = new FixedValueValidator();
+        byte[] record = ("12345" + expected).getBytes(StandardCharsets.UTF_8);
+
+        for (ByteBuffer buffer : buffers(record)) {
+            assertTrue(v.passesWithoutDecoding(buffer, 5, field));
+        }
+        for (int i = 5; i < record.length; i++) {
+            byte original = record[i];
+            record[i] = '?';
+            for (ByteBuffer buffer : buffers(record)) {
+                assertFalse(v.passesWithoutDecoding(buffer, 5, field), "position " + i);
+            }
+            record[i] = original;
+        }
+    }
+
+    @Test
+    void testRequiredValidator() {
+        RequiredValidator v = new RequiredValidator();
+        FixedFieldDefinition def = new FixedFieldDefinition("Name", 5, null, false, null, true);
+
+        assertTrue(v.validate("Name", "  AB ", def).isValid());
+        ValidationResult missing = v.validate("Name", " \t   ", def);
+        assertFalse(missing.isValid());
+        assertEquals("❌ Required value missing", missing.getMessage());
+        assertFalse(v.appliesTo(new FixedFieldDefinition("Name", 5, null, false, null, false)));
+        assertFalse(v.appliesTo(new FixedFieldDefinition("Filler", 5, null, true, null, true)));
+    }
+
+    @Test
+    void testRequiredBytesLeaveUncertainValuesToText() {
+        RequiredValidator v = new RequiredValidator();
+        for (String charset : new String[]{"UTF-8", "MS932", "IBM037"}) {
+            Charset cs = Charset.forName(charset);
+            FieldLayout field = DefinitionCompiler.compile(List.of(
+                    new FixedFieldDefinition("Name", 4, null, false, null, true)), cs).getFields().get(0);
+
+            assertTrue(v.passesWithoutDecoding(ByteBuffer.wrap("  AB".getBytes(cs)), 0, field), charset);
+            assertFalse(v.passesWithoutDecoding(ByteBuffer.wrap("    ".getBytes(cs)), 0, field), charset);
+            assertFalse(v.passesWithoutDecoding(ByteBuffer.wrap(" \t  ".getBytes(cs)), 0, field), charset);
+            assertFalse(v.test(" \t  ", field), charset);
+        }
+
+        Charset ms932 = Charset.forName("MS932");
+        FieldLayout field = DefinitionCompiler.compile(List.of(
+                new FixedFieldDefinition("Name", 4, null, false, null, true)), ms932).getFields().get(0);
+        byte[] fullWidthSpace = "\u3000\u3000".getBytes(ms932);
+        assertFalse(v.passesWithoutDecoding(ByteBuffer.wrap(fullWidthSpace), 0, field));
+        assertFalse(v.test("\u3000\u3000", field));
+    }
+
+    @Test
+    void testNumberTypesOnText() {
+        assertTrue(Decimals.isDigits("0012345", 0, 7));
+        assertFalse(Decimals.isDigits("00 2345", 0, 7));
+        assertFalse(Decimals.isDigits("", 0, 0));
+        assertTrue(Decimals.isSigned("-000123"));
+        assertTrue(Decimals.isSigned("000123+"));
+        assertTrue(Decimals.isSigned("0001234"));
+        assertFalse(Decimals.isSigned("+"));
+        assertFalse(Decimals.isSigned("00-0123"));
+        assertTrue(Decimals.isZoned("0012{"));
+        assertTrue(Decimals.isZoned("0012R"));
+        assertTrue(Decimals.isZoned("7"));
+        assertFalse(Decimals.isZoned("00A12"));
+        assertFalse(Decimals.isZoned("0012S"));
+
+        assertEquals(-123, Decimals.parse("-000123", FieldType.SIGNED));
+        assertEquals(123, Decimals.parse("000123+", FieldType.SIGNED));
+        assertEquals(-129, Decimals.parse("0012R", FieldType.ZONED));
+        assertEquals(120, Decimals.parse("0012{", FieldType.ZONED));
+        assertEquals(Long.MAX_VALUE, Decimals.parse("99999999999999999999", FieldType.NUMERIC));
+        assertEquals(-Long.MAX_VALUE, Decimals.parse("-99999999999999999999", FieldType.SIGNED));
+    }
+
+    @Test
+    void testPackedDecimalBytes() {
+        ByteBuffer positive = ByteBuffer.wrap(new byte[]{0x01, 0x23, 0x4C});
+        ByteBuffer negative = ByteBuffer.wrap(new byte[]{0x00, 0x12, 0x3D});
+        ByteBuffer badDigit = ByteBuffer.wrap(new byte[]{0x0A, 0x23, 0x4C});
+        ByteBuffer noSign = ByteBuffer.wrap(new byte[]{0x01, 0x23, 0x45});
+
+        assertTrue(Decimals.isPacked(positive, 0, 3));
+        assertTrue(Decimals.isPacked(negative, 0, 3));
+        assertFalse(Decimals.isPacked(badDigit, 0, 3));
+        assertFalse(Decimals.isPacked(noSign, 0, 3));
+        assertEquals(1234, Decimals.parsePacked(positive, 0, 3));
+        assertEquals(-123, Decimals.parsePacked(negative, 0, 3));
+    }
+
+    @Test
+    void testTypedValidatorsOnEbcdicBytes() {
+        Charset ibm037 = Charset.forName("IBM037");
+        List<FieldLayout> fields = DefinitionCompiler.compile(List.of(
+                new FixedFieldDefinition("Count", 4, null, false, null, true, "numeric", null, null, null),
+                new FixedFieldDefinition("Balance", 4, null, false, null, true, "zoned", null, -500L, 500L),
+                new FixedFieldDefinition("Amount", 3, null, false, null, true, "packed", null, 0L, 99999L)), ibm037).getFields();
+        byte[] record = {(byte) 0xF0, (byte) 0xF0, (byte) 0xF4, (byte) 0xF2,
+                (byte) 0xF0, (byte) 0xF1, (byte) 0xF2, (byte) 0xD3,
+                0x01, 0x23, 0x4F};
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+
+        assertInstanceOf(NumericValidator.class, fields.get(0).getChecks().get(1));
+        assertTrue(new NumericValidator().passesWithoutDecoding(buffer, 0, fields.get(0)));
+        assertFalse(new ZonedDecimalValidator().passesWithoutDecoding(buffer, 4, fields.get(1)));
+        assertTrue(new ZonedDecimalValidator().test(fields.get(1).decode(buffer, 4), fields.get(1)));
+        assertTrue(new RangeValidator().test(fields.get(1).decode(buffer, 4), fields.get(1)));
+        assertEquals(List.of(PackedDecimalValidator.class, RangeValidator.class),
+                fields.get(2).getChecks().stream().map(Object::getClass).toList());
+        assertTrue(new PackedDecimalValidator().passesWithoutDecoding(buffer, 8, fields.get(2)));
+        assertTrue(new PackedDecimalValidator().test(fields.get(2).decode(buffer, 8), fields.get(2)));
+        assertTrue(new RangeValidator().passesWithoutDecoding(buffer, 8, fields.get(2)));
+
+        record[10] = 0x4D;
+        assertFalse(new RangeValidator().passesWithoutDecoding(buffer, 8, fields.get(2)));
+        record[10] = 0x45;
+        ValidationResult result = new PackedDecimalValidator().validate(fields.get(2).decode(buffer, 8), fields.get(2));
+        assertFalse(result.isValid());
+        assertEquals("❌ Not a packed decimal [X'012345']", result.getMessage());
+    }
+
+    @Test
+    void testPackedDecimalsNeedByteRestoringCharset() {
+        Charset ibm1047 = Charset.forName("IBM1047");
+        assertTrue(PackedDecimalValidator.supports(ibm1047));
+        assertTrue(PackedDecimalValidator.supports(StandardCharsets.ISO_8859_1));
+        assertFalse(PackedDecimalValidator.supports(Charset.forName("IBM037")));
+        assertFalse(PackedDecimalValidator.supports(StandardCharsets.UTF_8));
+        assertFalse(PackedDecimalValidator.supports(StandardCharsets.US_ASCII));
+        assertThrows(IllegalArgumentException.class, () -> new PackedDecimalValidator(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> new RangeValidator(StandardCharsets.UTF_8));
+
+        FixedFieldDefinition amount = new FixedFieldDefinition("Amount", 3, null, false, null, true, "packed", null, 0L, 99999L);
+        String value = new String(new byte[] {0x01, (byte) 0x91, 0x2C}, ibm1047);
+        assertTrue(new PackedDecimalValidator(ibm1047).validate("Amount", value, amount).isValid());
+        assertTrue(new RangeValidator(ibm1047).validate("Amount", value, amount).isValid());
+        assertFalse(new PackedDecimalValidator().validate("Amount", value, amount).isValid());
+    }
+
+    @Test
+    void testDatePattern() {
+        DatePattern yyyyMMdd = DatePattern.compile("yyyyMMdd");
+        assertTrue(yyyyMMdd.matches("20240229"));
+        assertFalse(yyyyMMdd.matches("20230229"));
+        assertTrue(yyyyMMdd.matches("20000229"));
+        assertFalse(yyyyMMdd.matches("19000229"));
+        assertFalse(yyyyMMdd.matches("20240431"));
+        assertFalse(yyyyMMdd.matches("20241301"));
+        assertFalse(yyyyMMdd.matches("20240100"));
+        assertFalse(yyyyMMdd.matches("2024010"));
+        assertFalse(yyyyMMdd.matches("2024-1-1"));
+
+        DatePattern timestamp = DatePattern.compile("yyyy-MM-dd HH:mm:ss");
+        assertEquals(19, timestamp.length());
+        assertTrue(timestamp.matches("2024-12-31 23:59:59"));
+        assertFalse(timestamp.matches("2024-12-31 24:00:00"));
+        assertFalse(timestamp.matches("2024/12/31 23:59:59"));
+        assertTrue(DatePattern.compile("MMdd").matches("0229"));
+        assertThrows(IllegalArgumentException.class, () -> DatePattern.compile("yyyyMMDD"));
+        assertThrows(IllegalArgumentException.class, () -> DatePattern.compile("yyyMMdd"));
+    }
+
+    @Test
+    void testDateValidator() {
+        FixedFieldDefinition def = new FixedFieldDefinition("Booked", 8, null, false, null, true, "date", "yyyyMMdd", null, null);
+        FieldLayout field = DefinitionCompiler.compile(List.of(def), StandardCharsets.UTF_8).getFields().get(0);
+        DateValidator v = new DateValidator();
+
+        assertTrue(v.test("20240229", field));
+        ValidationResult res = v.validate("20230229", field);
+        assertFalse(res.isValid());
+        assertEquals("❌ Invalid date [20230229] (yyyyMMdd)", res.getMessage());
+        assertTrue(v.validate("Booked", "20230228", def).isValid());
+    }
+
+    private static List<ByteBuffer> buffers(byte[] record) {
+        byte[] padded = new byte[record.length + 7];
+        System.arraycopy(record, 0, padded, 7, record.length);
+        ByteBuffer direct = ByteBuffer.allocateDirect(record.length).put(record).clear();
+        ByteBuffer littleEndian = ByteBuffer.allocateDirect(record.length).order(ByteOrder.LITTLE_ENDIAN).put(record).clear();
+        return List.of(
+                ByteBuffer.wrap(record),
+                ByteBuffer.wrap(padded, 7, record.length).slice(),
+                ByteBuffer.wrap(record).asReadOnlyBuffer(),
+                direct,
+                littleEndian);
+    }
 }
@@ -1,16 +1,34 @@
 package org.hashiohiro.fixedlengthchecker.cli;
 
-import org.hashiohiro.fixedlengthchecker.core.model.ValidationResult;
+import org.hashiohiro.fixedlengthchecker.core.io.Decompression;
+import org.hashiohiro.fixedlengthchecker.core.io.RecordFraming;
+import org.hashiohiro.fixedlengthchecker.core.metrics.JmxValidationMetrics;
+import org.hashiohiro.fixedlengthchecker.core.metrics.MetricsSnapshot;
+import org.hashiohiro.fixedlengthchecker.core.model.ErrorMode;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationSummary;
+import org.hashiohiro.fixedlengthchecker.core.report.ReportFormat;
+import org.hashiohiro.fixedlengthchecker.core.report.ReportWriter;
 import org.hashiohiro.fixedlengthchecker.core.service.FixedLengthChecker;
+import org.hashiohiro.fixedlengthchecker.core.service.ValidationOptions;
+import org.hashiohiro.fixedlengthchecker.core.validator.UniqueKeyChecker;
 
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 public class Main {
     public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "--server".equals(args[0])) {
+            serve(args);
+            return;
+        }
         if (args.length < 2) {
-            System.err.println("Usage: java -jar FixedLengthChecker.jar <dataFile> <definitionJson> [--charset <charset>] [--length-mode <bytes|chars>]");
+            System.err.println("Usage: java -jar FixedLengthChecker.jar <dataFile> <definitionJson> [--charset <charset>] [--length-mode <bytes|chars>] [--framing <lines|fixed|rdw|vb>] [--threads <n>] [--max-errors <n>] [--max-error-rate <percent>] [--errors <first|all>] [--checkpoint <file>] [--resume <file>] [--definition-cache <dir>] [--unique-memory <MiB>] [--spill-dir <dir>] [--format <text|jsonl|csv|summary>] [--output <file>] [--stats]");
+            System.err.println("       java -jar FixedLengthChecker.jar --server [--port <n>]");
             System.exit(1);
         }
 
@@ -19,9 +37,29 @@ public class Main {
 
         Charset charset = StandardCharsets.UTF_8;
         boolean useByteLength = true; // Default: bytes
+        RecordFraming framing = RecordFraming.LINES;
+        int threads = 1; // Default: sequential
+        long maxErrors = 0; // Default: no limit
+        double maxErrorRate = 0; // Default: no limit
+        ErrorMode errorMode = ErrorMode.FIRST; // Default: first failing check per field
+        Path checkpointFile = null; // Default: no checkpoints
+        boolean resume = false;
+        Path definitionCache = null; // Default: parse definitions on every run
+        long uniqueMemoryMiB = UniqueKeyChecker.DEFAULT_MEMORY_BUDGET / (1024 * 1024);
+        Path spillDirectory = null; // Default: java.io.tmpdir
+        ReportFormat format = ReportFormat.TEXT;
+        Path output = null; // Default: standard output
+        boolean stats = false;
 
         // Parse optional arguments
-        for (int i = 2; i < args.length - 1; i++) {
+        for (int i = 2; i < args.length; i++) {
+            if ("--stats".equals(args[i])) {
+                stats = true;
+                continue;
+            }
+            if (i == args.length - 1) {
+                break;
+            }
             if ("--charset".equals(args[i])) {
                 charset = Charset.forName(args[i + 1]);
             } else if ("--length-mode".equals(args[i])) {
@@ -34,23 +72,160 @@ public class Main {
                     System.err.println("Invalid length-mode. Use 'bytes' or 'chars'.");
                     System.exit(1);
                 }
+            } else if ("--framing".equals(args[i])) {
+                try {
+                    framing = RecordFraming.valueOf(args[i + 1].toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Invalid framing. Use 'lines', 'fixed', 'rdw' or 'vb'.");
+                    System.exit(1);
+                }
+            } else if ("--threads".equals(args[i])) {
+                try {
+                    threads = Integer.parseInt(args[i + 1]);
+                } catch (NumberFormatException e) {
+                    threads = 0;
+                }
+                if (threads < 1) {
+                    System.err.println("Invalid threads. Use a positive integer.");
+                    System.exit(1);
+                }
+            } else if ("--max-errors".equals(args[i])) {
+                try {
+                    maxErrors = Long.parseLong(args[i + 1]);
+                } catch (NumberFormatException e) {
+                    maxErrors = 0;
+                }
+                if (maxErrors < 1) {
+                    System.err.println("Invalid max-errors. Use a positive integer.");
+                    System.exit(1);
+                }
+            } else if ("--max-error-rate".equals(args[i])) {
+                try {
+                    maxErrorRate = Double.parseDouble(args[i + 1]);
+                } catch (NumberFormatException e) {
+                    maxErrorRate = 0;
+                }
+                if (!(maxErrorRate > 0 && maxErrorRate <= 100)) {
+                    System.err.println("Invalid max-error-rate. Use a percentage greater than 0 and up to 100.");
+                    System.exit(1);
+                }
+            } else if ("--errors".equals(args[i])) {
+                try {
+                    errorMode = ErrorMode.valueOf(args[i + 1].toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Invalid errors. Use 'first' or 'all'.");
+                    System.exit(1);
+                }
+            } else if ("--checkpoint".equals(args[i])) {
+                checkpointFile = Path.of(args[i + 1]);
+            } else if ("--resume".equals(args[i])) {
+                checkpointFile = Path.of(args[i + 1]);
+                resume = true;
+            } else if ("--definition-cache".equals(args[i])) {
+                definitionCache = Path.of(args[i + 1]);
+            } else if ("--unique-memory".equals(args[i])) {
+                try {
+                    uniqueMemoryMiB = Long.parseLong(args[i + 1]);
+                } catch (NumberFormatException e) {
+                    uniqueMemoryMiB = 0;
+                }
+                if (uniqueMemoryMiB < 1) {
+                    System.err.println("Invalid unique-memory. Use a positive number of MiB.");
+                    System.exit(1);
+                }
+            } else if ("--spill-dir".equals(args[i])) {
+                spillDirectory = Path.of(args[i + 1]);
+            } else if ("--format".equals(args[i])) {
+                try {
+                    format = ReportFormat.parse(args[i + 1]);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Invalid format. Use 'text', 'jsonl', 'csv' or 'summary'.");
+                    System.exit(1);
+                }
+            } else if ("--output".equals(args[i])) {
+                output = Path.of(args[i + 1]);
             }
         }
 
-        FixedLengthChecker checker = new FixedLengthChecker(charset, useByteLength);
+        JmxValidationMetrics metrics = stats ? new JmxValidationMetrics("cli") : null;
+        FixedLengthChecker checker = new FixedLengthChecker(charset, useByteLength, metrics, errorMode);
 
-        checker.loadDefinitions(defFile);
+        if (definitionCache != null) {
+            checker.loadDefinitions(defFile, definitionCache);
+        } else {
+            checker.loadDefinitions(defFile);
+        }
 
-        List<List<ValidationResult>> results = checker.validateFile(dataFile);
+        ValidationOptions options = ValidationOptions.builder()
+                .framing(framing)
+                .threads(threads)
+                .maxErrors(maxErrors)
+                .maxErrorRate(maxErrorRate)
+                .checkpointFile(checkpointFile)
+                .resume(resume)
+                .uniqueMemoryBudget(uniqueMemoryMiB * 1024 * 1024)
+                .spillDirectory(spillDirectory)
+                .build();
 
-        for (int i = 0; i < results.size(); i++) {
-            System.out.println("----- Line " + (i + 1) + " -----");
-            for (ValidationResult res : results.get(i)) {
-                System.out.println(res.getMessage() + " [" + res.getActualValue() + "] " + "(" + res.getFieldName() + ")");
+        // Standard input and gzip/zip archives are validated as they are read
+        boolean streamed = "-".equals(dataFile) || Decompression.isCompressed(Path.of(dataFile));
+        if (streamed && checkpointFile != null) {
+            System.err.println("Checkpoints are not supported for standard input or compressed files.");
+            System.exit(1);
+        }
+
+        ValidationSummary summary;
+        try (ReportWriter report = format.open(output != null ? Files.newOutputStream(output) : System.out)) {
+            if (streamed) {
+                InputStream in = "-".equals(dataFile) ? System.in : Files.newInputStream(Path.of(dataFile));
+                summary = checker.validateStream(Decompression.decompress(in), options, report);
+            } else {
+                summary = checker.validateFile(dataFile, options, report);
             }
-            System.out.println("----- End of Line " + (i + 1) + " -----\n");
+            report.summary(summary);
+        }
+
+        if (summary.isStopped()) {
+            System.err.println("Validation stopped early (" + summary.getStopReason() + ") after line " + summary.getRecords() + ".");
+        }
+        if (metrics != null) {
+            printStats(metrics.snapshot());
         }
 
         System.exit(0);
     }
+
+    private static void serve(String[] args) throws Exception {
+        int port = ValidationServer.DEFAULT_PORT;
+        if (args.length > 2 && "--port".equals(args[1])) {
+            try {
+                port = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                port = -1;
+            }
+        }
+        if (port < 0 || port > 65535) {
+            System.err.println("Invalid port. Use an integer from 0 to 65535.");
+            System.exit(1);
+        }
+
+        ValidationServer server = new ValidationServer(port);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(5)));
+        System.err.println("Listening on http://127.0.0.1:" + server.getPort() + "/validate");
+    }
+
+    private static void printStats(MetricsSnapshot snapshot) {
+        System.err.println("----- Stats -----");
+        System.err.printf("Records: %d (%.0f records/s)%n", snapshot.getRecords(), snapshot.getRecordsPerSecond());
+        System.err.printf("Bytes: %d (%.2f MB/s)%n", snapshot.getBytes(), snapshot.getBytesPerSecond() / (1024 * 1024));
+        System.err.printf("Time: total %d ms, read %d ms, validation %d ms%n",
+                TimeUnit.NANOSECONDS.toMillis(snapshot.getElapsedNanos()),
+                TimeUnit.NANOSECONDS.toMillis(snapshot.getReadNanos()),
+                TimeUnit.NANOSECONDS.toMillis(snapshot.getValidationNanos()));
+        snapshot.getCheckNanos().forEach((name, nanos) -> System.err.printf("Check %s: %d ms (%d calls)%n",
+                name, TimeUnit.NANOSECONDS.toMillis(nanos), snapshot.getCheckCalls().get(name)));
+        snapshot.getFieldFailures().forEach((name, count) -> System.err.printf("Failures %s: %d%n", name, count));
+        System.err.println("----- End of Stats -----");
+    }
 }
@@ -0,0 +1,328 @@
+package org.hashiohiro.fixedlengthchecker.cli;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.hashiohiro.fixedlengthchecker.core.io.Decompression;
+import org.hashiohiro.fixedlengthchecker.core.model.ValidationSummary;
+import org.hashiohiro.fixedlengthchecker.core.report.ReportFormat;
+import org.hashiohiro.fixedlengthchecker.core.report.ReportWriter;
+import org.hashiohiro.fixedlengthchecker.core.service.FixedLengthChecker;
+import org.hashiohiro.fixedlengthchecker.core.service.ValidationOptions;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Long-running HTTP server that validates files against definitions kept compiled in memory.
+ * <pre>
+ * Starting a JVM per file costs more than validating a small file, so the server keeps one warm
+ * checker per definition file, charset and length mode, and recompiles it only when the
+ * definition file changes; the least recently used checkers are dropped beyond MAX_CHECKERS.
+ * Concurrent requests for the same checker wait for a single compilation instead of each compiling
+ * it. Each request is handled on its own virtual thread when the runtime supports them, or on a
+ * cached thread pool otherwise.
+ *
+ *   POST /validate?definition=&lt;path&gt;[&amp;file=&lt;path&gt;][&amp;charset=&lt;name&gt;][&amp;length-mode=bytes|chars][&amp;format=text|jsonl|csv|summary]
+ *     Validates the named file, or the request body when no file is given, and responds with
+ *     a report in the same formats as the command line. The body is validated as it is received,
+ *     and gzip or zip data, whether posted or on disk, is decompressed on the fly. As the report is
+ *     streamed, the status is sent before validation starts; a validation that fails midway ends
+ *     the report with a failure record instead of the summary, and is logged.
+ *   GET /health
+ *     Responds with OK while the server is running.
+ *
+ * The server binds to the loopback address only, as it reads any file the process can access.
+ * </pre>
+ */
+public class ValidationServer {
+
+    /**
+     * Port the server listens on when none is specified.
+     */
+    public static final int DEFAULT_PORT = 8470;
+
+    /**
+     * Maximum number of warm checkers kept in memory.
+     */
+    public static final int MAX_CHECKERS = 64;
+
+    /**
+     * Logger receiving failed validations.
+     */
+    private static final System.Logger LOGGER = System.getLogger(ValidationServer.class.getName());
+
+    /**
+     * Underlying HTTP server.
+     */
+    private final HttpServer server;
+
+    /**
+     * Executor running request handlers.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Slots of the warm checkers keyed by definition file, charset and length mode, in access order; guarded by itself.
+     */
+    private final Map<String, CheckerSlot> checkers = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Creates a server listening on the given loopback port.
+     *
+     * @param port port to listen on, or 0 to pick a free port
+     * @throws IOException if the port cannot be bound
+     */
+    public ValidationServer(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = newExecutor();
+        server.setExecutor(executor);
+        server.createContext("/validate", this::handleValidate);
+        server.createContext("/health", exchange -> respond(exchange, 200, "OK"));
+    }
+
+    /**
+     * Starts accepting requests in the background.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests and waits up to the given time for running requests to finish.
+     *
+     * @param delaySeconds maximum number of seconds to wait for running requests
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    /**
+     * Returns the port the server is bound to.
+     *
+     * @return local port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Validates the requested file or request body and streams the results back.
+     *
+     * @param exchange HTTP exchange of the request
+     * @throws IOException if the response cannot be written
+     */
+    private void handleValidate(HttpExchange exchange) throws IOException {
+        Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+        String definition = params.get("definition");
+        if (definition == null) {
+            respond(exchange, 400, "Missing definition parameter.");
+            return;
+        }
+
+        FixedLengthChecker checker;
+        ReportFormat format;
+        try {
+            format = ReportFormat.parse(params.getOrDefault("format", "text"));
+            Charset charset = Charset.forName(params.getOrDefault("charset", StandardCharsets.UTF_8.name()));
+            checker = checker(definition, charset, useByteLength(params.get("length-mode")));
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 400, e.getMessage());
+            return;
+        } catch (Exception e) {
+            respond(exchange, 500, "Failed to load definitions: " + e.getMessage());
+            return;
+        }
+
+        String file = params.get("file");
+        if (file != null && !Files.isRegularFile(Path.of(file))) {
+            respond(exchange, 404, "File not found: " + file);
+            return;
+        }
+
+        String source = file != null ? file : "request body";
+        try {
+            exchange.getResponseHeaders().set("Content-Type", format.contentType());
+            exchange.sendResponseHeaders(200, 0);
+            try (ReportWriter report = format.open(exchange.getResponseBody())) {
+                try {
+                    ValidationSummary summary;
+                    if (file == null) {
+                        summary = checker.validateStream(Decompression.decompress(exchange.getRequestBody()), ValidationOptions.defaults(), report);
+                    } else if (Decompression.isCompressed(Path.of(file))) {
+                        summary = checker.validateStream(Decompression.decompress(Files.newInputStream(Path.of(file))), ValidationOptions.defaults(), report);
+                    } else {
+                        summary = checker.validateFile(file, ValidationOptions.defaults(), report);
+                    }
+                    report.summary(summary);
+                } catch (Exception e) {
+                    LOGGER.log(System.Logger.Level.ERROR, "Validation of " + source + " failed", e);
+                    report.failure(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "Report of " + source + " could not be sent", e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Returns the warm checker for a definition file, compiling it on first use or after the file changed.
+     * <pre>
+     * The file is checked and compiled under the lock of its slot, so each key has at most one
+     * compilation in flight and a compilation never replaces a checker of a newer file version.
+     * </pre>
+     * @param definition path to the definition file
+     * @param charset charset of the records
+     * @param useByteLength true to use byte length, false for character length
+     * @return checker with the current definitions loaded
+     * @throws Exception if the definitions cannot be loaded
+     */
+    private FixedLengthChecker checker(String definition, Charset charset, boolean useByteLength) throws Exception {
+        String key = definition + '\0' + charset.name() + '\0' + useByteLength;
+        CheckerSlot slot;
+        synchronized (checkers) {
+            slot = checkers.computeIfAbsent(key, k -> new CheckerSlot());
+            if (checkers.size() > MAX_CHECKERS) {
+                checkers.remove(checkers.keySet().iterator().next());
+            }
+        }
+
+        synchronized (slot) {
+            long lastModified = Files.getLastModifiedTime(Path.of(definition)).toMillis();
+            WarmChecker warm = slot.warm;
+            if (warm != null && warm.lastModified == lastModified) {
+                return warm.checker;
+            }
+
+            FixedLengthChecker checker = FixedLengthChecker.builder()
+                    .charset(charset)
+                    .useByteLength(useByteLength)
+                    .definitions(definition)
+                    .build();
+            if (warm == null || lastModified >= warm.lastModified) {
+                slot.warm = new WarmChecker(lastModified, checker);
+            }
+            return checker;
+        }
+    }
+
+    /**
+     * Parses the length-mode parameter.
+     *
+     * @param mode bytes, chars or null
+     * @return true to use byte length, false for character length
+     * @throws IllegalArgumentException if the mode is not recognized
+     */
+    private static boolean useByteLength(String mode) {
+        if (mode == null || "bytes".equalsIgnoreCase(mode)) {
+            return true;
+        }
+        if ("chars".equalsIgnoreCase(mode)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Invalid length-mode. Use 'bytes' or 'chars'.");
+    }
+
+    /**
+     * Splits a raw query string into decoded parameters.
+     *
+     * @param query raw query string, or null
+     * @return parameters by name
+     */
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    /**
+     * Sends a complete plain-text response.
+     *
+     * @param exchange HTTP exchange of the request
+     * @param status HTTP status code
+     * @param message response body
+     * @throws IOException if the response cannot be written
+     */
+    private static void respond(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    /**
+     * Creates the executor running request handlers.
+     * <pre>
+     * Virtual threads are looked up reflectively so the module still builds and runs on Java 17.
+     * </pre>
+     * @return virtual-thread-per-task executor if available, otherwise a cached thread pool
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Entry of the checker cache, locked while its checker is looked up or compiled.
+     */
+    private static final class CheckerSlot {
+
+        /**
+         * Current checker, or null before the first compilation; guarded by the slot.
+         */
+        private WarmChecker warm;
+    }
+
+    /**
+     * Checker compiled from a definition file, together with the file version it was compiled from.
+     */
+    private static final class WarmChecker {
+
+        /**
+         * Modification time of the definition file in milliseconds.
+         */
+        private final long lastModified;
+
+        /**
+         * Checker with the definitions loaded.
+         */
+        private final FixedLengthChecker checker;
+
+        /**
+         * Creates a warm checker.
+         *
+         * @param lastModified modification time of the definition file in milliseconds
+         * @param checker checker with the definitions loaded
+         */
+        private WarmChecker(long lastModified, FixedLengthChecker checker) {
+            this.lastModified = lastModified;
+            this.checker = checker;
+        }
+    }
+}
@@ -23,4 +23,28 @@ class CliTest {
 
         assertEquals(1, statusCode);
     }
+
+    @Test
+    void testInvalidThreads() throws Exception {
+        String[] args = {"data.dat", "definitions.json", "--threads", "zero"};
+        int statusCode = catchSystemExit(() -> Main.main(args));
+
+        assertEquals(1, statusCode);
+    }
+
+    @Test
+    void testInvalidMaxErrorRate() throws Exception {
+        String[] args = {"data.dat", "definitions.json", "--max-error-rate", "120"};
+        int statusCode = catchSystemExit(() -> Main.main(args));
+
+        assertEquals(1, statusCode);
+    }
+
+    @Test
+    void testInvalidFraming() throws Exception {
+        String[] args = {"data.dat", "definitions.json", "--framing", "blocks"};
+        int statusCode = catchSystemExit(() -> Main.main(args));
+
+        assertEquals(1, statusCode);
+    }
 }
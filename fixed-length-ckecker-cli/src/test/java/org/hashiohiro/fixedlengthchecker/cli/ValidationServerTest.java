@@ -0,0 +1,145 @@
+package org.hashiohiro.fixedlengthchecker.cli;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationServerTest {
+
+    private static final String DEFINITIONS = "../fixed-length-checker-core/src/test/resources/valid_definitions.json";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private ValidationServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = new ValidationServer(0);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void testValidatesRequestBody() throws Exception {
+        HttpResponse<String> response = post("definition=" + encode(DEFINITIONS), "21234567890\n2ABCDEFGHIJ\n");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("----- Line 2 -----"));
+        assertTrue(response.body().contains("Regex mismatch [ABCDEFGHIJ]"));
+        assertTrue(response.body().contains("Records: 2, invalid records: 1, errors: 1"));
+    }
+
+    @Test
+    void testValidatesGzipRequestBody() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write("21234567890\n2ABCDEFGHIJ\n".getBytes(StandardCharsets.UTF_8));
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/validate?definition=" + encode(DEFINITIONS)))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(compressed.toByteArray()))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("Records: 2, invalid records: 1, errors: 1"));
+    }
+
+    @Test
+    void testValidatesNamedFile(@TempDir Path dir) throws Exception {
+        Path data = dir.resolve("input.dat");
+        Files.writeString(data, "21234567890\n");
+
+        HttpResponse<String> response = post("definition=" + encode(DEFINITIONS) + "&file=" + encode(data.toString()), "");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("Records: 1, invalid records: 0, errors: 0"));
+    }
+
+    @Test
+    void testChangedDefinitionsAreReloaded(@TempDir Path dir) throws Exception {
+        Path definitions = dir.resolve("definitions.json");
+        Files.writeString(definitions, "[{\"name\":\"Code\",\"length\":1,\"fixedValue\":\"A\",\"blank\":false,\"regex\":null,\"required\":true}]");
+        assertTrue(post("definition=" + encode(definitions.toString()), "A\n").body().contains("errors: 0"));
+
+        Files.writeString(definitions, "[{\"name\":\"Code\",\"length\":1,\"fixedValue\":\"B\",\"blank\":false,\"regex\":null,\"required\":true}]");
+        Files.setLastModifiedTime(definitions, FileTime.fromMillis(Files.getLastModifiedTime(definitions).toMillis() + 1000));
+        assertTrue(post("definition=" + encode(definitions.toString()), "A\n").body().contains("errors: 1"));
+    }
+
+    @Test
+    void testConcurrentFirstRequestsShareOneChecker() throws Exception {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/validate?definition=" + encode(DEFINITIONS)))
+                    .POST(HttpRequest.BodyPublishers.ofString("21234567890\n2ABCDEFGHIJ\n"))
+                    .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)));
+        }
+
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.get().statusCode());
+            assertTrue(response.get().body().contains("Records: 2, invalid records: 1, errors: 1"));
+        }
+    }
+
+    @Test
+    void testReportContentTypeFollowsFormat() throws Exception {
+        HttpResponse<String> response = post("definition=" + encode(DEFINITIONS) + "&format=jsonl", "21234567890\n");
+
+        assertEquals("application/x-ndjson", response.headers().firstValue("Content-Type").orElse(null));
+        assertTrue(response.body().contains("\"type\":\"summary\""));
+        assertEquals("text/csv; charset=UTF-8", post("definition=" + encode(DEFINITIONS) + "&format=csv", "")
+                .headers().firstValue("Content-Type").orElse(null));
+    }
+
+    @Test
+    void testFailedValidationEndsWithFailureRecord() throws Exception {
+        byte[] corrupt = {0x1f, (byte) 0x8b, 0x08, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x03, 0x7f, 0x7f, 0x7f};
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/validate?definition=" + encode(DEFINITIONS)))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(corrupt))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+
+        assertTrue(response.body().contains("❌ Validation failed: "));
+        assertFalse(response.body().contains("Records: "));
+    }
+
+    @Test
+    void testMissingDefinitionIsRejected() throws Exception {
+        assertEquals(400, post("", "21234567890\n").statusCode());
+        assertEquals(400, post("definition=" + encode(DEFINITIONS) + "&length-mode=bits", "").statusCode());
+    }
+
+    private HttpResponse<String> post(String query, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/validate?" + query))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}